@@ -0,0 +1,22 @@
+package io.github.pr0methean.betterrandom.benchmark;
+
+import static io.github.pr0methean.betterrandom.seed.SecureRandomSeedGenerator.DEFAULT_INSTANCE;
+
+import io.github.pr0methean.betterrandom.prng.AesCtrRandom;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import org.openjdk.jmh.annotations.Param;
+
+/**
+ * The benchmark for {@link AesCtrRandom}.
+ */
+public class AesCtrRandomBenchmark extends AbstractRandomBenchmarkWithReseeding<AesCtrRandom> {
+
+  /**
+   * The initial seed size.
+   */
+  @Param({"16", "32"}) public int seedSize;
+
+  @Override protected AesCtrRandom createPrng() throws SeedException {
+    return new AesCtrRandom(DEFAULT_INSTANCE.generateSeed(seedSize));
+  }
+}
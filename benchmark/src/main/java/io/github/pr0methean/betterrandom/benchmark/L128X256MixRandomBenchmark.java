@@ -0,0 +1,16 @@
+package io.github.pr0methean.betterrandom.benchmark;
+
+import io.github.pr0methean.betterrandom.prng.L128X256MixRandom;
+import io.github.pr0methean.betterrandom.seed.SecureRandomSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+
+/**
+ * Benchmark for {@link L128X256MixRandom}.
+ */
+public class L128X256MixRandomBenchmark
+    extends AbstractRandomBenchmarkWithReseeding<L128X256MixRandom> {
+
+  @Override protected L128X256MixRandom createPrng() throws SeedException {
+    return new L128X256MixRandom(SecureRandomSeedGenerator.DEFAULT_INSTANCE);
+  }
+}
@@ -0,0 +1,16 @@
+package io.github.pr0methean.betterrandom.benchmark;
+
+import io.github.pr0methean.betterrandom.prng.L64X128MixRandom;
+import io.github.pr0methean.betterrandom.seed.SecureRandomSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+
+/**
+ * Benchmark for {@link L64X128MixRandom}.
+ */
+public class L64X128MixRandomBenchmark
+    extends AbstractRandomBenchmarkWithReseeding<L64X128MixRandom> {
+
+  @Override protected L64X128MixRandom createPrng() throws SeedException {
+    return new L64X128MixRandom(SecureRandomSeedGenerator.DEFAULT_INSTANCE);
+  }
+}
@@ -0,0 +1,34 @@
+package io.github.pr0methean.betterrandom.benchmark;
+
+import static io.github.pr0methean.betterrandom.seed.SecureRandomSeedGenerator.DEFAULT_INSTANCE;
+
+import io.github.pr0methean.betterrandom.prng.AesCounterRandom;
+import io.github.pr0methean.betterrandom.prng.MappedFileRandom;
+import io.github.pr0methean.betterrandom.prng.MappedFileRandom.ExhaustionPolicy;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Benchmark for {@link MappedFileRandom} reading 64 MiB of {@link AesCounterRandom} output.
+ */
+public class MappedFileRandomBenchmark
+    extends AbstractRandomBenchmarkWithReseeding<MappedFileRandom> {
+
+  private static final int FILE_LONGS = 1 << 23;
+
+  @Override protected MappedFileRandom createPrng() throws IOException {
+    final AesCounterRandom source = new AesCounterRandom(DEFAULT_INSTANCE.generateSeed(16));
+    final File file = File.createTempFile("MappedFileRandomBenchmark", ".bin");
+    file.deleteOnExit();
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(new FileOutputStream(file)))) {
+      for (int i = 0; i < FILE_LONGS; i++) {
+        out.writeLong(source.nextLong());
+      }
+    }
+    return new MappedFileRandom(DEFAULT_INSTANCE, ExhaustionPolicy.WRAP, file);
+  }
+}
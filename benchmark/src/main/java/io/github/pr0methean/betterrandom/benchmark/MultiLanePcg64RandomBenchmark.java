@@ -0,0 +1,16 @@
+package io.github.pr0methean.betterrandom.benchmark;
+
+import io.github.pr0methean.betterrandom.prng.MultiLanePcg64Random;
+import io.github.pr0methean.betterrandom.seed.SecureRandomSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+
+/**
+ * Benchmark for {@link MultiLanePcg64Random}.
+ */
+public class MultiLanePcg64RandomBenchmark
+    extends AbstractRandomBenchmarkWithReseeding<MultiLanePcg64Random> {
+
+  @Override protected MultiLanePcg64Random createPrng() throws SeedException {
+    return new MultiLanePcg64Random(SecureRandomSeedGenerator.DEFAULT_INSTANCE);
+  }
+}
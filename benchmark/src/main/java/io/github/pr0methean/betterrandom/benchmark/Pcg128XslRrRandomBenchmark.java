@@ -0,0 +1,16 @@
+package io.github.pr0methean.betterrandom.benchmark;
+
+import io.github.pr0methean.betterrandom.prng.Pcg128XslRrRandom;
+import io.github.pr0methean.betterrandom.seed.SecureRandomSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+
+/**
+ * Benchmark for {@link Pcg128XslRrRandom}.
+ */
+public class Pcg128XslRrRandomBenchmark
+    extends AbstractRandomBenchmarkWithReseeding<Pcg128XslRrRandom> {
+
+  @Override protected Pcg128XslRrRandom createPrng() throws SeedException {
+    return new Pcg128XslRrRandom(SecureRandomSeedGenerator.DEFAULT_INSTANCE);
+  }
+}
@@ -0,0 +1,16 @@
+package io.github.pr0methean.betterrandom.benchmark;
+
+import io.github.pr0methean.betterrandom.prng.Philox4x32CounterRandom;
+import io.github.pr0methean.betterrandom.seed.SecureRandomSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+
+/**
+ * Benchmark for {@link Philox4x32CounterRandom}.
+ */
+public class Philox4x32CounterRandomBenchmark
+    extends AbstractRandomBenchmarkWithReseeding<Philox4x32CounterRandom> {
+
+  @Override protected Philox4x32CounterRandom createPrng() throws SeedException {
+    return new Philox4x32CounterRandom(SecureRandomSeedGenerator.DEFAULT_INSTANCE);
+  }
+}
@@ -0,0 +1,18 @@
+package io.github.pr0methean.betterrandom.benchmark;
+
+import static io.github.pr0methean.betterrandom.seed.SecureRandomSeedGenerator.DEFAULT_INSTANCE;
+
+import io.github.pr0methean.betterrandom.prng.AesCounterRandom;
+import io.github.pr0methean.betterrandom.prng.adapter.PrefetchingRandom;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+
+/**
+ * Benchmark for {@link PrefetchingRandom} wrapping {@link AesCounterRandom}.
+ */
+public class PrefetchingRandomAesCounterRandom128Benchmark
+    extends AbstractRandomBenchmarkWithReseeding<PrefetchingRandom<AesCounterRandom>> {
+
+  @Override protected PrefetchingRandom<AesCounterRandom> createPrng() throws SeedException {
+    return new PrefetchingRandom<>(new AesCounterRandom(DEFAULT_INSTANCE.generateSeed(16)));
+  }
+}
@@ -0,0 +1,15 @@
+package io.github.pr0methean.betterrandom.benchmark;
+
+import io.github.pr0methean.betterrandom.prng.Sfmt19937Random;
+import io.github.pr0methean.betterrandom.seed.SecureRandomSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+
+/**
+ * Benchmark for {@link Sfmt19937Random}.
+ */
+public class Sfmt19937RandomBenchmark extends AbstractRandomBenchmarkWithReseeding<Sfmt19937Random> {
+
+  @Override protected Sfmt19937Random createPrng() throws SeedException {
+    return new Sfmt19937Random(SecureRandomSeedGenerator.DEFAULT_INSTANCE);
+  }
+}
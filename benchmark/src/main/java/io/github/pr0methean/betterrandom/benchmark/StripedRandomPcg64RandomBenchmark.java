@@ -0,0 +1,18 @@
+package io.github.pr0methean.betterrandom.benchmark;
+
+import static io.github.pr0methean.betterrandom.seed.SecureRandomSeedGenerator.DEFAULT_INSTANCE;
+
+import io.github.pr0methean.betterrandom.prng.Pcg64Random;
+import io.github.pr0methean.betterrandom.prng.adapter.StripedRandom;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+
+/**
+ * Benchmark for {@link StripedRandom} wrapping {@link Pcg64Random}.
+ */
+public class StripedRandomPcg64RandomBenchmark
+    extends AbstractRandomBenchmark<StripedRandom<Pcg64Random>> {
+
+  @Override protected StripedRandom<Pcg64Random> createPrng() throws SeedException {
+    return new StripedRandom<>(() -> new Pcg64Random(DEFAULT_INSTANCE));
+  }
+}
@@ -0,0 +1,16 @@
+package io.github.pr0methean.betterrandom.benchmark;
+
+import io.github.pr0methean.betterrandom.prng.Xoroshiro128PlusPlusRandom;
+import io.github.pr0methean.betterrandom.seed.SecureRandomSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+
+/**
+ * Benchmark for {@link Xoroshiro128PlusPlusRandom}.
+ */
+public class Xoroshiro128PlusPlusRandomBenchmark
+    extends AbstractRandomBenchmarkWithReseeding<Xoroshiro128PlusPlusRandom> {
+
+  @Override protected Xoroshiro128PlusPlusRandom createPrng() throws SeedException {
+    return new Xoroshiro128PlusPlusRandom(SecureRandomSeedGenerator.DEFAULT_INSTANCE);
+  }
+}
@@ -0,0 +1,16 @@
+package io.github.pr0methean.betterrandom.benchmark;
+
+import io.github.pr0methean.betterrandom.prng.Xoshiro256StarStarRandom;
+import io.github.pr0methean.betterrandom.seed.SecureRandomSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+
+/**
+ * Benchmark for {@link Xoshiro256StarStarRandom}.
+ */
+public class Xoshiro256StarStarRandomBenchmark
+    extends AbstractRandomBenchmarkWithReseeding<Xoshiro256StarStarRandom> {
+
+  @Override protected Xoshiro256StarStarRandom createPrng() throws SeedException {
+    return new Xoshiro256StarStarRandom(SecureRandomSeedGenerator.DEFAULT_INSTANCE);
+  }
+}
@@ -19,6 +19,7 @@ import com.google.common.base.MoreObjects;
 import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
 import io.github.pr0methean.betterrandom.seed.SeedException;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
+import java.nio.ByteBuffer;
 import java.security.GeneralSecurityException;
 import java.security.InvalidKeyException;
 import java.security.MessageDigest;
@@ -151,6 +152,14 @@ public class AesCounterRandom extends CipherCounterRandom {
     index = BYTES_AT_ONCE; // force generation of first block on demand
   }
 
+  /**
+   * Returns null when called on a subclass, since it may not produce the same output as a new
+   * {@link AesCounterRandom}.
+   */
+  @Override protected CipherCounterRandom createWithSeed(final byte[] seed) {
+    return (getClass() == AesCounterRandom.class) ? new AesCounterRandom(seed) : null;
+  }
+
   @Override protected MessageDigest createHash() {
     try {
       return MessageDigest.getInstance(HASH_ALGORITHM);
@@ -191,4 +200,13 @@ public class AesCounterRandom extends CipherCounterRandom {
   @Override protected void doCipher(byte[] input, byte[] output) throws GeneralSecurityException {
     cipher.doFinal(input, 0, BYTES_AT_ONCE, output);
   }
+
+  /**
+   * Encrypts straight into the output buffer, so that {@link #nextBytes(ByteBuffer)} needs
+   * no intermediate copy.
+   */
+  @Override protected void doCipher(final ByteBuffer input, final ByteBuffer output)
+      throws GeneralSecurityException {
+    cipher.doFinal(input, output);
+  }
 }
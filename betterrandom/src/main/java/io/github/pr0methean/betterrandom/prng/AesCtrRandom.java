@@ -0,0 +1,289 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import com.google.common.base.MoreObjects;
+import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.seed.SeedGenerator;
+import io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic;
+import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.InvalidKeyException;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import javax.crypto.Cipher;
+import javax.crypto.NoSuchPaddingException;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * <p>An {@link AesCounterRandom} that runs the cipher in CTR mode, so that the JCE provider
+ * increments the counter itself, and that adapts how much keystream it generates at once to how
+ * much is being used. Until it's first reseeded, its output is the same as that of an {@link
+ * AesCounterRandom} with the same seed, provided that calls to {@link #nextBytes(byte[])} request
+ * multiples of 4 bytes. (Reseeding mixes in the counter, which runs further ahead in an {@code
+ * AesCtrRandom}; and the two classes discard the partial word at the end of a batch at different
+ * points, because their batches differ in length.)</p>
+ *
+ * <p>Each batch starts at {@link #MIN_BYTES_AT_ONCE} bytes. Whenever a batch is used up, the next
+ * one is twice as long, up to {@link #getMaxBytesAtOnce()}; whenever reseeding discards more than
+ * half of a batch, the next one is half as long. Larger batches let the provider pipeline the
+ * block encryptions (e.g. with AES-NI) and spread the cost of each {@link Cipher} call over more
+ * output.</p>
+ *
+ * @author Chris Hennick
+ */
+public class AesCtrRandom extends AesCounterRandom {
+
+  private static final long serialVersionUID = -1549738815239471637L;
+  @SuppressWarnings("HardcodedFileSeparator") private static final String ALGORITHM_MODE =
+      "AES/CTR/NoPadding";
+  /**
+   * The initial and minimum number of bytes to generate at once.
+   */
+  public static final int MIN_BYTES_AT_ONCE = COUNTER_SIZE_BYTES * 16;
+  /**
+   * The largest value {@link #setMaxBytesAtOnce(int)} accepts.
+   */
+  public static final int MAX_BYTES_AT_ONCE = 1 << 16;
+  private static final int DEFAULT_MAX_BYTES_AT_ONCE = 1 << 15;
+  /**
+   * Plaintext for the cipher: in CTR mode, encrypting zeroes yields the keystream itself.
+   */
+  private static final byte[] ZEROES = new byte[MAX_BYTES_AT_ONCE];
+
+  // WARNING: Don't initialize any instance fields at declaration; they may be initialized too late!
+  private volatile int maxBytesAtOnce;
+  /**
+   * Whether {@link #currentBlock} holds output that hasn't been discarded by reseeding.
+   */
+  private boolean blockFilled;
+  private transient SecretKeySpec key;
+  /**
+   * The value of {@link #counter} that the cipher's internal counter corresponds to: the next
+   * block the cipher produces is the encryption of {@code cipherCounter + 1}.
+   */
+  private transient byte[] cipherCounter;
+
+  /**
+   * Creates a new RNG and seeds it using 256 bits from the {@link DefaultSeedGenerator}.
+   *
+   * @throws SeedException if the {@link DefaultSeedGenerator} fails to generate a seed.
+   */
+  public AesCtrRandom() throws SeedException {
+    this(DefaultSeedGenerator.DEFAULT_SEED_GENERATOR.generateSeed(32));
+  }
+
+  /**
+   * Seed the RNG using the provided seed generation strategy to create a 256-bit seed.
+   *
+   * @param seedGenerator The seed generation strategy that will provide the seed value for this
+   *     RNG.
+   * @throws SeedException if there is a problem generating a seed.
+   */
+  @EntryPoint public AesCtrRandom(final SeedGenerator seedGenerator) throws SeedException {
+    this(seedGenerator.generateSeed(32));
+  }
+
+  /**
+   * Seed the RNG using the {@link DefaultSeedGenerator} to create a seed of the specified size.
+   *
+   * @param seedSizeBytes The number of bytes to use for seed data. Valid values range from 16
+   *     to {@link #MAX_SEED_LENGTH_BYTES}.
+   * @throws SeedException if the {@link DefaultSeedGenerator} fails to generate a seed.
+   */
+  @EntryPoint public AesCtrRandom(final int seedSizeBytes) throws SeedException {
+    this(DefaultSeedGenerator.DEFAULT_SEED_GENERATOR.generateSeed(seedSizeBytes));
+  }
+
+  /**
+   * Creates an RNG and seeds it with the specified seed data.
+   *
+   * @param seed The seed data used to initialize the RNG. Length must be at least 16 and no
+   *     more than {@link #MAX_SEED_LENGTH_BYTES}.
+   */
+  public AesCtrRandom(final byte[] seed) {
+    super(seed);
+    maxBytesAtOnce = DEFAULT_MAX_BYTES_AT_ONCE;
+  }
+
+  /**
+   * Returns the most bytes that will be generated at once.
+   *
+   * @return the maximum batch size in bytes
+   */
+  public int getMaxBytesAtOnce() {
+    return maxBytesAtOnce;
+  }
+
+  /**
+   * Sets the most bytes that will be generated at once. Setting it to {@link #MIN_BYTES_AT_ONCE}
+   * turns off adaptive sizing. A batch that's already longer is used up first.
+   *
+   * @param maxBytesAtOnce the maximum batch size in bytes; must be a multiple of 16 between
+   *     {@link #MIN_BYTES_AT_ONCE} and {@link #MAX_BYTES_AT_ONCE}
+   */
+  public void setMaxBytesAtOnce(final int maxBytesAtOnce) {
+    if ((maxBytesAtOnce < MIN_BYTES_AT_ONCE) || (maxBytesAtOnce > MAX_BYTES_AT_ONCE)
+        || ((maxBytesAtOnce % COUNTER_SIZE_BYTES) != 0)) {
+      throw new IllegalArgumentException(String.format(
+          "maxBytesAtOnce must be a multiple of %d from %d to %d; got %d", COUNTER_SIZE_BYTES,
+          MIN_BYTES_AT_ONCE, MAX_BYTES_AT_ONCE, maxBytesAtOnce));
+    }
+    this.maxBytesAtOnce = maxBytesAtOnce;
+  }
+
+  /**
+   * Returns the current batch size divided by the counter size.
+   */
+  @Override public int getBlocksAtOnce() {
+    return getBytesAtOnce() / COUNTER_SIZE_BYTES;
+  }
+
+  /**
+   * Returns the length of the current batch, which varies between {@link #MIN_BYTES_AT_ONCE} and
+   * {@link #getMaxBytesAtOnce()}.
+   */
+  @Override public int getBytesAtOnce() {
+    return (currentBlock == null) ? MIN_BYTES_AT_ONCE : currentBlock.length;
+  }
+
+  /**
+   * Returns null when called on a subclass, since it may not produce the same output as a new
+   * {@link AesCtrRandom}.
+   */
+  @Override protected CipherCounterRandom createWithSeed(final byte[] seed) {
+    if (getClass() != AesCtrRandom.class) {
+      return null;
+    }
+    final AesCtrRandom copy = new AesCtrRandom(seed);
+    copy.maxBytesAtOnce = maxBytesAtOnce;
+    return copy;
+  }
+
+  @Override protected void createCipher() {
+    try {
+      cipher = Cipher.getInstance(ALGORITHM_MODE);
+    } catch (NoSuchAlgorithmException | NoSuchPaddingException e) {
+      throw new InternalError("Required cipher missing");
+    }
+  }
+
+  @Override protected void setKey(final byte[] key) throws InvalidKeyException {
+    this.key = new SecretKeySpec(key, "AES");
+    syncCipherCounter();
+  }
+
+  /**
+   * Halves the batch size if reseeding is about to discard more than half of the current batch, or
+   * if it's longer than the maximum.
+   */
+  @Override protected void setSeedInternal(final byte[] seed) {
+    if (currentBlock != null) {
+      final int length = currentBlock.length;
+      if (((blockFilled && (index < (length / 2))) || (length > maxBytesAtOnce))
+          && (length > MIN_BYTES_AT_ONCE)) {
+        currentBlock = new byte[Math.max(MIN_BYTES_AT_ONCE,
+            Math.min(length / 2, maxBytesAtOnce) & -COUNTER_SIZE_BYTES)];
+      }
+    }
+    blockFilled = false;
+    super.setSeedInternal(seed);
+  }
+
+  /**
+   * Keeps the batch size, since the current batch is being discarded rather than used up.
+   */
+  @Override protected void discardCurrentBlock() {
+    blockFilled = false;
+    super.discardCurrentBlock();
+  }
+
+  /**
+   * Generates the next batch of keystream with a single {@link Cipher#update(byte[], int, int,
+   * byte[], int)} call. If the previous batch was used up, this one is twice as long, up to the
+   * maximum.
+   */
+  @Override protected void nextBlock() {
+    final int length = currentBlock.length;
+    if (blockFilled && (index >= length) && (length < maxBytesAtOnce)) {
+      currentBlock = new byte[Math.min(length * 2, maxBytesAtOnce)];
+    }
+    try {
+      if (!Arrays.equals(counter, cipherCounter)) {
+        syncCipherCounter();
+      }
+      cipher.update(ZEROES, 0, currentBlock.length, currentBlock, 0);
+    } catch (final GeneralSecurityException ex) {
+      // Should never happen.  If initialisation succeeds without exceptions
+      // we should be able to proceed indefinitely without exceptions.
+      throw new IllegalStateException("Failed creating next random block.", ex);
+    }
+    advanceCounters(currentBlock.length);
+    blockFilled = true;
+  }
+
+  /**
+   * Encrypts as many whole blocks as fit straight into the buffer, using as few {@link
+   * Cipher#update(ByteBuffer, ByteBuffer)} calls as possible.
+   */
+  @Override protected void nextBlocks(final ByteBuffer output) {
+    try {
+      if (!Arrays.equals(counter, cipherCounter)) {
+        syncCipherCounter();
+      }
+      int remaining = output.remaining() & -COUNTER_SIZE_BYTES;
+      while (remaining > 0) {
+        final int length = Math.min(remaining, ZEROES.length);
+        cipher.update(ByteBuffer.wrap(ZEROES, 0, length), output);
+        advanceCounters(length);
+        remaining -= length;
+      }
+    } catch (final GeneralSecurityException ex) {
+      throw new IllegalStateException("Failed creating next random block.", ex);
+    }
+  }
+
+  /**
+   * Not used by {@link #nextBlock()} or {@link #nextBlocks(ByteBuffer)}, which have the cipher
+   * generate the counter values itself. Encrypts the counters with the same {@link
+   * Cipher#update(byte[], int, int, byte[], int)} call, restarting the cipher at the first one if
+   * it isn't already there, so the counter values must be consecutive.
+   */
+  @Override protected void doCipher(final byte[] input, final byte[] output)
+      throws GeneralSecurityException {
+    final byte[] expectedIv = cipherCounter.clone();
+    Byte16ArrayArithmetic.addInto(expectedIv, Byte16ArrayArithmetic.ONE);
+    if (!Arrays.equals(Arrays.copyOf(input, COUNTER_SIZE_BYTES), expectedIv)) {
+      cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(input, 0, COUNTER_SIZE_BYTES));
+    }
+    cipher.update(ZEROES, 0, input.length, output, 0);
+    cipherCounter = Arrays.copyOfRange(input, input.length - COUNTER_SIZE_BYTES, input.length);
+  }
+
+  @Override
+  public MoreObjects.ToStringHelper addSubclassFields(final MoreObjects.ToStringHelper original) {
+    return super.addSubclassFields(original).add("maxBytesAtOnce", maxBytesAtOnce);
+  }
+
+  private void advanceCounters(final int bytes) {
+    Byte16ArrayArithmetic.addInto(counter, bytes / COUNTER_SIZE_BYTES);
+    System.arraycopy(counter, 0, cipherCounter, 0, COUNTER_SIZE_BYTES);
+  }
+
+  /**
+   * Restarts the cipher so that it continues from {@link #counter}, which has either been moved by
+   * {@link #advance(long)} or reseeding, or belongs to a new key.
+   */
+  private void syncCipherCounter() throws InvalidKeyException {
+    final byte[] iv = counter.clone();
+    Byte16ArrayArithmetic.addInto(iv, Byte16ArrayArithmetic.ONE);
+    try {
+      cipher.init(Cipher.ENCRYPT_MODE, key, new IvParameterSpec(iv));
+    } catch (final InvalidAlgorithmParameterException e) {
+      throw new InternalError("Invalid IV: " + Arrays.toString(iv), e);
+    }
+    cipherCounter = counter.clone();
+  }
+}
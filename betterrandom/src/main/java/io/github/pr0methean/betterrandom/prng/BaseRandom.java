@@ -12,19 +12,25 @@ import io.github.pr0methean.betterrandom.seed.SeedGenerator;
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
 import io.github.pr0methean.betterrandom.util.Dumpable;
 import io.github.pr0methean.betterrandom.util.EntryPoint;
+import io.github.pr0methean.betterrandom.util.Ziggurat;
 import java.io.IOException;
 import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 import java.util.stream.BaseStream;
 import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
 import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
 import javax.annotation.Nullable;
 
 /**
@@ -45,8 +51,23 @@ public abstract class BaseRandom extends Random
    */
   protected static final int ENTROPY_OF_DOUBLE = 53;
 
-  private static final long NAN_LONG_BITS = Double.doubleToRawLongBits(Double.NaN);
   private static final long serialVersionUID = -1556392727255964947L;
+  /**
+   * Spacing in longs between the cells of {@link #entropyDebitStripes}; 128 bytes, so that
+   * adjacent-line prefetching doesn't cause false sharing either.
+   */
+  private static final int STRIPE_STRIDE = 16;
+  /**
+   * Largest scratch array {@link #nextBytesNoEntropyDebit(ByteBuffer)} uses to fill a direct
+   * buffer. A multiple of {@link Long#BYTES}, so that chunking doesn't change the output.
+   */
+  private static final int DIRECT_BUFFER_CHUNK_BYTES = 4096;
+  /**
+   * Base-2 logarithm of the number of cells in {@link #entropyDebitStripes}: enough for one per
+   * available processor.
+   */
+  private static final int LOG2_STRIPES = Integer.SIZE - Integer.numberOfLeadingZeros(
+      Runtime.getRuntime().availableProcessors() - 1);
   /**
    * If the referent is non-null, it will be invoked to reseed this PRNG whenever random output is
    * taken and {@link #getEntropyBits()} called immediately afterward would return zero or
@@ -54,15 +75,22 @@ public abstract class BaseRandom extends Random
    */
   protected final AtomicReference<RandomSeeder> randomSeeder = new AtomicReference<>(null);
   /**
-   * Lock to prevent concurrent modification of the RNG's internal state.
+   * Lock to prevent concurrent modification of the RNG's internal state. Acquiring it is a no-op
+   * unless the {@link ConcurrencyMode} is {@link ConcurrencyMode#SYNCHRONIZED}, so conditions
+   * created from it can only be used in that mode.
    */
-  protected final ReentrantLock lock = new ReentrantLock();
+  protected final ReentrantLock lock = new ConcurrencyModeLock();
   /**
    * Stores the entropy estimate backing {@link #getEntropyBits()}.
    */
   protected final AtomicLong entropyBits = new AtomicLong(0);
-  // Stored as a long since there's no atomic double
-  private final AtomicLong nextNextGaussian = new AtomicLong(NAN_LONG_BITS);
+  private volatile EntropyAccountingMode entropyAccountingMode = EntropyAccountingMode.EXACT;
+  /**
+   * Per-thread debits not yet subtracted from {@link #entropyBits}, in {@link
+   * EntropyAccountingMode#STRIPED} mode; one cell every {@link #STRIPE_STRIDE} elements, so that
+   * each is on its own cache line. Null until that mode is first used.
+   */
+  @Nullable private volatile AtomicLongArray entropyDebitStripes;
   /**
    * The seed this PRNG was seeded with, as a byte array. Used by {@link #getSeed()} even if the
    * actual internal state of the PRNG is stored elsewhere (since otherwise getSeed() would require
@@ -238,13 +266,110 @@ public abstract class BaseRandom extends Random
   /**
    * Generates random bytes and places them into a user-supplied byte array. The number of random
    * bytes produced is equal to the length of the byte array. Reimplemented for entropy-counting
-   * purposes.
+   * purposes, and so that the lock is taken only once.
    */
-  @SuppressWarnings("NumericCastThatLosesPrecision") @Override public void nextBytes(
-      final byte[] bytes) {
-    for (int i = 0; i < bytes.length; i++) {
-      bytes[i] = (byte) next(Byte.SIZE);
-      debitEntropy(Byte.SIZE);
+  @Override public void nextBytes(final byte[] bytes) {
+    lock.lock();
+    try {
+      nextBytesNoEntropyDebit(bytes, 0, bytes.length);
+    } finally {
+      lock.unlock();
+    }
+    debitEntropy(Byte.SIZE * (long) bytes.length);
+  }
+
+  /**
+   * Fills part of a byte array with random bytes, but does not debit entropy. Called by {@link
+   * #nextBytes(byte[])} with {@link #lock} held. This implementation splits each {@code
+   * next(32)} into 4 bytes, least significant first, as {@link Random#nextBytes(byte[])} does.
+   * Subclasses whose native output is wider should override this.
+   *
+   * @param bytes the array to fill
+   * @param off the index of the first byte to fill
+   * @param len the number of bytes to fill
+   */
+  @SuppressWarnings("NumericCastThatLosesPrecision")
+  protected void nextBytesNoEntropyDebit(final byte[] bytes, final int off, final int len) {
+    final int end = off + len;
+    int i = off;
+    while (i < end) {
+      int rnd = next(Integer.SIZE);
+      for (int n = Math.min(end - i, Integer.BYTES); n > 0; n--) {
+        bytes[i] = (byte) rnd;
+        i++;
+        rnd >>= Byte.SIZE;
+      }
+    }
+  }
+
+  /**
+   * Implementation of {@link #nextBytesNoEntropyDebit(byte[], int, int)} for subclasses whose
+   * native output is a {@code long}: splits each {@link #nextLongNoEntropyDebit()} into 8 bytes,
+   * least significant first.
+   *
+   * @param bytes the array to fill
+   * @param off the index of the first byte to fill
+   * @param len the number of bytes to fill
+   */
+  @SuppressWarnings("NumericCastThatLosesPrecision")
+  protected final void nextBytesFromLongsNoEntropyDebit(final byte[] bytes, final int off,
+      final int len) {
+    final int end = off + len;
+    int i = off;
+    while (i < end) {
+      long rnd = nextLongNoEntropyDebit();
+      for (int n = Math.min(end - i, Long.BYTES); n > 0; n--) {
+        bytes[i] = (byte) rnd;
+        i++;
+        rnd >>= Byte.SIZE;
+      }
+    }
+  }
+
+  /**
+   * Fills the remaining space in a {@link ByteBuffer} (from its position to its limit) with random
+   * bytes, and advances its position to its limit. Unlike {@link #nextBytes(byte[])}, this can
+   * fill a direct buffer without first generating the bytes into a heap array. The lock is taken
+   * only once and entropy is debited only once.
+   *
+   * @param dest the buffer to fill
+   * @throws java.nio.ReadOnlyBufferException if {@code dest} is read-only
+   */
+  public void nextBytes(final ByteBuffer dest) {
+    final int len = dest.remaining();
+    lock.lock();
+    try {
+      nextBytesNoEntropyDebit(dest);
+    } finally {
+      lock.unlock();
+    }
+    debitEntropy(Byte.SIZE * (long) len);
+  }
+
+  /**
+   * Fills the remaining space in a {@link ByteBuffer} with random bytes, but does not debit
+   * entropy. Called by {@link #nextBytes(ByteBuffer)} with {@link #lock} held. If the buffer is
+   * backed by an accessible array, this implementation fills it with {@link
+   * #nextBytesNoEntropyDebit(byte[], int, int)}. Otherwise, it fills a bounded scratch array the
+   * same way, one chunk at a time, and copies each chunk into the buffer. Since every chunk but the
+   * last is a whole number of {@code long}s, both ways give the same output as {@link
+   * #nextBytes(byte[])} and leave the same state afterward.
+   *
+   * @param dest the buffer to fill
+   */
+  protected void nextBytesNoEntropyDebit(final ByteBuffer dest) {
+    final int position = dest.position();
+    final int len = dest.remaining();
+    if (dest.hasArray()) {
+      nextBytesNoEntropyDebit(dest.array(), dest.arrayOffset() + position, len);
+      dest.position(position + len);
+      return;
+    }
+    final byte[] chunk = new byte[Math.min(len, DIRECT_BUFFER_CHUNK_BYTES)];
+    while (dest.hasRemaining()) {
+      final int chunkLen = Math.min(dest.remaining(), chunk.length);
+      nextBytesNoEntropyDebit(chunk, 0, chunkLen);
+      dest.put(chunk, 0, chunkLen);
     }
   }
 
@@ -328,8 +453,9 @@ public abstract class BaseRandom extends Random
    */
   @Override public DoubleStream doubles(final double randomNumberOrigin,
       final double randomNumberBound) {
-    return maybeParallel(
-        DoubleStream.generate(() -> nextDouble(randomNumberOrigin, randomNumberBound)));
+    return seekableDoubles(Long.MAX_VALUE, randomNumberOrigin, randomNumberBound,
+        () -> maybeParallel(
+            DoubleStream.generate(() -> nextDouble(randomNumberOrigin, randomNumberBound))));
   }
 
   /**
@@ -338,17 +464,103 @@ public abstract class BaseRandom extends Random
    * generate these numbers.</p>
    */
   @Override public DoubleStream doubles() {
-    return maybeParallel(DoubleStream.generate(this::nextDouble));
+    return seekableDoubles(Long.MAX_VALUE, 0.0, 1.0,
+        () -> maybeParallel(DoubleStream.generate(this::nextDouble)));
   }
 
   @Override public DoubleStream doubles(final long streamSize) {
-    return streamOfSize(streamSize).mapToDouble(ignored -> nextDouble());
+    return seekableDoubles(streamSize, 0.0, 1.0,
+        () -> streamOfSize(streamSize).mapToDouble(ignored -> nextDouble()));
   }
 
   private LongStream streamOfSize(final long streamSize) {
     return maybeParallel(LongStream.range(0, streamSize).unordered());
   }
 
+  /**
+   * <p>Returns a copy of this PRNG at its current position in its output sequence, then advances
+   * this PRNG by {@code steps} as if by {@link
+   * io.github.pr0methean.betterrandom.SeekableRandom#advance(long)}, so that the copy can produce
+   * the next {@code steps} steps of output while this PRNG is used for something else. Used to
+   * create streams whose spliterators each own a copy of the PRNG, so that parallel streams need
+   * no shared lock and produce the same output as sequential ones.</p>
+   *
+   * <p>The copy is not registered with any {@link RandomSeeder}, and its entropy count is
+   * meaningless. This implementation returns null, meaning that the PRNG can't be copied and
+   * streams will use the shared instance instead. Only a
+   * {@link io.github.pr0methean.betterrandom.SeekableRandom} should override it.</p>
+   *
+   * @param steps how far to advance this PRNG after copying it
+   * @return a copy of this PRNG, or null if that isn't supported
+   */
+  @Nullable protected BaseRandom splitForStream(final long steps) {
+    return null;
+  }
+
+  /**
+   * Returns whether the unsized streams from methods such as {@link #ints()} should use {@link
+   * #splitForStream(long)}, which for them advances this PRNG by about 2<sup>63</sup> steps. If
+   * not, they're generated on demand from this PRNG, like those of a PRNG that can't be copied.
+   * This implementation returns true; subclasses for which such a long advance is slow should
+   * override it to return false.
+   *
+   * @return true if unsized streams should be split from this PRNG
+   */
+  protected boolean splitsUnsizedStreams() {
+    return true;
+  }
+
+  /**
+   * Returns how many steps of {@link io.github.pr0methean.betterrandom.SeekableRandom#advance(long)}
+   * are consumed by {@link #nextLong()} and by {@link #nextDouble()}. A step is assumed to produce
+   * one {@link #nextInt()}. This implementation returns 2, which is correct for subclasses that
+   * inherit {@link Random#nextLong()} and {@link Random#nextDouble()}.
+   *
+   * @return the number of steps per {@code long} or {@code double}
+   */
+  protected int getAdvanceStepsPerLong() {
+    return 2;
+  }
+
+  /**
+   * Returns {@code a * b} for non-negative arguments, or {@link Long#MAX_VALUE} on overflow.
+   *
+   * @param a a non-negative multiplicand
+   * @param b a non-negative multiplicand
+   * @return the product, saturated at {@link Long#MAX_VALUE}
+   */
+  static long saturatedMultiply(final long a, final long b) {
+    return ((b != 0) && (a > (Long.MAX_VALUE / b))) ? Long.MAX_VALUE : (a * b);
+  }
+
+  private boolean shouldSplitForStream(final long streamSize) {
+    return (streamSize > 0) && ((streamSize < Long.MAX_VALUE) || splitsUnsizedStreams());
+  }
+
+  private IntStream seekableInts(final long streamSize, final Supplier<IntStream> fallback) {
+    final BaseRandom copy = shouldSplitForStream(streamSize) ? splitForStream(streamSize) : null;
+    return (copy == null) ? fallback.get() : StreamSupport.intStream(
+        new SeekableRandomSpliterator.IntSpliterator(this, copy, 0, streamSize),
+        usesParallelStreams());
+  }
+
+  private LongStream seekableLongs(final long streamSize, final Supplier<LongStream> fallback) {
+    final BaseRandom copy = shouldSplitForStream(streamSize)
+        ? splitForStream(saturatedMultiply(streamSize, getAdvanceStepsPerLong())) : null;
+    return (copy == null) ? fallback.get() : StreamSupport.longStream(
+        new SeekableRandomSpliterator.LongSpliterator(this, copy, 0, streamSize),
+        usesParallelStreams());
+  }
+
+  private DoubleStream seekableDoubles(final long streamSize, final double origin,
+      final double bound, final Supplier<DoubleStream> fallback) {
+    final BaseRandom copy = shouldSplitForStream(streamSize)
+        ? splitForStream(saturatedMultiply(streamSize, getAdvanceStepsPerLong())) : null;
+    return (copy == null) ? fallback.get() : StreamSupport.doubleStream(
+        new SeekableRandomSpliterator.DoubleSpliterator(this, copy, 0, streamSize, origin, bound),
+        usesParallelStreams());
+  }
+
   /**
    * Returns a stream producing the given number of pseudorandom doubles, each conforming to the
    * given origin (inclusive) and bound (exclusive). This implementation uses {@link
@@ -356,8 +568,9 @@ public abstract class BaseRandom extends Random
    */
   @Override public DoubleStream doubles(final long streamSize, final double randomNumberOrigin,
       final double randomNumberBound) {
-    return streamOfSize(streamSize)
-        .mapToDouble(ignored -> nextDouble(randomNumberOrigin, randomNumberBound));
+    return seekableDoubles(streamSize, randomNumberOrigin, randomNumberBound,
+        () -> streamOfSize(streamSize)
+            .mapToDouble(ignored -> nextDouble(randomNumberOrigin, randomNumberBound)));
   }
 
   /**
@@ -416,76 +629,42 @@ public abstract class BaseRandom extends Random
   /**
    * Returns the next pseudorandom, Gaussian ("normally") distributed double value with mean 0.0 and
    * standard deviation 1.0 from this random number generator's sequence. Unlike the one in {@link
-   * Random}, this implementation is lockless.
+   * Random}, this implementation uses the ziggurat method, which usually needs only one {@link
+   * #nextLongNoEntropyDebit()}, and caches no spare value.
    */
   @SuppressWarnings("NonSynchronizedMethodOverridesSynchronizedMethod") @Override public double nextGaussian() {
-    // Upper bound. 2 Gaussians are generated from 2 nextDouble calls, which once made are either
-    // used or rerolled.
-    debitEntropy(ENTROPY_OF_DOUBLE);
-    return internalNextGaussian(this::nextDoubleNoEntropyDebit);
-  }
-
-  /**
-   * Core of a reimplementation of {@link #nextGaussian()} whose locking is overridable and doesn't
-   * happen when a value is already stored.
-   *
-   * @param nextDouble shall return a random number between 0 and 1, like {@link #nextDouble()},
-   *     but shall not debit the entropy count.
-   * @return a random number that is normally distributed with mean 0 and standard deviation 1.
-   */
-  protected double internalNextGaussian(
-      final DoubleSupplier nextDouble) {
-    // See Knuth, ACP, Section 3.4.1 Algorithm C.
-    final double firstTryOut = takeNextNextGaussian();
-    if (Double.isNaN(firstTryOut))
-      return firstTryOut;
-    lockForNextGaussian();
+    lock.lock();
     try {
-      // Another output may have become available while we waited for the lock
-      final double secondTryOut = takeNextNextGaussian();
-      if (!Double.isNaN(secondTryOut)) {
-        return secondTryOut;
-      }
-      double s;
-      double v1;
-      double v2;
-      do {
-        v1 = (2 * nextDouble.getAsDouble()) - 1; // between -1 and 1
-        v2 = (2 * nextDouble.getAsDouble()) - 1; // between -1 and 1
-        s = (v1 * v1) + (v2 * v2);
-      } while ((s >= 1) || (s == 0));
-      final double multiplier = StrictMath.sqrt((-2 * StrictMath.log(s)) / s);
-      nextNextGaussian.set(Double.doubleToRawLongBits(v2 * multiplier));
-      return v1 * multiplier;
+      return Ziggurat.nextGaussian(this::nextLongNoEntropyDebit);
     } finally {
-      unlockForNextGaussian();
+      lock.unlock();
+      debitEntropy(ENTROPY_OF_DOUBLE);
     }
   }
 
-  private double takeNextNextGaussian() {
-    return Double.longBitsToDouble(nextNextGaussian.getAndSet(NAN_LONG_BITS));
-  }
-
   /**
-   * Performs whatever locking is needed by {@link #nextGaussian()}.
+   * Returns the next pseudorandom, exponentially distributed double value with mean 1.0 from this
+   * random number generator's sequence, using the ziggurat method.
+   *
+   * @return a non-negative, exponentially distributed random {@code double}
    */
-  protected void lockForNextGaussian() {
+  public double nextExponential() {
     lock.lock();
-  }
-
-  /**
-   * Releases the locks acquired by {@link #lockForNextGaussian()}.
-   */
-  protected void unlockForNextGaussian() {
-    lock.unlock();
+    try {
+      return Ziggurat.nextExponential(this::nextLongNoEntropyDebit);
+    } finally {
+      lock.unlock();
+      debitEntropy(ENTROPY_OF_DOUBLE);
+    }
   }
 
   @Override public IntStream ints(final long streamSize) {
-    return streamOfSize(streamSize).mapToInt(ignored -> nextInt());
+    return seekableInts(streamSize,
+        () -> streamOfSize(streamSize).mapToInt(ignored -> nextInt()));
   }
 
   @Override public IntStream ints() {
-    return maybeParallel(IntStream.generate(this::nextInt));
+    return seekableInts(Long.MAX_VALUE, () -> maybeParallel(IntStream.generate(this::nextInt)));
   }
 
   /**
@@ -549,7 +728,7 @@ public abstract class BaseRandom extends Random
   }
 
   @Override public LongStream longs(final long streamSize) {
-    return streamOfSize(streamSize).map(ignored -> nextLong());
+    return seekableLongs(streamSize, () -> streamOfSize(streamSize).map(ignored -> nextLong()));
   }
 
   /**
@@ -558,7 +737,8 @@ public abstract class BaseRandom extends Random
    * consumed.</p>
    */
   @Override public LongStream longs() {
-    return maybeParallel(LongStream.generate(this::nextLong));
+    return seekableLongs(Long.MAX_VALUE,
+        () -> maybeParallel(LongStream.generate(this::nextLong)));
   }
 
   /**
@@ -583,35 +763,39 @@ public abstract class BaseRandom extends Random
    * @throws IllegalArgumentException if {@code origin} is greater than or equal to {@code
    *     bound}
    */
-  @SuppressWarnings({"StatementWithEmptyBody", "NestedAssignment"}) public long nextLong(
-      final long origin, final long bound) {
+  public long nextLong(final long origin, final long bound) {
     checkValidRange(origin, bound);
     lock.lock();
     try {
-      long r = nextLongNoEntropyDebit();
-      final long n = bound - origin;
-      final long m = n - 1;
-      if ((n & m) == 0L)  // power of two
-      {
-        return (r & m) + origin;
-      } else if (n > 0L) {  // reject over-represented candidates
-        for (long u = r >>> 1;            // ensure nonnegative
-            ((u + m) - ((r = u % n))) < 0L;    // rejection check
-            u = nextLongNoEntropyDebit() >>> 1) {
-        } // retry
-        r += origin;
-      } else {              // range not representable as long
-        while ((r < origin) || (r >= bound)) {
-          r = nextLongNoEntropyDebit();
-        }
-      }
-      return r;
+      return nextLongNoEntropyDebit(origin, bound);
     } finally {
       lock.unlock();
       debitEntropy(entropyOfLong(origin, bound));
     }
   }
 
+  @SuppressWarnings({"StatementWithEmptyBody", "NestedAssignment"})
+  private long nextLongNoEntropyDebit(final long origin, final long bound) {
+    long r = nextLongNoEntropyDebit();
+    final long n = bound - origin;
+    final long m = n - 1;
+    if ((n & m) == 0L)  // power of two
+    {
+      return (r & m) + origin;
+    } else if (n > 0L) {  // reject over-represented candidates
+      for (long u = r >>> 1;            // ensure nonnegative
+          ((u + m) - ((r = u % n))) < 0L;    // rejection check
+          u = nextLongNoEntropyDebit() >>> 1) {
+      } // retry
+      r += origin;
+    } else {              // range not representable as long
+      while ((r < origin) || (r >= bound)) {
+        r = nextLongNoEntropyDebit();
+      }
+    }
+    return r;
+  }
+
   /**
    * Returns the next random {@code long}, but does not debit entropy.
    *
@@ -636,6 +820,387 @@ public abstract class BaseRandom extends Random
         LongStream.generate(() -> nextLong(randomNumberOrigin, randomNumberBound)));
   }
 
+  /**
+   * Fills the given array with pseudorandom {@code int} values, as if by calling {@link
+   * #nextInt()} for each element, but holding the lock only once and debiting entropy only once.
+   *
+   * @param out the array to fill
+   */
+  public void nextInts(final int[] out) {
+    nextInts(out, 0, out.length);
+  }
+
+  /**
+   * Fills part of the given array with pseudorandom {@code int} values, as if by calling {@link
+   * #nextInt()} for each element, but holding the lock only once and debiting entropy only once.
+   *
+   * @param out the array to fill
+   * @param off the index of the first element to fill
+   * @param len the number of elements to fill
+   * @throws IndexOutOfBoundsException if {@code off} and {@code len} don't describe a range within
+   *     {@code out}
+   */
+  public void nextInts(final int[] out, final int off, final int len) {
+    checkArrayRange(out.length, off, len);
+    lock.lock();
+    try {
+      nextIntsNoEntropyDebit(out, off, len);
+    } finally {
+      lock.unlock();
+    }
+    debitEntropy(Integer.SIZE * (long) len);
+  }
+
+  /**
+   * Fills part of the given array with pseudorandom {@code int} values between {@code origin}
+   * (inclusive) and {@code bound} (exclusive), as if by calling {@link #nextInt(int, int)} for each
+   * element, but holding the lock only once and debiting entropy only once.
+   *
+   * @param out the array to fill
+   * @param off the index of the first element to fill
+   * @param len the number of elements to fill
+   * @param origin the least value to output
+   * @param bound the upper bound (exclusive)
+   * @throws IndexOutOfBoundsException if {@code off} and {@code len} don't describe a range within
+   *     {@code out}
+   * @throws IllegalArgumentException if {@code origin} is greater than or equal to {@code
+   *     bound}
+   */
+  public void nextInts(final int[] out, final int off, final int len, final int origin,
+      final int bound) {
+    checkArrayRange(out.length, off, len);
+    checkValidRange(origin, bound);
+    lock.lock();
+    try {
+      nextIntsNoEntropyDebit(out, off, len, origin, bound);
+    } finally {
+      lock.unlock();
+    }
+    debitEntropy(entropyOfInt(origin, bound) * (long) len);
+  }
+
+  /**
+   * Fills the given array with pseudorandom {@code long} values, as if by calling {@link
+   * #nextLong()} for each element, but holding the lock only once and debiting entropy only once.
+   *
+   * @param out the array to fill
+   */
+  public void nextLongs(final long[] out) {
+    nextLongs(out, 0, out.length);
+  }
+
+  /**
+   * Fills part of the given array with pseudorandom {@code long} values, as if by calling {@link
+   * #nextLong()} for each element, but holding the lock only once and debiting entropy only once.
+   *
+   * @param out the array to fill
+   * @param off the index of the first element to fill
+   * @param len the number of elements to fill
+   * @throws IndexOutOfBoundsException if {@code off} and {@code len} don't describe a range within
+   *     {@code out}
+   */
+  public void nextLongs(final long[] out, final int off, final int len) {
+    checkArrayRange(out.length, off, len);
+    lock.lock();
+    try {
+      nextLongsNoEntropyDebit(out, off, len);
+    } finally {
+      lock.unlock();
+    }
+    debitEntropy(Long.SIZE * (long) len);
+  }
+
+  /**
+   * Fills part of the given array with pseudorandom {@code long} values between {@code origin}
+   * (inclusive) and {@code bound} (exclusive), as if by calling {@link #nextLong(long, long)} for
+   * each element, but holding the lock only once and debiting entropy only once.
+   *
+   * @param out the array to fill
+   * @param off the index of the first element to fill
+   * @param len the number of elements to fill
+   * @param origin the least value to output
+   * @param bound the upper bound (exclusive)
+   * @throws IndexOutOfBoundsException if {@code off} and {@code len} don't describe a range within
+   *     {@code out}
+   * @throws IllegalArgumentException if {@code origin} is greater than or equal to {@code
+   *     bound}
+   */
+  public void nextLongs(final long[] out, final int off, final int len, final long origin,
+      final long bound) {
+    checkArrayRange(out.length, off, len);
+    checkValidRange(origin, bound);
+    lock.lock();
+    try {
+      nextLongsNoEntropyDebit(out, off, len, origin, bound);
+    } finally {
+      lock.unlock();
+    }
+    debitEntropy(entropyOfLong(origin, bound) * (long) len);
+  }
+
+  /**
+   * Fills the given array with pseudorandom {@code double} values between 0.0 (inclusive) and 1.0
+   * (exclusive), as if by calling {@link #nextDouble()} for each element, but holding the lock
+   * only once and debiting entropy only once.
+   *
+   * @param out the array to fill
+   */
+  public void nextDoubles(final double[] out) {
+    nextDoubles(out, 0, out.length);
+  }
+
+  /**
+   * Fills part of the given array with pseudorandom {@code double} values between 0.0 (inclusive)
+   * and 1.0 (exclusive), as if by calling {@link #nextDouble()} for each element, but holding the
+   * lock only once and debiting entropy only once.
+   *
+   * @param out the array to fill
+   * @param off the index of the first element to fill
+   * @param len the number of elements to fill
+   * @throws IndexOutOfBoundsException if {@code off} and {@code len} don't describe a range within
+   *     {@code out}
+   */
+  public void nextDoubles(final double[] out, final int off, final int len) {
+    checkArrayRange(out.length, off, len);
+    lock.lock();
+    try {
+      nextDoublesNoEntropyDebit(out, off, len);
+    } finally {
+      lock.unlock();
+    }
+    debitEntropy(ENTROPY_OF_DOUBLE * (long) len);
+  }
+
+  /**
+   * Fills part of the given array with pseudorandom {@code double} values between {@code origin}
+   * (inclusive) and {@code bound} (exclusive), as if by calling {@link #nextDouble(double, double)}
+   * for each element, but holding the lock only once and debiting entropy only once.
+   *
+   * @param out the array to fill
+   * @param off the index of the first element to fill
+   * @param len the number of elements to fill
+   * @param origin the least value to output
+   * @param bound the upper bound (exclusive)
+   * @throws IndexOutOfBoundsException if {@code off} and {@code len} don't describe a range within
+   *     {@code out}
+   * @throws IllegalArgumentException if {@code origin} is greater than or equal to {@code
+   *     bound}
+   */
+  public void nextDoubles(final double[] out, final int off, final int len, final double origin,
+      final double bound) {
+    if (bound <= origin) {
+      throw new IllegalArgumentException(
+          String.format("Bound %f must be greater than origin %f", bound, origin));
+    }
+    nextDoubles(out, off, len);
+    final double range = bound - origin;
+    final double maxOut = Double.longBitsToDouble(Double.doubleToRawLongBits(bound) - 1);
+    for (int i = off; i < off + len; i++) {
+      final double scaled = (out[i] * range) + origin;
+      // correct for rounding
+      out[i] = (scaled >= bound) ? maxOut : scaled;
+    }
+  }
+
+  /**
+   * Fills the given array with pseudorandom {@code float} values between 0.0 (inclusive) and 1.0
+   * (exclusive), as if by calling {@link #nextFloat()} for each element, but holding the lock only
+   * once and debiting entropy only once.
+   *
+   * @param out the array to fill
+   */
+  public void nextFloats(final float[] out) {
+    nextFloats(out, 0, out.length);
+  }
+
+  /**
+   * Fills part of the given array with pseudorandom {@code float} values between 0.0 (inclusive)
+   * and 1.0 (exclusive), as if by calling {@link #nextFloat()} for each element, but holding the
+   * lock only once and debiting entropy only once.
+   *
+   * @param out the array to fill
+   * @param off the index of the first element to fill
+   * @param len the number of elements to fill
+   * @throws IndexOutOfBoundsException if {@code off} and {@code len} don't describe a range within
+   *     {@code out}
+   */
+  public void nextFloats(final float[] out, final int off, final int len) {
+    checkArrayRange(out.length, off, len);
+    lock.lock();
+    try {
+      nextFloatsNoEntropyDebit(out, off, len);
+    } finally {
+      lock.unlock();
+    }
+    debitEntropy(ENTROPY_OF_FLOAT * (long) len);
+  }
+
+  /**
+   * Fills the given array with pseudorandom, normally distributed {@code double} values with mean
+   * 0.0 and standard deviation 1.0, as if by calling {@link #nextGaussian()} for each element, but
+   * holding the lock only once and debiting entropy only once.
+   *
+   * @param out the array to fill
+   */
+  public void nextGaussians(final double[] out) {
+    nextGaussians(out, 0, out.length);
+  }
+
+  /**
+   * Fills part of the given array with pseudorandom, normally distributed {@code double} values
+   * with mean 0.0 and standard deviation 1.0, as if by calling {@link #nextGaussian()} for each
+   * element, but holding the lock only once and debiting entropy only once.
+   *
+   * @param out the array to fill
+   * @param off the index of the first element to fill
+   * @param len the number of elements to fill
+   * @throws IndexOutOfBoundsException if {@code off} and {@code len} don't describe a range within
+   *     {@code out}
+   */
+  public void nextGaussians(final double[] out, final int off, final int len) {
+    checkArrayRange(out.length, off, len);
+    lock.lock();
+    try {
+      nextGaussiansNoEntropyDebit(out, off, len);
+    } finally {
+      lock.unlock();
+    }
+    debitEntropy(ENTROPY_OF_DOUBLE * (long) len);
+  }
+
+  /**
+   * Fills part of an array with the values {@link #nextInt()} would return, but does not debit
+   * entropy. Called by {@link #nextInts(int[], int, int)} with {@link #lock} held; subclasses
+   * should override this to generate directly from their internal state.
+   *
+   * @param out the array to fill
+   * @param off the index of the first element to fill
+   * @param len the number of elements to fill
+   */
+  protected void nextIntsNoEntropyDebit(final int[] out, final int off, final int len) {
+    for (int i = off; i < off + len; i++) {
+      out[i] = next(Integer.SIZE);
+    }
+  }
+
+  /**
+   * Fills part of an array with the values {@link #nextInt(int, int)} would return, but does not
+   * debit entropy. Called by {@link #nextInts(int[], int, int, int, int)} with {@link #lock} held,
+   * after checking that {@code bound > origin}.
+   *
+   * @param out the array to fill
+   * @param off the index of the first element to fill
+   * @param len the number of elements to fill
+   * @param origin the least value to output
+   * @param bound the upper bound (exclusive)
+   */
+  protected void nextIntsNoEntropyDebit(final int[] out, final int off, final int len,
+      final int origin, final int bound) {
+    final int range = bound - origin;
+    for (int i = off; i < off + len; i++) {
+      if (range >= 0) {
+        out[i] = super.nextInt(range) + origin;
+      } else {
+        int output;
+        do {
+          output = super.nextInt();
+        } while ((output < origin) || (output >= bound));
+        out[i] = output;
+      }
+    }
+  }
+
+  /**
+   * Fills part of an array with the values {@link #nextLong()} would return, but does not debit
+   * entropy. Called by {@link #nextLongs(long[], int, int)} with {@link #lock} held; subclasses
+   * should override this to generate directly from their internal state.
+   *
+   * @param out the array to fill
+   * @param off the index of the first element to fill
+   * @param len the number of elements to fill
+   */
+  protected void nextLongsNoEntropyDebit(final long[] out, final int off, final int len) {
+    for (int i = off; i < off + len; i++) {
+      out[i] = nextLongNoEntropyDebit();
+    }
+  }
+
+  /**
+   * Fills part of an array with the values {@link #nextLong(long, long)} would return, but does not
+   * debit entropy. Called by {@link #nextLongs(long[], int, int, long, long)} with {@link #lock}
+   * held, after checking that {@code bound > origin}.
+   *
+   * @param out the array to fill
+   * @param off the index of the first element to fill
+   * @param len the number of elements to fill
+   * @param origin the least value to output
+   * @param bound the upper bound (exclusive)
+   */
+  protected void nextLongsNoEntropyDebit(final long[] out, final int off, final int len,
+      final long origin, final long bound) {
+    for (int i = off; i < off + len; i++) {
+      out[i] = nextLongNoEntropyDebit(origin, bound);
+    }
+  }
+
+  /**
+   * Fills part of an array with the values {@link #nextDouble()} would return, but does not debit
+   * entropy. Called by {@link #nextDoubles(double[], int, int)} with {@link #lock} held.
+   *
+   * @param out the array to fill
+   * @param off the index of the first element to fill
+   * @param len the number of elements to fill
+   */
+  protected void nextDoublesNoEntropyDebit(final double[] out, final int off, final int len) {
+    for (int i = off; i < off + len; i++) {
+      out[i] = nextDoubleNoEntropyDebit();
+    }
+  }
+
+  /**
+   * Fills part of an array with the values {@link #nextFloat()} would return, but does not debit
+   * entropy. Called by {@link #nextFloats(float[], int, int)} with {@link #lock} held.
+   *
+   * @param out the array to fill
+   * @param off the index of the first element to fill
+   * @param len the number of elements to fill
+   */
+  protected void nextFloatsNoEntropyDebit(final float[] out, final int off, final int len) {
+    for (int i = off; i < off + len; i++) {
+      out[i] = super.nextFloat();
+    }
+  }
+
+  /**
+   * Fills part of an array with the values {@link #nextGaussian()} would return, but does not
+   * debit entropy. Called by {@link #nextGaussians(double[], int, int)} with {@link #lock} held.
+   *
+   * @param out the array to fill
+   * @param off the index of the first element to fill
+   * @param len the number of elements to fill
+   */
+  protected void nextGaussiansNoEntropyDebit(final double[] out, final int off, final int len) {
+    final LongSupplier bits = this::nextLongNoEntropyDebit;
+    for (int i = off; i < off + len; i++) {
+      out[i] = Ziggurat.nextGaussian(bits);
+    }
+  }
+
+  /**
+   * Checks that {@code off} and {@code len} describe a range within an array.
+   *
+   * @param arrayLength the length of the array
+   * @param off the start of the range
+   * @param len the length of the range
+   * @throws IndexOutOfBoundsException if the range isn't within the array
+   */
+  protected static void checkArrayRange(final int arrayLength, final int off, final int len) {
+    if ((off < 0) || (len < 0) || (len > (arrayLength - off))) {
+      throw new IndexOutOfBoundsException(String.format(
+          "Range [%d, %d + %d) out of bounds for length %d", off, off, len, arrayLength));
+    }
+  }
+
   @Override public String dump() {
     lock.lock();
     try {
@@ -702,12 +1267,18 @@ public abstract class BaseRandom extends Random
   /**
    * Registers this PRNG with the {@link RandomSeeder} for the corresponding {@link
    * SeedGenerator}, to schedule reseeding when we run out of entropy. Unregisters this PRNG with
-   * the previous {@link RandomSeeder} if it had a different one.
+   * the previous {@link RandomSeeder} if it had a different one. A {@link
+   * ConcurrencyMode#CONFINED} PRNG reverts to {@link ConcurrencyMode#SYNCHRONIZED} when given a
+   * non-null seeder.
    *
    * @param randomSeeder a {@link SeedGenerator} whose {@link RandomSeeder} will be used
    *     to reseed this PRNG, or null to stop using one.
    */
   public void setRandomSeeder(@Nullable final RandomSeeder randomSeeder) {
+    if (randomSeeder != null && getConcurrencyMode() == ConcurrencyMode.CONFINED) {
+      // The seeder will call setSeed from its own thread
+      ((ConcurrencyModeLock) lock).setMode(ConcurrencyMode.SYNCHRONIZED);
+    }
     RandomSeeder old = this.randomSeeder.getAndSet(randomSeeder);
     if (old != randomSeeder) {
       if (old != null) {
@@ -732,6 +1303,52 @@ public abstract class BaseRandom extends Random
     return getNewSeedLength() <= Long.BYTES;
   }
 
+  /**
+   * Returns how this PRNG currently protects its internal state against concurrent access.
+   *
+   * @return the current concurrency mode
+   */
+  public ConcurrencyMode getConcurrencyMode() {
+    return ((ConcurrencyModeLock) lock).mode;
+  }
+
+  /**
+   * Changes how this PRNG protects its internal state against concurrent access. Must not be
+   * called while any thread is using this PRNG in another mode than {@link
+   * ConcurrencyMode#SYNCHRONIZED}. If the new mode is {@link ConcurrencyMode#CONFINED}, the next
+   * thread to use this PRNG becomes its owner.
+   *
+   * @param mode the new concurrency mode
+   * @throws UnsupportedOperationException if {@link #supportsConcurrencyMode(ConcurrencyMode)}
+   *     returns false for {@code mode}
+   * @throws IllegalStateException if {@code mode} is {@link ConcurrencyMode#CONFINED} and a
+   *     {@link RandomSeeder} is attached, since it would reseed this PRNG from another thread
+   */
+  public void setConcurrencyMode(final ConcurrencyMode mode) {
+    if (!supportsConcurrencyMode(mode)) {
+      throw new UnsupportedOperationException(
+          String.format("%s doesn't support concurrency mode %s", getClass().getSimpleName(), mode));
+    }
+    if (mode == ConcurrencyMode.CONFINED && getRandomSeeder() != null) {
+      throw new IllegalStateException("Can't confine a PRNG that a RandomSeeder will reseed");
+    }
+    ((ConcurrencyModeLock) lock).setMode(mode);
+  }
+
+  /**
+   * Returns whether this PRNG can operate in the given {@link ConcurrencyMode}. All
+   * implementations support {@link ConcurrencyMode#SYNCHRONIZED}, and all support {@link
+   * ConcurrencyMode#CONFINED} unless they need {@link #lock} to coordinate with other threads.
+   * Subclasses that keep their state in atomic variables should override this to also return true
+   * for {@link ConcurrencyMode#LOCK_FREE}.
+   *
+   * @param mode a concurrency mode
+   * @return true if {@link #setConcurrencyMode(ConcurrencyMode)} will accept {@code mode}
+   */
+  public boolean supportsConcurrencyMode(final ConcurrencyMode mode) {
+    return mode != ConcurrencyMode.LOCK_FREE;
+  }
+
   /**
    * Sets the seed, and should be overridden to set other state that derives from the seed. Called
    * by {@link #setSeed(byte[])}, constructors, and {@code readObject(ObjectInputStream)}. When
@@ -748,7 +1365,6 @@ public abstract class BaseRandom extends Random
     } else if (seed != this.seed) {
       System.arraycopy(seed, 0, this.seed, 0, seed.length);
     }
-    nextNextGaussian.set(NAN_LONG_BITS); // Invalidate Gaussian that was generated from old seed
     creditEntropyForNewSeed(seed.length);
   }
 
@@ -759,6 +1375,7 @@ public abstract class BaseRandom extends Random
    * @param seedLength the length of the new seed in bytes
    */
   protected void creditEntropyForNewSeed(final int seedLength) {
+    reconcileEntropyDebits();
     final long effectiveBits = Math.min(seedLength, getNewSeedLength()) * 8L;
     entropyBits.updateAndGet(oldCount -> Math.max(oldCount, effectiveBits));
   }
@@ -800,21 +1417,125 @@ public abstract class BaseRandom extends Random
   }
 
   @Override public long getEntropyBits() {
+    reconcileEntropyDebits();
     return entropyBits.get();
   }
 
   /**
    * Record that entropy has been spent, and schedule a reseeding if this PRNG has now spent as much
-   * as it's been seeded with.
+   * as it's been seeded with. How and whether the debit is recorded depends on the {@link
+   * EntropyAccountingMode}.
    *
    * @param bits The number of bits of entropy spent.
    */
   protected void debitEntropy(final long bits) {
+    switch (entropyAccountingMode) {
+      case NONE:
+        return;
+      case STRIPED:
+        final AtomicLongArray stripes = entropyDebitStripes;
+        if (stripes != null) {
+          debitEntropyStriped(stripes, bits);
+          return;
+        }
+        // Mode is changing, so debit exactly
+        break;
+      default:
+        break;
+    }
     if (entropyBits.addAndGet(-bits) <= 0) {
       asyncReseedIfPossible();
     }
   }
 
+  /**
+   * Debits the current thread's stripe, and folds all the stripes into {@link #entropyBits} once
+   * this one has spent its share of the remaining entropy. Since the stripes can't jointly spend
+   * all the remaining entropy without at least one of them spending its share, the seeder is woken
+   * no later than it would be by an exact count.
+   */
+  private void debitEntropyStriped(final AtomicLongArray stripes, final long bits) {
+    final long remaining = entropyBits.get();
+    if (remaining <= 0) {
+      // Already due for a reseed, so there's no threshold to watch for
+      stripes.addAndGet(stripeIndex(), bits);
+      asyncReseedIfPossible();
+      return;
+    }
+    if (stripes.addAndGet(stripeIndex(), bits) >= (remaining >> LOG2_STRIPES)) {
+      reconcileEntropyDebits();
+      if (entropyBits.get() <= 0) {
+        asyncReseedIfPossible();
+      }
+    }
+  }
+
+  private static int stripeIndex() {
+    return ((int) Thread.currentThread().getId() & ((1 << LOG2_STRIPES) - 1)) * STRIPE_STRIDE;
+  }
+
+  /**
+   * Subtracts any debits pending in {@link EntropyAccountingMode#STRIPED} mode from {@link
+   * #entropyBits}.
+   */
+  private void reconcileEntropyDebits() {
+    final AtomicLongArray stripes = entropyDebitStripes;
+    if (stripes == null) {
+      return;
+    }
+    long total = 0;
+    for (int i = 0; i < stripes.length(); i += STRIPE_STRIDE) {
+      if (stripes.get(i) != 0) {
+        total += stripes.getAndSet(i, 0);
+      }
+    }
+    if (total != 0) {
+      entropyBits.addAndGet(-total);
+    }
+  }
+
+  /**
+   * Returns how this PRNG currently keeps track of the entropy it has spent.
+   *
+   * @return the current entropy accounting mode
+   */
+  public EntropyAccountingMode getEntropyAccountingMode() {
+    return entropyAccountingMode;
+  }
+
+  /**
+   * Changes how this PRNG keeps track of the entropy it has spent. Debits already made are kept,
+   * but may be lost if output is being generated concurrently with this call.
+   *
+   * @param mode the new entropy accounting mode
+   * @throws UnsupportedOperationException if {@link
+   *     #supportsEntropyAccountingMode(EntropyAccountingMode)} returns false for {@code mode}
+   */
+  public void setEntropyAccountingMode(final EntropyAccountingMode mode) {
+    if (!supportsEntropyAccountingMode(mode)) {
+      throw new UnsupportedOperationException(String.format(
+          "%s doesn't support entropy accounting mode %s", getClass().getSimpleName(), mode));
+    }
+    if (mode == EntropyAccountingMode.STRIPED && entropyDebitStripes == null) {
+      entropyDebitStripes = new AtomicLongArray((1 << LOG2_STRIPES) * STRIPE_STRIDE);
+    }
+    entropyAccountingMode = mode;
+    reconcileEntropyDebits();
+  }
+
+  /**
+   * Returns whether this PRNG can operate in the given {@link EntropyAccountingMode}. All
+   * implementations support {@link EntropyAccountingMode#EXACT}; those that rely on an exact count
+   * at all times should override this to reject the others.
+   *
+   * @param mode an entropy accounting mode
+   * @return true if {@link #setEntropyAccountingMode(EntropyAccountingMode)} will accept {@code
+   *     mode}
+   */
+  public boolean supportsEntropyAccountingMode(final EntropyAccountingMode mode) {
+    return true;
+  }
+
   private void asyncReseedIfPossible() {
     final RandomSeeder currentSeeder = getRandomSeeder();
     if (currentSeeder != null) {
@@ -860,4 +1581,76 @@ public abstract class BaseRandom extends Random
   protected boolean supportsMultipleSeedLengths() {
     return false;
   }
+
+  /**
+   * A {@link ReentrantLock} that is only really acquired in {@link ConcurrencyMode#SYNCHRONIZED}
+   * mode. {@link #unlock()} releases the lock only if it's actually held, so that it stays balanced
+   * when the mode changes between acquiring and releasing.
+   */
+  private static final class ConcurrencyModeLock extends ReentrantLock {
+
+    private static final long serialVersionUID = -4419395598429283553L;
+    private volatile ConcurrencyMode mode = ConcurrencyMode.SYNCHRONIZED;
+    @SuppressWarnings("TransientFieldNotInitialized") private transient volatile Thread owner;
+
+    void setMode(final ConcurrencyMode mode) {
+      super.lock();
+      try {
+        owner = null;
+        this.mode = mode;
+      } finally {
+        super.unlock();
+      }
+    }
+
+    private boolean isOwnedByCurrentThread() {
+      if (mode != ConcurrencyMode.CONFINED) {
+        return true;
+      }
+      final Thread currentThread = Thread.currentThread();
+      if (owner == null) {
+        owner = currentThread;
+      }
+      return owner == currentThread;
+    }
+
+    @Override public void lock() {
+      if (mode == ConcurrencyMode.SYNCHRONIZED) {
+        super.lock();
+      } else {
+        assert isOwnedByCurrentThread() : "Confined PRNG used from a second thread";
+      }
+    }
+
+    @Override public void lockInterruptibly() throws InterruptedException {
+      if (mode == ConcurrencyMode.SYNCHRONIZED) {
+        super.lockInterruptibly();
+      } else {
+        assert isOwnedByCurrentThread() : "Confined PRNG used from a second thread";
+      }
+    }
+
+    @Override public boolean tryLock() {
+      if (mode == ConcurrencyMode.SYNCHRONIZED) {
+        return super.tryLock();
+      }
+      assert isOwnedByCurrentThread() : "Confined PRNG used from a second thread";
+      return true;
+    }
+
+    @Override public boolean tryLock(final long timeout, final TimeUnit unit)
+        throws InterruptedException {
+      if (mode == ConcurrencyMode.SYNCHRONIZED) {
+        return super.tryLock(timeout, unit);
+      }
+      assert isOwnedByCurrentThread() : "Confined PRNG used from a second thread";
+      return true;
+    }
+
+    @Override public void unlock() {
+      if (isHeldByCurrentThread()) {
+        super.unlock();
+      }
+    }
+  }
 }
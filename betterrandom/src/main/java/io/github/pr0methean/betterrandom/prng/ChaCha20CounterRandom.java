@@ -0,0 +1,454 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import com.google.common.base.MoreObjects;
+import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.seed.SeedGenerator;
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * <p>CipherCounterRandom using the ChaCha stream cipher, implemented in pure Java on {@code int}
+ * words so that it doesn't depend on the speed of the JCE provider or on AES hardware support.
+ * The seed is a 128- or 256-bit key, optionally followed by up to 16 bytes of initial counter
+ * value. The counter's lower 64 bits are ChaCha's block counter and its upper 64 bits are the
+ * nonce, as in the original design by Daniel J. Bernstein; so with a zero nonce and a 256-bit key,
+ * the output is the RFC 7539 keystream. Each counter value yields a 64-byte block.</p>
+ *
+ * <p>{@link #nextInt()} reads keystream words directly rather than reassembling them from bytes;
+ * the bytes output by {@link #nextBytes(byte[])} are those words in little-endian order. The
+ * number of rounds defaults to 20, but the 8- and 12-round variants are also available; they're
+ * faster, but have smaller security margins.</p>
+ *
+ * @author Daniel J. Bernstein (algorithm)
+ * @author Chris Hennick
+ */
+public class ChaCha20CounterRandom extends CipherCounterRandom {
+
+  private static final long serialVersionUID = -7429131738637962405L;
+  private static final int DEFAULT_SEED_SIZE_BYTES = 32;
+  private static final String HASH_ALGORITHM = "SHA-384";
+  /**
+   * The default number of rounds.
+   */
+  public static final int DEFAULT_ROUNDS = 20;
+  private static final int MAX_KEY_LENGTH_BYTES = 32;
+  private static final int MIN_KEY_LENGTH_BYTES = 16;
+  /**
+   * Maximum total length of the seed, including both key and initial counter value.
+   */
+  public static final int MAX_SEED_LENGTH_BYTES =
+      MAX_KEY_LENGTH_BYTES + DEFAULT_COUNTER_SIZE_BYTES;
+  private static final int BLOCK_SIZE_INTS = 16;
+  private static final int BLOCK_SIZE_BYTES = BLOCK_SIZE_INTS * Integer.BYTES;
+  /**
+   * Number of blocks to generate at once, to match the 256 bytes that {@link AesCounterRandom}
+   * generates at once.
+   */
+  private static final int BLOCKS_AT_ONCE = 4;
+  private static final int INTS_AT_ONCE = BLOCK_SIZE_INTS * BLOCKS_AT_ONCE;
+  private static final int BYTES_AT_ONCE = BLOCK_SIZE_BYTES * BLOCKS_AT_ONCE;
+  /**
+   * "expand 32-byte k" in little-endian words.
+   */
+  private static final int[] SIGMA = {0x6170_7865, 0x3320_646E, 0x7962_2D32, 0x6B20_6574};
+  /**
+   * "expand 16-byte k" in little-endian words.
+   */
+  private static final int[] TAU = {0x6170_7865, 0x3120_646E, 0x7962_2D36, 0x6B20_6574};
+
+  // WARNING: Don't initialize any instance fields at declaration; they may be initialized too late!
+  private final int rounds;
+  /**
+   * The cipher's input block: constants, key, then counter. Guarded by {@link #lock}.
+   */
+  private transient int[] input;
+  /**
+   * The words of {@link #currentBlock}. Guarded by {@link #lock}.
+   */
+  private transient int[] keystream;
+
+  /**
+   * Creates a new RNG and seeds it using 256 bits from the {@link DefaultSeedGenerator}.
+   *
+   * @throws SeedException if the {@link DefaultSeedGenerator} fails to generate a seed.
+   */
+  public ChaCha20CounterRandom() throws SeedException {
+    this(DEFAULT_SEED_SIZE_BYTES);
+  }
+
+  /**
+   * Seed the RNG using the provided seed generation strategy to create a 256-bit seed.
+   *
+   * @param seedGenerator The seed generation strategy that will provide the seed value for this
+   *     RNG.
+   * @throws SeedException if there is a problem generating a seed.
+   */
+  @EntryPoint public ChaCha20CounterRandom(final SeedGenerator seedGenerator)
+      throws SeedException {
+    this(seedGenerator.generateSeed(DEFAULT_SEED_SIZE_BYTES));
+  }
+
+  /**
+   * Seed the RNG using the {@link DefaultSeedGenerator} to create a seed of the specified size.
+   *
+   * @param seedSizeBytes The number of bytes to use for seed data. Valid values range from 16
+   *     to {@link #MAX_SEED_LENGTH_BYTES}.
+   * @throws SeedException if the {@link DefaultSeedGenerator} fails to generate a seed.
+   */
+  @EntryPoint public ChaCha20CounterRandom(final int seedSizeBytes) throws SeedException {
+    this(DefaultSeedGenerator.DEFAULT_SEED_GENERATOR.generateSeed(seedSizeBytes));
+  }
+
+  /**
+   * Creates an RNG and seeds it with the specified seed data.
+   *
+   * @param seed The seed data used to initialize the RNG. Length must be at least 16 and no
+   *     more than {@link #MAX_SEED_LENGTH_BYTES}.
+   */
+  @EntryPoint public ChaCha20CounterRandom(final byte[] seed) {
+    this(seed, DEFAULT_ROUNDS);
+  }
+
+  /**
+   * Creates an RNG with the specified seed data and number of rounds.
+   *
+   * @param seed The seed data used to initialize the RNG. Length must be at least 16 and no
+   *     more than {@link #MAX_SEED_LENGTH_BYTES}.
+   * @param rounds the number of rounds: normally 8, 12 or 20, but any positive even number is
+   *     accepted
+   */
+  public ChaCha20CounterRandom(final byte[] seed, final int rounds) {
+    super(seed);
+    if ((rounds <= 0) || ((rounds % 2) != 0)) {
+      throw new IllegalArgumentException("rounds must be positive and even; got " + rounds);
+    }
+    this.rounds = rounds;
+  }
+
+  /**
+   * Returns the number of rounds.
+   *
+   * @return the number of rounds
+   */
+  public int getRounds() {
+    return rounds;
+  }
+
+  @Override public int getBlocksAtOnce() {
+    return BLOCKS_AT_ONCE;
+  }
+
+  @Override public int getBlockSizeBytes() {
+    return BLOCK_SIZE_BYTES;
+  }
+
+  @Override protected int getBytesAtOnce() {
+    return BYTES_AT_ONCE;
+  }
+
+  @Override public int getMaxKeyLengthBytes() {
+    return MAX_KEY_LENGTH_BYTES;
+  }
+
+  @Override protected int getMinSeedLength() {
+    return MIN_KEY_LENGTH_BYTES;
+  }
+
+  @Override protected int getKeyLength(final int inputLength) {
+    return (inputLength >= MAX_KEY_LENGTH_BYTES) ? MAX_KEY_LENGTH_BYTES : MIN_KEY_LENGTH_BYTES;
+  }
+
+  /**
+   * Returns null when called on a subclass, since it may not produce the same output as a new
+   * {@link ChaCha20CounterRandom}.
+   */
+  @Override protected CipherCounterRandom createWithSeed(final byte[] seed) {
+    return (getClass() == ChaCha20CounterRandom.class) ? new ChaCha20CounterRandom(seed, rounds)
+        : null;
+  }
+
+  /**
+   * Copies the keystream words along with the bytes, since they aren't serialized.
+   */
+  @Override @Nullable protected BaseRandom splitForStream(final long steps) {
+    lock.lock();
+    try {
+      final int[] currentKeystream = keystream.clone();
+      final ChaCha20CounterRandom copy = (ChaCha20CounterRandom) super.splitForStream(steps);
+      if (copy != null) {
+        copy.keystream = currentKeystream;
+      }
+      return copy;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override protected MessageDigest createHash() {
+    try {
+      return MessageDigest.getInstance(HASH_ALGORITHM);
+    } catch (final NoSuchAlgorithmException e) {
+      throw new InternalError("Required hash algorithm missing");
+    }
+  }
+
+  /**
+   * Allocates the input block and the keystream; there's no JCE cipher to create.
+   */
+  @Override protected void createCipher() {
+    input = new int[BLOCK_SIZE_INTS];
+    keystream = new int[INTS_AT_ONCE];
+  }
+
+  @Override protected void setKey(final byte[] key) {
+    System.arraycopy((key.length == MAX_KEY_LENGTH_BYTES) ? SIGMA : TAU, 0, input, 0, 4);
+    for (int i = 0; i < 8; i++) {
+      // A 128-bit key is used twice
+      input[4 + i] = Integer.reverseBytes(
+          BinaryUtils.convertBytesToInt(key, (i * Integer.BYTES) % key.length));
+    }
+  }
+
+  /**
+   * Generates a batch of blocks into the keystream words, then copies them to {@link
+   * #currentBlock} in little-endian order.
+   */
+  @Override protected void nextBlock() {
+    long counterHigh = BinaryUtils.convertBytesToLong(counter, 0);
+    long counterLow = BinaryUtils.convertBytesToLong(counter, Long.BYTES);
+    for (int block = 0; block < BLOCKS_AT_ONCE; block++) {
+      counterLow++;
+      if (counterLow == 0) {
+        counterHigh++;
+      }
+      chachaBlock(counterHigh, counterLow, keystream, block * BLOCK_SIZE_INTS);
+    }
+    BinaryUtils.convertLongToBytes(counterHigh, counter, 0);
+    BinaryUtils.convertLongToBytes(counterLow, counter, Long.BYTES);
+    ByteBuffer.wrap(currentBlock).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer().put(keystream);
+  }
+
+  /**
+   * Zeroes the keystream words as well, since {@link #next(int)} reads them directly.
+   */
+  @Override protected void eraseKeystream(final int length) {
+    super.eraseKeystream(length);
+    Arrays.fill(keystream, 0, length / Integer.BYTES, 0);
+  }
+
+  /**
+   * Generates whole batches straight into the buffer, a block at a time, as many as fit.
+   */
+  @Override protected void nextBlocks(final ByteBuffer output) {
+    long counterHigh = BinaryUtils.convertBytesToLong(counter, 0);
+    long counterLow = BinaryUtils.convertBytesToLong(counter, Long.BYTES);
+    final int[] block = new int[BLOCK_SIZE_INTS];
+    final ByteOrder oldOrder = output.order();
+    output.order(ByteOrder.LITTLE_ENDIAN);
+    try {
+      while (output.remaining() >= BYTES_AT_ONCE) {
+        for (int i = 0; i < BLOCKS_AT_ONCE; i++) {
+          counterLow++;
+          if (counterLow == 0) {
+            counterHigh++;
+          }
+          chachaBlock(counterHigh, counterLow, block, 0);
+          for (final int word : block) {
+            output.putInt(word);
+          }
+        }
+      }
+    } finally {
+      output.order(oldOrder);
+    }
+    BinaryUtils.convertLongToBytes(counterHigh, counter, 0);
+    BinaryUtils.convertLongToBytes(counterLow, counter, Long.BYTES);
+  }
+
+  /**
+   * Runs the ChaCha block function on {@link #input} with the given counter value.
+   */
+  private void chachaBlock(final long counterHigh, final long counterLow, final int[] output,
+      final int offset) {
+    final int[] in = input;
+    in[12] = (int) counterLow;
+    in[13] = (int) (counterLow >>> Integer.SIZE);
+    in[14] = (int) counterHigh;
+    in[15] = (int) (counterHigh >>> Integer.SIZE);
+    int x0 = in[0];
+    int x1 = in[1];
+    int x2 = in[2];
+    int x3 = in[3];
+    int x4 = in[4];
+    int x5 = in[5];
+    int x6 = in[6];
+    int x7 = in[7];
+    int x8 = in[8];
+    int x9 = in[9];
+    int x10 = in[10];
+    int x11 = in[11];
+    int x12 = in[12];
+    int x13 = in[13];
+    int x14 = in[14];
+    int x15 = in[15];
+    for (int i = rounds; i > 0; i -= 2) {
+      // Column round
+      x0 += x4;
+      x12 = Integer.rotateLeft(x12 ^ x0, 16);
+      x8 += x12;
+      x4 = Integer.rotateLeft(x4 ^ x8, 12);
+      x0 += x4;
+      x12 = Integer.rotateLeft(x12 ^ x0, 8);
+      x8 += x12;
+      x4 = Integer.rotateLeft(x4 ^ x8, 7);
+      x1 += x5;
+      x13 = Integer.rotateLeft(x13 ^ x1, 16);
+      x9 += x13;
+      x5 = Integer.rotateLeft(x5 ^ x9, 12);
+      x1 += x5;
+      x13 = Integer.rotateLeft(x13 ^ x1, 8);
+      x9 += x13;
+      x5 = Integer.rotateLeft(x5 ^ x9, 7);
+      x2 += x6;
+      x14 = Integer.rotateLeft(x14 ^ x2, 16);
+      x10 += x14;
+      x6 = Integer.rotateLeft(x6 ^ x10, 12);
+      x2 += x6;
+      x14 = Integer.rotateLeft(x14 ^ x2, 8);
+      x10 += x14;
+      x6 = Integer.rotateLeft(x6 ^ x10, 7);
+      x3 += x7;
+      x15 = Integer.rotateLeft(x15 ^ x3, 16);
+      x11 += x15;
+      x7 = Integer.rotateLeft(x7 ^ x11, 12);
+      x3 += x7;
+      x15 = Integer.rotateLeft(x15 ^ x3, 8);
+      x11 += x15;
+      x7 = Integer.rotateLeft(x7 ^ x11, 7);
+      // Diagonal round
+      x0 += x5;
+      x15 = Integer.rotateLeft(x15 ^ x0, 16);
+      x10 += x15;
+      x5 = Integer.rotateLeft(x5 ^ x10, 12);
+      x0 += x5;
+      x15 = Integer.rotateLeft(x15 ^ x0, 8);
+      x10 += x15;
+      x5 = Integer.rotateLeft(x5 ^ x10, 7);
+      x1 += x6;
+      x12 = Integer.rotateLeft(x12 ^ x1, 16);
+      x11 += x12;
+      x6 = Integer.rotateLeft(x6 ^ x11, 12);
+      x1 += x6;
+      x12 = Integer.rotateLeft(x12 ^ x1, 8);
+      x11 += x12;
+      x6 = Integer.rotateLeft(x6 ^ x11, 7);
+      x2 += x7;
+      x13 = Integer.rotateLeft(x13 ^ x2, 16);
+      x8 += x13;
+      x7 = Integer.rotateLeft(x7 ^ x8, 12);
+      x2 += x7;
+      x13 = Integer.rotateLeft(x13 ^ x2, 8);
+      x8 += x13;
+      x7 = Integer.rotateLeft(x7 ^ x8, 7);
+      x3 += x4;
+      x14 = Integer.rotateLeft(x14 ^ x3, 16);
+      x9 += x14;
+      x4 = Integer.rotateLeft(x4 ^ x9, 12);
+      x3 += x4;
+      x14 = Integer.rotateLeft(x14 ^ x3, 8);
+      x9 += x14;
+      x4 = Integer.rotateLeft(x4 ^ x9, 7);
+    }
+    output[offset] = x0 + in[0];
+    output[offset + 1] = x1 + in[1];
+    output[offset + 2] = x2 + in[2];
+    output[offset + 3] = x3 + in[3];
+    output[offset + 4] = x4 + in[4];
+    output[offset + 5] = x5 + in[5];
+    output[offset + 6] = x6 + in[6];
+    output[offset + 7] = x7 + in[7];
+    output[offset + 8] = x8 + in[8];
+    output[offset + 9] = x9 + in[9];
+    output[offset + 10] = x10 + in[10];
+    output[offset + 11] = x11 + in[11];
+    output[offset + 12] = x12 + in[12];
+    output[offset + 13] = x13 + in[13];
+    output[offset + 14] = x14 + in[14];
+    output[offset + 15] = x15 + in[15];
+  }
+
+  /**
+   * Not used, since {@link #nextBlock()} and {@link #nextBlocks(ByteBuffer)} run the cipher on
+   * {@code int} words.
+   *
+   * @throws UnsupportedOperationException always
+   */
+  @Override protected void doCipher(final byte[] input, final byte[] output) {
+    throw new UnsupportedOperationException("ChaCha20CounterRandom doesn't encrypt byte arrays");
+  }
+
+  /**
+   * Reads a keystream word directly when {@link #index} is at a word boundary, and otherwise
+   * assembles one from the next 4 bytes, least significant first.
+   */
+  @Override protected int next(final int bits) {
+    lock.lock();
+    int result;
+    try {
+      int curIndex = index;
+      if ((BYTES_AT_ONCE - curIndex) < Integer.BYTES) {
+        curIndex = nextBlockForOutput();
+      }
+      result = readInt(curIndex);
+      index = curIndex + Integer.BYTES;
+    } finally {
+      lock.unlock();
+    }
+    return result >>> (Integer.SIZE - bits);
+  }
+
+  /**
+   * Copies whole runs of keystream words at once when {@link #index} is at a word boundary.
+   */
+  @Override protected void nextIntsNoEntropyDebit(final int[] out, final int off, final int len) {
+    int curIndex = index;
+    int i = off;
+    final int end = off + len;
+    while (i < end) {
+      if ((BYTES_AT_ONCE - curIndex) < Integer.BYTES) {
+        index = curIndex;
+        curIndex = nextBlockForOutput();
+      }
+      if ((curIndex & (Integer.BYTES - 1)) == 0) {
+        final int count = Math.min(end - i, (BYTES_AT_ONCE - curIndex) / Integer.BYTES);
+        System.arraycopy(keystream, curIndex / Integer.BYTES, out, i, count);
+        i += count;
+        curIndex += count * Integer.BYTES;
+      } else {
+        out[i] = readInt(curIndex);
+        i++;
+        curIndex += Integer.BYTES;
+      }
+    }
+    index = curIndex;
+  }
+
+  private int readInt(final int byteIndex) {
+    if ((byteIndex & (Integer.BYTES - 1)) == 0) {
+      return keystream[byteIndex / Integer.BYTES];
+    }
+    return Integer.reverseBytes(BinaryUtils.convertBytesToInt(currentBlock, byteIndex));
+  }
+
+  @Override
+  public MoreObjects.ToStringHelper addSubclassFields(final MoreObjects.ToStringHelper original) {
+    return super.addSubclassFields(original).add("rounds", rounds);
+  }
+}
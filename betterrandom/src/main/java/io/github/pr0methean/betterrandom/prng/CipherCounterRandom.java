@@ -4,10 +4,12 @@ import com.google.common.base.MoreObjects;
 import io.github.pr0methean.betterrandom.SeekableRandom;
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
 import io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic;
+import java.nio.ByteBuffer;
 import java.security.GeneralSecurityException;
 import java.security.InvalidKeyException;
 import java.security.MessageDigest;
 import java.util.Arrays;
+import javax.annotation.Nullable;
 
 /**
  * <p>Non-linear random number generator based on a cipher that encrypts an incrementing counter.
@@ -22,6 +24,11 @@ import java.util.Arrays;
  * <p>When used with a fixed seed, the maintainer believes this implementation conforms to NIST SP
  * 800-90A Rev. 1 section 10.2.1. However, the reseeding process differs from section 10.2.1.4.</p>
  *
+ * <p>In fast-key-erasure mode (see {@link #setFastKeyErasure(boolean)}), the first key-length
+ * bytes of each batch of keystream become the new key and are never output, so that the state
+ * can't be used to reconstruct earlier output. This gives forward secrecy without any new seed
+ * material, so such a PRNG can safely be reseeded much less often.</p>
+ *
  * @author Daniel Dyer
  * @author Chris Hennick
  */
@@ -30,9 +37,12 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
   static final int DEFAULT_COUNTER_SIZE_BYTES = 16;
   private static final long serialVersionUID = -7872636191973295031L;
   /**
-   * An array holding generated, encrypted bytes.
+   * An array holding generated, encrypted bytes, whose length is {@link #getBytesAtOnce()}. A
+   * subclass whose batch size varies may replace it with a longer array in {@link #nextBlock()}
+   * once {@link #index} shows it's used up, or with one of any length while reseeding; so callers
+   * must read its length again after calling {@link #nextBlock()}. Guarded by {@link #lock}.
    */
-  protected final byte[] currentBlock;
+  protected byte[] currentBlock;
   /**
    * The counter. Successive values are encrypted to generate pseudorandom numbers.
    */
@@ -43,7 +53,14 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
   protected volatile int index;
   private volatile byte[] counterInput;
   private volatile boolean seeded;
+  private volatile boolean fastKeyErasure;
   private transient MessageDigest hash;
+  /**
+   * A copy of the seed most recently passed to {@link #setSeedInternal(byte[])}, which determines
+   * the key and the counter's origin. Replaced, never modified.
+   */
+  private transient volatile byte[] keystreamSeed;
+  private transient ThreadLocal<KeystreamReader> keystreamReaders;
 
   /**
    * Creates an instance.
@@ -56,7 +73,7 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
   }
 
   /**
-   * Returns the length of the counter, which should equal the cipher's block size.
+   * Returns the length of the counter, which for a block cipher should equal its block size.
    *
    * @return the length of the counter
    */
@@ -64,6 +81,17 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
     return DEFAULT_COUNTER_SIZE_BYTES;
   }
 
+  /**
+   * Returns how many bytes of output each value of the counter yields. This implementation returns
+   * {@link #getCounterSizeBytes()}, which is correct for a block cipher. A stream cipher such as
+   * ChaCha20 may produce a larger block from each counter value.
+   *
+   * @return the number of bytes per block
+   */
+  public int getBlockSizeBytes() {
+    return getCounterSizeBytes();
+  }
+
   @Override public int getNewSeedLength() {
     return getMaxKeyLengthBytes();
   }
@@ -77,27 +105,39 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
    */
   public abstract int getMaxKeyLengthBytes();
 
+  /**
+   * {@inheritDoc}
+   *
+   * @throws IllegalStateException in fast-key-erasure mode, since the key at any other position
+   *     depends on all the output in between
+   */
   @Override public void advance(final long delta) {
+    if (fastKeyErasure) {
+      throw new IllegalStateException("Can't advance in fast-key-erasure mode");
+    }
     if (delta == 0) {
       return;
     }
-    int counterSizeBytes = getCounterSizeBytes();
-    final long intsPerBlock = counterSizeBytes / Integer.BYTES;
+    int blockSizeBytes = getBlockSizeBytes();
+    final long intsPerBlock = blockSizeBytes / Integer.BYTES;
     long blocksDelta = delta / intsPerBlock;
     final int deltaWithinBlock = (int) (delta % intsPerBlock) * Integer.BYTES;
     lock.lock();
     try {
       int newIndex = index + deltaWithinBlock;
-      if (newIndex >= counterSizeBytes) {
-        newIndex -= counterSizeBytes;
+      if (newIndex >= blockSizeBytes) {
+        newIndex -= blockSizeBytes;
         blocksDelta++;
       }
       if (newIndex < 0) {
-        newIndex += counterSizeBytes;
+        newIndex += blockSizeBytes;
         blocksDelta--;
       }
-      blocksDelta -= getBlocksAtOnce(); // Compensate for the increment during nextBlock() below
+      // Compensate for the increment during nextBlock() below. The current block begins with the
+      // counter value (counter - blocksInCurrentBlock + 1), whatever size the next block will be.
+      blocksDelta -= currentBlock.length / blockSizeBytes;
       Byte16ArrayArithmetic.addInto(counter, blocksDelta);
+      discardCurrentBlock();
       nextBlock();
       index = newIndex;
     } finally {
@@ -105,6 +145,91 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
     }
   }
 
+  /**
+   * Creates a new instance of this PRNG's class from the given seed, so that {@link
+   * #splitForStream(long)} can move it to this instance's position. This implementation returns
+   * null, so streams use this instance directly.
+   *
+   * @param seed the seed for the new instance, which will have the same key as this one
+   * @return a new instance of the same class, or null if not supported
+   */
+  @Nullable protected CipherCounterRandom createWithSeed(final byte[] seed) {
+    return null;
+  }
+
+  /**
+   * Creates a copy using {@link #createWithSeed(byte[])}, then copies the counter and the current
+   * block into it. The position is first rounded up to the next {@code int} boundary, since
+   * {@link #advance(long)} counts in {@code int}s. Returns null in fast-key-erasure mode.
+   */
+  @Override @Nullable protected BaseRandom splitForStream(final long steps) {
+    lock.lock();
+    try {
+      final CipherCounterRandom copy = fastKeyErasure ? null : createWithSeed(seed);
+      if (copy == null) {
+        return null;
+      }
+      index = (index + Integer.BYTES - 1) & -Integer.BYTES;
+      System.arraycopy(counter, 0, copy.counter, 0, counter.length);
+      copy.currentBlock = currentBlock.clone();
+      copy.index = index;
+      advance(steps);
+      return copy;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Reads keystream blocks at an arbitrary position, without locking and without changing this
+   * PRNG's state or entropy count. Block 0 is the first block output after the most recent
+   * reseeding, so when this PRNG hasn't been advanced or reseeded, {@code readAt(0, out, 0, len)}
+   * gives the same bytes as {@link #nextBytes(byte[])} would. Many threads can read disjoint (or
+   * overlapping) regions at once; each thread encrypts with its own copy of the cipher, which is
+   * created using {@link #createWithSeed(byte[])} and reused until the next reseeding.
+   *
+   * @param blockIndex the index of the first block to read, in units of {@link
+   *     #getBlockSizeBytes()} bytes; can be negative
+   * @param out the array to fill
+   * @param off the index of the first byte to fill
+   * @param len the number of bytes to fill, which can span any number of blocks
+   * @throws IndexOutOfBoundsException if the range isn't within {@code out}
+   * @throws UnsupportedOperationException if {@link #createWithSeed(byte[])} returns null
+   * @throws IllegalStateException if fast key erasure is on, or has rekeyed this PRNG since it was
+   *     last reseeded
+   */
+  public void readAt(final long blockIndex, final byte[] out, final int off, final int len) {
+    checkArrayRange(out.length, off, len);
+    final byte[] currentSeed = keystreamSeed;
+    if (fastKeyErasure || (currentSeed == null)) {
+      throw new IllegalStateException("Keystream isn't readable after fast key erasure");
+    }
+    KeystreamReader reader = keystreamReaders.get();
+    if ((reader == null) || (reader.seed != currentSeed)) {
+      final CipherCounterRandom cipherCopy = createWithSeed(currentSeed);
+      if (cipherCopy == null) {
+        throw new UnsupportedOperationException(
+            getClass().getSimpleName() + " doesn't support random-access reads");
+      }
+      reader = new KeystreamReader(currentSeed, cipherCopy);
+      keystreamReaders.set(reader);
+    }
+    reader.read(blockIndex, out, off, len);
+  }
+
+  /**
+   * Equivalent to {@code readAt(blockIndex, out, 0, out.length)}.
+   *
+   * @param blockIndex the index of the first block to read; can be negative
+   * @param out the array to fill
+   * @throws UnsupportedOperationException if {@link #createWithSeed(byte[])} returns null
+   * @throws IllegalStateException if fast key erasure is on, or has rekeyed this PRNG since it was
+   *     last reseeded
+   */
+  public void readAt(final long blockIndex, final byte[] out) {
+    readAt(blockIndex, out, 0, out.length);
+  }
+
   /**
    * Returns the length of the key that should be extracted from a seed of a given length. During
    * the initial seeding, whatever part of the seed does not become the key, becomes the counter's
@@ -127,12 +252,13 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
 
   /**
    * Returns the number of random bytes that can be precalculated at once, which is normally
-   * {@code getCounterSizeBytes() * getBlocksAtOnce()}.
+   * {@code getBlockSizeBytes() * getBlocksAtOnce()}. A subclass may vary it as described for
+   * {@link #currentBlock}, but it must equal {@code currentBlock.length} once that's allocated.
    *
    * @return the number of random bytes that can be precalculated at once
    */
   protected int getBytesAtOnce() {
-    return getCounterSizeBytes() * getBlocksAtOnce();
+    return getBlockSizeBytes() * getBlocksAtOnce();
   }
 
   /**
@@ -150,10 +276,11 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
       counter = new byte[getCounterSizeBytes()];
     }
     if (counterInput == null) {
-      counterInput = new byte[getBytesAtOnce()];
+      counterInput = new byte[getCounterSizeBytes() * getBlocksAtOnce()];
     }
     createCipher();
     hash = createHash();
+    keystreamReaders = new ThreadLocal<>();
   }
 
   /**
@@ -180,17 +307,22 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
   protected abstract void createCipher();
 
   /**
-   * Generates BLOCKS_AT_ONCE 128-bit (16-byte) blocks. Copies them to currentBlock.
+   * Makes the next output come from a new block, when {@link #currentBlock} wasn't used up but
+   * repositioned, as by {@link #advance(long)} or {@link #readAt(long, byte[], int, int)}.
+   */
+  protected void discardCurrentBlock() {
+    index = currentBlock.length;
+  }
+
+  /**
+   * Generates BLOCKS_AT_ONCE 128-bit (16-byte) blocks. Copies them to currentBlock. When this is
+   * called, {@link #index} is up to date, so it shows whether the block was used up.
    *
    * @throws IllegalStateException If there is a problem with the cipher that generates the
    *     random data.
    */
   protected void nextBlock() {
-    int blocks = getBlocksAtOnce();
-    for (int i = 0; i < blocks; i++) {
-      Byte16ArrayArithmetic.addInto(counter, Byte16ArrayArithmetic.ONE);
-      System.arraycopy(counter, 0, counterInput, i * getCounterSizeBytes(), getCounterSizeBytes());
-    }
+    nextCounterInput();
     try {
       doCipher(counterInput, currentBlock);
     } catch (final GeneralSecurityException ex) {
@@ -200,23 +332,156 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
     }
   }
 
+  /**
+   * Generates blocks just as {@link #nextBlock()} does, but writes them straight to a buffer
+   * instead of to {@link #currentBlock}. This implementation generates {@link #getBytesAtOnce()}
+   * bytes at a time for as long as at least that many bytes remain. Subclasses may instead
+   * generate any whole number of blocks that fits. Always called with {@link #lock} held.
+   *
+   * @param output a buffer with at least {@link #getBytesAtOnce()} bytes remaining
+   * @throws IllegalStateException If there is a problem with the cipher that generates the
+   *     random data.
+   */
+  protected void nextBlocks(final ByteBuffer output) {
+    final int bytesAtOnce = getBytesAtOnce();
+    while (output.remaining() >= bytesAtOnce) {
+      nextCounterInput();
+      try {
+        doCipher(ByteBuffer.wrap(counterInput), output);
+      } catch (final GeneralSecurityException ex) {
+        throw new IllegalStateException("Failed creating next random block.", ex);
+      }
+    }
+  }
+
+  /**
+   * Calls {@link #nextBlock()}, then, in fast-key-erasure mode, rekeys the cipher with the first
+   * bytes of the new block and erases them. Always called with {@link #lock} held.
+   *
+   * @return the offset in {@link #currentBlock} of the first byte that can be output
+   */
+  protected final int nextBlockForOutput() {
+    nextBlock();
+    return fastKeyErasure ? rekeyFromCurrentBlock() : 0;
+  }
+
+  private int rekeyFromCurrentBlock() {
+    final int keyLength = getKeyLength(seed.length);
+    final byte[] newKey = Arrays.copyOf(currentBlock, keyLength);
+    eraseKeystream(keyLength);
+    try {
+      setKey(newKey);
+    } catch (final InvalidKeyException e) {
+      throw new InternalError("Invalid key: " + Arrays.toString(newKey), e);
+    }
+    seed = newKey;
+    keystreamSeed = null;
+    return keyLength;
+  }
+
+  /**
+   * Zeroes the start of {@link #currentBlock} once fast key erasure has made it the new key.
+   * Subclasses that keep another copy of the current block must override this to zero that copy
+   * too. Always called with {@link #lock} held.
+   *
+   * @param length the number of bytes to zero
+   */
+  protected void eraseKeystream(final int length) {
+    Arrays.fill(currentBlock, 0, length, (byte) 0);
+  }
+
+  /**
+   * Returns whether fast key erasure is on.
+   *
+   * @return true if each batch of keystream rekeys the cipher
+   * @see #setFastKeyErasure(boolean)
+   */
+  public boolean isFastKeyErasure() {
+    return fastKeyErasure;
+  }
+
+  /**
+   * Turns fast key erasure on or off. While it's on, each time a batch of keystream is generated,
+   * its first {@code getKeyLength(getSeed().length)} bytes replace the key and are erased rather
+   * than output, so that the key in memory can't be used to recover any earlier output. The key is
+   * also replaced at once when this is turned on, and {@link #getSeed()} returns the current key.
+   * Output is still repeatable for a given seed and sequence of calls, but {@link #advance(long)}
+   * and {@link #readAt(long, byte[], int, int)} aren't available, and streams aren't split.
+   *
+   * <p>This doesn't change how entropy is counted. Since the key no longer has to be replaced from
+   * outside to protect earlier output, a PRNG in this mode may be put in {@link
+   * EntropyAccountingMode#NONE} and reseeded on a much longer schedule instead.</p>
+   *
+   * @param fastKeyErasure true to turn fast key erasure on; false to turn it off
+   * @throws IllegalStateException if turning fast key erasure on, and the key is at least as long
+   *     as a batch, so that no output would be left after it
+   */
+  public void setFastKeyErasure(final boolean fastKeyErasure) {
+    lock.lock();
+    try {
+      if (fastKeyErasure && !this.fastKeyErasure) {
+        checkKeyShorterThanBatch(getKeyLength(seed.length));
+        this.fastKeyErasure = true;
+        index = nextBlockForOutput();
+      }
+      this.fastKeyErasure = fastKeyErasure;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void checkKeyShorterThanBatch(final int keyLength) {
+    if (keyLength >= getBytesAtOnce()) {
+      throw new IllegalStateException(String.format(
+          "Fast key erasure needs a key shorter than a batch; key is %d bytes, batch is %d bytes",
+          keyLength, getBytesAtOnce()));
+    }
+  }
+
+  private void nextCounterInput() {
+    int blocks = getBlocksAtOnce();
+    for (int i = 0; i < blocks; i++) {
+      Byte16ArrayArithmetic.addInto(counter, Byte16ArrayArithmetic.ONE);
+      System.arraycopy(counter, 0, counterInput, i * getCounterSizeBytes(), getCounterSizeBytes());
+    }
+  }
+
   /**
    * Executes the cipher.
    *
-   * @param input an array of input whose length is equal to {@link #getBytesAtOnce()}
+   * @param input the counter values to encrypt, whose length is {@code getCounterSizeBytes() *
+   *     getBlocksAtOnce()}
    * @param output an array of output whose length is equal to {@link #getBytesAtOnce()}
    * @throws GeneralSecurityException if an internal error occurs in the cipher
    */
   protected abstract void doCipher(byte[] input, byte[] output) throws GeneralSecurityException;
 
-  @Override protected final int next(final int bits) {
+  /**
+   * Executes the cipher, writing its output to a buffer. This implementation calls {@link
+   * #doCipher(byte[], byte[])} and then copies the output; subclasses whose cipher can write to a
+   * {@link ByteBuffer} directly should override it.
+   *
+   * @param input a buffer whose remaining length is equal to {@link #getBytesAtOnce()}
+   * @param output a buffer with at least {@link #getBytesAtOnce()} bytes remaining, whose position
+   *     is advanced past the output
+   * @throws GeneralSecurityException if an internal error occurs in the cipher
+   */
+  protected void doCipher(final ByteBuffer input, final ByteBuffer output)
+      throws GeneralSecurityException {
+    final byte[] inputArray = new byte[input.remaining()];
+    input.get(inputArray);
+    final byte[] outputArray = new byte[inputArray.length];
+    doCipher(inputArray, outputArray);
+    output.put(outputArray);
+  }
+
+  @Override protected int next(final int bits) {
     lock.lock();
     int result;
     try {
       int curIndex = index;
-      if ((getBytesAtOnce() - curIndex) < 4) {
-        nextBlock();
-        curIndex = 0;
+      if ((currentBlock.length - curIndex) < 4) {
+        curIndex = nextBlockForOutput();
       }
       result = BinaryUtils.convertBytesToInt(currentBlock, curIndex);
       curIndex += 4;
@@ -227,9 +492,79 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
     return result >>> (32 - bits);
   }
 
+  /**
+   * Copies bytes straight out of {@link #currentBlock}, generating a new block only when the
+   * current one is used up.
+   */
+  @Override protected void nextBytesNoEntropyDebit(final byte[] bytes, final int off,
+      final int len) {
+    int curIndex = index;
+    int copied = 0;
+    while (copied < len) {
+      if (curIndex >= currentBlock.length) {
+        index = curIndex;
+        curIndex = nextBlockForOutput();
+      }
+      final int toCopy = Math.min(len - copied, currentBlock.length - curIndex);
+      System.arraycopy(currentBlock, curIndex, bytes, off + copied, toCopy);
+      curIndex += toCopy;
+      copied += toCopy;
+    }
+    index = curIndex;
+  }
+
+  /**
+   * Drains what is left of {@link #currentBlock}, then encrypts whole batches of counter values
+   * straight into the buffer with {@link #nextBlocks(ByteBuffer)}, using {@link #currentBlock}
+   * again only for the final partial batch. The output is the same as {@link
+   * #nextBytes(byte[])}. In fast-key-erasure mode, every batch goes through {@link
+   * #currentBlock}.
+   */
+  @Override protected void nextBytesNoEntropyDebit(final ByteBuffer dest) {
+    int curIndex = index;
+    final int fromCurrentBlock = Math.min(dest.remaining(), currentBlock.length - curIndex);
+    if (fromCurrentBlock > 0) {
+      dest.put(currentBlock, curIndex, fromCurrentBlock);
+      curIndex += fromCurrentBlock;
+    }
+    if (!fastKeyErasure && (dest.remaining() >= getBytesAtOnce())) {
+      nextBlocks(dest);
+      // currentBlock is now stale, so the next output must come from a new block
+      curIndex = currentBlock.length;
+    }
+    while (dest.hasRemaining()) {
+      index = curIndex;
+      final int start = nextBlockForOutput();
+      final int toCopy = Math.min(dest.remaining(), currentBlock.length - start);
+      dest.put(currentBlock, start, toCopy);
+      curIndex = start + toCopy;
+    }
+    index = curIndex;
+  }
+
+  /**
+   * Reads consecutive words from {@link #currentBlock}, generating a new block only when the
+   * current one is used up.
+   */
+  @Override protected void nextIntsNoEntropyDebit(final int[] out, final int off, final int len) {
+    int curIndex = index;
+    for (int i = off; i < off + len; i++) {
+      if ((currentBlock.length - curIndex) < Integer.BYTES) {
+        index = curIndex;
+        curIndex = nextBlockForOutput();
+      }
+      out[i] = BinaryUtils.convertBytesToInt(currentBlock, curIndex);
+      curIndex += Integer.BYTES;
+    }
+    index = curIndex;
+  }
+
   /**
    * {@inheritDoc} If the seed is not of the maximum length, it is combined with the existing seed
    * using the hash algorithm.
+   *
+   * @throws IllegalStateException if fast key erasure is on, and the new key would be at least as
+   *     long as a batch
    */
   @Override public void setSeed(final byte[] seed) {
     checkNotTooLong(seed);
@@ -242,6 +577,9 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
         hash.update(this.seed);
         hash.update(this.counter);
         final byte[] newSeed = hash.digest(seed);
+        if (fastKeyErasure) {
+          checkKeyShorterThanBatch(getKeyLength(newSeed.length));
+        }
         key = setKeyAndCounter(newSeed);
       } else {
         key = setKeyAndCounter(seed);
@@ -264,7 +602,8 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
 
   @Override
   protected MoreObjects.ToStringHelper addSubclassFields(MoreObjects.ToStringHelper original) {
-    return original.add("index", index).add("counter", BinaryUtils.convertBytesToHexString(counter));
+    return original.add("index", index).add("counter", BinaryUtils.convertBytesToHexString(counter))
+        .add("fastKeyErasure", fastKeyErasure);
   }
 
   private void checkNotTooLong(final byte[] seed) {
@@ -288,7 +627,8 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
     checkNotTooLong(seed);
     if (seed.length < getMinSeedLength()) {
       throw new IllegalArgumentException(
-          String.format("Seed length is %d bytes; need at least 16 bytes", seed.length));
+          String.format("Seed length is %d bytes; need at least %d bytes", seed.length,
+              getMinSeedLength()));
     }
     super.setSeedInternal(seed);
     // determine how much of seed can go to key
@@ -307,6 +647,7 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
     }
     index = getBytesAtOnce();
     seeded = true;
+    keystreamSeed = seed.clone();
   }
 
   /**
@@ -323,4 +664,29 @@ public abstract class CipherCounterRandom extends BaseRandom implements Seekable
    * @throws InvalidKeyException if the cipher rejects the key
    */
   protected abstract void setKey(byte[] key) throws InvalidKeyException;
+
+  /**
+   * A thread-confined copy of a {@link CipherCounterRandom} with a given key, which is repositioned
+   * for each {@link #readAt(long, byte[], int, int)} call.
+   */
+  private static final class KeystreamReader {
+    private final byte[] seed;
+    private final CipherCounterRandom cipherCopy;
+    private final byte[] origin;
+
+    private KeystreamReader(final byte[] seed, final CipherCounterRandom cipherCopy) {
+      this.seed = seed;
+      this.cipherCopy = cipherCopy;
+      origin = cipherCopy.counter.clone();
+    }
+
+    private void read(final long blockIndex, final byte[] out, final int off, final int len) {
+      // nextBlock() increments the counter before encrypting it, so block 0 encrypts origin + 1
+      final byte[] counter = cipherCopy.counter;
+      System.arraycopy(origin, 0, counter, 0, counter.length);
+      Byte16ArrayArithmetic.addInto(counter, blockIndex);
+      cipherCopy.discardCurrentBlock();
+      cipherCopy.nextBytesNoEntropyDebit(out, off, len);
+    }
+  }
 }
@@ -119,6 +119,26 @@ public class Cmwc4096Random extends BaseRandom {
     }
   }
 
+  @SuppressWarnings("NumericCastThatLosesPrecision") @Override
+  protected void nextIntsNoEntropyDebit(final int[] out, final int off, final int len) {
+    int curIndex = index;
+    int curCarry = carry;
+    for (int i = off; i < off + len; i++) {
+      curIndex = (curIndex + 1) & 4095;
+      final long t = (A * (state[curIndex] & 0xFFFFFFFFL)) + curCarry;
+      curCarry = (int) (t >> 32);
+      int x = ((int) t) + curCarry;
+      if (x < curCarry) {
+        x++;
+        curCarry++;
+      }
+      state[curIndex] = 0xFFFFFFFE - x;
+      out[i] = state[curIndex];
+    }
+    index = curIndex;
+    carry = curCarry;
+  }
+
   /**
    * Returns the only supported seed length.
    */
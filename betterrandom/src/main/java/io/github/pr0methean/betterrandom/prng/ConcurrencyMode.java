@@ -0,0 +1,29 @@
+package io.github.pr0methean.betterrandom.prng;
+
+/**
+ * How a {@link BaseRandom} protects its internal state against concurrent access. Set with
+ * {@link BaseRandom#setConcurrencyMode(ConcurrencyMode)}.
+ *
+ * @author Chris Hennick
+ */
+public enum ConcurrencyMode {
+  /**
+   * Every operation that reads or modifies the internal state holds {@link BaseRandom#lock}. This
+   * is the default, and the only mode supported by every implementation.
+   */
+  SYNCHRONIZED,
+
+  /**
+   * The instance is used by only one thread, so {@link BaseRandom#lock} is never acquired. When
+   * assertions are enabled, use from any thread other than the first one to touch the instance
+   * after it entered this mode causes an {@link AssertionError}; otherwise no check is made.
+   */
+  CONFINED,
+
+  /**
+   * {@link BaseRandom#lock} is never acquired, and the implementation keeps its state consistent
+   * using atomic operations instead. Only supported by implementations designed for it; see
+   * {@link BaseRandom#supportsConcurrencyMode(ConcurrencyMode)}.
+   */
+  LOCK_FREE
+}
@@ -0,0 +1,34 @@
+package io.github.pr0methean.betterrandom.prng;
+
+/**
+ * How a {@link BaseRandom} keeps track of the entropy its output has consumed, for
+ * {@link BaseRandom#getEntropyBits()} and to decide when its {@link
+ * io.github.pr0methean.betterrandom.seed.RandomSeeder} should reseed it. Set with {@link
+ * BaseRandom#setEntropyAccountingMode(EntropyAccountingMode)}.
+ *
+ * @author Chris Hennick
+ */
+public enum EntropyAccountingMode {
+  /**
+   * Every output debits a single shared counter at once. This is the default, and the only mode
+   * supported by every implementation.
+   */
+  EXACT,
+
+  /**
+   * Each thread debits one of several counters on separate cache lines, and these are folded into
+   * the shared count whenever {@link BaseRandom#getEntropyBits()} is called, or as soon as one of
+   * them has spent its share of the remaining entropy. The count is therefore still exact whenever
+   * it's read, and the {@link io.github.pr0methean.betterrandom.seed.RandomSeeder} is still woken
+   * no later than it would have been in {@link #EXACT} mode; but threads sharing the PRNG only
+   * contend for the shared count when the remaining entropy is running low.
+   */
+  STRIPED,
+
+  /**
+   * Output doesn't debit the entropy count at all, so {@link BaseRandom#getEntropyBits()} only
+   * changes when the PRNG is reseeded. Intended for PRNGs that are never reseeded, or are reseeded
+   * on a schedule rather than when their entropy runs out.
+   */
+  NONE
+}
@@ -0,0 +1,223 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import static io.github.pr0methean.betterrandom.prng.L64X128MixRandom.GOLDEN_RATIO_64;
+import static io.github.pr0methean.betterrandom.prng.L64X128MixRandom.mixLea64;
+import static io.github.pr0methean.betterrandom.prng.L64X128MixRandom.mixStafford13;
+import static io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic.unsignedMultiplyHigh;
+
+import com.google.common.base.MoreObjects.ToStringHelper;
+import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.seed.SeedGenerator;
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
+/**
+ * <p>A Java 8 port of the "L128X256MixRandom" generator from JDK 17's {@code jdk.random} module:
+ * the LXM combination of a 128-bit LCG with a xoshiro256 generator, with the same mixing function
+ * as {@link L64X128MixRandom}. Period is 2<sup>128</sup>(2<sup>256</sup> - 1). Not
+ * cryptographically secure.
+ * </p><p>
+ * The seed is 64 bytes: the LCG's additive parameter (upper half, then lower half, whose lowest bit
+ * is always treated as set), the LCG's state (likewise), and the four words of xoshiro256 state.
+ * Given the same eight values, this class produces the same output as the JDK's, and {@link
+ * #split()} derives the same child.
+ * </p><p>
+ * This is the larger and slower of the two LXM generators here; its children are independent
+ * enough for even very heavily split workloads. For per-thread use, a
+ * {@link io.github.pr0methean.betterrandom.prng.adapter.ThreadLocalRandomWrapper} can be given a
+ * supplier that splits a shared instance.
+ * </p>
+ *
+ * @author Guy Steele and Sebastiano Vigna (algorithm)
+ */
+public class L128X256MixRandom extends BaseRandom {
+
+  private static final long serialVersionUID = 4913604386618624540L;
+  private static final int SEED_SIZE_BYTES = 8 * Long.BYTES;
+  /**
+   * Lower 64 bits of the LCG multiplier; the upper 64 bits are 1.
+   */
+  private static final long MULTIPLIER_LOW = 0xD605_BBB5_8C8A_BBFDL;
+  private static final double RANDOM_DOUBLE_INCR = 0x1.0p-53;
+
+  // WARNING: Don't initialize any instance fields at declaration; they may be initialized too late!
+  /**
+   * The LCG's additive parameter; always odd. Guarded by {@link #lock}.
+   */
+  private long addHigh;
+  private long addLow;
+  /**
+   * The LCG's state. Guarded by {@link #lock}.
+   */
+  private long high;
+  private long low;
+  /**
+   * The xoshiro256 state. Guarded by {@link #lock}.
+   */
+  private long x0;
+  private long x1;
+  private long x2;
+  private long x3;
+
+  /**
+   * Creates a new PRNG with a seed from the {@link DefaultSeedGenerator}.
+   */
+  public L128X256MixRandom() {
+    this(DefaultSeedGenerator.DEFAULT_SEED_GENERATOR);
+  }
+
+  /**
+   * Creates a new PRNG with a seed from the provided {@link SeedGenerator}.
+   *
+   * @param seedGenerator the seed generator that will generate the initial seed
+   * @throws SeedException if {@code seedGenerator} fails to generate a seed
+   */
+  @EntryPoint public L128X256MixRandom(final SeedGenerator seedGenerator) throws SeedException {
+    this(seedGenerator.generateSeed(SEED_SIZE_BYTES));
+  }
+
+  /**
+   * Creates a new PRNG with the provided seed.
+   *
+   * @param seed the seed; must be exactly 64 bytes
+   */
+  @EntryPoint public L128X256MixRandom(final byte[] seed) {
+    super(seed);
+    if (seed.length != SEED_SIZE_BYTES) {
+      throw new IllegalArgumentException("L128X256MixRandom requires a 64-byte seed");
+    }
+  }
+
+  @Override public void setSeed(final long seed) {
+    fallbackSetSeedIfInitialized();
+  }
+
+  @Override protected double nextDoubleNoEntropyDebit() {
+    return (nextLongNoEntropyDebit() >>> (Long.SIZE - ENTROPY_OF_DOUBLE)) * RANDOM_DOUBLE_INCR;
+  }
+
+  /**
+   * Creates a new instance whose state is taken from this one's output, in the same way as JDK
+   * 17's {@code L128X256MixRandom.split()}: eight {@code long}s fill in the new LCG's additive
+   * parameter and state and the xoshiro256 state, with the first of them choosing the lower half
+   * of the additive parameter. Entropy is debited for all eight. The child isn't registered with
+   * this instance's {@link io.github.pr0methean.betterrandom.seed.RandomSeeder}.
+   *
+   * @return a new {@link L128X256MixRandom}
+   */
+  public L128X256MixRandom split() {
+    final long[] parentOutput = new long[8];
+    nextLongs(parentOutput);
+    final byte[] childSeed = new byte[SEED_SIZE_BYTES];
+    BinaryUtils.convertLongToBytes(parentOutput[1], childSeed, 0);
+    BinaryUtils.convertLongToBytes(parentOutput[0] << 1, childSeed, Long.BYTES);
+    for (int i = 2; i < parentOutput.length; i++) {
+      BinaryUtils.convertLongToBytes(parentOutput[i], childSeed, i * Long.BYTES);
+    }
+    return new L128X256MixRandom(childSeed);
+  }
+
+  @Override public byte[] getSeed() {
+    final byte[] state = new byte[SEED_SIZE_BYTES];
+    lock.lock();
+    try {
+      writeState(state);
+    } finally {
+      lock.unlock();
+    }
+    return state;
+  }
+
+  /**
+   * {@inheritDoc} The additive parameter's lowest bit is set. Since the xoshiro256 state must not
+   * be all zeroes, it's replaced with values derived from the LCG state if it is, just as in the
+   * JDK.
+   */
+  @Override public void setSeedInternal(final byte[] seed) {
+    if (seed.length != SEED_SIZE_BYTES) {
+      throw new IllegalArgumentException("L128X256MixRandom requires a 64-byte seed");
+    }
+    super.setSeedInternal(seed);
+    addHigh = BinaryUtils.convertBytesToLong(seed, 0);
+    addLow = BinaryUtils.convertBytesToLong(seed, Long.BYTES) | 1;
+    high = BinaryUtils.convertBytesToLong(seed, 2 * Long.BYTES);
+    low = BinaryUtils.convertBytesToLong(seed, 3 * Long.BYTES);
+    x0 = BinaryUtils.convertBytesToLong(seed, 4 * Long.BYTES);
+    x1 = BinaryUtils.convertBytesToLong(seed, 5 * Long.BYTES);
+    x2 = BinaryUtils.convertBytesToLong(seed, 6 * Long.BYTES);
+    x3 = BinaryUtils.convertBytesToLong(seed, 7 * Long.BYTES);
+    if ((x0 | x1 | x2 | x3) == 0) {
+      x0 = mixStafford13(high + GOLDEN_RATIO_64);
+      x1 = mixStafford13(high + (2 * GOLDEN_RATIO_64));
+      x2 = mixStafford13(high + (3 * GOLDEN_RATIO_64));
+      x3 = mixStafford13(high + (4 * GOLDEN_RATIO_64));
+    }
+  }
+
+  @Override protected int next(final int bits) {
+    return (int) (nextLongNoEntropyDebit() >>> (Long.SIZE - bits));
+  }
+
+  @Override protected long nextLongNoEntropyDebit() {
+    lock.lock();
+    try {
+      final long result = mixLea64(high + x0);
+      // (high, low) = ((1 << 64) + MULTIPLIER_LOW) * (high, low) + (addHigh, addLow)
+      final long product = MULTIPLIER_LOW * low;
+      high = (MULTIPLIER_LOW * high) + unsignedMultiplyHigh(MULTIPLIER_LOW, low) + low + addHigh;
+      low = product + addLow;
+      if (Long.compareUnsigned(low, product) < 0) {
+        high++;
+      }
+      final long t = x1 << 17;
+      x2 ^= x0;
+      x3 ^= x1;
+      x1 ^= x2;
+      x0 ^= x3;
+      x2 ^= t;
+      x3 = Long.rotateLeft(x3, 45);
+      return result;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override protected void nextBytesNoEntropyDebit(final byte[] bytes, final int off,
+      final int len) {
+    nextBytesFromLongsNoEntropyDebit(bytes, off, len);
+  }
+
+  @Override protected ToStringHelper addSubclassFields(final ToStringHelper original) {
+    return original.add("addHigh", addHigh).add("addLow", addLow).add("high", high)
+        .add("low", low).add("x0", x0).add("x1", x1).add("x2", x2).add("x3", x3);
+  }
+
+  @Override public int getNewSeedLength() {
+    return SEED_SIZE_BYTES;
+  }
+
+  private void writeState(final byte[] dest) {
+    BinaryUtils.convertLongToBytes(addHigh, dest, 0);
+    BinaryUtils.convertLongToBytes(addLow, dest, Long.BYTES);
+    BinaryUtils.convertLongToBytes(high, dest, 2 * Long.BYTES);
+    BinaryUtils.convertLongToBytes(low, dest, 3 * Long.BYTES);
+    BinaryUtils.convertLongToBytes(x0, dest, 4 * Long.BYTES);
+    BinaryUtils.convertLongToBytes(x1, dest, 5 * Long.BYTES);
+    BinaryUtils.convertLongToBytes(x2, dest, 6 * Long.BYTES);
+    BinaryUtils.convertLongToBytes(x3, dest, 7 * Long.BYTES);
+  }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    // Copy the state back to the array seed
+    lock.lock();
+    try {
+      writeState(seed);
+      out.defaultWriteObject();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
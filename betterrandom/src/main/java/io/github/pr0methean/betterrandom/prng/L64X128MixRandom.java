@@ -0,0 +1,245 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import com.google.common.base.MoreObjects.ToStringHelper;
+import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.seed.SeedGenerator;
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+
+/**
+ * <p>A Java 8 port of the "L64X128MixRandom" generator from JDK 17's {@code jdk.random} module, a
+ * member of the LXM family described by Steele and Vigna in "LXM: Better Splittable Pseudorandom
+ * Number Generators (and Almost as Fast)" (OOPSLA 2021). Each output adds the state of a 64-bit
+ * LCG to the first word of a xoroshiro128 generator and passes the sum through a mixing function.
+ * Period is 2<sup>64</sup>(2<sup>128</sup> - 1). Not cryptographically secure.
+ * </p><p>
+ * The seed is 32 bytes: the LCG's additive parameter (whose lowest bit is always treated as set),
+ * the LCG's state, and the two words of xoroshiro128 state. Given the same four values, this class
+ * produces the same output as the JDK's, and {@link #split()} derives the same child.
+ * </p><p>
+ * LXM generators are meant for fork/join workloads that split often: the additive parameter picks
+ * one of 2<sup>63</sup> distinct LCG sequences, so children created by {@link #split()} are
+ * statistically independent of their parents and of each other. For per-thread use, a
+ * {@link io.github.pr0methean.betterrandom.prng.adapter.ThreadLocalRandomWrapper} can be given a
+ * supplier that splits a shared instance.
+ * </p>
+ *
+ * @author Guy Steele and Sebastiano Vigna (algorithm)
+ */
+public class L64X128MixRandom extends BaseRandom {
+
+  private static final long serialVersionUID = -2418542960298342197L;
+  private static final int SEED_SIZE_BYTES = 4 * Long.BYTES;
+  /**
+   * The LCG multiplier.
+   */
+  static final long MULTIPLIER = 0xD134_2543_DE82_EF95L;
+  /**
+   * Increment used to replace an all-zeroes xoroshiro128 state; 2<sup>64</sup> divided by the
+   * golden ratio.
+   */
+  static final long GOLDEN_RATIO_64 = 0x9E37_79B9_7F4A_7C15L;
+  private static final long LEA_MULTIPLIER = 0xDABA_0B6E_B093_22E3L;
+  private static final double RANDOM_DOUBLE_INCR = 0x1.0p-53;
+
+  // WARNING: Don't initialize any instance fields at declaration; they may be initialized too late!
+  /**
+   * The LCG's additive parameter; always odd. Guarded by {@link #lock}.
+   */
+  private long a;
+  /**
+   * The LCG's state. Guarded by {@link #lock}.
+   */
+  private long s;
+  /**
+   * The xoroshiro128 state. Guarded by {@link #lock}.
+   */
+  private long x0;
+  private long x1;
+
+  /**
+   * Creates a new PRNG with a seed from the {@link DefaultSeedGenerator}.
+   */
+  public L64X128MixRandom() {
+    this(DefaultSeedGenerator.DEFAULT_SEED_GENERATOR);
+  }
+
+  /**
+   * Creates a new PRNG with a seed from the provided {@link SeedGenerator}.
+   *
+   * @param seedGenerator the seed generator that will generate the initial seed
+   * @throws SeedException if {@code seedGenerator} fails to generate a seed
+   */
+  @EntryPoint public L64X128MixRandom(final SeedGenerator seedGenerator) throws SeedException {
+    this(seedGenerator.generateSeed(SEED_SIZE_BYTES));
+  }
+
+  /**
+   * Creates a new PRNG with the provided seed.
+   *
+   * @param seed the seed; must be exactly 32 bytes
+   */
+  @EntryPoint public L64X128MixRandom(final byte[] seed) {
+    super(seed);
+    if (seed.length != SEED_SIZE_BYTES) {
+      throw new IllegalArgumentException("L64X128MixRandom requires a 32-byte seed");
+    }
+  }
+
+  /**
+   * The "lea64" mixing function of Doug Lea.
+   *
+   * @param z the value to mix
+   * @return the mixed value
+   */
+  static long mixLea64(long z) {
+    z = (z ^ (z >>> 32)) * LEA_MULTIPLIER;
+    z = (z ^ (z >>> 32)) * LEA_MULTIPLIER;
+    return z ^ (z >>> 32);
+  }
+
+  /**
+   * David Stafford's "Mix13" variant of the MurmurHash3 finalizer, which is also used by {@link
+   * java.util.SplittableRandom}. Used to fill an all-zeroes xorshift state.
+   *
+   * @param z the value to mix
+   * @return the mixed value
+   */
+  static long mixStafford13(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58_476D_1CE4_E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D0_49BB_1331_11EBL;
+    return z ^ (z >>> 31);
+  }
+
+  @Override public void setSeed(final long seed) {
+    fallbackSetSeedIfInitialized();
+  }
+
+  @Override protected double nextDoubleNoEntropyDebit() {
+    return (nextLongNoEntropyDebit() >>> (Long.SIZE - ENTROPY_OF_DOUBLE)) * RANDOM_DOUBLE_INCR;
+  }
+
+  /**
+   * Creates a new instance whose state is taken from this one's output, in the same way as JDK
+   * 17's {@code L64X128MixRandom.split()}: one {@code long} chooses the new LCG's additive
+   * parameter, and three more fill in the LCG and xoroshiro128 states. Entropy is debited for all
+   * four. The child isn't registered with this instance's {@link
+   * io.github.pr0methean.betterrandom.seed.RandomSeeder}.
+   *
+   * @return a new {@link L64X128MixRandom}
+   */
+  public L64X128MixRandom split() {
+    final long[] parentOutput = new long[4];
+    nextLongs(parentOutput);
+    final byte[] childSeed = new byte[SEED_SIZE_BYTES];
+    BinaryUtils.convertLongToBytes(parentOutput[0] << 1, childSeed, 0);
+    BinaryUtils.convertLongToBytes(parentOutput[1], childSeed, Long.BYTES);
+    BinaryUtils.convertLongToBytes(parentOutput[2], childSeed, 2 * Long.BYTES);
+    BinaryUtils.convertLongToBytes(parentOutput[3], childSeed, 3 * Long.BYTES);
+    return new L64X128MixRandom(childSeed);
+  }
+
+  @Override public byte[] getSeed() {
+    final byte[] state = new byte[SEED_SIZE_BYTES];
+    lock.lock();
+    try {
+      writeState(state);
+    } finally {
+      lock.unlock();
+    }
+    return state;
+  }
+
+  /**
+   * {@inheritDoc} The additive parameter's lowest bit is set. Since the xoroshiro128 state must not
+   * be all zeroes, it's replaced with values derived from the LCG state if it is, just as in the
+   * JDK.
+   */
+  @Override public void setSeedInternal(final byte[] seed) {
+    if (seed.length != SEED_SIZE_BYTES) {
+      throw new IllegalArgumentException("L64X128MixRandom requires a 32-byte seed");
+    }
+    super.setSeedInternal(seed);
+    a = BinaryUtils.convertBytesToLong(seed, 0) | 1;
+    s = BinaryUtils.convertBytesToLong(seed, Long.BYTES);
+    x0 = BinaryUtils.convertBytesToLong(seed, 2 * Long.BYTES);
+    x1 = BinaryUtils.convertBytesToLong(seed, 3 * Long.BYTES);
+    if ((x0 | x1) == 0) {
+      x0 = mixStafford13(s + GOLDEN_RATIO_64);
+      x1 = mixStafford13(s + (2 * GOLDEN_RATIO_64));
+    }
+  }
+
+  @Override protected int next(final int bits) {
+    return (int) (nextLongNoEntropyDebit() >>> (Long.SIZE - bits));
+  }
+
+  @Override protected long nextLongNoEntropyDebit() {
+    lock.lock();
+    try {
+      final long result = mixLea64(s + x0);
+      s = (MULTIPLIER * s) + a;
+      final long q1 = x0 ^ x1;
+      x0 = Long.rotateLeft(x0, 24) ^ q1 ^ (q1 << 16);
+      x1 = Long.rotateLeft(q1, 37);
+      return result;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Steps a local copy of the state for the whole batch, then writes it back.
+   */
+  @Override protected void nextLongsNoEntropyDebit(final long[] out, final int off,
+      final int len) {
+    final long add = a;
+    long curS = s;
+    long cur0 = x0;
+    long cur1 = x1;
+    for (int i = off; i < off + len; i++) {
+      out[i] = mixLea64(curS + cur0);
+      curS = (MULTIPLIER * curS) + add;
+      cur1 ^= cur0;
+      cur0 = Long.rotateLeft(cur0, 24) ^ cur1 ^ (cur1 << 16);
+      cur1 = Long.rotateLeft(cur1, 37);
+    }
+    s = curS;
+    x0 = cur0;
+    x1 = cur1;
+  }
+
+  @Override protected void nextBytesNoEntropyDebit(final byte[] bytes, final int off,
+      final int len) {
+    nextBytesFromLongsNoEntropyDebit(bytes, off, len);
+  }
+
+  @Override protected ToStringHelper addSubclassFields(final ToStringHelper original) {
+    return original.add("a", a).add("s", s).add("x0", x0).add("x1", x1);
+  }
+
+  @Override public int getNewSeedLength() {
+    return SEED_SIZE_BYTES;
+  }
+
+  private void writeState(final byte[] dest) {
+    BinaryUtils.convertLongToBytes(a, dest, 0);
+    BinaryUtils.convertLongToBytes(s, dest, Long.BYTES);
+    BinaryUtils.convertLongToBytes(x0, dest, 2 * Long.BYTES);
+    BinaryUtils.convertLongToBytes(x1, dest, 3 * Long.BYTES);
+  }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    // Copy the state back to the array seed
+    lock.lock();
+    try {
+      writeState(seed);
+      out.defaultWriteObject();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
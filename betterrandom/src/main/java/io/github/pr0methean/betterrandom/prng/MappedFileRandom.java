@@ -0,0 +1,366 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import com.google.common.base.MoreObjects.ToStringHelper;
+import io.github.pr0methean.betterrandom.SeekableRandom;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.seed.SeedGenerator;
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>A {@link BaseRandom} that replays output generated in advance, such as by {@code
+ * RandomFifoFiller} or by writing an {@link AesCounterRandom}'s {@link #nextLong()}s to a file.
+ * The files are memory-mapped read-only and treated as one sequence of big-endian {@code long}s, in
+ * the order given; any bytes after the last whole {@code long} of a file are ignored. Reading costs
+ * no generation at all, so this is meant for benchmark and regression runs that need repeatable
+ * input at the lowest possible cost.</p>
+ *
+ * <p>Every {@link #nextLong()}, {@link #nextInt()}, {@link #nextDouble()} and so on consumes one
+ * {@code long}, and {@link #nextBytes(byte[])} returns the files' bytes unchanged, consuming whole
+ * {@code long}s. Since the position is an {@link AtomicLong}, concurrent readers never block one
+ * another, and {@link ConcurrencyMode#LOCK_FREE} is supported. {@link #advance(long)} moves the
+ * position in constant time; one step is one {@code long}.</p>
+ *
+ * <p>The seed is the starting position, as an unsigned big-endian {@code long} counted in {@code
+ * long}s and reduced modulo the length of the files, so a {@link
+ * io.github.pr0methean.betterrandom.seed.RandomSeeder} makes the output jump to a random position.
+ * What happens after every {@code long} has been read once since the last reseed depends on the
+ * {@link ExhaustionPolicy}.</p>
+ *
+ * <p>The files aren't copied when this is serialized, so they must still exist, and be unchanged,
+ * for the deserialized copy to produce the same output. The mapping lasts until this instance is
+ * garbage-collected.</p>
+ */
+public class MappedFileRandom extends BaseRandom implements SeekableRandom {
+
+  private static final long serialVersionUID = -3512346180346815523L;
+  private static final double RANDOM_DOUBLE_INCR = 0x1.0p-53;
+  /**
+   * Largest mapping to create; files longer than this are split. Must be a multiple of {@link
+   * Long#BYTES}, and no more than {@link Integer#MAX_VALUE}.
+   */
+  private static final int MAX_SEGMENT_BYTES = 1 << 30;
+  private static final int LOG2_LONG_BYTES = 3;
+
+  /**
+   * What to do when asked for more output than the files hold.
+   */
+  public enum ExhaustionPolicy {
+    /**
+     * Continue from the beginning of the first file, repeating the output.
+     */
+    WRAP,
+    /**
+     * Throw an {@link IllegalStateException} rather than return any {@code long} twice between
+     * reseedings. Reads before the position given by the seed (after a negative {@link
+     * #advance(long)}) also throw.
+     */
+    THROW
+  }
+
+  // WARNING: Don't initialize any instance fields at declaration; they may be initialized too late!
+  private final File[] files;
+  private final ExhaustionPolicy exhaustionPolicy;
+  /**
+   * Read-only views of the mapped files, each at most {@link #MAX_SEGMENT_BYTES} long. Only
+   * absolute reads are used, so they can be shared between threads.
+   */
+  private transient ByteBuffer[] segments;
+  /**
+   * Position of the first {@code long} in each segment, followed by the total length.
+   */
+  private transient long[] segmentStarts;
+  /**
+   * Total number of {@code long}s in all the files; 0 until the files are mapped.
+   */
+  private transient long length;
+  /**
+   * The position given by the seed, reduced modulo {@link #length} once that's known.
+   */
+  private transient volatile long start;
+  /**
+   * Position of the next {@code long} to read. Not reduced modulo {@link #length}, so that it can
+   * tell when the output is exhausted.
+   */
+  private transient AtomicLong cursor;
+
+  /**
+   * Creates an instance that starts at the beginning of the first file and wraps around.
+   *
+   * @param files the files to read, in order
+   * @throws IOException if a file can't be mapped
+   * @throws IllegalArgumentException if the files don't contain at least one whole {@code long}
+   */
+  @EntryPoint public MappedFileRandom(final File... files) throws IOException {
+    this(new byte[Long.BYTES], ExhaustionPolicy.WRAP, files);
+  }
+
+  /**
+   * Creates an instance that starts at a position chosen by the given {@link SeedGenerator}.
+   *
+   * @param seedGenerator the seed generator that will choose the starting position
+   * @param exhaustionPolicy what to do once all the output has been read
+   * @param files the files to read, in order
+   * @throws IOException if a file can't be mapped
+   * @throws SeedException if {@code seedGenerator} fails to generate a seed
+   * @throws IllegalArgumentException if the files don't contain at least one whole {@code long}
+   */
+  @EntryPoint public MappedFileRandom(final SeedGenerator seedGenerator,
+      final ExhaustionPolicy exhaustionPolicy, final File... files)
+      throws IOException, SeedException {
+    this(seedGenerator.generateSeed(Long.BYTES), exhaustionPolicy, files);
+  }
+
+  /**
+   * Creates an instance that starts at the given position.
+   *
+   * @param seed the starting position, as described in the class documentation; must be exactly 8
+   *     bytes
+   * @param exhaustionPolicy what to do once all the output has been read
+   * @param files the files to read, in order
+   * @throws IOException if a file can't be mapped
+   * @throws IllegalArgumentException if the files don't contain at least one whole {@code long}
+   */
+  @EntryPoint public MappedFileRandom(final byte[] seed, final ExhaustionPolicy exhaustionPolicy,
+      final File... files) throws IOException {
+    super(seed);
+    this.files = files.clone();
+    this.exhaustionPolicy = exhaustionPolicy;
+    mapFiles();
+    seek(start);
+  }
+
+  /**
+   * Creates a copy that shares the original's mappings, for {@link #splitForStream(long)}.
+   */
+  private MappedFileRandom(final MappedFileRandom original, final long position) {
+    super(original.seed);
+    files = original.files;
+    exhaustionPolicy = original.exhaustionPolicy;
+    segments = original.segments;
+    segmentStarts = original.segmentStarts;
+    length = original.length;
+    start = original.start;
+    cursor.set(position);
+  }
+
+  @Override protected void initTransientFields() {
+    super.initTransientFields();
+    cursor = new AtomicLong();
+  }
+
+  private void mapFiles() throws IOException {
+    final List<ByteBuffer> mapped = new ArrayList<>(files.length);
+    final List<Long> starts = new ArrayList<>(files.length + 1);
+    long total = 0;
+    for (final File file : files) {
+      try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+          FileChannel channel = raf.getChannel()) {
+        final long usableBytes = channel.size() & -Long.BYTES;
+        for (long offset = 0; offset < usableBytes; offset += MAX_SEGMENT_BYTES) {
+          final long segmentBytes = Math.min(MAX_SEGMENT_BYTES, usableBytes - offset);
+          mapped.add(channel.map(MapMode.READ_ONLY, offset, segmentBytes));
+          starts.add(total);
+          total += segmentBytes >>> LOG2_LONG_BYTES;
+        }
+      }
+    }
+    if (total == 0) {
+      throw new IllegalArgumentException(
+          "Files don't contain any complete longs: " + Arrays.toString(files));
+    }
+    starts.add(total);
+    segments = mapped.toArray(new ByteBuffer[0]);
+    segmentStarts = starts.stream().mapToLong(Long::longValue).toArray();
+    length = total;
+  }
+
+  /**
+   * Moves to the given position, reduced modulo the length, and resets the count of output read.
+   */
+  private void seek(final long position) {
+    start = (length == 0) ? position : Long.remainderUnsigned(position, length);
+    cursor.set(start);
+  }
+
+  /**
+   * Returns the position in the files of the given cursor value, or throws if it's been exhausted.
+   *
+   * @param index a value of {@link #cursor}
+   * @param count how many {@code long}s will be read starting at {@code index}
+   * @return the position of the first, in {@code [0, length)}
+   */
+  private long positionOf(final long index, final long count) {
+    if (exhaustionPolicy == ExhaustionPolicy.THROW) {
+      final long read = index - start;
+      if ((read < 0) || (read > (length - count))) {
+        throw new IllegalStateException(String.format(
+            "All %d longs from %s have been read since the last reseed", length,
+            Arrays.toString(files)));
+      }
+    }
+    return Math.floorMod(index, length);
+  }
+
+  private int segmentOf(final long position) {
+    if (segments.length == 1) {
+      return 0;
+    }
+    final int found = Arrays.binarySearch(segmentStarts, position);
+    return (found >= 0) ? found : (-found - 2);
+  }
+
+  @Override protected long nextLongNoEntropyDebit() {
+    final long position = positionOf(cursor.getAndIncrement(), 1);
+    final int segment = segmentOf(position);
+    return segments[segment].getLong(
+        (int) ((position - segmentStarts[segment]) << LOG2_LONG_BYTES));
+  }
+
+  /**
+   * Claims all the {@code long}s at once, then copies them a segment at a time.
+   */
+  @Override protected void nextLongsNoEntropyDebit(final long[] out, final int off,
+      final int len) {
+    final long first = cursor.getAndAdd(len);
+    long position = positionOf(first, len);
+    int done = 0;
+    while (done < len) {
+      final int segment = segmentOf(position);
+      final int count = (int) Math.min(len - done, segmentStarts[segment + 1] - position);
+      view(segment, position).asLongBuffer().get(out, off + done, count);
+      done += count;
+      position += count;
+      if (position == length) {
+        position = 0;
+      }
+    }
+  }
+
+  @Override protected void nextBytesNoEntropyDebit(final byte[] bytes, final int off,
+      final int len) {
+    nextBytesNoEntropyDebit(ByteBuffer.wrap(bytes, off, len));
+  }
+
+  /**
+   * Copies the files' bytes straight into the buffer, consuming a whole {@code long} for any
+   * partial one at the end.
+   */
+  @Override protected void nextBytesNoEntropyDebit(final ByteBuffer dest) {
+    final int len = dest.remaining();
+    final int longs = (len + Long.BYTES - 1) >>> LOG2_LONG_BYTES;
+    final long first = cursor.getAndAdd(longs);
+    long position = positionOf(first, longs);
+    int done = 0;
+    while (done < len) {
+      final int segment = segmentOf(position);
+      final long available = (segmentStarts[segment + 1] - position) << LOG2_LONG_BYTES;
+      final int count = (int) Math.min(len - done, available);
+      final ByteBuffer source = view(segment, position);
+      source.limit(source.position() + count);
+      dest.put(source);
+      done += count;
+      position += count >>> LOG2_LONG_BYTES;
+      if (position == length) {
+        position = 0;
+      }
+    }
+  }
+
+  /**
+   * Returns a view of a segment whose position is the given {@code long}. Each thread needs its own,
+   * since relative reads move the position.
+   */
+  private ByteBuffer view(final int segment, final long position) {
+    final ByteBuffer view = segments[segment].duplicate();
+    view.position((int) ((position - segmentStarts[segment]) << LOG2_LONG_BYTES));
+    return view;
+  }
+
+  @Override protected int next(final int bits) {
+    return (int) (nextLongNoEntropyDebit() >>> (Long.SIZE - bits));
+  }
+
+  @Override protected double nextDoubleNoEntropyDebit() {
+    return (nextLongNoEntropyDebit() >>> (Long.SIZE - ENTROPY_OF_DOUBLE)) * RANDOM_DOUBLE_INCR;
+  }
+
+  /**
+   * Moves the position by {@code delta} {@code long}s. With {@link ExhaustionPolicy#THROW}, moving
+   * outside the output not yet read since the last reseed doesn't throw, but the next read does.
+   */
+  @Override public void advance(final long delta) {
+    cursor.addAndGet(delta);
+  }
+
+  /**
+   * Returns 1, since every output consumes one {@code long}.
+   */
+  @Override protected int getAdvanceStepsPerLong() {
+    return 1;
+  }
+
+  /**
+   * Claims the next {@code steps} {@code long}s for a copy in a single atomic update, so this works
+   * in all concurrency modes.
+   */
+  @Override protected BaseRandom splitForStream(final long steps) {
+    return new MappedFileRandom(this, cursor.getAndAdd(steps));
+  }
+
+  /**
+   * Returns true for all modes, since the position is an {@link AtomicLong}.
+   */
+  @Override public boolean supportsConcurrencyMode(final ConcurrencyMode mode) {
+    return true;
+  }
+
+  /**
+   * Moves to the given position, as {@link #setSeed(byte[])} would with its 8 bytes.
+   */
+  @Override public void setSeed(final long seed) {
+    if (cursor != null) {
+      super.setSeed(seed);
+    }
+  }
+
+  @Override protected void setSeedInternal(final byte[] seed) {
+    super.setSeedInternal(seed);
+    seek(BinaryUtils.convertBytesToLong(seed));
+  }
+
+  @Override public int getNewSeedLength() {
+    return Long.BYTES;
+  }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeLong(start);
+    out.writeLong(cursor.get());
+  }
+
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    mapFiles();
+    start = in.readLong();
+    cursor.set(in.readLong());
+  }
+
+  @Override protected ToStringHelper addSubclassFields(final ToStringHelper original) {
+    return original.add("files", Arrays.toString(files)).add("length", length)
+        .add("exhaustionPolicy", exhaustionPolicy).add("start", start)
+        .add("cursor", cursor.get());
+  }
+}
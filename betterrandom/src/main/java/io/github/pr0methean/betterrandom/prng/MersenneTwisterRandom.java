@@ -15,13 +15,18 @@
 // ============================================================================
 package io.github.pr0methean.betterrandom.prng;
 
+import static io.github.pr0methean.betterrandom.util.Gf2PolynomialArithmetic.hasTerm;
+
 import com.google.common.base.MoreObjects.ToStringHelper;
+import io.github.pr0methean.betterrandom.SeekableRandom;
 import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
 import io.github.pr0methean.betterrandom.seed.SeedException;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import io.github.pr0methean.betterrandom.util.Gf2JumpTable;
 import java.util.Arrays;
 import java.util.Random;
+import javax.annotation.Nullable;
 
 /**
  * <p>Random number generator based on the
@@ -40,12 +45,15 @@ import java.util.Random;
  * seeds, it is not possible to seed this RNG using the {@link #setSeed(long)} method inherited
  * from
  * {@link Random}.  Calls to this method will have no effect. Instead the seed must be set by a
- * constructor.</em></p>
+ * constructor.</em></p> <p>{@link #advance(long)} jumps forward or backward by the method of
+ * Haramoto et al., "Efficient Jump Ahead for F<sub>2</sub>-Linear Random Number Generators"
+ * (2008), so that parallel jobs can take non-overlapping substreams of one seed. The jump
+ * polynomials are found the first time they're needed.</p>
  *
  * @author Makoto Matsumoto and Takuji Nishimura (original C version)
  * @author Daniel Dyer (Java port)
  */
-public class MersenneTwisterRandom extends BaseRandom {
+public class MersenneTwisterRandom extends BaseRandom implements SeekableRandom {
 
   private static final long serialVersionUID = -4856906677508460512L;
 
@@ -64,6 +72,16 @@ public class MersenneTwisterRandom extends BaseRandom {
   private static final int SEED_FACTOR2 = 1566083941;
   private static final int GENERATE_MASK1 = 0x9d2c5680;
   private static final int GENERATE_MASK2 = 0xefc60000;
+  /**
+   * Number of bits of state that affect the output: all of the state vector, except the lower 31
+   * bits of the word that the next twist will replace first.
+   */
+  private static final int DEGREE = 19937;
+  /**
+   * Largest distance that {@link #advance(long)} covers by twisting, since skipping whole blocks of
+   * output is cheaper than a jump for shorter distances.
+   */
+  private static final long MAX_DISTANCE_WITHOUT_JUMP = 1 << 20;
 
   private int[] mt; // State vector.
   private volatile int mtIndex = N; // Index into state vector.
@@ -164,37 +182,209 @@ public class MersenneTwisterRandom extends BaseRandom {
     int y;
     lock.lock();
     try {
-      final int curMtIndex;
-      final int oldMtIndex = mtIndex;
-      if (oldMtIndex >= N) // Generate N ints at a time.
+      int curMtIndex = mtIndex;
+      if (curMtIndex >= N) // Generate N ints at a time.
       {
-        int kk;
-        for (kk = 0; kk < (N - M); kk++) {
-          y = (mt[kk] & UPPER_MASK) | (mt[kk + 1] & LOWER_MASK);
-          mt[kk] = mt[kk + M] ^ (y >>> 1) ^ MAG01[y & 0x1];
-        }
-        for (; kk < (N - 1); kk++) {
-          y = (mt[kk] & UPPER_MASK) | (mt[kk + 1] & LOWER_MASK);
-          mt[kk] = mt[kk + (M - N)] ^ (y >>> 1) ^ MAG01[y & 0x1];
-        }
-        y = (mt[N - 1] & UPPER_MASK) | (mt[0] & LOWER_MASK);
-        mt[N - 1] = mt[M - 1] ^ (y >>> 1) ^ MAG01[y & 0x1];
-
+        twist();
         curMtIndex = 0;
-      } else {
-        curMtIndex = oldMtIndex;
       }
       y = mt[curMtIndex];
       mtIndex = curMtIndex + 1;
     } finally {
       lock.unlock();
     }
-    // Tempering
+    return temper(y) >>> (32 - bits);
+  }
+
+  /**
+   * Generates the next N words of the state vector in place. Must be called with {@link #lock}
+   * held.
+   */
+  private void twist() {
+    int y;
+    int kk;
+    for (kk = 0; kk < (N - M); kk++) {
+      y = (mt[kk] & UPPER_MASK) | (mt[kk + 1] & LOWER_MASK);
+      mt[kk] = mt[kk + M] ^ (y >>> 1) ^ MAG01[y & 0x1];
+    }
+    for (; kk < (N - 1); kk++) {
+      y = (mt[kk] & UPPER_MASK) | (mt[kk + 1] & LOWER_MASK);
+      mt[kk] = mt[kk + (M - N)] ^ (y >>> 1) ^ MAG01[y & 0x1];
+    }
+    y = (mt[N - 1] & UPPER_MASK) | (mt[0] & LOWER_MASK);
+    mt[N - 1] = mt[M - 1] ^ (y >>> 1) ^ MAG01[y & 0x1];
+  }
+
+  private static int temper(int y) {
     y ^= (y >>> 11);
     y ^= (y << 7) & GENERATE_MASK1;
     y ^= (y << 15) & GENERATE_MASK2;
     y ^= (y >>> 18);
-    return y >>> (32 - bits);
+    return y;
+  }
+
+  /**
+   * Copies tempered words straight out of the state vector, twisting it in place whenever it's
+   * exhausted.
+   */
+  @Override protected void nextIntsNoEntropyDebit(final int[] out, final int off, final int len) {
+    int curMtIndex = mtIndex;
+    final int end = off + len;
+    int i = off;
+    while (i < end) {
+      if (curMtIndex >= N) {
+        twist();
+        curMtIndex = 0;
+      }
+      final int stop = Math.min(end, i + (N - curMtIndex));
+      while (i < stop) {
+        out[i] = temper(mt[curMtIndex]);
+        i++;
+        curMtIndex++;
+      }
+    }
+    mtIndex = curMtIndex;
+  }
+
+  @Override protected void nextLongsNoEntropyDebit(final long[] out, final int off,
+      final int len) {
+    int curMtIndex = mtIndex;
+    for (int i = off; i < off + len; i++) {
+      if (curMtIndex >= N) {
+        twist();
+        curMtIndex = 0;
+      }
+      final long high = temper(mt[curMtIndex]);
+      curMtIndex++;
+      if (curMtIndex >= N) {
+        twist();
+        curMtIndex = 0;
+      }
+      out[i] = (high << 32) + temper(mt[curMtIndex]);
+      curMtIndex++;
+    }
+    mtIndex = curMtIndex;
+  }
+
+  /**
+   * Advances the generator forward {@code delta} steps, or backward if {@code delta} is negative.
+   * Each step produces one {@link #nextInt()}. Takes time proportional to log(|delta|) for large
+   * distances.
+   *
+   * @param delta the number of steps to advance; can be negative
+   */
+  @Override public void advance(final long delta) {
+    lock.lock();
+    try {
+      if ((delta >= 0) && (delta <= MAX_DISTANCE_WITHOUT_JUMP)) {
+        long remaining = delta;
+        int curMtIndex = mtIndex;
+        while (remaining > 0) {
+          if (curMtIndex >= N) {
+            twist();
+            curMtIndex = 0;
+          }
+          final int skipped = (int) Math.min(remaining, N - curMtIndex);
+          curMtIndex += skipped;
+          remaining -= skipped;
+        }
+        mtIndex = curMtIndex;
+        return;
+      }
+      // The state vector holds the N words before the next twist's output. Move that window so
+      // that the next twist will output the word we're advancing to.
+      final int untilTwist = N - mtIndex;
+      if (delta < (Long.MIN_VALUE + untilTwist)) {
+        jumpWindow(delta);
+        jumpWindow(-untilTwist);
+      } else {
+        jumpWindow(delta - untilTwist);
+      }
+      mtIndex = N;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Moves the window of N words held in {@link #mt} by the given number of words, applying one
+   * jump polynomial for each bit that's set in its magnitude. Must be called with {@link #lock}
+   * held.
+   *
+   * @param words the distance to move; can be negative
+   */
+  private void jumpWindow(final long words) {
+    final boolean backward = words < 0;
+    // -Long.MIN_VALUE is still correct, when treated as unsigned
+    final long magnitude = backward ? -words : words;
+    final Gf2JumpTable jumpTable = JumpTableHolder.JUMP_TABLE;
+    for (int bit = 0; bit < Long.SIZE; bit++) {
+      if (((magnitude >>> bit) & 1) != 0) {
+        jump(backward ? jumpTable.getBackwardJump(bit) : jumpTable.getForwardJump(bit));
+      }
+    }
+  }
+
+  /**
+   * Replaces the window s held in {@link #mt} with r(T)s, where T moves the window forward by one
+   * word and r is the given polynomial. Uses {@link #mt} as a circular buffer while stepping. Must
+   * be called with {@link #lock} held.
+   *
+   * @param polynomial the jump polynomial
+   */
+  private void jump(final long[] polynomial) {
+    final int[] result = new int[N];
+    int oldest = 0;
+    for (int i = 0; i < DEGREE; i++) {
+      if (hasTerm(polynomial, i)) {
+        for (int j = oldest; j < N; j++) {
+          result[j - oldest] ^= mt[j];
+        }
+        for (int j = 0; j < oldest; j++) {
+          result[(j + N) - oldest] ^= mt[j];
+        }
+      }
+      final int second = (oldest == (N - 1)) ? 0 : (oldest + 1);
+      final int y = (mt[oldest] & UPPER_MASK) | (mt[second] & LOWER_MASK);
+      final int m = oldest + M;
+      mt[oldest] = mt[(m >= N) ? (m - N) : m] ^ (y >>> 1) ^ MAG01[y & 0x1];
+      oldest = second;
+    }
+    System.arraycopy(result, 0, mt, 0, N);
+  }
+
+  /**
+   * Creates a new instance of this PRNG's class from the given seed, so that {@link
+   * #splitForStream(long)} can copy this instance's state into it. Returns null when called on a
+   * subclass, since it may not produce the same output as a new {@link MersenneTwisterRandom}.
+   *
+   * @param seed the seed for the new instance
+   * @return a new instance of the same class, or null if not supported
+   */
+  @Nullable protected MersenneTwisterRandom createWithSeed(final byte[] seed) {
+    return (getClass() == MersenneTwisterRandom.class) ? new MersenneTwisterRandom(seed) : null;
+  }
+
+  @Override @Nullable protected BaseRandom splitForStream(final long steps) {
+    lock.lock();
+    try {
+      final MersenneTwisterRandom copy = createWithSeed(seed);
+      if (copy != null) {
+        System.arraycopy(mt, 0, copy.mt, 0, N);
+        copy.mtIndex = mtIndex;
+        advance(steps);
+      }
+      return copy;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns false, since jumping 2<sup>63</sup> steps takes hundreds of milliseconds.
+   */
+  @Override protected boolean splitsUnsizedStreams() {
+    return false;
   }
 
   /**
@@ -203,4 +393,27 @@ public class MersenneTwisterRandom extends BaseRandom {
   @Override public int getNewSeedLength() {
     return SEED_SIZE_BYTES;
   }
+
+  /**
+   * Holds the jump polynomials, so that they're only found if {@link #advance(long)} is used.
+   */
+  private static final class JumpTableHolder {
+    /**
+     * Found from the lowest output bit of a fixed seed. Since the characteristic polynomial is
+     * irreducible, it's the minimal polynomial of that (or any other nonzero) output sequence.
+     */
+    static final Gf2JumpTable JUMP_TABLE = createJumpTable();
+
+    private static Gf2JumpTable createJumpTable() {
+      final MersenneTwisterRandom prng = new MersenneTwisterRandom(new byte[SEED_SIZE_BYTES]);
+      final int length = 2 * DEGREE;
+      final int[] output = new int[length];
+      prng.nextIntsNoEntropyDebit(output, 0, length);
+      final long[] bits = new long[(length + Long.SIZE - 1) / Long.SIZE];
+      for (int i = 0; i < length; i++) {
+        bits[i >>> 6] |= (output[i] & 1L) << i;
+      }
+      return Gf2JumpTable.forSequence(bits, length);
+    }
+  }
 }
@@ -1,10 +1,8 @@
 package io.github.pr0methean.betterrandom.prng;
 
-import static io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic.addInto;
-import static io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic.multiplyInto;
-import static io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic.multiplyIntoAndAddInto;
 import static io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic.shiftedLeast;
 import static io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic.shiftedMost;
+import static io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic.unsignedMultiplyHigh;
 
 import com.google.common.base.MoreObjects.ToStringHelper;
 import io.github.pr0methean.betterrandom.SeekableRandom;
@@ -12,10 +10,10 @@ import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
 import io.github.pr0methean.betterrandom.seed.SeedException;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
-import io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic;
 import io.github.pr0methean.betterrandom.util.EntryPoint;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import javax.annotation.Nullable;
 
 /**
  * <p>From the original description, "PCG is a family of simple fast space-efficient statistically
@@ -24,6 +22,9 @@ import java.util.concurrent.locks.ReentrantLock;
  * href="http://www.pcg-random.org/">http://www.pcg-random.org/</a>. Period is 2<sup>126</sup> bits.
  * This PRNG is seekable.
  * </p><p>
+ * The 128-bit state is held as two {@code long}s. For a variant with the cheaper "XSL RR" output
+ * function, see {@link Pcg128XslRrRandom}.
+ * </p><p>
  * Sharing a single instance across threads that are frequently using it concurrently isn't
  * recommended, unless memory is too constrained to use with a
  * {@link io.github.pr0methean.betterrandom.prng.adapter.ThreadLocalRandomWrapper}.
@@ -35,23 +36,31 @@ import java.util.concurrent.locks.ReentrantLock;
 public class Pcg128Random extends BaseRandom implements SeekableRandom {
 
   private static final int SEED_SIZE_BYTES = 2 * Long.BYTES;
-  private static final byte[] MULTIPLIER =
-      {0x00000023, 0x00000060, 0xffffffed, 0x00000005, 0x0000001f, 0xffffffc6, 0x0000005d,
-          0xffffffa4, 0x00000043, 0xffffff85, 0xffffffdf, 0x00000064, 0xffffff9f, 0xffffffcc,
-          0xfffffff6, 0x00000045};
-  private static final byte[] INCREMENT =
-      {0x00000058, 0x00000051, 0xfffffff4, 0x0000002d, 0x0000004c, 0xffffff95, 0x0000007f,
-          0x0000002d, 0x00000014, 0x00000005, 0x0000007b, 0x0000007e, 0xfffffff7, 0x00000067,
-          0xffffff81, 0x0000004f};
+  private static final long MULTIPLIER_HIGH = 0x2360_ED05_1FC6_5DA4L;
+  private static final long MULTIPLIER_LOW = 0x4385_DF64_9FCC_F645L;
+  private static final long INCREMENT_HIGH = 0x5851_F42D_4C95_7F2DL;
+  private static final long INCREMENT_LOW = 0x1405_7B7E_F767_814FL;
   private static final int WANTED_OP_BITS = 6;
   private static final int ROTATION1 = (WANTED_OP_BITS + Long.SIZE) / 2;
   private static final int ROTATION2 = Long.SIZE - WANTED_OP_BITS;
+  /**
+   * Shift that leaves the top {@link #WANTED_OP_BITS} bits of the state's upper half.
+   */
+  static final int ROTATION3 = Long.SIZE - WANTED_OP_BITS;
 
   private static final double RANDOM_DOUBLE_INCR = 0x1.0p-53;
   private static final int MASK = (1 << WANTED_OP_BITS) - 1;
   private static final long serialVersionUID = 3246991464669800351L;
 
-  private final Lock advancementLock = new ReentrantLock(); // guards *Mult and *Plus
+  // WARNING: Don't initialize any instance fields at declaration; they may be initialized too late!
+  /**
+   * Upper 64 bits of the state. Guarded by {@link #lock}.
+   */
+  private long high;
+  /**
+   * Lower 64 bits of the state. Guarded by {@link #lock}.
+   */
+  private long low;
 
   /**
    * Creates a new PRNG with a seed from the {@link DefaultSeedGenerator}.
@@ -90,72 +99,144 @@ public class Pcg128Random extends BaseRandom implements SeekableRandom {
     return (nextLongNoEntropyDebit() >>> (Long.SIZE - ENTROPY_OF_DOUBLE)) * RANDOM_DOUBLE_INCR;
   }
 
-  // TODO: convert to 128 bits
+  /**
+   * Advances the generator forward {@code delta} steps, or backward if {@code delta} is negative,
+   * by sign-extending it to 128 bits.
+   *
+   * @param delta the number of steps to advance; can be negative
+   */
   @Override public void advance(final long delta) {
     advance((delta < 0) ? -1 : 0, delta);
   }
 
   /**
    * Advances the generator forward {@code highDelta << 64 + lowDelta} steps, but does so in
-   * logarithmic time.
+   * logarithmic time. Since the state wraps around after 2<sup>128</sup> steps, a delta whose top
+   * bit is set moves the generator backward.
    *
    * @param highDelta high quadword of the distance to advance
    * @param lowDelta low quadword of the distance to advance
    */
   public void advance(long highDelta, long lowDelta) {
-    advancementLock.lock();
-    try {
-      if (highDelta == 0 && lowDelta == 0) {
-        return;
-      }
-      // The method used here is based on Brown, "Random Number Generation
-      // with Arbitrary Stride,", Transactions of the American Nuclear
-      // Society (Nov. 1994).  The algorithm is very similar to fast
-      // exponentiation.
-      byte[] curMult = MULTIPLIER.clone();
-      byte[] accMult = Byte16ArrayArithmetic.ONE.clone();
-      byte[] curPlus = INCREMENT.clone();
-      byte[] accPlus = new byte[SEED_SIZE_BYTES];
-      byte[] adjMult = new byte[SEED_SIZE_BYTES];
-      while (lowDelta != 0 || highDelta != 0) {
-        if ((lowDelta & 1) == 1) {
-          multiplyInto(accMult, curMult);
-          multiplyIntoAndAddInto(accPlus, curMult, curPlus);
-        }
-        System.arraycopy(curMult, 0, adjMult, 0, SEED_SIZE_BYTES);
-        addInto(adjMult, Byte16ArrayArithmetic.ONE);
-        multiplyInto(curPlus, adjMult);
-        multiplyInto(curMult, curMult);
-        lowDelta >>>= 1;
-        lowDelta |= (highDelta & 1L) << 63;
-        highDelta >>>= 1;
+    if (highDelta == 0 && lowDelta == 0) {
+      return;
+    }
+    // The method used here is based on Brown, "Random Number Generation
+    // with Arbitrary Stride,", Transactions of the American Nuclear
+    // Society (Nov. 1994).  The algorithm is very similar to fast
+    // exponentiation.
+    long curMultHigh = MULTIPLIER_HIGH;
+    long curMultLow = MULTIPLIER_LOW;
+    long curPlusHigh = INCREMENT_HIGH;
+    long curPlusLow = INCREMENT_LOW;
+    long accMultHigh = 0;
+    long accMultLow = 1;
+    long accPlusHigh = 0;
+    long accPlusLow = 0;
+    while (lowDelta != 0 || highDelta != 0) {
+      if ((lowDelta & 1) == 1) {
+        // accMult *= curMult
+        final long newAccMultHigh = multiplyHigh(accMultHigh, accMultLow, curMultHigh, curMultLow);
+        accMultLow *= curMultLow;
+        accMultHigh = newAccMultHigh;
+        // accPlus = accPlus * curMult + curPlus
+        final long productHigh = multiplyHigh(accPlusHigh, accPlusLow, curMultHigh, curMultLow);
+        final long productLow = accPlusLow * curMultLow;
+        accPlusLow = productLow + curPlusLow;
+        accPlusHigh = productHigh + curPlusHigh + carry(productLow, accPlusLow);
       }
-      lock.lock();
-      try {
-        multiplyIntoAndAddInto(seed, accMult, accPlus);
-      } finally {
-        lock.unlock();
+      // curPlus *= curMult + 1
+      final long adjMultLow = curMultLow + 1;
+      final long adjMultHigh = curMultHigh + carry(curMultLow, adjMultLow);
+      final long newCurPlusHigh = multiplyHigh(curPlusHigh, curPlusLow, adjMultHigh, adjMultLow);
+      curPlusLow *= adjMultLow;
+      curPlusHigh = newCurPlusHigh;
+      // curMult *= curMult
+      final long newCurMultHigh = multiplyHigh(curMultHigh, curMultLow, curMultHigh, curMultLow);
+      curMultLow *= curMultLow;
+      curMultHigh = newCurMultHigh;
+      lowDelta >>>= 1;
+      lowDelta |= (highDelta & 1L) << 63;
+      highDelta >>>= 1;
+    }
+    lock.lock();
+    try {
+      final long productHigh = multiplyHigh(high, low, accMultHigh, accMultLow);
+      final long productLow = low * accMultLow;
+      low = productLow + accPlusLow;
+      high = productHigh + accPlusHigh + carry(productLow, low);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the upper 64 bits of the 128-bit product {@code a * b} (mod 2<sup>128</sup>); the
+   * lower 64 bits are {@code aLow * bLow}.
+   */
+  private static long multiplyHigh(final long aHigh, final long aLow, final long bHigh,
+      final long bLow) {
+    return unsignedMultiplyHigh(aLow, bLow) + (aHigh * bLow) + (aLow * bHigh);
+  }
+
+  /**
+   * Returns 1 if {@code sumLow = addendLow + x} overflowed the lower 64 bits, and 0 otherwise.
+   */
+  private static long carry(final long addendLow, final long sumLow) {
+    return (Long.compareUnsigned(sumLow, addendLow) < 0) ? 1 : 0;
+  }
+
+  /**
+   * Creates a new instance of this PRNG's class from the given seed, so that {@link
+   * #splitForStream(long)} can move it to this instance's position. Returns null when called on a
+   * subclass, since it may not produce the same output as a new {@link Pcg128Random}.
+   *
+   * @param seed the seed for the new instance
+   * @return a new instance of the same class, or null if not supported
+   */
+  @Nullable protected Pcg128Random createWithSeed(final byte[] seed) {
+    return (getClass() == Pcg128Random.class) ? new Pcg128Random(seed) : null;
+  }
+
+  @Override @Nullable protected BaseRandom splitForStream(final long steps) {
+    lock.lock();
+    try {
+      final Pcg128Random copy = createWithSeed(getSeed());
+      if (copy != null) {
+        advance(0, steps);
       }
+      return copy;
     } finally {
-      advancementLock.unlock();
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns 1, because every output is taken from a single step.
+   */
+  @Override protected int getAdvanceStepsPerLong() {
+    return 1;
+  }
+
+  @Override public byte[] getSeed() {
+    final byte[] state = new byte[SEED_SIZE_BYTES];
+    lock.lock();
+    try {
+      BinaryUtils.convertLongToBytes(high, state, 0);
+      BinaryUtils.convertLongToBytes(low, state, Long.BYTES);
+    } finally {
+      lock.unlock();
     }
+    return state;
   }
 
   @Override public void setSeedInternal(final byte[] seed) {
     if (seed.length != SEED_SIZE_BYTES) {
       throw new IllegalArgumentException("Pcg128Random requires a 16-byte seed");
     }
-    final boolean locked = (advancementLock != null);
-    if (locked) {
-      advancementLock.lock();
-    }
-    try {
-      super.setSeedInternal(seed);
-    } finally {
-      if (locked) {
-        advancementLock.unlock();
-      }
-    }
+    super.setSeedInternal(seed);
+    high = BinaryUtils.convertBytesToLong(seed, 0);
+    low = BinaryUtils.convertBytesToLong(seed, Long.BYTES);
   }
 
   @Override protected int next(final int bits) {
@@ -163,32 +244,83 @@ public class Pcg128Random extends BaseRandom implements SeekableRandom {
   }
 
   @Override protected long nextLongNoEntropyDebit() {
-    long oldSeedMost;
-    long oldSeedLeast;
+    final long oldHigh;
+    final long oldLow;
     lock.lock();
     try {
-      oldSeedMost = BinaryUtils.convertBytesToLong(seed, 0);
-      oldSeedLeast = BinaryUtils.convertBytesToLong(seed, Long.BYTES);
-      multiplyIntoAndAddInto(seed, MULTIPLIER, INCREMENT);
+      oldHigh = high;
+      oldLow = low;
+      final long productLow = oldLow * MULTIPLIER_LOW;
+      final long newLow = productLow + INCREMENT_LOW;
+      high = multiplyHigh(oldHigh, oldLow, MULTIPLIER_HIGH, MULTIPLIER_LOW) + INCREMENT_HIGH
+          + carry(productLow, newLow);
+      low = newLow;
     } finally {
       lock.unlock();
     }
-    // Calculate output function (XSH RR), uses old state for max ILP
-    // int xorShifted = (int) (((oldInternal >>> ROTATION1) ^ oldInternal) >>> ROTATION2);
-    final long xorShiftedMost = shiftedMost(ROTATION1, oldSeedMost, oldSeedLeast) ^ oldSeedMost;
-    final long xorShiftedLeast = shiftedLeast(ROTATION1, oldSeedMost, oldSeedLeast) ^ oldSeedLeast;
+    return output(oldHigh, oldLow);
+  }
+
+  /**
+   * Steps a local copy of the state for the whole batch, then writes it back.
+   */
+  @Override protected void nextLongsNoEntropyDebit(final long[] out, final int off,
+      final int len) {
+    long curHigh = high;
+    long curLow = low;
+    for (int i = off; i < off + len; i++) {
+      out[i] = output(curHigh, curLow);
+      final long productLow = curLow * MULTIPLIER_LOW;
+      final long newLow = productLow + INCREMENT_LOW;
+      curHigh = multiplyHigh(curHigh, curLow, MULTIPLIER_HIGH, MULTIPLIER_LOW) + INCREMENT_HIGH
+          + carry(productLow, newLow);
+      curLow = newLow;
+    }
+    high = curHigh;
+    low = curLow;
+  }
+
+  /**
+   * Computes the 64-bit output from a 128-bit state (the state before the step that produces the
+   * output). This implementation is the "XSH RR" permutation: a xorshift of the high bits, then a
+   * rotation by the top 6 bits.
+   *
+   * @param stateHigh upper 64 bits of the state
+   * @param stateLow lower 64 bits of the state
+   * @return the output
+   */
+  protected long output(final long stateHigh, final long stateLow) {
+    // long xorShifted = (long) (((state >>> ROTATION1) ^ state) >>> ROTATION2);
+    final long xorShiftedMost = shiftedMost(ROTATION1, stateHigh, stateLow) ^ stateHigh;
+    final long xorShiftedLeast = shiftedLeast(ROTATION1, stateHigh, stateLow) ^ stateLow;
     final long preRotate = shiftedLeast(ROTATION2, xorShiftedMost, xorShiftedLeast);
-    // int rot = (int) (oldInternal >>> (SEED_SIZE_BYTES - WANTED_OP_BITS));
-    final int rot = ((int) (oldSeedMost >>> 58)) & MASK;
-    // return ((xorshifted >>> rot) | (xorshifted << ((-rot) & MASK))) >>> (Integer.SIZE - bits);
+    // int rot = (int) (state >>> (128 - WANTED_OP_BITS));
+    final int rot = ((int) (stateHigh >>> ROTATION3)) & MASK;
     return (preRotate >>> rot) | (preRotate << ((-rot) & MASK));
   }
 
+  @Override protected void nextBytesNoEntropyDebit(final byte[] bytes, final int off,
+      final int len) {
+    nextBytesFromLongsNoEntropyDebit(bytes, off, len);
+  }
+
   @Override protected ToStringHelper addSubclassFields(final ToStringHelper original) {
-    return original;
+    return original.add("high", high).add("low", low);
   }
 
   @Override public int getNewSeedLength() {
     return SEED_SIZE_BYTES;
   }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    // Copy the state back to the array seed
+    lock.lock();
+    try {
+      BinaryUtils.convertLongToBytes(high, seed, 0);
+      BinaryUtils.convertLongToBytes(low, seed, Long.BYTES);
+      out.defaultWriteObject();
+    } finally {
+      lock.unlock();
+    }
+  }
 }
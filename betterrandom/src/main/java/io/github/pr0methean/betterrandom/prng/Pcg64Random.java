@@ -10,6 +10,7 @@ import io.github.pr0methean.betterrandom.util.EntryPoint;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
 
 /**
  * <p>From the original description, "PCG is a family of simple fast space-efficient statistically
@@ -29,13 +30,12 @@ import java.util.concurrent.atomic.AtomicLong;
 public class Pcg64Random extends BaseRandom implements SeekableRandom {
 
   private static final long serialVersionUID = 1677405697790847137L;
-  private static final long MULTIPLIER = 6364136223846793005L;
-  private static final long INCREMENT = 1442695040888963407L;
+  static final long MULTIPLIER = 6364136223846793005L;
+  static final long INCREMENT = 1442695040888963407L;
   private static final int WANTED_OP_BITS = 5;
   private static final int ROTATION1 = (WANTED_OP_BITS + Integer.SIZE) / 2;
   private static final int ROTATION2 = (Long.SIZE - Integer.SIZE - WANTED_OP_BITS);
   private static final int ROTATION3 = Long.SIZE - WANTED_OP_BITS;
-  private static final int MASK = (1 << WANTED_OP_BITS) - 1;
 
   private final AtomicLong internal;
 
@@ -80,14 +80,50 @@ public class Pcg64Random extends BaseRandom implements SeekableRandom {
   }
 
   @Override protected long nextLongNoEntropyDebit() {
-    lock.lock();
-    try {
-      return ((long) (next(32)) << 32) + next(32);
-    } finally {
-      lock.unlock();
+    // Take both steps in one CAS, so that the two halves are consecutive outputs without locking
+    long oldInternal;
+    long midInternal;
+    do {
+      oldInternal = internal.get();
+      midInternal = (oldInternal * MULTIPLIER) + INCREMENT;
+    } while (!internal.compareAndSet(oldInternal, (midInternal * MULTIPLIER) + INCREMENT));
+    return ((long) (output(oldInternal)) << 32) + output(midInternal);
+  }
+
+  /**
+   * Reserves the whole batch with one atomic jump ahead, then generates it from a local copy of the
+   * old state, so that concurrent single-step callers can't make it retry.
+   */
+  @Override protected void nextIntsNoEntropyDebit(final int[] out, final int off, final int len) {
+    long state = internal.getAndUpdate(advancer(len));
+    for (int i = off; i < off + len; i++) {
+      out[i] = output(state);
+      state = (state * MULTIPLIER) + INCREMENT;
     }
   }
 
+  /**
+   * Reserves the whole batch with one atomic jump ahead, then generates it from a local copy of the
+   * old state, so that concurrent single-step callers can't make it retry.
+   */
+  @Override protected void nextLongsNoEntropyDebit(final long[] out, final int off,
+      final int len) {
+    long state = internal.getAndUpdate(advancer(2L * len));
+    for (int i = off; i < off + len; i++) {
+      final long midState = (state * MULTIPLIER) + INCREMENT;
+      out[i] = ((long) (output(state)) << 32) + output(midState);
+      state = (midState * MULTIPLIER) + INCREMENT;
+    }
+  }
+
+  /**
+   * Returns true for all modes, since the state is an {@link AtomicLong} that's always updated by
+   * compare-and-set.
+   */
+  @Override public boolean supportsConcurrencyMode(final ConcurrencyMode mode) {
+    return true;
+  }
+
   @Override public byte[] getSeed() {
     return BinaryUtils.convertLongToBytes(internal.get()).clone();
   }
@@ -105,10 +141,34 @@ public class Pcg64Random extends BaseRandom implements SeekableRandom {
     }
   }
 
-  @Override public void advance(long delta) {
+  @Override public void advance(final long delta) {
     if (delta == 0) {
       return;
     }
+    final LongUnaryOperator advancer = advancer(delta);
+    lock.lock();
+    try {
+      internal.updateAndGet(advancer);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Copies the state and advances it in a single atomic update, so this works in all concurrency
+   * modes.
+   */
+  @Override protected BaseRandom splitForStream(final long steps) {
+    final LongUnaryOperator advancer = advancer(steps);
+    lock.lock();
+    try {
+      return new Pcg64Random(internal.getAndUpdate(advancer));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private static LongUnaryOperator advancer(long delta) {
     // The method used here is based on Brown, "Random Number Generation
     // with Arbitrary Stride,", Transactions of the American Nuclear
     // Society (Nov. 1994).  The algorithm is very similar to fast
@@ -128,12 +188,7 @@ public class Pcg64Random extends BaseRandom implements SeekableRandom {
     }
     final long finalAccMult = accMult;
     final long finalAccPlus = accPlus;
-    lock.lock();
-    try {
-      internal.updateAndGet(old -> (finalAccMult * old) + finalAccPlus);
-    } finally {
-      lock.unlock();
-    }
+    return old -> (finalAccMult * old) + finalAccPlus;
   }
 
   @Override public void setSeedInternal(final byte[] seed) {
@@ -148,17 +203,27 @@ public class Pcg64Random extends BaseRandom implements SeekableRandom {
     }
   }
 
-  @SuppressWarnings("NumericCastThatLosesPrecision") @Override protected int next(final int bits) {
+  @Override protected int next(final int bits) {
     long oldInternal;
     long newInternal;
     do {
       oldInternal = internal.get();
       newInternal = (oldInternal * MULTIPLIER) + INCREMENT;
     } while (!internal.compareAndSet(oldInternal, newInternal));
+    return output(oldInternal) >>> (Integer.SIZE - bits);
+  }
+
+  @SuppressWarnings("NumericCastThatLosesPrecision")
+  static int output(final long oldInternal) {
     // Calculate output function (XSH RR), uses old state for max ILP
     final int xorshifted = (int) (((oldInternal >>> ROTATION1) ^ oldInternal) >>> ROTATION2);
     final int rot = (int) (oldInternal >>> ROTATION3);
-    return ((xorshifted >>> rot) | (xorshifted << ((-rot) & MASK))) >>> (Integer.SIZE - bits);
+    return Integer.rotateRight(xorshifted, rot);
+  }
+
+  @Override protected void nextBytesNoEntropyDebit(final byte[] bytes, final int off,
+      final int len) {
+    nextBytesFromLongsNoEntropyDebit(bytes, off, len);
   }
 
   @Override protected ToStringHelper addSubclassFields(final ToStringHelper original) {
@@ -0,0 +1,288 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.seed.SeedGenerator;
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * <p>CipherCounterRandom using Philox4x32-10, the counter-based generator from Salmon et al.,
+ * "Parallel Random Numbers: As Easy as 1, 2, 3" (SC '11) and the Random123 library. Each 128-bit
+ * counter value is transformed, under a 64-bit key, by 10 rounds of multiplication and key mixing
+ * into four {@code int}s, so output is a pure function of the key and the counter. It's much faster
+ * than the ciphers used by other {@link CipherCounterRandom}s, and passes BigCrush, but it's not
+ * cryptographically secure.</p>
+ *
+ * <p>The seed is the key (as a big-endian {@code long}), optionally followed by up to 16 bytes of
+ * initial counter value. Output words are written to {@link #nextBytes(byte[])} in big-endian
+ * order, so {@link #nextInt()} returns them unchanged. Since the counter is incremented before each
+ * block, an instance seeded with just a key produces the same {@code int}s as {@link
+ * #generate(long, long, int[])} does with that key and a counter of 1.</p>
+ *
+ * <p>{@link #generate(long, long, int[])} needs no instance, so data-parallel jobs can derive each
+ * task's numbers from its key and index, and get the same results however the work is divided
+ * between threads or machines.</p>
+ *
+ * @author John K. Salmon, Mark A. Moraes, Ron O. Dror and David E. Shaw (algorithm)
+ */
+public class Philox4x32CounterRandom extends CipherCounterRandom {
+
+  private static final long serialVersionUID = 2573546412876584071L;
+  private static final String HASH_ALGORITHM = "SHA-256";
+  private static final int KEY_LENGTH_BYTES = Long.BYTES;
+  /**
+   * Maximum total length of the seed, including both key and initial counter value.
+   */
+  public static final int MAX_SEED_LENGTH_BYTES = KEY_LENGTH_BYTES + DEFAULT_COUNTER_SIZE_BYTES;
+  private static final int ROUNDS = 10;
+  private static final long MULTIPLIER_0 = 0xD251_1F53L;
+  private static final long MULTIPLIER_1 = 0xCD9E_8D57L;
+  /**
+   * Weyl sequence increments for the two key words: the golden ratio and sqrt(3) - 1.
+   */
+  private static final int KEY_INCREMENT_0 = 0x9E37_79B9;
+  private static final int KEY_INCREMENT_1 = 0xBB67_AE85;
+  private static final int BLOCK_SIZE_INTS = 4;
+  /**
+   * Number of blocks to generate at once, to match the 256 bytes that {@link AesCounterRandom}
+   * generates at once.
+   */
+  private static final int BLOCKS_AT_ONCE = 16;
+  private static final int INTS_AT_ONCE = BLOCK_SIZE_INTS * BLOCKS_AT_ONCE;
+  private static final int BYTES_AT_ONCE = INTS_AT_ONCE * Integer.BYTES;
+
+  // WARNING: Don't initialize any instance fields at declaration; they may be initialized too late!
+  /**
+   * The key's lower and upper words. Guarded by {@link #lock}.
+   */
+  private transient int key0;
+  private transient int key1;
+  /**
+   * The words of {@link #currentBlock}. Guarded by {@link #lock}.
+   */
+  private transient int[] keystream;
+
+  /**
+   * Creates a new RNG and seeds both the key and the counter using the {@link
+   * DefaultSeedGenerator}.
+   *
+   * @throws SeedException if the {@link DefaultSeedGenerator} fails to generate a seed.
+   */
+  public Philox4x32CounterRandom() throws SeedException {
+    this(MAX_SEED_LENGTH_BYTES);
+  }
+
+  /**
+   * Seed the RNG's key and counter using the provided seed generation strategy.
+   *
+   * @param seedGenerator The seed generation strategy that will provide the seed value for this
+   *     RNG.
+   * @throws SeedException if there is a problem generating a seed.
+   */
+  @EntryPoint public Philox4x32CounterRandom(final SeedGenerator seedGenerator)
+      throws SeedException {
+    this(seedGenerator.generateSeed(MAX_SEED_LENGTH_BYTES));
+  }
+
+  /**
+   * Seed the RNG using the {@link DefaultSeedGenerator} to create a seed of the specified size.
+   *
+   * @param seedSizeBytes The number of bytes to use for seed data. Valid values range from 8
+   *     to {@link #MAX_SEED_LENGTH_BYTES}.
+   * @throws SeedException if the {@link DefaultSeedGenerator} fails to generate a seed.
+   */
+  @EntryPoint public Philox4x32CounterRandom(final int seedSizeBytes) throws SeedException {
+    this(DefaultSeedGenerator.DEFAULT_SEED_GENERATOR.generateSeed(seedSizeBytes));
+  }
+
+  /**
+   * Creates an RNG and seeds it with the specified seed data.
+   *
+   * @param seed The seed data used to initialize the RNG. Length must be at least 8 and no
+   *     more than {@link #MAX_SEED_LENGTH_BYTES}.
+   */
+  @EntryPoint public Philox4x32CounterRandom(final byte[] seed) {
+    super(seed);
+  }
+
+  /**
+   * Fills an array with the output of Philox4x32-10 for the given key, starting at the given
+   * counter value and incrementing it after every 4 words. Needs no instance and no locking. The
+   * counter's upper 64 bits start at zero, and receive any carry.
+   *
+   * <p>The first block is the encryption of {@code counter} itself, as in the reference
+   * implementation. An instance increments its counter before encrypting it, so one seeded with
+   * this key and a counter whose lower 64 bits are {@code c} (and upper 64 bits zero) outputs the
+   * same words as {@code generate(key, c + 1, out)}.</p>
+   *
+   * @param key the key
+   * @param counter the first counter value
+   * @param out the array to fill; if its length isn't a multiple of 4, the last block is truncated
+   */
+  public static void generate(final long key, final long counter, final int[] out) {
+    final int key0 = (int) key;
+    final int key1 = (int) (key >>> Integer.SIZE);
+    long counterHigh = 0;
+    long counterLow = counter;
+    final int wholeBlocksEnd = out.length & -BLOCK_SIZE_INTS;
+    for (int i = 0; i < wholeBlocksEnd; i += BLOCK_SIZE_INTS) {
+      philox(key0, key1, counterHigh, counterLow, out, i);
+      counterLow++;
+      if (counterLow == 0) {
+        counterHigh++;
+      }
+    }
+    if (wholeBlocksEnd < out.length) {
+      final int[] block = new int[BLOCK_SIZE_INTS];
+      philox(key0, key1, counterHigh, counterLow, block, 0);
+      System.arraycopy(block, 0, out, wholeBlocksEnd, out.length - wholeBlocksEnd);
+    }
+  }
+
+  /**
+   * Transforms one counter value into 4 words of output.
+   */
+  private static void philox(int key0, int key1, final long counterHigh, final long counterLow,
+      final int[] output, final int offset) {
+    int c0 = (int) counterLow;
+    int c1 = (int) (counterLow >>> Integer.SIZE);
+    int c2 = (int) counterHigh;
+    int c3 = (int) (counterHigh >>> Integer.SIZE);
+    for (int round = 0; round < ROUNDS; round++) {
+      final long product0 = MULTIPLIER_0 * (c0 & 0xFFFF_FFFFL);
+      final long product1 = MULTIPLIER_1 * (c2 & 0xFFFF_FFFFL);
+      c0 = ((int) (product1 >>> Integer.SIZE)) ^ c1 ^ key0;
+      c1 = (int) product1;
+      c2 = ((int) (product0 >>> Integer.SIZE)) ^ c3 ^ key1;
+      c3 = (int) product0;
+      key0 += KEY_INCREMENT_0;
+      key1 += KEY_INCREMENT_1;
+    }
+    output[offset] = c0;
+    output[offset + 1] = c1;
+    output[offset + 2] = c2;
+    output[offset + 3] = c3;
+  }
+
+  @Override public int getBlocksAtOnce() {
+    return BLOCKS_AT_ONCE;
+  }
+
+  @Override protected int getBytesAtOnce() {
+    return BYTES_AT_ONCE;
+  }
+
+  @Override public int getMaxKeyLengthBytes() {
+    return KEY_LENGTH_BYTES;
+  }
+
+  @Override protected int getMinSeedLength() {
+    return KEY_LENGTH_BYTES;
+  }
+
+  @Override protected int getKeyLength(final int inputLength) {
+    return KEY_LENGTH_BYTES;
+  }
+
+  /**
+   * Returns null when called on a subclass, since it may not produce the same output as a new
+   * {@link Philox4x32CounterRandom}.
+   */
+  @Override protected CipherCounterRandom createWithSeed(final byte[] seed) {
+    return (getClass() == Philox4x32CounterRandom.class) ? new Philox4x32CounterRandom(seed)
+        : null;
+  }
+
+  @Override protected MessageDigest createHash() {
+    try {
+      return MessageDigest.getInstance(HASH_ALGORITHM);
+    } catch (final NoSuchAlgorithmException e) {
+      throw new InternalError("Required hash algorithm missing");
+    }
+  }
+
+  /**
+   * Allocates the keystream; there's no JCE cipher to create.
+   */
+  @Override protected void createCipher() {
+    keystream = new int[INTS_AT_ONCE];
+  }
+
+  @Override protected void setKey(final byte[] key) {
+    final long keyLong = BinaryUtils.convertBytesToLong(key, 0);
+    key0 = (int) keyLong;
+    key1 = (int) (keyLong >>> Integer.SIZE);
+  }
+
+  /**
+   * Generates a batch of blocks into the keystream words, then copies them to {@link
+   * #currentBlock}.
+   */
+  @Override protected void nextBlock() {
+    long counterHigh = BinaryUtils.convertBytesToLong(counter, 0);
+    long counterLow = BinaryUtils.convertBytesToLong(counter, Long.BYTES);
+    for (int block = 0; block < BLOCKS_AT_ONCE; block++) {
+      counterLow++;
+      if (counterLow == 0) {
+        counterHigh++;
+      }
+      philox(key0, key1, counterHigh, counterLow, keystream, block * BLOCK_SIZE_INTS);
+    }
+    BinaryUtils.convertLongToBytes(counterHigh, counter, 0);
+    BinaryUtils.convertLongToBytes(counterLow, counter, Long.BYTES);
+    ByteBuffer.wrap(currentBlock).asIntBuffer().put(keystream);
+  }
+
+  /**
+   * Zeroes the keystream words as well.
+   */
+  @Override protected void eraseKeystream(final int length) {
+    super.eraseKeystream(length);
+    Arrays.fill(keystream, 0, length / Integer.BYTES, 0);
+  }
+
+  /**
+   * Generates whole batches straight into the buffer, a block at a time, as many as fit.
+   */
+  @Override protected void nextBlocks(final ByteBuffer output) {
+    long counterHigh = BinaryUtils.convertBytesToLong(counter, 0);
+    long counterLow = BinaryUtils.convertBytesToLong(counter, Long.BYTES);
+    final int[] block = new int[BLOCK_SIZE_INTS];
+    final ByteOrder oldOrder = output.order();
+    output.order(ByteOrder.BIG_ENDIAN);
+    try {
+      while (output.remaining() >= BYTES_AT_ONCE) {
+        for (int i = 0; i < BLOCKS_AT_ONCE; i++) {
+          counterLow++;
+          if (counterLow == 0) {
+            counterHigh++;
+          }
+          philox(key0, key1, counterHigh, counterLow, block, 0);
+          for (final int word : block) {
+            output.putInt(word);
+          }
+        }
+      }
+    } finally {
+      output.order(oldOrder);
+    }
+    BinaryUtils.convertLongToBytes(counterHigh, counter, 0);
+    BinaryUtils.convertLongToBytes(counterLow, counter, Long.BYTES);
+  }
+
+  /**
+   * Not used, since {@link #nextBlock()} and {@link #nextBlocks(ByteBuffer)} run Philox on {@code
+   * int} words.
+   *
+   * @throws UnsupportedOperationException always
+   */
+  @Override protected void doCipher(final byte[] input, final byte[] output) {
+    throw new UnsupportedOperationException("Philox4x32CounterRandom doesn't encrypt byte arrays");
+  }
+}
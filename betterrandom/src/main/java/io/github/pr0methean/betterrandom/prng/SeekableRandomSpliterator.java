@@ -0,0 +1,321 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+
+/**
+ * <p>Spliterator over a range of a {@link io.github.pr0methean.betterrandom.SeekableRandom}'s
+ * output, used by the streams that {@link BaseRandom} creates for seekable PRNGs.</p>
+ *
+ * <p>Each instance owns a private copy of the PRNG, positioned at the start of its range. When
+ * split, the prefix takes a copy of that PRNG and this instance advances its own copy past the
+ * prefix, so no state is shared between the halves and the output doesn't depend on how the stream
+ * was split. Entropy is still debited from the PRNG that created the stream, once for each batch
+ * of up to {@link #BATCH_SIZE} values, before any value in the batch is consumed.</p>
+ *
+ * @author Chris Hennick
+ */
+abstract class SeekableRandomSpliterator {
+
+  /**
+   * Characteristics of all instances.
+   */
+  protected static final int CHARACTERISTICS =
+      Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.NONNULL
+          | Spliterator.IMMUTABLE;
+
+  /**
+   * Maximum number of values to generate at once in {@code forEachRemaining}, and to debit entropy
+   * for at once in {@code tryAdvance}.
+   */
+  protected static final int BATCH_SIZE = 256;
+
+  /**
+   * The PRNG whose entropy count is debited for the output.
+   */
+  protected final BaseRandom parent;
+  /**
+   * This instance's private copy of the PRNG, positioned at {@link #index}.
+   */
+  protected final BaseRandom random;
+  /**
+   * The index of the next value to return.
+   */
+  protected long index;
+  /**
+   * One past the index of the last value to return.
+   */
+  protected final long fence;
+  private final long stepsPerValue;
+  private final long entropyPerValue;
+  /**
+   * The number of values, starting at {@link #index}, whose entropy has already been debited.
+   */
+  private long prepaid;
+
+  /**
+   * Creates an instance.
+   *
+   * @param parent the PRNG whose entropy count is debited for the output
+   * @param random a private copy of the PRNG, positioned at {@code index}
+   * @param index the index of the first value to return
+   * @param fence one past the index of the last value to return
+   * @param stepsPerValue how far each value advances the PRNG, in units of {@link
+   *     io.github.pr0methean.betterrandom.SeekableRandom#advance(long)}
+   * @param entropyPerValue the entropy to debit from {@code parent} for each value
+   */
+  protected SeekableRandomSpliterator(final BaseRandom parent, final BaseRandom random,
+      final long index, final long fence, final long stepsPerValue, final long entropyPerValue) {
+    this.parent = parent;
+    this.random = random;
+    this.index = index;
+    this.fence = fence;
+    this.stepsPerValue = stepsPerValue;
+    this.entropyPerValue = entropyPerValue;
+  }
+
+  /**
+   * Ensures that the entropy for the value at {@link #index} has been debited, by debiting it for
+   * up to {@link #BATCH_SIZE} values at once if it hasn't. Called by {@code tryAdvance} before
+   * {@link #index} is incremented.
+   */
+  protected final void prepayForNextValue() {
+    if (prepaid == 0) {
+      prepaid = Math.min(BATCH_SIZE, fence - index);
+      parent.debitEntropy(prepaid * entropyPerValue);
+    }
+    prepaid--;
+  }
+
+  /**
+   * Debits the entropy for a batch of values generated by {@code forEachRemaining}, less any that
+   * {@link #prepayForNextValue()} has already debited.
+   *
+   * @param count the number of values in the batch
+   */
+  protected final void payForBatch(final int count) {
+    final long unpaid = count - Math.min(prepaid, count);
+    prepaid -= count - unpaid;
+    if (unpaid > 0) {
+      parent.debitEntropy(unpaid * entropyPerValue);
+    }
+  }
+
+  /**
+   * Returns a copy of {@link #random} for the first half of the remaining range, and advances
+   * {@link #random} and {@link #index} to the start of the second half.
+   *
+   * @return the PRNG for the prefix, or null if the range is too small to split
+   */
+  protected final BaseRandom splitPrefix() {
+    final long lo = index;
+    final long mid = (lo + fence) >>> 1;
+    if (mid <= lo) {
+      return null;
+    }
+    final BaseRandom prefixRandom =
+        random.splitForStream(BaseRandom.saturatedMultiply(mid - lo, stepsPerValue));
+    index = mid;
+    // Any prepaid values now belong to the prefix, which will debit them again; overstating the
+    // entropy spent is safe, and splitting after tryAdvance is rare.
+    prepaid = Math.max(0, prepaid - (mid - lo));
+    return prefixRandom;
+  }
+
+  /**
+   * Returns the number of values left to traverse.
+   *
+   * @return {@code fence - index}
+   */
+  public long estimateSize() {
+    return fence - index;
+  }
+
+  /**
+   * Returns the characteristics of all instances.
+   *
+   * @return {@link #CHARACTERISTICS}
+   */
+  public int characteristics() {
+    return CHARACTERISTICS;
+  }
+
+  /**
+   * Spliterator over {@link BaseRandom#nextInt()}.
+   */
+  static final class IntSpliterator extends SeekableRandomSpliterator
+      implements Spliterator.OfInt {
+
+    /**
+     * Creates an instance.
+     *
+     * @param parent the PRNG whose entropy count is debited for the output
+     * @param random a private copy of the PRNG, positioned at {@code index}
+     * @param index the index of the first value to return
+     * @param fence one past the index of the last value to return
+     */
+    IntSpliterator(final BaseRandom parent, final BaseRandom random, final long index,
+        final long fence) {
+      super(parent, random, index, fence, 1, Integer.SIZE);
+    }
+
+    @Override public IntSpliterator trySplit() {
+      final long lo = index;
+      final BaseRandom prefixRandom = splitPrefix();
+      return (prefixRandom == null) ? null : new IntSpliterator(parent, prefixRandom, lo, index);
+    }
+
+    @Override public boolean tryAdvance(final IntConsumer action) {
+      if (index >= fence) {
+        return false;
+      }
+      final int value = random.nextInt();
+      prepayForNextValue();
+      index++;
+      action.accept(value);
+      return true;
+    }
+
+    @Override public void forEachRemaining(final IntConsumer action) {
+      long i = index;
+      final long f = fence;
+      if (i >= f) {
+        return;
+      }
+      index = f;
+      final int[] batch = new int[(int) Math.min(BATCH_SIZE, f - i)];
+      while (i < f) {
+        final int count = (int) Math.min(batch.length, f - i);
+        random.nextInts(batch, 0, count);
+        payForBatch(count);
+        for (int j = 0; j < count; j++) {
+          action.accept(batch[j]);
+        }
+        i += count;
+      }
+    }
+  }
+
+  /**
+   * Spliterator over {@link BaseRandom#nextLong()}.
+   */
+  static final class LongSpliterator extends SeekableRandomSpliterator
+      implements Spliterator.OfLong {
+
+    /**
+     * Creates an instance.
+     *
+     * @param parent the PRNG whose entropy count is debited for the output
+     * @param random a private copy of the PRNG, positioned at {@code index}
+     * @param index the index of the first value to return
+     * @param fence one past the index of the last value to return
+     */
+    LongSpliterator(final BaseRandom parent, final BaseRandom random, final long index,
+        final long fence) {
+      super(parent, random, index, fence, random.getAdvanceStepsPerLong(), Long.SIZE);
+    }
+
+    @Override public LongSpliterator trySplit() {
+      final long lo = index;
+      final BaseRandom prefixRandom = splitPrefix();
+      return (prefixRandom == null) ? null : new LongSpliterator(parent, prefixRandom, lo, index);
+    }
+
+    @Override public boolean tryAdvance(final LongConsumer action) {
+      if (index >= fence) {
+        return false;
+      }
+      final long value = random.nextLong();
+      prepayForNextValue();
+      index++;
+      action.accept(value);
+      return true;
+    }
+
+    @Override public void forEachRemaining(final LongConsumer action) {
+      long i = index;
+      final long f = fence;
+      if (i >= f) {
+        return;
+      }
+      index = f;
+      final long[] batch = new long[(int) Math.min(BATCH_SIZE, f - i)];
+      while (i < f) {
+        final int count = (int) Math.min(batch.length, f - i);
+        random.nextLongs(batch, 0, count);
+        payForBatch(count);
+        for (int j = 0; j < count; j++) {
+          action.accept(batch[j]);
+        }
+        i += count;
+      }
+    }
+  }
+
+  /**
+   * Spliterator over {@link BaseRandom#nextDouble(double, double)}.
+   */
+  static final class DoubleSpliterator extends SeekableRandomSpliterator
+      implements Spliterator.OfDouble {
+
+    private final double origin;
+    private final double bound;
+
+    /**
+     * Creates an instance.
+     *
+     * @param parent the PRNG whose entropy count is debited for the output
+     * @param random a private copy of the PRNG, positioned at {@code index}
+     * @param index the index of the first value to return
+     * @param fence one past the index of the last value to return
+     * @param origin the minimum value to return
+     * @param bound the upper bound (exclusive) of values to return
+     */
+    DoubleSpliterator(final BaseRandom parent, final BaseRandom random, final long index,
+        final long fence, final double origin, final double bound) {
+      super(parent, random, index, fence, random.getAdvanceStepsPerLong(),
+          BaseRandom.ENTROPY_OF_DOUBLE);
+      this.origin = origin;
+      this.bound = bound;
+    }
+
+    @Override public DoubleSpliterator trySplit() {
+      final long lo = index;
+      final BaseRandom prefixRandom = splitPrefix();
+      return (prefixRandom == null) ? null
+          : new DoubleSpliterator(parent, prefixRandom, lo, index, origin, bound);
+    }
+
+    @Override public boolean tryAdvance(final DoubleConsumer action) {
+      if (index >= fence) {
+        return false;
+      }
+      final double value = random.nextDouble(origin, bound);
+      prepayForNextValue();
+      index++;
+      action.accept(value);
+      return true;
+    }
+
+    @Override public void forEachRemaining(final DoubleConsumer action) {
+      long i = index;
+      final long f = fence;
+      if (i >= f) {
+        return;
+      }
+      index = f;
+      final double[] batch = new double[(int) Math.min(BATCH_SIZE, f - i)];
+      while (i < f) {
+        final int count = (int) Math.min(batch.length, f - i);
+        random.nextDoubles(batch, 0, count, origin, bound);
+        payForBatch(count);
+        for (int j = 0; j < count; j++) {
+          action.accept(batch[j]);
+        }
+        i += count;
+      }
+    }
+  }
+}
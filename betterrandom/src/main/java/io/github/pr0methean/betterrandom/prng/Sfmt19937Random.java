@@ -0,0 +1,360 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import com.google.common.base.MoreObjects.ToStringHelper;
+import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.seed.SeedGenerator;
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.util.Arrays;
+
+/**
+ * <p>Random number generator based on the <a
+ * href="http://www.math.sci.hiroshima-u.ac.jp/~m-mat/MT/SFMT/index.html" target="_top">SIMD-oriented
+ * Fast Mersenne Twister</a> (SFMT19937) developed by Mutsuo Saito and Makoto Matsumoto. Like
+ * {@link MersenneTwisterRandom}, it has a period of 2<sup>19937</sup> - 1, but its recurrence works
+ * on 128-bit words, which this class holds as pairs of {@code long}s, and its output needs no
+ * tempering; so it's roughly twice as fast, with equal or better equidistribution. It's not
+ * cryptographically secure.</p>
+ *
+ * <p>It's seeded the same way as {@link MersenneTwisterRandom}: the seed is converted to
+ * big-endian {@code int}s and passed to the reference implementation's {@code init_by_array}. So
+ * one can replace the other with the same seeds, although the output differs. {@link #nextInt()}
+ * returns the reference {@code sfmt_genrand_uint32} output; {@link #nextLong()} returns the
+ * reference {@code sfmt_genrand_uint64} output, provided it's called after an even number of
+ * {@link #nextInt()} calls.</p>
+ *
+ * <p>{@link #nextLongs(long[], int, int)} generates directly into the caller's array whenever it
+ * needs at least 312 more {@code long}s, rather than copying them out of the state.</p>
+ *
+ * @author Mutsuo Saito and Makoto Matsumoto (algorithm and C implementation)
+ */
+public class Sfmt19937Random extends BaseRandom {
+
+  private static final long serialVersionUID = -1926281539018376212L;
+  private static final int SEED_SIZE_BYTES = 16;
+  /**
+   * Number of 128-bit words of state.
+   */
+  private static final int N = 156;
+  private static final int N32 = 4 * N;
+  private static final int N64 = 2 * N;
+  private static final int POS1 = 122;
+  private static final int SL1 = 18;
+  private static final int SR1 = 11;
+  /**
+   * Clears the bits that shifting a {@code long} left by {@link #SL1} moves between its halves.
+   */
+  private static final long SL1_MASK = 0xFFFC_0000_FFFC_0000L;
+  /**
+   * MSK2:MSK1, without the bits that shifting a {@code long} right by {@link #SR1} moves between
+   * its halves.
+   */
+  private static final long MASK_LOW = 0xDDFE_CB7F_DFFF_FFEFL & 0x001F_FFFF_001F_FFFFL;
+  /**
+   * MSK4:MSK3, likewise.
+   */
+  private static final long MASK_HIGH = 0xBFFF_FFF6_BFFA_FFFFL & 0x001F_FFFF_001F_FFFFL;
+  private static final int[] PARITY = {0x0000_0001, 0, 0, 0x13C9_E684};
+  private static final int INIT_LAG = 11;
+  private static final int INIT_MID = (N32 - INIT_LAG) / 2;
+  private static final int INIT_FILL = 0x8B8B_8B8B;
+  private static final int SEED_FACTOR1 = 1664525;
+  private static final int SEED_FACTOR2 = 1566083941;
+  private static final long LOWER_INT_MASK = 0xFFFF_FFFFL;
+
+  // WARNING: Don't initialize any instance fields at declaration; they may be initialized too late!
+  /**
+   * The state: 128-bit word {@code i} is {@code state[2 * i]} (low half) and {@code state[2 * i +
+   * 1]} (high half). Guarded by {@link #lock}.
+   */
+  private long[] state;
+  /**
+   * Index of the next 32-bit word of {@link #state} to output. Guarded by {@link #lock}.
+   */
+  private int index;
+
+  /**
+   * Creates a new RNG and seeds it using the default seeding strategy.
+   *
+   * @throws SeedException if any.
+   */
+  public Sfmt19937Random() throws SeedException {
+    this(DefaultSeedGenerator.DEFAULT_SEED_GENERATOR);
+  }
+
+  /**
+   * Creates an RNG and seeds it with the specified seed data.
+   *
+   * @param seed 16 bytes of seed data used to initialize the RNG.
+   */
+  @EntryPoint public Sfmt19937Random(final byte[] seed) {
+    super(seed);
+  }
+
+  /**
+   * Seed the RNG using the provided seed generation strategy.
+   *
+   * @param seedGenerator The seed generation strategy that will provide the seed value for this
+   *     RNG.
+   * @throws SeedException If there is a problem generating a seed.
+   */
+  @EntryPoint public Sfmt19937Random(final SeedGenerator seedGenerator) throws SeedException {
+    this(seedGenerator.generateSeed(SEED_SIZE_BYTES));
+  }
+
+  @Override protected ToStringHelper addSubclassFields(final ToStringHelper original) {
+    return original.add("state hash", Arrays.hashCode(state)).add("index", index);
+  }
+
+  /**
+   * Reseeds this PRNG using the {@link DefaultSeedGenerator}, since it needs a longer seed.
+   *
+   * @param seed ignored
+   */
+  @Override public void setSeed(final long seed) {
+    fallbackSetSeedIfInitialized();
+  }
+
+  @Override protected void initTransientFields() {
+    super.initTransientFields();
+    if (state == null) {
+      state = new long[N64];
+    }
+  }
+
+  /**
+   * Translated from {@code sfmt_init_by_array} and {@code period_certification} in the C version.
+   */
+  @Override protected void setSeedInternal(final byte[] seed) {
+    super.setSeedInternal(seed);
+    final int[] seedInts = BinaryUtils.convertBytesToInts(seed);
+    final int[] words = new int[N32];
+    Arrays.fill(words, INIT_FILL);
+    final int count = Math.max(seedInts.length + 1, N32);
+    int r = mix(words[0] ^ words[INIT_MID] ^ words[N32 - 1], SEED_FACTOR1);
+    words[INIT_MID] += r;
+    r += seedInts.length;
+    words[INIT_MID + INIT_LAG] += r;
+    words[0] = r;
+    int i = 1;
+    for (int j = 1; j < count; j++) {
+      final int mid = (i + INIT_MID) % N32;
+      r = mix(words[i] ^ words[mid] ^ words[(i + N32 - 1) % N32], SEED_FACTOR1);
+      words[mid] += r;
+      r += i;
+      if (j <= seedInts.length) {
+        r += seedInts[j - 1];
+      }
+      words[(i + INIT_MID + INIT_LAG) % N32] += r;
+      words[i] = r;
+      i = (i + 1) % N32;
+    }
+    for (int j = 0; j < N32; j++) {
+      final int mid = (i + INIT_MID) % N32;
+      r = mix(words[i] + words[mid] + words[(i + N32 - 1) % N32], SEED_FACTOR2);
+      words[mid] ^= r;
+      r -= i;
+      words[(i + INIT_MID + INIT_LAG) % N32] ^= r;
+      words[i] = r;
+      i = (i + 1) % N32;
+    }
+    certifyPeriod(words);
+    for (int k = 0; k < N64; k++) {
+      state[k] = (words[2 * k] & LOWER_INT_MASK) | (((long) words[(2 * k) + 1]) << Integer.SIZE);
+    }
+    index = N32;
+  }
+
+  private static int mix(final int x, final int seedFactor) {
+    return (x ^ (x >>> 27)) * seedFactor;
+  }
+
+  /**
+   * Flips a bit of the first 128-bit word if needed, so that the period is 2<sup>19937</sup> - 1.
+   */
+  private static void certifyPeriod(final int[] words) {
+    int inner = 0;
+    for (int i = 0; i < PARITY.length; i++) {
+      inner ^= words[i] & PARITY[i];
+    }
+    if ((Integer.bitCount(inner) & 1) == 1) {
+      return;
+    }
+    for (int i = 0; i < PARITY.length; i++) {
+      if (PARITY[i] != 0) {
+        words[i] ^= Integer.lowestOneBit(PARITY[i]);
+        return;
+      }
+    }
+  }
+
+  /**
+   * Writes the next {@code lanes} 128-bit words of the sequence to {@code dest}, then makes the
+   * last {@link #N} of them the state. When {@code dest} is {@link #state} itself and {@code lanes}
+   * is {@link #N}, this regenerates the state in place. Must be called with {@link #lock} held.
+   *
+   * @param dest the array to write to
+   * @param off the index in {@code dest} of the first {@code long} to write
+   * @param lanes the number of 128-bit words to write; at least {@link #N}
+   */
+  private void generate(final long[] dest, final int off, final int lanes) {
+    final long[] st = state;
+    // The sequence continues from the state, so lane k < N is st[2k..2k+1] and lane k >= N is
+    // dest[off + 2(k - N)..]
+    long cLow = st[N64 - 4];
+    long cHigh = st[N64 - 3];
+    long dLow = st[N64 - 2];
+    long dHigh = st[N64 - 1];
+    for (int i = 0; i < lanes; i++) {
+      final long[] aArray;
+      final int aIndex;
+      if (i < N) {
+        aArray = st;
+        aIndex = 2 * i;
+      } else {
+        aArray = dest;
+        aIndex = off + (2 * (i - N));
+      }
+      final long[] bArray;
+      final int bIndex;
+      if ((i + POS1) < N) {
+        bArray = st;
+        bIndex = 2 * (i + POS1);
+      } else {
+        bArray = dest;
+        bIndex = off + (2 * ((i + POS1) - N));
+      }
+      final long aLow = aArray[aIndex];
+      final long aHigh = aArray[aIndex + 1];
+      final long low = aLow ^ (aLow << Byte.SIZE) ^ ((bArray[bIndex] >>> SR1) & MASK_LOW)
+          ^ ((cLow >>> Byte.SIZE) | (cHigh << (Long.SIZE - Byte.SIZE))) ^ ((dLow << SL1)
+          & SL1_MASK);
+      final long high = aHigh ^ ((aHigh << Byte.SIZE) | (aLow >>> (Long.SIZE - Byte.SIZE)))
+          ^ ((bArray[bIndex + 1] >>> SR1) & MASK_HIGH) ^ (cHigh >>> Byte.SIZE) ^ ((dHigh << SL1)
+          & SL1_MASK);
+      dest[off + (2 * i)] = low;
+      dest[off + (2 * i) + 1] = high;
+      cLow = dLow;
+      cHigh = dHigh;
+      dLow = low;
+      dHigh = high;
+    }
+    if (dest != st) {
+      System.arraycopy(dest, off + (2 * (lanes - N)), st, 0, N64);
+    }
+  }
+
+  /**
+   * Returns the next 32-bit word of output. Must be called with {@link #lock} held.
+   */
+  private int nextWord() {
+    int curIndex = index;
+    if (curIndex >= N32) {
+      generate(state, 0, N);
+      curIndex = 0;
+    }
+    index = curIndex + 1;
+    final long pair = state[curIndex >>> 1];
+    return (int) (((curIndex & 1) == 0) ? pair : (pair >>> Integer.SIZE));
+  }
+
+  @Override protected int next(final int bits) {
+    lock.lock();
+    try {
+      return nextWord() >>> (Integer.SIZE - bits);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Combines the next two 32-bit words, the first becoming the lower half.
+   */
+  @Override protected long nextLongNoEntropyDebit() {
+    lock.lock();
+    try {
+      final long low = nextWord() & LOWER_INT_MASK;
+      return low | (((long) nextWord()) << Integer.SIZE);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Copies words straight out of the state, regenerating it in place whenever it's exhausted.
+   */
+  @Override protected void nextIntsNoEntropyDebit(final int[] out, final int off, final int len) {
+    int curIndex = index;
+    final int end = off + len;
+    int i = off;
+    if (((curIndex & 1) != 0) && (i < end) && (curIndex < N32)) {
+      out[i] = (int) (state[curIndex >>> 1] >>> Integer.SIZE);
+      i++;
+      curIndex++;
+    }
+    while (i < end) {
+      if (curIndex >= N32) {
+        generate(state, 0, N);
+        curIndex = 0;
+      }
+      final int stop = Math.min(end, i + (N32 - curIndex));
+      while (i < stop) {
+        final long pair = state[curIndex >>> 1];
+        out[i] = (int) pair;
+        i++;
+        if (i < stop) {
+          out[i] = (int) (pair >>> Integer.SIZE);
+          i++;
+          curIndex += 2;
+        } else {
+          curIndex++;
+        }
+      }
+    }
+    index = curIndex;
+  }
+
+  /**
+   * Copies whole {@code long}s out of the state, and generates straight into {@code out} once the
+   * state is used up, if at least {@link #N} 128-bit words are still needed. If an odd number of
+   * {@code int}s have been output, falls back to combining words.
+   */
+  @Override protected void nextLongsNoEntropyDebit(final long[] out, final int off,
+      final int len) {
+    int curIndex = index;
+    int i = off;
+    final int end = off + len;
+    if ((curIndex & 1) != 0) {
+      for (; i < end; i++) {
+        final long low = nextWord() & LOWER_INT_MASK;
+        out[i] = low | (((long) nextWord()) << Integer.SIZE);
+      }
+      return;
+    }
+    while (i < end) {
+      if (curIndex >= N32) {
+        final int lanes = (end - i) / 2;
+        if (lanes >= N) {
+          generate(out, i, lanes);
+          i += 2 * lanes;
+          continue;
+        }
+        generate(state, 0, N);
+        curIndex = 0;
+      }
+      final int count = Math.min(end - i, (N32 - curIndex) / 2);
+      System.arraycopy(state, curIndex / 2, out, i, count);
+      i += count;
+      curIndex += 2 * count;
+    }
+    index = curIndex;
+  }
+
+  /**
+   * Returns the only supported seed length.
+   */
+  @Override public int getNewSeedLength() {
+    return SEED_SIZE_BYTES;
+  }
+}
@@ -15,12 +15,17 @@
 // ============================================================================
 package io.github.pr0methean.betterrandom.prng;
 
+import static io.github.pr0methean.betterrandom.util.Gf2PolynomialArithmetic.hasTerm;
+
 import com.google.common.base.MoreObjects.ToStringHelper;
+import io.github.pr0methean.betterrandom.SeekableRandom;
 import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
 import io.github.pr0methean.betterrandom.seed.SeedException;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import io.github.pr0methean.betterrandom.util.Gf2JumpTable;
 import java.util.Random;
+import javax.annotation.Nullable;
 
 /**
  * <p>Very fast pseudo random number generator.  See
@@ -33,14 +38,26 @@ import java.util.Random;
  * method inherited from {@link Random}.  Calls to this method will have no effect. Instead the
  * seed
  * must be set by a constructor.</em></p>
+ * <p>The state transition is linear over GF(2), so {@link #advance(long)} can skip forward in time
+ * proportional to the logarithm of the distance, which lets parallel jobs take non-overlapping
+ * substreams of one seed. It can't skip backward, because the transition isn't invertible.</p>
  *
  * @author Daniel Dyer
  * @since 1.2
  */
-public class XorShiftRandom extends BaseRandom {
+public class XorShiftRandom extends BaseRandom implements SeekableRandom {
 
   private static final long serialVersionUID = 952521144304194886L;
   private static final int SEED_SIZE_BYTES = 20; // Needs 5 32-bit integers.
+  private static final int DEGREE = 8 * SEED_SIZE_BYTES;
+  /**
+   * Lower terms of the minimal polynomial of the state transition (the x<sup>160</sup> term is
+   * implied). It has no constant term, since the transition isn't invertible.
+   */
+  private static final long[] CHARACTERISTIC_POLYNOMIAL =
+      {0xFD4F_0686_F455_1130L, 0x248C_D567_B4C2_88BCL, 0x0000_0000_0ABA_A4A2L};
+  private static final Gf2JumpTable JUMP_TABLE =
+      new Gf2JumpTable(CHARACTERISTIC_POLYNOMIAL, DEGREE);
 
   // Previously used an array for state but using separate fields proved to be
   // faster.
@@ -120,12 +137,7 @@ public class XorShiftRandom extends BaseRandom {
   @Override protected int next(final int bits) {
     lock.lock();
     try {
-      final int t = (state1 ^ (state1 >> 7));
-      state1 = state2;
-      state2 = state3;
-      state3 = state4;
-      state4 = state5;
-      state5 = (state5 ^ (state5 << 6)) ^ (t ^ (t << 13));
+      step();
       final int value = (state2 + state2 + 1) * state5;
       return value >>> (32 - bits);
     } finally {
@@ -133,6 +145,125 @@ public class XorShiftRandom extends BaseRandom {
     }
   }
 
+  /**
+   * Advances the state once. Must be called with {@link #lock} held.
+   */
+  private void step() {
+    final int t = (state1 ^ (state1 >> 7));
+    state1 = state2;
+    state2 = state3;
+    state3 = state4;
+    state4 = state5;
+    state5 = (state5 ^ (state5 << 6)) ^ (t ^ (t << 13));
+  }
+
+  /**
+   * Advances the generator forward {@code delta} steps, each of which produces one {@link
+   * #nextInt()}. Takes time proportional to log(delta) for large distances.
+   *
+   * @param delta the number of steps to advance
+   * @throws UnsupportedOperationException if {@code delta} is negative, since the state transition
+   *     isn't invertible
+   */
+  @Override public void advance(final long delta) {
+    if (delta < 0) {
+      throw new UnsupportedOperationException("XorShiftRandom can't move backward");
+    }
+    lock.lock();
+    try {
+      if (delta < DEGREE) {
+        for (long i = 0; i < delta; i++) {
+          step();
+        }
+        return;
+      }
+      for (int bit = 0; bit < (Long.SIZE - 1); bit++) {
+        if (((delta >>> bit) & 1) != 0) {
+          jump(JUMP_TABLE.getForwardJump(bit));
+        }
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Replaces the state s with r(T)s, where T is the state transition and r is the given polynomial.
+   * If r(x) = x<sup>k</sup> mod {@link #CHARACTERISTIC_POLYNOMIAL}, this advances k steps. Must be
+   * called with {@link #lock} held.
+   *
+   * @param polynomial the jump polynomial
+   */
+  private void jump(final long[] polynomial) {
+    int jump1 = 0;
+    int jump2 = 0;
+    int jump3 = 0;
+    int jump4 = 0;
+    int jump5 = 0;
+    for (int i = 0; i < DEGREE; i++) {
+      if (hasTerm(polynomial, i)) {
+        jump1 ^= state1;
+        jump2 ^= state2;
+        jump3 ^= state3;
+        jump4 ^= state4;
+        jump5 ^= state5;
+      }
+      step();
+    }
+    state1 = jump1;
+    state2 = jump2;
+    state3 = jump3;
+    state4 = jump4;
+    state5 = jump5;
+  }
+
+  /**
+   * Creates a new instance of this PRNG's class from the given seed, so that {@link
+   * #splitForStream(long)} can move it to this instance's position. Returns null when called on a
+   * subclass, since it may not produce the same output as a new {@link XorShiftRandom}.
+   *
+   * @param seed the seed for the new instance
+   * @return a new instance of the same class, or null if not supported
+   */
+  @Nullable protected XorShiftRandom createWithSeed(final byte[] seed) {
+    return (getClass() == XorShiftRandom.class) ? new XorShiftRandom(seed) : null;
+  }
+
+  @Override @Nullable protected BaseRandom splitForStream(final long steps) {
+    lock.lock();
+    try {
+      final XorShiftRandom copy = createWithSeed(getSeed());
+      if (copy != null) {
+        advance(steps);
+      }
+      return copy;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override protected void nextIntsNoEntropyDebit(final int[] out, final int off, final int len) {
+    int s1 = state1;
+    int s2 = state2;
+    int s3 = state3;
+    int s4 = state4;
+    int s5 = state5;
+    for (int i = off; i < off + len; i++) {
+      final int t = (s1 ^ (s1 >> 7));
+      s1 = s2;
+      s2 = s3;
+      s3 = s4;
+      s4 = s5;
+      s5 = (s5 ^ (s5 << 6)) ^ (t ^ (t << 13));
+      out[i] = (s2 + s2 + 1) * s5;
+    }
+    state1 = s1;
+    state2 = s2;
+    state3 = s3;
+    state4 = s4;
+    state5 = s5;
+  }
+
   @Override public int getNewSeedLength() {
     return SEED_SIZE_BYTES;
   }
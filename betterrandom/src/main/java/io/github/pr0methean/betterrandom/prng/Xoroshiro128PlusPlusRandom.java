@@ -0,0 +1,305 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import static io.github.pr0methean.betterrandom.util.Gf2PolynomialArithmetic.hasTerm;
+
+import com.google.common.base.MoreObjects.ToStringHelper;
+import io.github.pr0methean.betterrandom.SeekableRandom;
+import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.seed.SeedGenerator;
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import io.github.pr0methean.betterrandom.util.EntryPoint;
+import io.github.pr0methean.betterrandom.util.Gf2PolynomialArithmetic;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import javax.annotation.Nullable;
+
+/**
+ * <p>A Java port of the "xoroshiro128++" generator presented at <a
+ * href="http://prng.di.unimi.it/">http://prng.di.unimi.it/</a>: a linear engine with 128 bits of
+ * state and a "++" (add, rotate, add) output scrambler. Period is 2<sup>128</sup> - 1. This PRNG
+ * is seekable, and very fast, but not cryptographically secure. It has half the state of {@link
+ * Xoshiro256StarStarRandom}, so it suits smaller numbers of parallel substreams.
+ * </p><p>
+ * {@link #jump()} and {@link #longJump()} advance by 2<sup>64</sup> and 2<sup>96</sup> steps
+ * respectively, so they can create non-overlapping substreams for parallel jobs: copy the PRNG with
+ * {@code new Xoroshiro128PlusPlusRandom(prng.getSeed())}, then call {@link #jump()} on the original.
+ * Substreams created with {@link #jump()} from one created with {@link #longJump()} won't overlap
+ * those created from any other.
+ * </p><p>
+ * Sharing a single instance across threads that are frequently using it concurrently isn't
+ * recommended, unless memory is too constrained to use with a
+ * {@link io.github.pr0methean.betterrandom.prng.adapter.ThreadLocalRandomWrapper}.
+ * </p>
+ *
+ * @author David Blackman and Sebastiano Vigna (algorithm and C implementation)
+ */
+public class Xoroshiro128PlusPlusRandom extends BaseRandom implements SeekableRandom {
+
+  private static final long serialVersionUID = -2519470468318829640L;
+  private static final int SEED_SIZE_BYTES = 2 * Long.BYTES;
+  private static final int DEGREE = 8 * SEED_SIZE_BYTES;
+  /**
+   * Lower terms of the characteristic polynomial of the state transition (the x<sup>128</sup>
+   * term is implied).
+   */
+  static final long[] CHARACTERISTIC_POLYNOMIAL =
+      {0x8DAE_7077_9760_B081L, 0x0031_BCF2_F855_D6E5L};
+  /**
+   * x<sup>2<sup>64</sup></sup> mod {@link #CHARACTERISTIC_POLYNOMIAL}.
+   */
+  private static final long[] JUMP =
+      {0x2BD7_A6A6_E99C_2DDCL, 0x0992_CCAF_6A6F_CA05L};
+  /**
+   * x<sup>2<sup>96</sup></sup> mod {@link #CHARACTERISTIC_POLYNOMIAL}.
+   */
+  private static final long[] LONG_JUMP =
+      {0x360F_D5F2_CF8D_5D99L, 0x9C6E_6877_736C_46E3L};
+  /**
+   * Replaces an all-zeroes seed, since the state must not be all zeroes.
+   */
+  private static final long ZERO_SEED_REPLACEMENT = 0x9E37_79B9_7F4A_7C15L;
+  private static final double RANDOM_DOUBLE_INCR = 0x1.0p-53;
+
+  // WARNING: Don't initialize any instance fields at declaration; they may be initialized too late!
+  /**
+   * The state. Guarded by {@link #lock}.
+   */
+  private long s0;
+  private long s1;
+
+  /**
+   * Creates a new PRNG with a seed from the {@link DefaultSeedGenerator}.
+   */
+  public Xoroshiro128PlusPlusRandom() {
+    this(DefaultSeedGenerator.DEFAULT_SEED_GENERATOR);
+  }
+
+  /**
+   * Creates a new PRNG with a seed from the provided {@link SeedGenerator}.
+   *
+   * @param seedGenerator the seed generator that will generate the initial seed
+   * @throws SeedException if {@code seedGenerator} fails to generate a seed
+   */
+  @EntryPoint public Xoroshiro128PlusPlusRandom(final SeedGenerator seedGenerator)
+      throws SeedException {
+    this(seedGenerator.generateSeed(SEED_SIZE_BYTES));
+  }
+
+  /**
+   * Creates a new PRNG with the provided seed.
+   *
+   * @param seed the seed; must be exactly 16 bytes
+   */
+  @EntryPoint public Xoroshiro128PlusPlusRandom(final byte[] seed) {
+    super(seed);
+    if (seed.length != SEED_SIZE_BYTES) {
+      throw new IllegalArgumentException("Xoroshiro128PlusPlusRandom requires a 16-byte seed");
+    }
+  }
+
+  @Override public void setSeed(final long seed) {
+    fallbackSetSeedIfInitialized();
+  }
+
+  @Override protected double nextDoubleNoEntropyDebit() {
+    return (nextLongNoEntropyDebit() >>> (Long.SIZE - ENTROPY_OF_DOUBLE)) * RANDOM_DOUBLE_INCR;
+  }
+
+  /**
+   * Advances the generator forward {@code delta} steps, or backward if {@code delta} is negative.
+   * Takes time proportional to log(|delta|) for large distances.
+   *
+   * @param delta the number of steps to advance; can be negative
+   */
+  @Override public void advance(final long delta) {
+    if (delta == 0) {
+      return;
+    }
+    if ((delta > 0) && (delta < DEGREE)) {
+      lock.lock();
+      try {
+        for (long i = 0; i < delta; i++) {
+          step();
+        }
+      } finally {
+        lock.unlock();
+      }
+      return;
+    }
+    jump(Gf2PolynomialArithmetic.powerOfX(delta, CHARACTERISTIC_POLYNOMIAL, DEGREE));
+  }
+
+  /**
+   * Advances the generator forward 2<sup>64</sup> steps. This is equivalent to 2<sup>64</sup>
+   * calls to {@link #nextLong()}, and can be used to create 2<sup>64</sup> non-overlapping
+   * substreams.
+   */
+  public void jump() {
+    jump(JUMP);
+  }
+
+  /**
+   * Advances the generator forward 2<sup>96</sup> steps. This is equivalent to 2<sup>96</sup>
+   * calls to {@link #nextLong()}, and can be used to create 2<sup>32</sup> starting points, from
+   * each of which {@link #jump()} will create 2<sup>32</sup> non-overlapping substreams.
+   */
+  public void longJump() {
+    jump(LONG_JUMP);
+  }
+
+  /**
+   * Replaces the state s with r(T)s, where T is the state transition and r is the given polynomial.
+   * If r(x) = x<sup>k</sup> mod {@link #CHARACTERISTIC_POLYNOMIAL}, this advances k steps.
+   *
+   * @param polynomial the jump polynomial
+   */
+  void jump(final long[] polynomial) {
+    lock.lock();
+    try {
+      long jump0 = 0;
+      long jump1 = 0;
+      for (int i = 0; i < DEGREE; i++) {
+        if (hasTerm(polynomial, i)) {
+          jump0 ^= s0;
+          jump1 ^= s1;
+        }
+        step();
+      }
+      s0 = jump0;
+      s1 = jump1;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Creates a new instance of this PRNG's class from the given seed, so that {@link
+   * #splitForStream(long)} can move it to this instance's position. Returns null when called on a
+   * subclass, since it may not produce the same output as a new {@link Xoroshiro128PlusPlusRandom}.
+   *
+   * @param seed the seed for the new instance
+   * @return a new instance of the same class, or null if not supported
+   */
+  @Nullable protected Xoroshiro128PlusPlusRandom createWithSeed(final byte[] seed) {
+    return (getClass() == Xoroshiro128PlusPlusRandom.class) ? new Xoroshiro128PlusPlusRandom(seed)
+        : null;
+  }
+
+  @Override @Nullable protected BaseRandom splitForStream(final long steps) {
+    lock.lock();
+    try {
+      final Xoroshiro128PlusPlusRandom copy = createWithSeed(getSeed());
+      if (copy != null) {
+        advance(steps);
+      }
+      return copy;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns 1, because every output is taken from a single step.
+   */
+  @Override protected int getAdvanceStepsPerLong() {
+    return 1;
+  }
+
+  @Override public byte[] getSeed() {
+    final byte[] state = new byte[SEED_SIZE_BYTES];
+    lock.lock();
+    try {
+      writeState(state);
+    } finally {
+      lock.unlock();
+    }
+    return state;
+  }
+
+  /**
+   * {@inheritDoc} Since the state must not be all zeroes, an all-zeroes seed is replaced with a
+   * fixed nonzero one.
+   */
+  @Override public void setSeedInternal(final byte[] seed) {
+    if (seed.length != SEED_SIZE_BYTES) {
+      throw new IllegalArgumentException("Xoroshiro128PlusPlusRandom requires a 16-byte seed");
+    }
+    super.setSeedInternal(seed);
+    s0 = BinaryUtils.convertBytesToLong(seed, 0);
+    s1 = BinaryUtils.convertBytesToLong(seed, Long.BYTES);
+    if ((s0 | s1) == 0) {
+      s0 = ZERO_SEED_REPLACEMENT;
+    }
+  }
+
+  @Override protected int next(final int bits) {
+    return (int) (nextLongNoEntropyDebit() >>> (Long.SIZE - bits));
+  }
+
+  @Override protected long nextLongNoEntropyDebit() {
+    lock.lock();
+    try {
+      final long result = Long.rotateLeft(s0 + s1, 17) + s0;
+      step();
+      return result;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Steps a local copy of the state for the whole batch, then writes it back.
+   */
+  @Override protected void nextLongsNoEntropyDebit(final long[] out, final int off,
+      final int len) {
+    long cur0 = s0;
+    long cur1 = s1;
+    for (int i = off; i < off + len; i++) {
+      out[i] = Long.rotateLeft(cur0 + cur1, 17) + cur0;
+      cur1 ^= cur0;
+      cur0 = Long.rotateLeft(cur0, 49) ^ cur1 ^ (cur1 << 21);
+      cur1 = Long.rotateLeft(cur1, 28);
+    }
+    s0 = cur0;
+    s1 = cur1;
+  }
+
+  /**
+   * Applies the state transition once. Must be called with {@link #lock} held.
+   */
+  private void step() {
+    final long t = s0 ^ s1;
+    s0 = Long.rotateLeft(s0, 49) ^ t ^ (t << 21);
+    s1 = Long.rotateLeft(t, 28);
+  }
+
+  @Override protected void nextBytesNoEntropyDebit(final byte[] bytes, final int off,
+      final int len) {
+    nextBytesFromLongsNoEntropyDebit(bytes, off, len);
+  }
+
+  @Override protected ToStringHelper addSubclassFields(final ToStringHelper original) {
+    return original.add("s0", s0).add("s1", s1);
+  }
+
+  @Override public int getNewSeedLength() {
+    return SEED_SIZE_BYTES;
+  }
+
+  private void writeState(final byte[] dest) {
+    BinaryUtils.convertLongToBytes(s0, dest, 0);
+    BinaryUtils.convertLongToBytes(s1, dest, Long.BYTES);
+  }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    // Copy the state back to the array seed
+    lock.lock();
+    try {
+      writeState(seed);
+      out.defaultWriteObject();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
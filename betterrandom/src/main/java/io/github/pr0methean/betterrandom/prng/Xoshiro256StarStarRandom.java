@@ -0,0 +1,331 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import static io.github.pr0methean.betterrandom.util.Gf2PolynomialArithmetic.hasTerm;
+
+import com.google.common.base.MoreObjects.ToStringHelper;
+import io.github.pr0methean.betterrandom.SeekableRandom;
+import io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.seed.SeedGenerator;
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import io.github.pr0methean.betterrandom.util.EntryPoint;
+import io.github.pr0methean.betterrandom.util.Gf2PolynomialArithmetic;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import javax.annotation.Nullable;
+
+/**
+ * <p>A Java port of the "xoshiro256**" generator presented at <a
+ * href="http://prng.di.unimi.it/">http://prng.di.unimi.it/</a>: a linear engine with 256 bits of
+ * state and a "**" (multiply, rotate, multiply) output scrambler. Period is 2<sup>256</sup> - 1.
+ * This PRNG is seekable, and very fast, but not cryptographically secure.
+ * </p><p>
+ * {@link #jump()} and {@link #longJump()} advance by 2<sup>128</sup> and 2<sup>192</sup> steps
+ * respectively, so they can create non-overlapping substreams for parallel jobs: copy the PRNG with
+ * {@code new Xoshiro256StarStarRandom(prng.getSeed())}, then call {@link #jump()} on the original.
+ * Substreams created with {@link #jump()} from one created with {@link #longJump()} won't overlap
+ * those created from any other.
+ * </p><p>
+ * Sharing a single instance across threads that are frequently using it concurrently isn't
+ * recommended, unless memory is too constrained to use with a
+ * {@link io.github.pr0methean.betterrandom.prng.adapter.ThreadLocalRandomWrapper}.
+ * </p>
+ *
+ * @author David Blackman and Sebastiano Vigna (algorithm and C implementation)
+ */
+public class Xoshiro256StarStarRandom extends BaseRandom implements SeekableRandom {
+
+  private static final long serialVersionUID = 6406306785950224707L;
+  private static final int SEED_SIZE_BYTES = 4 * Long.BYTES;
+  private static final int DEGREE = 8 * SEED_SIZE_BYTES;
+  /**
+   * Lower terms of the characteristic polynomial of the state transition (the x<sup>256</sup>
+   * term is implied).
+   */
+  static final long[] CHARACTERISTIC_POLYNOMIAL =
+      {0x9D11_6F2B_B0F0_F001L, 0x0280_002B_CEFD_1A5EL, 0x04B4_EDCF_2625_9F85L,
+          0x0003_C03C_3F3E_CB19L};
+  /**
+   * x<sup>2<sup>128</sup></sup> mod {@link #CHARACTERISTIC_POLYNOMIAL}.
+   */
+  private static final long[] JUMP =
+      {0x180E_C6D3_3CFD_0ABAL, 0xD5A6_1266_F0C9_392CL, 0xA958_2618_E03F_C9AAL,
+          0x39AB_DC45_29B1_661CL};
+  /**
+   * x<sup>2<sup>192</sup></sup> mod {@link #CHARACTERISTIC_POLYNOMIAL}.
+   */
+  private static final long[] LONG_JUMP =
+      {0x76E1_5D3E_FEFD_CBBFL, 0xC500_4E44_1C52_2FB3L, 0x7771_0069_854E_E241L,
+          0x3910_9BB0_2ACB_E635L};
+  /**
+   * Replaces an all-zeroes seed, since the state must not be all zeroes.
+   */
+  private static final long ZERO_SEED_REPLACEMENT = 0x9E37_79B9_7F4A_7C15L;
+  private static final double RANDOM_DOUBLE_INCR = 0x1.0p-53;
+
+  // WARNING: Don't initialize any instance fields at declaration; they may be initialized too late!
+  /**
+   * The state. Guarded by {@link #lock}.
+   */
+  private long s0;
+  private long s1;
+  private long s2;
+  private long s3;
+
+  /**
+   * Creates a new PRNG with a seed from the {@link DefaultSeedGenerator}.
+   */
+  public Xoshiro256StarStarRandom() {
+    this(DefaultSeedGenerator.DEFAULT_SEED_GENERATOR);
+  }
+
+  /**
+   * Creates a new PRNG with a seed from the provided {@link SeedGenerator}.
+   *
+   * @param seedGenerator the seed generator that will generate the initial seed
+   * @throws SeedException if {@code seedGenerator} fails to generate a seed
+   */
+  @EntryPoint public Xoshiro256StarStarRandom(final SeedGenerator seedGenerator)
+      throws SeedException {
+    this(seedGenerator.generateSeed(SEED_SIZE_BYTES));
+  }
+
+  /**
+   * Creates a new PRNG with the provided seed.
+   *
+   * @param seed the seed; must be exactly 32 bytes
+   */
+  @EntryPoint public Xoshiro256StarStarRandom(final byte[] seed) {
+    super(seed);
+    if (seed.length != SEED_SIZE_BYTES) {
+      throw new IllegalArgumentException("Xoshiro256StarStarRandom requires a 32-byte seed");
+    }
+  }
+
+  @Override public void setSeed(final long seed) {
+    fallbackSetSeedIfInitialized();
+  }
+
+  @Override protected double nextDoubleNoEntropyDebit() {
+    return (nextLongNoEntropyDebit() >>> (Long.SIZE - ENTROPY_OF_DOUBLE)) * RANDOM_DOUBLE_INCR;
+  }
+
+  /**
+   * Advances the generator forward {@code delta} steps, or backward if {@code delta} is negative.
+   * Takes time proportional to log(|delta|) for large distances.
+   *
+   * @param delta the number of steps to advance; can be negative
+   */
+  @Override public void advance(final long delta) {
+    if (delta == 0) {
+      return;
+    }
+    if ((delta > 0) && (delta < DEGREE)) {
+      lock.lock();
+      try {
+        for (long i = 0; i < delta; i++) {
+          step();
+        }
+      } finally {
+        lock.unlock();
+      }
+      return;
+    }
+    jump(Gf2PolynomialArithmetic.powerOfX(delta, CHARACTERISTIC_POLYNOMIAL, DEGREE));
+  }
+
+  /**
+   * Advances the generator forward 2<sup>128</sup> steps. This is equivalent to 2<sup>128</sup>
+   * calls to {@link #nextLong()}, and can be used to create 2<sup>128</sup> non-overlapping
+   * substreams.
+   */
+  public void jump() {
+    jump(JUMP);
+  }
+
+  /**
+   * Advances the generator forward 2<sup>192</sup> steps. This is equivalent to 2<sup>192</sup>
+   * calls to {@link #nextLong()}, and can be used to create 2<sup>64</sup> starting points, from
+   * each of which {@link #jump()} will create 2<sup>64</sup> non-overlapping substreams.
+   */
+  public void longJump() {
+    jump(LONG_JUMP);
+  }
+
+  /**
+   * Replaces the state s with r(T)s, where T is the state transition and r is the given polynomial.
+   * If r(x) = x<sup>k</sup> mod {@link #CHARACTERISTIC_POLYNOMIAL}, this advances k steps.
+   *
+   * @param polynomial the jump polynomial
+   */
+  void jump(final long[] polynomial) {
+    lock.lock();
+    try {
+      long jump0 = 0;
+      long jump1 = 0;
+      long jump2 = 0;
+      long jump3 = 0;
+      for (int i = 0; i < DEGREE; i++) {
+        if (hasTerm(polynomial, i)) {
+          jump0 ^= s0;
+          jump1 ^= s1;
+          jump2 ^= s2;
+          jump3 ^= s3;
+        }
+        step();
+      }
+      s0 = jump0;
+      s1 = jump1;
+      s2 = jump2;
+      s3 = jump3;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Creates a new instance of this PRNG's class from the given seed, so that {@link
+   * #splitForStream(long)} can move it to this instance's position. Returns null when called on a
+   * subclass, since it may not produce the same output as a new {@link Xoshiro256StarStarRandom}.
+   *
+   * @param seed the seed for the new instance
+   * @return a new instance of the same class, or null if not supported
+   */
+  @Nullable protected Xoshiro256StarStarRandom createWithSeed(final byte[] seed) {
+    return (getClass() == Xoshiro256StarStarRandom.class) ? new Xoshiro256StarStarRandom(seed)
+        : null;
+  }
+
+  @Override @Nullable protected BaseRandom splitForStream(final long steps) {
+    lock.lock();
+    try {
+      final Xoshiro256StarStarRandom copy = createWithSeed(getSeed());
+      if (copy != null) {
+        advance(steps);
+      }
+      return copy;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns 1, because every output is taken from a single step.
+   */
+  @Override protected int getAdvanceStepsPerLong() {
+    return 1;
+  }
+
+  @Override public byte[] getSeed() {
+    final byte[] state = new byte[SEED_SIZE_BYTES];
+    lock.lock();
+    try {
+      writeState(state);
+    } finally {
+      lock.unlock();
+    }
+    return state;
+  }
+
+  /**
+   * {@inheritDoc} Since the state must not be all zeroes, an all-zeroes seed is replaced with a
+   * fixed nonzero one.
+   */
+  @Override public void setSeedInternal(final byte[] seed) {
+    if (seed.length != SEED_SIZE_BYTES) {
+      throw new IllegalArgumentException("Xoshiro256StarStarRandom requires a 32-byte seed");
+    }
+    super.setSeedInternal(seed);
+    s0 = BinaryUtils.convertBytesToLong(seed, 0);
+    s1 = BinaryUtils.convertBytesToLong(seed, Long.BYTES);
+    s2 = BinaryUtils.convertBytesToLong(seed, 2 * Long.BYTES);
+    s3 = BinaryUtils.convertBytesToLong(seed, 3 * Long.BYTES);
+    if ((s0 | s1 | s2 | s3) == 0) {
+      s0 = ZERO_SEED_REPLACEMENT;
+    }
+  }
+
+  @Override protected int next(final int bits) {
+    return (int) (nextLongNoEntropyDebit() >>> (Long.SIZE - bits));
+  }
+
+  @Override protected long nextLongNoEntropyDebit() {
+    lock.lock();
+    try {
+      final long result = Long.rotateLeft(s1 * 5, 7) * 9;
+      step();
+      return result;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Steps a local copy of the state for the whole batch, then writes it back.
+   */
+  @Override protected void nextLongsNoEntropyDebit(final long[] out, final int off,
+      final int len) {
+    long cur0 = s0;
+    long cur1 = s1;
+    long cur2 = s2;
+    long cur3 = s3;
+    for (int i = off; i < off + len; i++) {
+      out[i] = Long.rotateLeft(cur1 * 5, 7) * 9;
+      final long t = cur1 << 17;
+      cur2 ^= cur0;
+      cur3 ^= cur1;
+      cur1 ^= cur2;
+      cur0 ^= cur3;
+      cur2 ^= t;
+      cur3 = Long.rotateLeft(cur3, 45);
+    }
+    s0 = cur0;
+    s1 = cur1;
+    s2 = cur2;
+    s3 = cur3;
+  }
+
+  /**
+   * Applies the state transition once. Must be called with {@link #lock} held.
+   */
+  private void step() {
+    final long t = s1 << 17;
+    s2 ^= s0;
+    s3 ^= s1;
+    s1 ^= s2;
+    s0 ^= s3;
+    s2 ^= t;
+    s3 = Long.rotateLeft(s3, 45);
+  }
+
+  @Override protected void nextBytesNoEntropyDebit(final byte[] bytes, final int off,
+      final int len) {
+    nextBytesFromLongsNoEntropyDebit(bytes, off, len);
+  }
+
+  @Override protected ToStringHelper addSubclassFields(final ToStringHelper original) {
+    return original.add("s0", s0).add("s1", s1).add("s2", s2).add("s3", s3);
+  }
+
+  @Override public int getNewSeedLength() {
+    return SEED_SIZE_BYTES;
+  }
+
+  private void writeState(final byte[] dest) {
+    BinaryUtils.convertLongToBytes(s0, dest, 0);
+    BinaryUtils.convertLongToBytes(s1, dest, Long.BYTES);
+    BinaryUtils.convertLongToBytes(s2, dest, 2 * Long.BYTES);
+    BinaryUtils.convertLongToBytes(s3, dest, 3 * Long.BYTES);
+  }
+
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    // Copy the state back to the array seed
+    lock.lock();
+    try {
+      writeState(seed);
+      out.defaultWriteObject();
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -1,7 +1,11 @@
 package io.github.pr0methean.betterrandom.prng.adapter;
 
 import io.github.pr0methean.betterrandom.prng.BaseRandom;
+import io.github.pr0methean.betterrandom.util.Ziggurat;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
 
 /**
  * Abstract class for implementations of {@link BaseRandom} that wrap one or more {@link
@@ -70,14 +74,47 @@ public abstract class BaseSplittableRandomAdapter extends BaseRandom {
   }
 
   /**
-   * Delegates to {@link SplittableRandom#nextInt(int) SplittableRandom.nextInt(256)}.
+   * Splits each {@link SplittableRandom#nextLong()} into 8 bytes, without locking.
    */
   @SuppressWarnings("NumericCastThatLosesPrecision") @Override public void nextBytes(
       final byte[] bytes) {
     final int length = bytes.length;
-    for (int i = 0; i < length; i++) {
-      debitEntropy(Byte.SIZE); // May cause replacement before the next getSplittableRandom()
-      bytes[i] = (byte) (getSplittableRandom().nextInt(1 << Byte.SIZE));
+    debitEntropy(Byte.SIZE * (long) length); // May cause replacement before getSplittableRandom()
+    final SplittableRandom splittableRandom = getSplittableRandom();
+    int i = 0;
+    while (i < length) {
+      long rnd = splittableRandom.nextLong();
+      for (int n = Math.min(length - i, Long.BYTES); n > 0; n--) {
+        bytes[i] = (byte) rnd;
+        i++;
+        rnd >>= Byte.SIZE;
+      }
+    }
+  }
+
+  /**
+   * Writes each {@link SplittableRandom#nextLong()} to the buffer, least significant byte first,
+   * without locking. The output is the same as {@link #nextBytes(byte[])}.
+   */
+  @SuppressWarnings("NumericCastThatLosesPrecision") @Override public void nextBytes(
+      final ByteBuffer dest) {
+    debitEntropy(Byte.SIZE * (long) dest.remaining());
+    final SplittableRandom splittableRandom = getSplittableRandom();
+    final ByteOrder oldOrder = dest.order();
+    dest.order(ByteOrder.LITTLE_ENDIAN);
+    try {
+      while (dest.remaining() >= Long.BYTES) {
+        dest.putLong(splittableRandom.nextLong());
+      }
+      if (dest.hasRemaining()) {
+        long rnd = splittableRandom.nextLong();
+        while (dest.hasRemaining()) {
+          dest.put((byte) rnd);
+          rnd >>= Byte.SIZE;
+        }
+      }
+    } finally {
+      dest.order(oldOrder);
     }
   }
 
@@ -151,22 +188,19 @@ public abstract class BaseSplittableRandomAdapter extends BaseRandom {
   }
 
   /**
-   * Delegates to {@link SplittableRandom#nextDouble()} via
-   * {@link #internalNextGaussian(java.util.function.DoubleSupplier)}.
+   * Draws from {@link SplittableRandom#nextLong()} by the ziggurat method.
    */
   @Override public double nextGaussian() {
-    // Upper bound. 2 Gaussians are generated from 2 nextDouble calls, which once made are either
-    // used or rerolled.
     debitEntropy(ENTROPY_OF_DOUBLE);
-    return internalNextGaussian(() -> getSplittableRandom().nextDouble());
+    return Ziggurat.nextGaussian(getSplittableRandom()::nextLong);
   }
 
-  @Override protected void lockForNextGaussian() {
-    // No-op.
-  }
-
-  @Override protected void unlockForNextGaussian() {
-    // No-op.
+  /**
+   * Draws from {@link SplittableRandom#nextLong()} by the ziggurat method.
+   */
+  @Override public double nextExponential() {
+    debitEntropy(ENTROPY_OF_DOUBLE);
+    return Ziggurat.nextExponential(getSplittableRandom()::nextLong);
   }
 
   /**
@@ -186,6 +220,96 @@ public abstract class BaseSplittableRandomAdapter extends BaseRandom {
         * FLOAT_MULTIPLIER;
   }
 
+  /**
+   * Delegates to {@link SplittableRandom#nextInt()}, without locking.
+   */
+  @Override public void nextInts(final int[] out, final int off, final int len) {
+    checkArrayRange(out.length, off, len);
+    debitEntropy(Integer.SIZE * (long) len);
+    final SplittableRandom splittableRandom = getSplittableRandom();
+    for (int i = off; i < off + len; i++) {
+      out[i] = splittableRandom.nextInt();
+    }
+  }
+
+  /**
+   * Delegates to {@link SplittableRandom#nextInt(int, int) SplittableRandom.nextInt(origin,
+   * bound)}, without locking.
+   */
+  @Override public void nextInts(final int[] out, final int off, final int len, final int origin,
+      final int bound) {
+    checkArrayRange(out.length, off, len);
+    checkValidRange(origin, bound);
+    debitEntropy(entropyOfInt(origin, bound) * (long) len);
+    final SplittableRandom splittableRandom = getSplittableRandom();
+    for (int i = off; i < off + len; i++) {
+      out[i] = splittableRandom.nextInt(origin, bound);
+    }
+  }
+
+  /**
+   * Delegates to {@link SplittableRandom#nextLong()}, without locking.
+   */
+  @Override public void nextLongs(final long[] out, final int off, final int len) {
+    checkArrayRange(out.length, off, len);
+    debitEntropy(Long.SIZE * (long) len);
+    final SplittableRandom splittableRandom = getSplittableRandom();
+    for (int i = off; i < off + len; i++) {
+      out[i] = splittableRandom.nextLong();
+    }
+  }
+
+  /**
+   * Delegates to {@link SplittableRandom#nextLong(long, long) SplittableRandom.nextLong(origin,
+   * bound)}, without locking.
+   */
+  @Override public void nextLongs(final long[] out, final int off, final int len,
+      final long origin, final long bound) {
+    checkArrayRange(out.length, off, len);
+    checkValidRange(origin, bound);
+    debitEntropy(entropyOfLong(origin, bound) * (long) len);
+    final SplittableRandom splittableRandom = getSplittableRandom();
+    for (int i = off; i < off + len; i++) {
+      out[i] = splittableRandom.nextLong(origin, bound);
+    }
+  }
+
+  /**
+   * Draws from {@link SplittableRandom#nextLong()} by the ziggurat method, without locking.
+   */
+  @Override public void nextGaussians(final double[] out, final int off, final int len) {
+    checkArrayRange(out.length, off, len);
+    debitEntropy(ENTROPY_OF_DOUBLE * (long) len);
+    final LongSupplier bits = getSplittableRandom()::nextLong;
+    for (int i = off; i < off + len; i++) {
+      out[i] = Ziggurat.nextGaussian(bits);
+    }
+  }
+
+  /**
+   * Delegates to {@link SplittableRandom#nextDouble()}, without locking.
+   */
+  @Override public void nextDoubles(final double[] out, final int off, final int len) {
+    checkArrayRange(out.length, off, len);
+    debitEntropy(ENTROPY_OF_DOUBLE * (long) len);
+    final SplittableRandom splittableRandom = getSplittableRandom();
+    for (int i = off; i < off + len; i++) {
+      out[i] = splittableRandom.nextDouble();
+    }
+  }
+
+  /**
+   * Delegates to {@link SplittableRandom#nextInt(int)}, without locking.
+   */
+  @Override public void nextFloats(final float[] out, final int off, final int len) {
+    checkArrayRange(out.length, off, len);
+    debitEntropy(ENTROPY_OF_FLOAT * (long) len);
+    final SplittableRandom splittableRandom = getSplittableRandom();
+    for (int i = off; i < off + len; i++) {
+      out[i] = splittableRandom.nextInt(1 << ENTROPY_OF_FLOAT) * FLOAT_MULTIPLIER;
+    }
+  }
+
   /**
    * Returns the only supported seed length.
    */
@@ -1,12 +1,24 @@
 package io.github.pr0methean.betterrandom.prng.adapter;
 
+import io.github.pr0methean.betterrandom.prng.ConcurrencyMode;
+import io.github.pr0methean.betterrandom.prng.EntropyAccountingMode;
 import io.github.pr0methean.betterrandom.seed.RandomSeeder;
 import io.github.pr0methean.betterrandom.seed.SeedException;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import javax.annotation.Nullable;
 
 /**
@@ -14,15 +26,36 @@ import javax.annotation.Nullable;
  * take its entropy below a minimum amount, and will instead either wait to be reseeded by a {@link
  * RandomSeeder} or, if none is installed, reseed itself on the calling thread with a {@link
  * SeedGenerator}. If neither is present, the caller is responsible for reseeding, and any call that
- * would reduce entropy below the minimum will throw {@link IllegalStateException}.
+ * would reduce entropy below the minimum will throw {@link IllegalStateException}. Output that
+ * leaves the entropy at or above the minimum doesn't lock; only waiting or reseeding does.
+ *
+ * <p>{@link #nextLongAsync()} and {@link #nextBytesAsync(int)} never block or reseed on the calling
+ * thread. When there isn't enough entropy, they queue the request, and queued requests are filled
+ * in order, in a batch after each reseeding. Without a {@link RandomSeeder}, the same-thread
+ * {@link SeedGenerator} is used on the {@link ForkJoinPool#commonPool() common pool} instead. Futures
+ * for queued requests are also completed on the common pool, so that dependent stages don't run on
+ * the seeder's thread. At most {@link #getMaxPendingAsync()} requests can be queued at once.</p>
  */
 public class EntropyBlockingRandomWrapper<T extends Random> extends RandomWrapper<T> {
 
+  /**
+   * Default for {@link #setMaxPendingAsync(int)}.
+   */
+  public static final int DEFAULT_MAX_PENDING_ASYNC = 1024;
   private static final long serialVersionUID = -853699062122154479L;
   private final long minimumEntropy;
   private final AtomicReference<SeedGenerator> sameThreadSeedGen;
   private final Condition seedingStatusChanged;
   private volatile transient boolean waitingOnReseed;
+  private volatile int maxPendingAsync;
+  /**
+   * Requests from {@link #nextLongAsync()} and {@link #nextBytesAsync(int)} that are waiting for
+   * entropy. Guarded by {@link #asyncLock}, which is separate from {@link #lock} so that it's never
+   * held while a seed is being generated.
+   */
+  private transient Queue<AsyncRequest<?>> pendingAsync;
+  private transient ReentrantLock asyncLock;
+  private transient AtomicBoolean asyncReseedScheduled;
 
   /**
    * @param wrapped the {@link Random} to wrap
@@ -37,9 +70,17 @@ public class EntropyBlockingRandomWrapper<T extends Random> extends RandomWrappe
     this.minimumEntropy = minimumEntropy;
     this.sameThreadSeedGen = new AtomicReference<>(sameThreadSeedGen);
     this.seedingStatusChanged = this.lock.newCondition();
+    maxPendingAsync = DEFAULT_MAX_PENDING_ASYNC;
     checkMaxOutputAtOnce();
   }
 
+  @Override protected void initTransientFields() {
+    super.initTransientFields();
+    pendingAsync = new ArrayDeque<>();
+    asyncLock = new ReentrantLock();
+    asyncReseedScheduled = new AtomicBoolean();
+  }
+
   /**
    * Creates an instance wrapping a basic {@link Random}.
    *
@@ -80,12 +121,6 @@ public class EntropyBlockingRandomWrapper<T extends Random> extends RandomWrappe
     onSeedingStateChanged(true);
   }
 
-  @Override public void nextBytes(byte[] bytes) {
-    for (int i = 0; i < bytes.length; i++) {
-      bytes[i] = (byte) (nextInt(1 << Byte.SIZE));
-    }
-  }
-
   /**
    * Returns the seed generator that is used on the calling thread if not registered with a running
    * {@link RandomSeeder}.
@@ -116,7 +151,123 @@ public class EntropyBlockingRandomWrapper<T extends Random> extends RandomWrappe
     onSeedingStateChanged(false);
   }
 
+  /**
+   * {@inheritDoc} A debit too large to be covered by one reseeding is split into parts that each
+   * can be. Bulk operations such as {@link #nextLongs(long[], int, int)} don't use this, because
+   * they generate each part right after debiting it.
+   */
   @Override protected void debitEntropy(long bits) {
+    final long maxBitsAtOnce = getMaxBitsAtOnce();
+    while (bits > maxBitsAtOnce) {
+      debitEntropyAtOnce(maxBitsAtOnce);
+      bits -= maxBitsAtOnce;
+    }
+    debitEntropyAtOnce(bits);
+  }
+
+  /**
+   * Returns the largest debit that one reseeding can cover.
+   *
+   * @return the most entropy a seed can provide above {@link #minimumEntropy}
+   */
+  private long getMaxBitsAtOnce() {
+    final long maxBitsAtOnce = (8L * getNewSeedLength()) - minimumEntropy;
+    if (maxBitsAtOnce < Long.SIZE) {
+      // Either overflowed or the seed is unknown
+      return (minimumEntropy < 0) ? Long.MAX_VALUE : Long.SIZE;
+    }
+    return maxBitsAtOnce;
+  }
+
+  /**
+   * Fills part of an array in chunks that each need no more entropy than one reseeding provides.
+   * Each chunk's entropy is debited, reseeding first if necessary, immediately before that chunk is
+   * generated; so unlike in {@link RandomWrapper}, output after the first reseeding comes from the
+   * new seed rather than the old one.
+   *
+   * @param off the index of the first element to fill
+   * @param len the number of elements to fill
+   * @param bitsPerElement the entropy to debit for each element
+   * @param filler generates a chunk; called with {@link #lock} held
+   */
+  private void fillInChunks(final int off, final int len, final long bitsPerElement,
+      final ChunkFiller filler) {
+    final int maxChunk = (bitsPerElement <= 0) ? len
+        : (int) Math.min(len, Math.max(1, getMaxBitsAtOnce() / bitsPerElement));
+    final int end = off + len;
+    for (int chunkOff = off; chunkOff < end; chunkOff += maxChunk) {
+      final int chunkLen = Math.min(maxChunk, end - chunkOff);
+      debitEntropyAtOnce(bitsPerElement * chunkLen);
+      lock.lock();
+      try {
+        filler.fill(chunkOff, chunkLen);
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  @Override public void nextBytes(final byte[] bytes) {
+    fillInChunks(0, bytes.length, Byte.SIZE,
+        (chunkOff, chunkLen) -> nextBytesNoEntropyDebit(bytes, chunkOff, chunkLen));
+  }
+
+  @Override public void nextBytes(final ByteBuffer dest) {
+    fillInChunks(dest.position(), dest.remaining(), Byte.SIZE, (chunkOff, chunkLen) -> {
+      final ByteBuffer chunk = dest.duplicate();
+      chunk.limit(chunkOff + chunkLen);
+      nextBytesNoEntropyDebit(chunk);
+      dest.position(chunk.position());
+    });
+  }
+
+  @Override public void nextInts(final int[] out, final int off, final int len) {
+    checkArrayRange(out.length, off, len);
+    fillInChunks(off, len, Integer.SIZE,
+        (chunkOff, chunkLen) -> nextIntsNoEntropyDebit(out, chunkOff, chunkLen));
+  }
+
+  @Override public void nextInts(final int[] out, final int off, final int len, final int origin,
+      final int bound) {
+    checkArrayRange(out.length, off, len);
+    checkValidRange(origin, bound);
+    fillInChunks(off, len, entropyOfInt(origin, bound),
+        (chunkOff, chunkLen) -> nextIntsNoEntropyDebit(out, chunkOff, chunkLen, origin, bound));
+  }
+
+  @Override public void nextLongs(final long[] out, final int off, final int len) {
+    checkArrayRange(out.length, off, len);
+    fillInChunks(off, len, Long.SIZE,
+        (chunkOff, chunkLen) -> nextLongsNoEntropyDebit(out, chunkOff, chunkLen));
+  }
+
+  @Override public void nextLongs(final long[] out, final int off, final int len,
+      final long origin, final long bound) {
+    checkArrayRange(out.length, off, len);
+    checkValidRange(origin, bound);
+    fillInChunks(off, len, entropyOfLong(origin, bound),
+        (chunkOff, chunkLen) -> nextLongsNoEntropyDebit(out, chunkOff, chunkLen, origin, bound));
+  }
+
+  @Override public void nextDoubles(final double[] out, final int off, final int len) {
+    checkArrayRange(out.length, off, len);
+    fillInChunks(off, len, ENTROPY_OF_DOUBLE,
+        (chunkOff, chunkLen) -> nextDoublesNoEntropyDebit(out, chunkOff, chunkLen));
+  }
+
+  @Override public void nextFloats(final float[] out, final int off, final int len) {
+    checkArrayRange(out.length, off, len);
+    fillInChunks(off, len, ENTROPY_OF_FLOAT,
+        (chunkOff, chunkLen) -> nextFloatsNoEntropyDebit(out, chunkOff, chunkLen));
+  }
+
+  @Override public void nextGaussians(final double[] out, final int off, final int len) {
+    checkArrayRange(out.length, off, len);
+    fillInChunks(off, len, ENTROPY_OF_DOUBLE,
+        (chunkOff, chunkLen) -> nextGaussiansNoEntropyDebit(out, chunkOff, chunkLen));
+  }
+
+  private void debitEntropyAtOnce(long bits) {
     long remaining;
     while (true) {
       remaining = entropyBits.addAndGet(-bits);
@@ -163,6 +314,187 @@ public class EntropyBlockingRandomWrapper<T extends Random> extends RandomWrappe
     }
   }
 
+  /**
+   * Returns a future for the next pseudorandom {@code long}. The future is already complete if
+   * there's enough entropy and no request is queued ahead of this one. Otherwise it completes after
+   * the PRNG is reseeded, or fails with {@link IllegalStateException} if there's no way to reseed,
+   * or fails at once with {@link RejectedExecutionException} if {@link #getMaxPendingAsync()}
+   * requests are already queued.
+   *
+   * @return a future for the next {@code long}
+   */
+  public CompletableFuture<Long> nextLongAsync() {
+    return submitAsync(new AsyncRequest<>(null));
+  }
+
+  /**
+   * Returns a future for {@code length} pseudorandom bytes, which completes as {@link
+   * #nextLongAsync()}'s does. A request for more bytes than one reseeding can cover is filled over
+   * more than one.
+   *
+   * @param length the number of bytes
+   * @return a future for a new array of {@code length} bytes
+   * @throws IllegalArgumentException if {@code length} is negative
+   */
+  public CompletableFuture<byte[]> nextBytesAsync(int length) {
+    if (length < 0) {
+      throw new IllegalArgumentException("length must not be negative");
+    }
+    return submitAsync(new AsyncRequest<>(new byte[length]));
+  }
+
+  /**
+   * Returns the maximum number of requests from {@link #nextLongAsync()} and {@link
+   * #nextBytesAsync(int)} that can wait for entropy at once.
+   *
+   * @return the maximum number of queued requests
+   */
+  public int getMaxPendingAsync() {
+    return maxPendingAsync;
+  }
+
+  /**
+   * Sets the maximum number of requests from {@link #nextLongAsync()} and {@link
+   * #nextBytesAsync(int)} that can wait for entropy at once. Requests already queued aren't
+   * affected.
+   *
+   * @param maxPendingAsync the maximum number of queued requests
+   */
+  public void setMaxPendingAsync(int maxPendingAsync) {
+    this.maxPendingAsync = maxPendingAsync;
+  }
+
+  private <V> CompletableFuture<V> submitAsync(AsyncRequest<V> request) {
+    boolean filled = false;
+    boolean rejected = false;
+    asyncLock.lock();
+    try {
+      if (pendingAsync.isEmpty() && request.fill(this)) {
+        filled = true;
+      } else if (pendingAsync.size() >= maxPendingAsync) {
+        rejected = true;
+      } else {
+        pendingAsync.add(request);
+      }
+    } finally {
+      asyncLock.unlock();
+    }
+    if (filled) {
+      request.complete();
+      wakeUpSeederIfDrained();
+    } else if (rejected) {
+      request.future.completeExceptionally(
+          new RejectedExecutionException("Too many requests waiting for entropy"));
+    } else {
+      reseedForAsync();
+    }
+    return request.future;
+  }
+
+  /**
+   * Debits entropy if that won't take it below {@link #minimumEntropy}.
+   *
+   * @param bits the number of bits to debit
+   * @return true if debited; false if there wasn't enough entropy
+   */
+  private boolean tryDebitEntropy(long bits) {
+    long current;
+    do {
+      current = entropyBits.get();
+      if (current - bits < minimumEntropy) {
+        return false;
+      }
+    } while (!entropyBits.compareAndSet(current, current - bits));
+    return true;
+  }
+
+  private void wakeUpSeederIfDrained() {
+    if (entropyBits.get() <= 0) {
+      RandomSeeder seeder = getRandomSeeder();
+      if (seeder != null) {
+        seeder.wakeUp();
+      }
+    }
+  }
+
+  /**
+   * Fills queued async requests in order until one can't be filled, then completes the filled
+   * ones in a batch on the common pool. If any are still queued, requests a reseeding.
+   */
+  private void serviceAsyncRequests() {
+    if (asyncLock == null) {
+      return; // still in the super constructor
+    }
+    final List<AsyncRequest<?>> filled = new ArrayList<>();
+    final boolean stillPending;
+    asyncLock.lock();
+    try {
+      AsyncRequest<?> head;
+      while ((head = pendingAsync.peek()) != null && head.fill(this)) {
+        filled.add(pendingAsync.remove());
+      }
+      stillPending = !pendingAsync.isEmpty();
+    } finally {
+      asyncLock.unlock();
+    }
+    if (!filled.isEmpty()) {
+      ForkJoinPool.commonPool().execute(() -> filled.forEach(AsyncRequest::complete));
+    }
+    if (stillPending) {
+      reseedForAsync();
+    }
+  }
+
+  /**
+   * Gets a reseeding started for queued async requests, without blocking: wakes up the {@link
+   * RandomSeeder} if there is one, or else generates a seed with the same-thread {@link
+   * SeedGenerator} on the common pool. If there's neither, fails the queued requests.
+   */
+  private void reseedForAsync() {
+    RandomSeeder seeder = getRandomSeeder();
+    if (seeder != null) {
+      waitingOnReseed = true;
+      if (seeder.contains(this)) {
+        seeder.wakeUp();
+      } else {
+        seeder.add(this);
+      }
+      return;
+    }
+    SeedGenerator seedGenerator = sameThreadSeedGen.get();
+    if (seedGenerator == null) {
+      failAsyncRequests(new IllegalStateException("Out of entropy and no way to reseed"));
+      return;
+    }
+    if (asyncReseedScheduled.getAndSet(true)) {
+      return;
+    }
+    ForkJoinPool.commonPool().execute(() -> {
+      final byte[] newSeed;
+      try {
+        newSeed = seedGenerator.generateSeed(getNewSeedLength());
+      } catch (final RuntimeException e) {
+        asyncReseedScheduled.set(false);
+        failAsyncRequests(e);
+        return;
+      }
+      asyncReseedScheduled.set(false);
+      setSeed(newSeed);
+    });
+  }
+
+  private void failAsyncRequests(Throwable cause) {
+    final List<AsyncRequest<?>> failed;
+    asyncLock.lock();
+    try {
+      failed = new ArrayList<>(pendingAsync);
+      pendingAsync.clear();
+    } finally {
+      asyncLock.unlock();
+    }
+    failed.forEach(request -> request.future.completeExceptionally(cause));
+  }
+
   @Override public void setSeed(long seed) {
     if (seedingStatusChanged == null) {
       super.setSeed(seed);
@@ -177,6 +509,22 @@ public class EntropyBlockingRandomWrapper<T extends Random> extends RandomWrappe
     }
   }
 
+  /**
+   * Returns true only for {@link ConcurrencyMode#SYNCHRONIZED}, because blocking until reseeded
+   * requires waiting on a condition of {@link #lock}.
+   */
+  @Override public boolean supportsConcurrencyMode(final ConcurrencyMode mode) {
+    return mode == ConcurrencyMode.SYNCHRONIZED;
+  }
+
+  /**
+   * Returns true only for {@link EntropyAccountingMode#EXACT}, because deciding whether to block
+   * requires an up-to-date count after every output.
+   */
+  @Override public boolean supportsEntropyAccountingMode(final EntropyAccountingMode mode) {
+    return mode == EntropyAccountingMode.EXACT;
+  }
+
   @Override public boolean needsReseedingEarly() {
     return waitingOnReseed;
   }
@@ -213,5 +561,69 @@ public class EntropyBlockingRandomWrapper<T extends Random> extends RandomWrappe
     } finally {
       lock.unlock();
     }
+    serviceAsyncRequests();
+  }
+
+  /**
+   * Generates part of the output of a bulk operation.
+   */
+  @FunctionalInterface private interface ChunkFiller {
+    void fill(int off, int len);
+  }
+
+  /**
+   * A request from {@link #nextLongAsync()} or {@link #nextBytesAsync(int)}.
+   *
+   * @param <V> {@link Long} or {@code byte[]}
+   */
+  private static final class AsyncRequest<V> {
+    private final CompletableFuture<V> future = new CompletableFuture<>();
+    /**
+     * The output for a {@link #nextBytesAsync(int)} request; null for {@link #nextLongAsync()}.
+     */
+    @Nullable private final byte[] bytes;
+    private int bytesFilled;
+    private long longValue;
+
+    private AsyncRequest(@Nullable byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    /**
+     * Generates as much of the output as the entropy allows. A {@code long} is only generated
+     * whole, but bytes can be generated a few at a time.
+     *
+     * @param random the PRNG to generate with
+     * @return true if the output is complete
+     */
+    private boolean fill(EntropyBlockingRandomWrapper<?> random) {
+      if (bytes == null) {
+        if (!random.tryDebitEntropy(Long.SIZE)) {
+          return false;
+        }
+        longValue = random.getWrapped().nextLong();
+        return true;
+      }
+      while (bytesFilled < bytes.length) {
+        final long available = random.entropyBits.get() - random.minimumEntropy;
+        final int chunk = (int) Math.min(bytes.length - bytesFilled, available / Byte.SIZE);
+        if (chunk <= 0 || !random.tryDebitEntropy(chunk * (long) Byte.SIZE)) {
+          return false;
+        }
+        if (chunk == bytes.length) {
+          random.getWrapped().nextBytes(bytes);
+        } else {
+          final byte[] part = new byte[chunk];
+          random.getWrapped().nextBytes(part);
+          System.arraycopy(part, 0, bytes, bytesFilled, chunk);
+        }
+        bytesFilled += chunk;
+      }
+      return true;
+    }
+
+    @SuppressWarnings("unchecked") private void complete() {
+      future.complete((V) (bytes == null ? Long.valueOf(longValue) : bytes));
+    }
   }
 }
@@ -2,6 +2,7 @@ package io.github.pr0methean.betterrandom.prng.adapter;
 
 import static io.github.pr0methean.betterrandom.util.BinaryUtils.convertBytesToLong;
 
+import io.github.pr0methean.betterrandom.prng.EntropyAccountingMode;
 import io.github.pr0methean.betterrandom.seed.RandomSeeder;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
 import java.util.SplittableRandom;
@@ -83,11 +84,11 @@ public class EntropyBlockingSplittableRandomAdapter extends SplittableRandomAdap
     if (threadLocal == null) {
       return;
     }
-    getDelegateWrapper().setSeed(seed);
+    forCurrentThread().setSeed(seed);
   }
 
   @Override protected SplittableRandom getSplittableRandom() {
-    return getDelegateWrapper().getWrapped().getSplittableRandom();
+    return forCurrentThread().getWrapped().getSplittableRandom();
   }
 
   /**
@@ -95,15 +96,26 @@ public class EntropyBlockingSplittableRandomAdapter extends SplittableRandomAdap
    * @return the seed for the calling thread
    */
   @Override public byte[] getSeed() {
-    return getDelegateWrapper().getSeed();
+    return forCurrentThread().getSeed();
+  }
+
+  /**
+   * Returns true only for {@link EntropyAccountingMode#EXACT}, like {@link
+   * EntropyBlockingRandomWrapper#supportsEntropyAccountingMode(EntropyAccountingMode)}.
+   */
+  @Override public boolean supportsEntropyAccountingMode(final EntropyAccountingMode mode) {
+    return mode == EntropyAccountingMode.EXACT;
   }
 
   @Override protected void debitEntropy(long bits) {
-    getDelegateWrapper().debitEntropy(bits);
+    forCurrentThread().debitEntropy(bits);
   }
 
-  @SuppressWarnings("unchecked")
-  private EntropyBlockingRandomWrapper<SingleThreadSplittableRandomAdapter> getDelegateWrapper() {
+  /**
+   * {@inheritDoc} The delegate blocks waiting to be reseeded just as this adapter does.
+   */
+  @SuppressWarnings("unchecked") @Override
+  public EntropyBlockingRandomWrapper<SingleThreadSplittableRandomAdapter> forCurrentThread() {
     return (EntropyBlockingRandomWrapper<SingleThreadSplittableRandomAdapter>) threadLocal.get();
   }
 }
@@ -0,0 +1,313 @@
+package io.github.pr0methean.betterrandom.prng.adapter;
+
+import com.google.common.base.MoreObjects.ToStringHelper;
+import io.github.pr0methean.betterrandom.prng.BaseRandom;
+import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+
+/**
+ * <p>Wraps a {@link BaseRandom} and serves its output from blocks of {@code long}s generated in
+ * advance on an {@link Executor}, so that the cost of a slow engine (such as an {@link
+ * io.github.pr0methean.betterrandom.prng.AesCounterRandom}) is paid off the calling thread. While
+ * one block is being read through an atomic cursor, without taking {@link #lock}, the next is
+ * filled by calling {@link BaseRandom#nextLongs(long[])} on the wrapped PRNG. If the next block
+ * isn't ready when the current one runs out, the caller waits for it.</p>
+ *
+ * <p>Every {@code long}, {@code int}, {@code double} and so on is taken from the next {@code long}
+ * of the wrapped PRNG's output, in order, so output for a given seed is repeatable when the
+ * instance is used from one thread. Reseeding (including by a {@link
+ * io.github.pr0methean.betterrandom.seed.RandomSeeder}) reseeds the wrapped PRNG and discards both
+ * the current block and any block still being filled. Entropy is debited from this instance as its
+ * output is consumed; the wrapped PRNG's own count is debited as blocks are filled, so a {@link
+ * io.github.pr0methean.betterrandom.seed.RandomSeeder} should be attached to this instance rather
+ * than to the wrapped one.</p>
+ *
+ * <p>Prefetched output is serialized along with the wrapped PRNG, so a deserialized copy produces
+ * the same output as the original. The {@link Executor} isn't serialized; a deserialized instance
+ * uses {@link ForkJoinPool#commonPool()}.</p>
+ *
+ * @param <T> the type of the wrapped PRNG
+ */
+public class PrefetchingRandom<T extends BaseRandom> extends BaseRandom {
+
+  private static final long serialVersionUID = 2920497355390155082L;
+  /**
+   * Number of {@code long}s per block when none is specified.
+   */
+  public static final int DEFAULT_BLOCK_SIZE = 512;
+  private static final double RANDOM_DOUBLE_INCR = 0x1.0p-53;
+  private static final long[] EMPTY = new long[0];
+
+  // WARNING: Don't initialize any instance fields at declaration; they may be initialized too late!
+  private final T wrapped;
+  private final int blockSize;
+  private transient Executor executor;
+  /**
+   * Held while the wrapped PRNG is generating a block or being reseeded, so that a reseed can't
+   * interleave with a fill.
+   */
+  private transient ReentrantLock refillLock;
+  /**
+   * Incremented on every reseed. A fill started before the latest reseed returns null.
+   */
+  private transient volatile int generation;
+  private transient volatile Block current;
+  /**
+   * The next block, or null if it will be generated on the calling thread. Replaced only while
+   * {@link #lock} is held.
+   */
+  @Nullable private transient volatile CompletableFuture<long[]> pending;
+
+  /**
+   * Creates an instance that prefetches {@link #DEFAULT_BLOCK_SIZE} {@code long}s at a time on
+   * {@link ForkJoinPool#commonPool()}.
+   *
+   * @param wrapped the PRNG to wrap; it shouldn't be used directly afterwards
+   */
+  @EntryPoint public PrefetchingRandom(final T wrapped) {
+    this(wrapped, DEFAULT_BLOCK_SIZE, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param wrapped the PRNG to wrap; it shouldn't be used directly afterwards
+   * @param blockSize the number of {@code long}s to generate at once
+   * @param executor the executor that will fill blocks in advance
+   * @throws IllegalArgumentException if {@code blockSize} isn't positive
+   */
+  @EntryPoint public PrefetchingRandom(final T wrapped, final int blockSize,
+      final Executor executor) {
+    super(wrapped.getSeed());
+    if (blockSize <= 0) {
+      throw new IllegalArgumentException("blockSize must be positive");
+    }
+    this.wrapped = wrapped;
+    this.blockSize = blockSize;
+    this.executor = executor;
+    entropyBits.set(wrapped.getEntropyBits());
+    lock.lock();
+    try {
+      schedulePrefetch();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override protected void initTransientFields() {
+    super.initTransientFields();
+    if (executor == null) {
+      executor = ForkJoinPool.commonPool();
+    }
+    refillLock = new ReentrantLock();
+    current = new Block(EMPTY);
+  }
+
+  /**
+   * Returns the wrapped PRNG. Its state is ahead of this instance's output by up to two blocks.
+   *
+   * @return the wrapped PRNG
+   */
+  public T getWrapped() {
+    return wrapped;
+  }
+
+  /**
+   * Starts filling the block after {@link #current}. Called with {@link #lock} held.
+   */
+  private void schedulePrefetch() {
+    final int expectedGeneration = generation;
+    try {
+      pending = CompletableFuture.supplyAsync(() -> fill(expectedGeneration), executor);
+    } catch (final RejectedExecutionException e) {
+      pending = null;
+    }
+  }
+
+  /**
+   * Generates a block, unless the wrapped PRNG has been reseeded since the fill was requested.
+   *
+   * @param expectedGeneration the value of {@link #generation} when the fill was requested
+   * @return the block, or null if it would have come from a stale seed
+   */
+  @Nullable private long[] fill(final int expectedGeneration) {
+    refillLock.lock();
+    try {
+      if (generation != expectedGeneration) {
+        return null;
+      }
+      final long[] values = new long[blockSize];
+      wrapped.nextLongs(values);
+      return values;
+    } finally {
+      refillLock.unlock();
+    }
+  }
+
+  /**
+   * Replaces {@link #current} with the prefetched block, unless another thread already has, and
+   * starts prefetching the one after.
+   *
+   * @param exhausted the block that ran out
+   */
+  private void advance(final Block exhausted) {
+    lock.lock();
+    try {
+      if (current != exhausted) {
+        return;
+      }
+      final CompletableFuture<long[]> next = pending;
+      long[] values = (next == null) ? null : next.join();
+      if (values == null) {
+        values = fill(generation);
+      }
+      current = new Block(values);
+      schedulePrefetch();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override protected long nextLongNoEntropyDebit() {
+    while (true) {
+      final Block block = current;
+      final int index = block.cursor.getAndIncrement();
+      if (index < block.values.length) {
+        return block.values[index];
+      }
+      advance(block);
+    }
+  }
+
+  /**
+   * Copies as many values at once from each block as possible.
+   */
+  @Override protected void nextLongsNoEntropyDebit(final long[] out, final int off,
+      final int len) {
+    int index = off;
+    final int end = off + len;
+    while (index < end) {
+      final Block block = current;
+      final int start = block.cursor.get();
+      final int available = block.values.length - start;
+      if (available <= 0) {
+        advance(block);
+        continue;
+      }
+      final int count = Math.min(available, end - index);
+      if (block.cursor.compareAndSet(start, start + count)) {
+        System.arraycopy(block.values, start, out, index, count);
+        index += count;
+      }
+    }
+  }
+
+  @Override protected int next(final int bits) {
+    return (int) (nextLongNoEntropyDebit() >>> (Long.SIZE - bits));
+  }
+
+  @Override protected double nextDoubleNoEntropyDebit() {
+    return (nextLongNoEntropyDebit() >>> (Long.SIZE - ENTROPY_OF_DOUBLE)) * RANDOM_DOUBLE_INCR;
+  }
+
+  @Override protected void nextBytesNoEntropyDebit(final byte[] bytes, final int off,
+      final int len) {
+    nextBytesFromLongsNoEntropyDebit(bytes, off, len);
+  }
+
+  /**
+   * Generates a new seed with the {@link io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator}
+   * unless the wrapped PRNG takes an 8-byte seed.
+   */
+  @Override public void setSeed(final long seed) {
+    if (getNewSeedLength() == Long.BYTES) {
+      super.setSeed(seed);
+    } else {
+      fallbackSetSeedIfInitialized();
+    }
+  }
+
+  /**
+   * Reseeds the wrapped PRNG and discards all prefetched output.
+   */
+  @Override protected void setSeedInternal(final byte[] seed) {
+    if (seed == null) {
+      throw new IllegalArgumentException("Seed must not be null");
+    }
+    if (wrapped != null) {
+      refillLock.lock();
+      try {
+        wrapped.setSeed(seed);
+        generation++;
+      } finally {
+        refillLock.unlock();
+      }
+      current = new Block(EMPTY);
+      pending = null;
+    }
+    super.setSeedInternal(seed);
+  }
+
+  @Override protected boolean supportsMultipleSeedLengths() {
+    return true; // Seed-length checking is done by wrapped
+  }
+
+  @Override public int getNewSeedLength() {
+    return (wrapped == null) ? 0 : wrapped.getNewSeedLength();
+  }
+
+  /**
+   * Writes the output that has been prefetched but not yet used after the wrapped PRNG, so that
+   * the deserialized copy continues where this one will.
+   */
+  private void writeObject(final ObjectOutputStream out) throws IOException {
+    lock.lock();
+    try {
+      final Block block = current;
+      final int start = Math.min(block.cursor.get(), block.values.length);
+      final CompletableFuture<long[]> next = pending;
+      final long[] nextValues = (next == null) ? null : next.join();
+      final int nextLength = (nextValues == null) ? 0 : nextValues.length;
+      final long[] unread = new long[block.values.length - start + nextLength];
+      System.arraycopy(block.values, start, unread, 0, block.values.length - start);
+      if (nextValues != null) {
+        System.arraycopy(nextValues, 0, unread, block.values.length - start, nextLength);
+      }
+      out.defaultWriteObject();
+      out.writeObject(unread);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    current = new Block((long[]) in.readObject());
+  }
+
+  @Override protected ToStringHelper addSubclassFields(final ToStringHelper original) {
+    return original.add("wrapped", wrapped.dump()).add("blockSize", blockSize)
+        .add("executor", executor);
+  }
+
+  /**
+   * A block of prefetched output and the index of the next value to be read from it.
+   */
+  private static final class Block {
+    final long[] values;
+    final AtomicInteger cursor = new AtomicInteger();
+
+    Block(final long[] values) {
+      this.values = values;
+    }
+  }
+}
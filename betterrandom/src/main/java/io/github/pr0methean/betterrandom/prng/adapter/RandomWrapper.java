@@ -25,6 +25,7 @@ import io.github.pr0methean.betterrandom.seed.SeedGenerator;
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
 import io.github.pr0methean.betterrandom.util.Dumpable;
 import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.util.Random;
 
@@ -36,6 +37,8 @@ import java.util.Random;
  * from multiple threads, at least on JDK 7 and 8, if the calls include e.g. {@link #nextLong()},
  * {@link #nextGaussian()} or {@link #nextDouble()}. However, {@link #nextInt()} will still be
  * transactional.</p>
+ * <p>Reading the wrapped PRNG doesn't lock, so when the delegate is itself thread-safe (e.g. a
+ * {@link SecureRandom}), this adds little to each call but the delegation itself.</p>
  *
  * @author Chris Hennick
  */
@@ -43,6 +46,10 @@ public class RandomWrapper<T extends Random> extends BaseRandom {
 
   private static final byte[] DUMMY_SEED = new byte[8];
   private static final long serialVersionUID = -6526304552538799385L;
+  /**
+   * Read without locking. Written last by {@link #setWrapped(Random)}, so that whoever sees the new
+   * PRNG here also sees the seed and entropy count that go with it.
+   */
   private volatile T wrapped;
   private volatile boolean unknownSeed;
 
@@ -137,8 +144,9 @@ public class RandomWrapper<T extends Random> extends BaseRandom {
   }
 
   @Override protected int next(final int bits) {
-    return (bits >= 32) ? getWrapped().nextInt() :
-        (bits == 31) ? getWrapped().nextInt() >>> 1 : getWrapped().nextInt(1 << bits);
+    final T currentWrapped = wrapped;
+    return (bits >= 32) ? currentWrapped.nextInt() :
+        (bits == 31) ? currentWrapped.nextInt() >>> 1 : currentWrapped.nextInt(1 << bits);
   }
 
   /**
@@ -147,26 +155,22 @@ public class RandomWrapper<T extends Random> extends BaseRandom {
    * @return the wrapped {@link Random} instance
    */
   @EntryPoint public T getWrapped() {
-    lock.lock();
-    try {
-      return wrapped;
-    } finally {
-      lock.unlock();
-    }
+    return wrapped;
   }
 
   /**
-   * Replaces the wrapped PRNG with the given one on subsequent calls.
+   * Replaces the wrapped PRNG with the given one on subsequent calls. Calls that began before this
+   * one may still finish with the old PRNG.
    *
    * @param wrapped an {@link Random} instance to wrap
    */
   @EntryPoint public void setWrapped(final T wrapped) {
     lock.lock();
     try {
-      this.wrapped = wrapped;
       readEntropyOfWrapped(wrapped);
       seed = getSeedOrDummy(wrapped);
       unknownSeed = !(wrapped instanceof RepeatableRandom);
+      this.wrapped = wrapped;
     } finally {
       lock.unlock();
     }
@@ -278,30 +282,18 @@ public class RandomWrapper<T extends Random> extends BaseRandom {
     if (lock == null) {
       return false; // safe default
     }
-    lock.lock();
-    try {
-      final Random currentWrapped = getWrapped();
-      return !(currentWrapped instanceof ByteArrayReseedableRandom) ||
-          ((ByteArrayReseedableRandom) currentWrapped).preferSeedWithLong();
-    } finally {
-      lock.unlock();
-    }
+    final Random currentWrapped = wrapped;
+    return !(currentWrapped instanceof ByteArrayReseedableRandom) ||
+        ((ByteArrayReseedableRandom) currentWrapped).preferSeedWithLong();
   }
 
   @Override public int getNewSeedLength() {
-    if (lock == null) {
+    final Random currentWrapped = wrapped;
+    if (currentWrapped == null) {
       return 0; // can't use a seed yet
     }
-    lock.lock();
-    try {
-      if (wrapped == null) {
-        return 0;
-      }
-      return (wrapped instanceof ByteArrayReseedableRandom) ?
-          ((ByteArrayReseedableRandom) wrapped).getNewSeedLength() : Long.BYTES;
-    } finally {
-      lock.unlock();
-    }
+    return (currentWrapped instanceof ByteArrayReseedableRandom) ?
+        ((ByteArrayReseedableRandom) currentWrapped).getNewSeedLength() : Long.BYTES;
   }
 
   @Override public void nextBytes(final byte[] bytes) {
@@ -309,6 +301,20 @@ public class RandomWrapper<T extends Random> extends BaseRandom {
     getWrapped().nextBytes(bytes);
   }
 
+  /**
+   * If the wrapped PRNG is a {@link BaseRandom}, delegates to its {@link
+   * BaseRandom#nextBytes(ByteBuffer)} so that it can write to the buffer directly.
+   */
+  @Override public void nextBytes(final ByteBuffer dest) {
+    final T wrapped = getWrapped();
+    if (wrapped instanceof BaseRandom) {
+      debitEntropy(dest.remaining() * (long) (Byte.SIZE));
+      ((BaseRandom) wrapped).nextBytes(dest);
+    } else {
+      super.nextBytes(dest);
+    }
+  }
+
   @Override public int nextInt() {
     debitEntropy(Integer.SIZE);
     return getWrapped().nextInt();
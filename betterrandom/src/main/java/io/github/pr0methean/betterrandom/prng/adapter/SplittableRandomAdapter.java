@@ -2,6 +2,7 @@ package io.github.pr0methean.betterrandom.prng.adapter;
 
 import com.google.common.base.MoreObjects.ToStringHelper;
 import io.github.pr0methean.betterrandom.prng.BaseRandom;
+import io.github.pr0methean.betterrandom.prng.EntropyAccountingMode;
 import io.github.pr0methean.betterrandom.seed.RandomSeeder;
 import io.github.pr0methean.betterrandom.seed.SeedException;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
@@ -74,7 +75,20 @@ public class SplittableRandomAdapter extends BaseSplittableRandomAdapter {
       SingleThreadSplittableRandomAdapter threadAdapter =
           new SingleThreadSplittableRandomAdapter(this.seedGenerator);
       threadAdapter.setRandomSeeder(this.randomSeeder.get());
-      return threadAdapter;
+      return ThreadLocalRandomWrapper.confine(threadAdapter);
+  }
+
+  /**
+   * Returns the calling thread's delegate, which the methods of this adapter otherwise look up on
+   * every call. A loop that draws many values can call this once and use the delegate directly.
+   * The delegate is still reseeded by this adapter's {@link RandomSeeder}, but it must only be used
+   * on the calling thread, and it counts entropy by its own {@link EntropyAccountingMode} rather
+   * than this adapter's.
+   *
+   * @return the calling thread's delegate
+   */
+  public BaseRandom forCurrentThread() {
+    return threadLocal.get();
   }
 
   @Override public long getEntropyBits() {
@@ -110,7 +124,16 @@ public class SplittableRandomAdapter extends BaseSplittableRandomAdapter {
     return threadLocal.get().nextGaussian();
   }
 
+  /**
+   * Debits the current thread's delegate, unless the {@link EntropyAccountingMode} is {@link
+   * EntropyAccountingMode#NONE}, in which case even the thread-local lookup is skipped. Since each
+   * delegate is only used by one thread, {@link EntropyAccountingMode#STRIPED} is the same as
+   * {@link EntropyAccountingMode#EXACT}.
+   */
   @Override protected void debitEntropy(final long bits) {
+    if (getEntropyAccountingMode() == EntropyAccountingMode.NONE) {
+      return;
+    }
     // Necessary because our inherited next* methods read straight through to the SplittableRandom.
     ((SingleThreadSplittableRandomAdapter) threadLocal.get()).debitEntropy(bits);
   }
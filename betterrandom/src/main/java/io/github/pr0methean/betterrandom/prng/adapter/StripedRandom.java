@@ -0,0 +1,469 @@
+package io.github.pr0methean.betterrandom.prng.adapter;
+
+import com.google.common.base.MoreObjects.ToStringHelper;
+import io.github.pr0methean.betterrandom.prng.BaseRandom;
+import io.github.pr0methean.betterrandom.prng.EntropyAccountingMode;
+import io.github.pr0methean.betterrandom.seed.RandomSeeder;
+import io.github.pr0methean.betterrandom.util.EntryPoint;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+
+/**
+ * <p>Thread-safe PRNG that spreads its callers over a fixed set of delegates, or "stripes". By
+ * default there is one stripe per available processor, rounded up to a power of 2. Each call locks
+ * one stripe using {@link ReentrantLock#tryLock()}, starting with one chosen by hashing the calling
+ * thread's ID; if that stripe is busy, it tries others in a pseudorandom order, as {@link
+ * java.util.concurrent.atomic.LongAdder} does with its cells, and only waits once it has found
+ * every stripe busy.</p>
+ *
+ * <p>{@link ThreadLocalRandomWrapper} and {@link SplittableRandomAdapter} create, seed and keep
+ * track of a delegate for every thread that uses them. This class bounds that cost by the number of
+ * stripes instead, so it suits virtual threads and very large thread pools.</p>
+ *
+ * <p>Since the stripe each call uses depends on contention, output isn't repeatable. Each stripe
+ * keeps its own entropy count, and {@link #getEntropyBits()} returns the lowest. A {@link
+ * RandomSeeder} set with {@link #setRandomSeeder(RandomSeeder)} reseeds each stripe separately,
+ * and {@link #setSeed(byte[])} reseeds whichever stripe the calling thread would use.</p>
+ *
+ * @param <T> the type of the stripes
+ */
+public class StripedRandom<T extends BaseRandom> extends BaseRandom {
+
+  private static final long serialVersionUID = -3316806325012950412L;
+  /**
+   * Multiplier for hashing thread IDs: 2<sup>64</sup> divided by the golden ratio.
+   */
+  private static final long THREAD_ID_MULTIPLIER = 0x9E37_79B9_7F4A_7C15L;
+
+  // WARNING: Don't initialize any instance fields at declaration; they may be initialized too late!
+  private final BaseRandom[] stripes;
+  /**
+   * One lock per stripe; holding it is the only way to use the stripe.
+   */
+  private transient ReentrantLock[] stripeLocks;
+
+  /**
+   * Creates an instance with one stripe per available processor, rounded up to a power of 2.
+   *
+   * @param creator called once per stripe to create it
+   */
+  @EntryPoint public StripedRandom(final Supplier<? extends T> creator) {
+    this(defaultStripeCount(), creator);
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param stripeCount the number of stripes; must be a power of 2
+   * @param creator called once per stripe to create it
+   * @throws IllegalArgumentException if {@code stripeCount} isn't a power of 2
+   */
+  @EntryPoint public StripedRandom(final int stripeCount, final Supplier<? extends T> creator) {
+    this(createStripes(stripeCount, creator));
+  }
+
+  private StripedRandom(final BaseRandom[] stripes) {
+    super(stripes[0].getSeed());
+    this.stripes = stripes;
+    createStripeLocks();
+  }
+
+  private static int defaultStripeCount() {
+    return 1 << (Integer.SIZE - Integer.numberOfLeadingZeros(
+        Runtime.getRuntime().availableProcessors() - 1));
+  }
+
+  private static BaseRandom[] createStripes(final int stripeCount,
+      final Supplier<? extends BaseRandom> creator) {
+    if ((stripeCount <= 0) || (Integer.bitCount(stripeCount) != 1)) {
+      throw new IllegalArgumentException("stripeCount must be a power of 2; got " + stripeCount);
+    }
+    final BaseRandom[] stripes = new BaseRandom[stripeCount];
+    for (int i = 0; i < stripeCount; i++) {
+      // Not confined, since successive holders of a stripe's lock are different threads
+      stripes[i] = creator.get();
+    }
+    return stripes;
+  }
+
+  private void createStripeLocks() {
+    stripeLocks = new ReentrantLock[stripes.length];
+    for (int i = 0; i < stripes.length; i++) {
+      stripeLocks[i] = new ReentrantLock();
+    }
+  }
+
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    createStripeLocks();
+  }
+
+  /**
+   * Returns the number of stripes.
+   *
+   * @return the number of stripes
+   */
+  public int getStripeCount() {
+    return stripes.length;
+  }
+
+  @SuppressWarnings("unchecked") private T getStripe(final int index) {
+    return (T) stripes[index];
+  }
+
+  /**
+   * Returns a nonzero hash of the calling thread's ID, which selects the first stripe to try.
+   */
+  private static int threadHash() {
+    final int hash =
+        (int) ((Thread.currentThread().getId() * THREAD_ID_MULTIPLIER) >>> Integer.SIZE);
+    return (hash == 0) ? 1 : hash;
+  }
+
+  /**
+   * Locks a stripe that isn't in use, if one can be found, or else the calling thread's first
+   * choice once it's free.
+   *
+   * @return the index of the locked stripe
+   */
+  private int lockStripe() {
+    final int mask = stripes.length - 1;
+    final int firstChoice = threadHash();
+    int hash = firstChoice;
+    for (int attempt = 0; attempt < stripes.length; attempt++) {
+      final int index = hash & mask;
+      if (stripeLocks[index].tryLock()) {
+        return index;
+      }
+      // Xorshift, as in LongAdder, to try the stripes in a different order on each thread
+      hash ^= hash << 13;
+      hash ^= hash >>> 17;
+      hash ^= hash << 5;
+    }
+    final int index = firstChoice & mask;
+    stripeLocks[index].lock();
+    return index;
+  }
+
+  @Override protected int next(final int bits) {
+    return nextInt() >>> (Integer.SIZE - bits);
+  }
+
+  @Override protected boolean withProbabilityInternal(final double probability) {
+    throw new AssertionError("Caller should be delegating at a higher level");
+  }
+
+  @Override public boolean withProbability(final double probability) {
+    final int index = lockStripe();
+    try {
+      return getStripe(index).withProbability(probability);
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public void nextBytes(final byte[] bytes) {
+    final int index = lockStripe();
+    try {
+      getStripe(index).nextBytes(bytes);
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public void nextBytes(final ByteBuffer dest) {
+    final int index = lockStripe();
+    try {
+      getStripe(index).nextBytes(dest);
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public int nextInt() {
+    final int index = lockStripe();
+    try {
+      return getStripe(index).nextInt();
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public int nextInt(final int bound) {
+    final int index = lockStripe();
+    try {
+      return getStripe(index).nextInt(bound);
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public int nextInt(final int origin, final int bound) {
+    final int index = lockStripe();
+    try {
+      return getStripe(index).nextInt(origin, bound);
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public long nextLong() {
+    final int index = lockStripe();
+    try {
+      return getStripe(index).nextLong();
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public long nextLong(final long bound) {
+    final int index = lockStripe();
+    try {
+      return getStripe(index).nextLong(bound);
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public long nextLong(final long origin, final long bound) {
+    final int index = lockStripe();
+    try {
+      return getStripe(index).nextLong(origin, bound);
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override protected long nextLongNoEntropyDebit() {
+    throw new AssertionError("Caller should be delegating at a higher level");
+  }
+
+  @Override public void nextInts(final int[] out, final int off, final int len) {
+    final int index = lockStripe();
+    try {
+      getStripe(index).nextInts(out, off, len);
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public void nextInts(final int[] out, final int off, final int len, final int origin,
+      final int bound) {
+    final int index = lockStripe();
+    try {
+      getStripe(index).nextInts(out, off, len, origin, bound);
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public void nextLongs(final long[] out, final int off, final int len) {
+    final int index = lockStripe();
+    try {
+      getStripe(index).nextLongs(out, off, len);
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public void nextLongs(final long[] out, final int off, final int len,
+      final long origin, final long bound) {
+    final int index = lockStripe();
+    try {
+      getStripe(index).nextLongs(out, off, len, origin, bound);
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public void nextDoubles(final double[] out, final int off, final int len) {
+    final int index = lockStripe();
+    try {
+      getStripe(index).nextDoubles(out, off, len);
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public void nextDoubles(final double[] out, final int off, final int len,
+      final double origin, final double bound) {
+    final int index = lockStripe();
+    try {
+      getStripe(index).nextDoubles(out, off, len, origin, bound);
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public void nextFloats(final float[] out, final int off, final int len) {
+    final int index = lockStripe();
+    try {
+      getStripe(index).nextFloats(out, off, len);
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public void nextGaussians(final double[] out, final int off, final int len) {
+    final int index = lockStripe();
+    try {
+      getStripe(index).nextGaussians(out, off, len);
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public boolean nextBoolean() {
+    final int index = lockStripe();
+    try {
+      return getStripe(index).nextBoolean();
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public float nextFloat() {
+    final int index = lockStripe();
+    try {
+      return getStripe(index).nextFloat();
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public double nextDouble() {
+    final int index = lockStripe();
+    try {
+      return getStripe(index).nextDouble();
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override protected double nextDoubleNoEntropyDebit() {
+    throw new AssertionError("Caller should be delegating at a higher level");
+  }
+
+  @Override public double nextGaussian() {
+    final int index = lockStripe();
+    try {
+      return getStripe(index).nextGaussian();
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public double nextExponential() {
+    final int index = lockStripe();
+    try {
+      return getStripe(index).nextExponential();
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override public boolean usesParallelStreams() {
+    return true;
+  }
+
+  /**
+   * Returns the seed of the stripe the calling thread would try first.
+   */
+  @Override public byte[] getSeed() {
+    return stripes[threadHash() & (stripes.length - 1)].getSeed();
+  }
+
+  @Override public void setSeed(final long seed) {
+    if (stripes != null) {
+      final int index = lockStripe();
+      try {
+        getStripe(index).setSeed(seed);
+      } finally {
+        stripeLocks[index].unlock();
+      }
+    }
+  }
+
+  /**
+   * Reseeds one stripe: whichever one the calling thread would use. Only records the seed while
+   * this instance is being constructed or deserialized.
+   */
+  @Override protected void setSeedInternal(final byte[] seed) {
+    if (seed == null) {
+      throw new IllegalArgumentException("Seed must not be null");
+    }
+    if (stripes == null) {
+      this.seed = seed.clone();
+      return;
+    }
+    final int index = lockStripe();
+    try {
+      getStripe(index).setSeed(seed);
+    } finally {
+      stripeLocks[index].unlock();
+    }
+  }
+
+  @Override protected boolean supportsMultipleSeedLengths() {
+    return true; // Seed-length checking is done by the stripes
+  }
+
+  @Override public int getNewSeedLength() {
+    return (stripes == null) ? 0 : stripes[0].getNewSeedLength();
+  }
+
+  /**
+   * Returns the lowest entropy count of any stripe.
+   */
+  @Override public long getEntropyBits() {
+    long min = Long.MAX_VALUE;
+    for (final BaseRandom stripe : stripes) {
+      min = Math.min(min, stripe.getEntropyBits());
+    }
+    return min;
+  }
+
+  /**
+   * Returns true only for {@link EntropyAccountingMode#EXACT}, since each stripe keeps its own
+   * count. To change how the stripes count entropy, change the mode of each one as it's created.
+   */
+  @Override public boolean supportsEntropyAccountingMode(final EntropyAccountingMode mode) {
+    return mode == EntropyAccountingMode.EXACT;
+  }
+
+  @Override protected void debitEntropy(final long bits) {
+    throw new AssertionError("Caller should be delegating at a higher level");
+  }
+
+  /**
+   * Returns the {@link RandomSeeder} that reseeds the stripes.
+   */
+  @Nullable @Override public RandomSeeder getRandomSeeder() {
+    return (stripes == null) ? null : stripes[0].getRandomSeeder();
+  }
+
+  /**
+   * Registers each stripe, rather than this instance, with the {@link RandomSeeder}, so that each
+   * is reseeded when its own entropy runs out.
+   */
+  @Override public void setRandomSeeder(@Nullable final RandomSeeder randomSeeder) {
+    for (int i = 0; i < stripes.length; i++) {
+      // Like every other access to a stripe, this waits for any call in progress on it
+      stripeLocks[i].lock();
+      try {
+        stripes[i].setRandomSeeder(randomSeeder);
+      } finally {
+        stripeLocks[i].unlock();
+      }
+    }
+  }
+
+  @Override protected ToStringHelper addSubclassFields(final ToStringHelper original) {
+    return original.add("stripes", stripes.length)
+        .add("first stripe", stripes[0].dump());
+  }
+}
@@ -2,6 +2,8 @@ package io.github.pr0methean.betterrandom.prng.adapter;
 
 import com.google.common.base.MoreObjects.ToStringHelper;
 import io.github.pr0methean.betterrandom.prng.BaseRandom;
+import io.github.pr0methean.betterrandom.prng.ConcurrencyMode;
+import io.github.pr0methean.betterrandom.prng.EntropyAccountingMode;
 import io.github.pr0methean.betterrandom.seed.RandomSeeder;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
@@ -11,6 +13,7 @@ import io.github.pr0methean.betterrandom.util.SerializableLongFunction;
 import io.github.pr0methean.betterrandom.util.SerializableSupplier;
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
 import java.util.Random;
 import java.util.Set;
 import java.util.function.Function;
@@ -44,9 +47,9 @@ public class ThreadLocalRandomWrapper<T extends BaseRandom> extends RandomWrappe
     this.seedSize = seedSize;
     initializer = () -> {
       threadsInitializedFor.add(Thread.currentThread());
-      return undecoratedInitializer.get();
+      return confine(undecoratedInitializer.get());
     };
-    this.initializerForSeed = initializerForSeed;
+    this.initializerForSeed = seed -> confine(initializerForSeed.apply(seed));
     threadLocal = ThreadLocal.withInitial(initializer);
   }
 
@@ -96,6 +99,23 @@ public class ThreadLocalRandomWrapper<T extends BaseRandom> extends RandomWrappe
         bytes -> new RandomWrapper<>(legacyCreator.apply(BinaryUtils.convertBytesToLong(bytes))));
   }
 
+  /**
+   * Switches a newly-created delegate to {@link ConcurrencyMode#CONFINED}, since only the thread
+   * that created it will use it, unless it supports only {@link ConcurrencyMode#SYNCHRONIZED} or
+   * will be reseeded by a {@link RandomSeeder} on another thread.
+   *
+   * @param delegate a delegate that no other thread has accessed yet
+   * @param <T> the type of {@code delegate}
+   * @return {@code delegate}
+   */
+  static <T extends BaseRandom> T confine(final T delegate) {
+    if (delegate.getRandomSeeder() == null
+        && delegate.supportsConcurrencyMode(ConcurrencyMode.CONFINED)) {
+      delegate.setConcurrencyMode(ConcurrencyMode.CONFINED);
+    }
+    return delegate;
+  }
+
   @Nullable @Override public RandomSeeder getRandomSeeder() {
     return null;
   }
@@ -149,6 +169,10 @@ public class ThreadLocalRandomWrapper<T extends BaseRandom> extends RandomWrappe
     getWrapped().nextBytes(bytes);
   }
 
+  @Override public void nextBytes(final ByteBuffer dest) {
+    getWrapped().nextBytes(dest);
+  }
+
   @Override public int nextInt() {
     return getWrapped().nextInt();
   }
@@ -157,6 +181,37 @@ public class ThreadLocalRandomWrapper<T extends BaseRandom> extends RandomWrappe
     return getWrapped().nextInt(bound);
   }
 
+  @Override public void nextInts(final int[] out, final int off, final int len) {
+    getWrapped().nextInts(out, off, len);
+  }
+
+  @Override public void nextInts(final int[] out, final int off, final int len, final int origin,
+      final int bound) {
+    getWrapped().nextInts(out, off, len, origin, bound);
+  }
+
+  @Override public void nextLongs(final long[] out, final int off, final int len) {
+    getWrapped().nextLongs(out, off, len);
+  }
+
+  @Override public void nextLongs(final long[] out, final int off, final int len,
+      final long origin, final long bound) {
+    getWrapped().nextLongs(out, off, len, origin, bound);
+  }
+
+  @Override public void nextDoubles(final double[] out, final int off, final int len) {
+    getWrapped().nextDoubles(out, off, len);
+  }
+
+  @Override public void nextDoubles(final double[] out, final int off, final int len,
+      final double origin, final double bound) {
+    getWrapped().nextDoubles(out, off, len, origin, bound);
+  }
+
+  @Override public void nextFloats(final float[] out, final int off, final int len) {
+    getWrapped().nextFloats(out, off, len);
+  }
+
   @Override protected long nextLongNoEntropyDebit() {
     throw new AssertionError("Caller should be delegating at a higher level");
   }
@@ -177,6 +232,14 @@ public class ThreadLocalRandomWrapper<T extends BaseRandom> extends RandomWrappe
     return getWrapped().nextGaussian();
   }
 
+  @Override public double nextExponential() {
+    return getWrapped().nextExponential();
+  }
+
+  @Override public void nextGaussians(final double[] out, final int off, final int len) {
+    getWrapped().nextGaussians(out, off, len);
+  }
+
   @Override public double nextDouble() {
     return getWrapped().nextDouble();
   }
@@ -218,6 +281,15 @@ public class ThreadLocalRandomWrapper<T extends BaseRandom> extends RandomWrappe
     }
   }
 
+  /**
+   * Returns true only for {@link EntropyAccountingMode#EXACT}, since each thread's delegate keeps
+   * its own count and is already used by only one thread. To change how the delegates count
+   * entropy, change the mode of each one as it's created.
+   */
+  @Override public boolean supportsEntropyAccountingMode(final EntropyAccountingMode mode) {
+    return mode == EntropyAccountingMode.EXACT;
+  }
+
   @Override protected void debitEntropy(final long bits) {
     throw new AssertionError("Caller should be delegating at a higher level");
   }
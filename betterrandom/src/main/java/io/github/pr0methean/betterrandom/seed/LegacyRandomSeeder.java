@@ -5,10 +5,11 @@ import io.github.pr0methean.betterrandom.util.MoreCollections;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
-import org.slf4j.LoggerFactory;
 
 /**
  * A {@link RandomSeeder} that can reseed any instance of {@link Random}.
@@ -109,43 +110,53 @@ public final class LegacyRandomSeeder extends RandomSeeder {
   }
 
   /**
-   * Creates an instance using a {@link DefaultThreadFactory}.
+   * Creates an instance that runs on the {@linkplain #getSharedScheduler() shared scheduler}.
    *
    * @param seedGenerator the seed generator
    */
   public LegacyRandomSeeder(final SeedGenerator seedGenerator) {
-    this(seedGenerator, new DefaultThreadFactory("LegacyRandomSeeder for " + seedGenerator));
+    this(seedGenerator, getSharedScheduler());
+  }
+
+  /**
+   * Creates an instance that runs on the given scheduler, and will stop if no PRNGs have been
+   * associated with it for 5 seconds.
+   *
+   * @param seedGenerator the seed generator
+   * @param scheduler the scheduler that will run this seeder's iterations
+   */
+  public LegacyRandomSeeder(final SeedGenerator seedGenerator,
+      ScheduledExecutorService scheduler) {
+    this(seedGenerator, scheduler, DEFAULT_STOP_IF_EMPTY_FOR_NANOS);
+  }
+
+  /**
+   * Creates an instance that runs on the given scheduler.
+   *
+   * @param seedGenerator the seed generator
+   * @param scheduler the scheduler that will run this seeder's iterations
+   * @param stopIfEmptyForNanos time in nanoseconds after which this seeder will stop if no PRNGs
+   *     are attached
+   */
+  public LegacyRandomSeeder(final SeedGenerator seedGenerator,
+      ScheduledExecutorService scheduler, long stopIfEmptyForNanos) {
+    super(seedGenerator, null, Objects.requireNonNull(scheduler, "scheduler must not be null"),
+        stopIfEmptyForNanos);
   }
 
   @Override public boolean contains(Object random) {
     return super.contains(random) || (random instanceof Random && otherPrngs.contains(random));
   }
 
-  @Override protected boolean iterate() {
-    try {
-      Collection<ByteArrayReseedableRandom> byteArrayPrngsThisIteration = new ArrayList<>(byteArrayPrngs);
-      Collection<Random> otherPrngsThisIteration = new ArrayList<>(otherPrngs);
-      while (otherPrngsThisIteration.isEmpty() && byteArrayPrngsThisIteration.isEmpty()) {
-        if (stillEmptyAfterWaiting()) {
-          return false;
-        }
-        otherPrngsThisIteration.addAll(otherPrngs);
-        byteArrayPrngsThisIteration.addAll(byteArrayPrngs);
-      }
-      boolean entropyConsumed = reseedByteArrayReseedableRandoms(byteArrayPrngsThisIteration);
-      for (Random random : otherPrngsThisIteration) {
-        if (!stillDefinitelyHasEntropy(random)) {
-          entropyConsumed = true;
-          reseedWithLong(random);
-        }
+  @Override protected boolean reseedAll() {
+    boolean entropyConsumed = super.reseedAll();
+    for (Random random : new ArrayList<>(otherPrngs)) {
+      if (!stillDefinitelyHasEntropy(random)) {
+        entropyConsumed = true;
+        reseedWithLong(random);
       }
-      waitForEntropyDrainOrUpdateFlag(entropyConsumed);
-      return true;
-    } catch (final Throwable t) {
-      LoggerFactory.getLogger(LegacyRandomSeeder.class)
-          .error("Disabling the LegacyRandomSeeder for " + seedGenerator, t);
-      return false;
     }
+    return entropyConsumed;
   }
 
   @Override public boolean isEmpty() {
@@ -169,7 +180,8 @@ public final class LegacyRandomSeeder extends RandomSeeder {
   }
 
   @Override public String toString() {
-    return String.format("LegacyRandomSeeder (%s, %s)", seedGenerator, factory);
+    return String.format("LegacyRandomSeeder (%s, %s)", seedGenerator,
+        factory == null ? scheduler : factory);
   }
 
 }
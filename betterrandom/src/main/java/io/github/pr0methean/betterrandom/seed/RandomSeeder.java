@@ -6,6 +6,8 @@ import io.github.pr0methean.betterrandom.prng.BaseRandom;
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
 import io.github.pr0methean.betterrandom.util.Looper;
 import io.github.pr0methean.betterrandom.util.MoreCollections;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -13,6 +15,9 @@ import java.util.Collection;
 import java.util.Objects;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
@@ -20,8 +25,15 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Thread that loops over {@link ByteArrayReseedableRandom} instances and reseeds them. No {@link
- * EntropyCountingRandom} will be reseeded when it's already had more input than output.
+ * <p>Thread that loops over {@link ByteArrayReseedableRandom} instances and reseeds them. No {@link
+ * EntropyCountingRandom} will be reseeded when it's already had more input than output.</p>
+ *
+ * <p>An instance created with a {@link ThreadFactory} has a thread of its own. Otherwise, each
+ * iteration is instead a task on a {@link ScheduledExecutorService}, which is the {@linkplain
+ * #getSharedScheduler() shared scheduler} unless another is given; this lets many seeders share a
+ * few threads, and none are kept while no seeder needs one. A seeder whose {@link SeedGenerator}
+ * may block for a long time should have its own thread or scheduler, so that it won't hold up the
+ * others.</p>
  *
  * @author Chris Hennick
  */
@@ -38,6 +50,7 @@ public class RandomSeeder extends Looper {
    */
   protected static final long REPEAT_POLL_INTERVAL = 60;
   private static final long serialVersionUID = -4339570810679373476L;
+  private static final long EMPTY = -2;
   private transient boolean alreadyPolled;
 
   /**
@@ -71,6 +84,31 @@ public class RandomSeeder extends Looper {
    */
   protected final long stopIfEmptyForNanos;
 
+  /**
+   * Runs this seeder's iterations if it doesn't have a thread of its own; null if it does. Replaced
+   * with the {@linkplain #getSharedScheduler() shared scheduler} when deserialized.
+   */
+  protected transient ScheduledExecutorService scheduler;
+
+  /**
+   * The next iteration on {@link #scheduler}, if one is waiting to run. Guarded by {@link
+   * #threadLock}, as are the next five fields.
+   */
+  private transient ScheduledFuture<?> nextIteration;
+  /**
+   * Incremented whenever {@link #nextIteration} is replaced or cancelled, so that an iteration that
+   * was too late to cancel can tell it's no longer wanted.
+   */
+  private transient long iterationGeneration;
+  private transient boolean scheduled;
+  private transient boolean iterationRunning;
+  private transient boolean wakeUpDuringIteration;
+  /**
+   * When this seeder was first found empty by a scheduled iteration, or {@link Long#MAX_VALUE} if it
+   * wasn't empty last time.
+   */
+  private transient long emptySinceNanos;
+
   /**
    * Creates an instance whose thread will terminate if no PRNGs have been associated with it for 5
    * seconds.
@@ -83,12 +121,37 @@ public class RandomSeeder extends Looper {
   }
 
   /**
-   * Creates an instance using a {@link DefaultThreadFactory}.
+   * Creates an instance that runs on the {@linkplain #getSharedScheduler() shared scheduler}.
    *
    * @param seedGenerator the seed generator
    */
   public RandomSeeder(SeedGenerator seedGenerator) {
-    this(seedGenerator, new RandomSeeder.DefaultThreadFactory(seedGenerator.toString()));
+    this(seedGenerator, getSharedScheduler());
+  }
+
+  /**
+   * Creates an instance that runs on the given scheduler, and will stop if no PRNGs have been
+   * associated with it for 5 seconds.
+   *
+   * @param seedGenerator the seed generator
+   * @param scheduler the scheduler that will run this seeder's iterations
+   */
+  public RandomSeeder(SeedGenerator seedGenerator, ScheduledExecutorService scheduler) {
+    this(seedGenerator, scheduler, DEFAULT_STOP_IF_EMPTY_FOR_NANOS);
+  }
+
+  /**
+   * Creates an instance that runs on the given scheduler.
+   *
+   * @param seedGenerator the seed generator
+   * @param scheduler the scheduler that will run this seeder's iterations
+   * @param stopIfEmptyForNanos time in nanoseconds after which this seeder will stop if no PRNGs
+   *     are attached
+   */
+  public RandomSeeder(SeedGenerator seedGenerator, ScheduledExecutorService scheduler,
+      long stopIfEmptyForNanos) {
+    this(seedGenerator, null, Objects.requireNonNull(scheduler, "scheduler must not be null"),
+        stopIfEmptyForNanos);
   }
 
   /**
@@ -101,12 +164,40 @@ public class RandomSeeder extends Looper {
    */
   public RandomSeeder(SeedGenerator seedGenerator, ThreadFactory threadFactory,
       long stopIfEmptyForNanos) {
+    this(seedGenerator, threadFactory, null, stopIfEmptyForNanos);
+  }
+
+  /**
+   * Creates an instance with either a thread of its own or a scheduler.
+   *
+   * @param seedGenerator the seed generator
+   * @param threadFactory the {@link ThreadFactory} that will create this seeder's thread, or null
+   *     to use {@code scheduler}
+   * @param scheduler the scheduler that will run this seeder's iterations if {@code threadFactory}
+   *     is null
+   * @param stopIfEmptyForNanos time in nanoseconds after which this seeder will stop if no PRNGs
+   *     are attached
+   */
+  protected RandomSeeder(SeedGenerator seedGenerator, ThreadFactory threadFactory,
+      ScheduledExecutorService scheduler, long stopIfEmptyForNanos) {
     super(threadFactory);
     this.seedGenerator = seedGenerator;
     Objects.requireNonNull(seedGenerator, "randomSeeder must not be null");
+    this.scheduler = scheduler;
     this.stopIfEmptyForNanos = stopIfEmptyForNanos;
   }
 
+  /**
+   * Returns the scheduler that seeders created without a {@link ThreadFactory} or {@link
+   * ScheduledExecutorService} use. Its daemon threads, of which there are at most as many as there
+   * are CPUs, exit when idle.
+   *
+   * @return the shared scheduler
+   */
+  public static ScheduledExecutorService getSharedScheduler() {
+    return SharedSchedulerHolder.SHARED_SCHEDULER;
+  }
+
   static boolean stillDefinitelyHasEntropy(final Object random) {
     if (!(random instanceof EntropyCountingRandom)) {
       return false;
@@ -206,11 +297,13 @@ public class RandomSeeder extends Looper {
       return false;
     }
     RandomSeeder that = (RandomSeeder) o;
-    return seedGenerator.equals(that.seedGenerator) && factory.equals(that.factory);
+    return seedGenerator.equals(that.seedGenerator) && Objects.equals(factory, that.factory)
+        && Objects.equals(scheduler, that.scheduler);
   }
 
   @Override public int hashCode() {
-    return 31 * seedGenerator.hashCode() + factory.hashCode();
+    return 31 * (31 * seedGenerator.hashCode() + Objects.hashCode(factory))
+        + Objects.hashCode(scheduler);
   }
 
   /**
@@ -221,27 +314,195 @@ public class RandomSeeder extends Looper {
     byteArrayPrngs = MoreCollections.createSynchronizedWeakHashSet();
     waitWhileEmpty = lock.newCondition();
     waitForEntropyDrain = lock.newCondition();
+    emptySinceNanos = Long.MAX_VALUE;
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    if (factory == null) {
+      scheduler = getSharedScheduler();
+    }
+  }
+
+  @Override protected void start() {
+    if (scheduler == null) {
+      super.start();
+      return;
+    }
+    threadLock.lock();
+    try {
+      scheduled = true;
+      emptySinceNanos = Long.MAX_VALUE;
+      if (iterationRunning) {
+        wakeUpDuringIteration = true;
+      } else if (nextIteration == null || nextIteration.getDelay(TimeUnit.NANOSECONDS) > 0) {
+        scheduleIteration(0);
+      }
+    } finally {
+      threadLock.unlock();
+    }
+  }
+
+  @Override public boolean isRunning() {
+    if (scheduler == null) {
+      return super.isRunning();
+    }
+    threadLock.lock();
+    try {
+      return scheduled;
+    } finally {
+      threadLock.unlock();
+    }
+  }
+
+  @Override public void interrupt() {
+    if (scheduler == null) {
+      super.interrupt();
+      return;
+    }
+    threadLock.lock();
+    try {
+      scheduled = false;
+      emptySinceNanos = Long.MAX_VALUE;
+      cancelNextIteration();
+    } finally {
+      threadLock.unlock();
+    }
+  }
+
+  /**
+   * Replaces {@link #nextIteration} with one that will run after the given delay. Must be called
+   * with {@link #threadLock} held.
+   *
+   * @param delayNanos the delay in nanoseconds
+   */
+  private void scheduleIteration(long delayNanos) {
+    cancelNextIteration();
+    final long generation = iterationGeneration;
+    nextIteration = scheduler.schedule(() -> runScheduledIteration(generation), delayNanos,
+        TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Must be called with {@link #threadLock} held.
+   */
+  private void cancelNextIteration() {
+    iterationGeneration++;
+    if (nextIteration != null) {
+      nextIteration.cancel(false);
+      nextIteration = null;
+    }
+  }
+
+  /**
+   * Runs one iteration on {@link #scheduler}, then schedules the next one unless this seeder should
+   * stop.
+   *
+   * @param generation the value of {@link #iterationGeneration} when this iteration was scheduled
+   */
+  private void runScheduledIteration(long generation) {
+    threadLock.lock();
+    try {
+      if (!scheduled || generation != iterationGeneration) {
+        return;
+      }
+      nextIteration = null;
+      iterationRunning = true;
+    } finally {
+      threadLock.unlock();
+    }
+    long delayNanos = -1;
+    try {
+      lock.lock();
+      try {
+        delayNanos = iterateWithoutWaiting();
+      } finally {
+        lock.unlock();
+      }
+    } finally {
+      threadLock.lock();
+      try {
+        iterationRunning = false;
+        if (delayNanos == EMPTY) {
+          final long now = System.nanoTime();
+          if (emptySinceNanos == Long.MAX_VALUE) {
+            emptySinceNanos = now;
+          }
+          final long remaining = stopIfEmptyForNanos - (now - emptySinceNanos);
+          delayNanos = remaining > 0 ? remaining : -1;
+        } else {
+          emptySinceNanos = Long.MAX_VALUE;
+        }
+        if (scheduled) {
+          if (wakeUpDuringIteration) {
+            wakeUpDuringIteration = false;
+            scheduleIteration(0);
+          } else if (delayNanos >= 0) {
+            scheduleIteration(delayNanos);
+          } else {
+            scheduled = false;
+            emptySinceNanos = Long.MAX_VALUE;
+          }
+        }
+      } finally {
+        threadLock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Counterpart of {@link #iterate()} for when this seeder has no thread of its own. Instead of
+   * waiting, returns how long to wait before the next iteration. Must be called with {@link #lock}
+   * held.
+   *
+   * @return the time in nanoseconds until the next iteration, {@link #EMPTY} if there are no PRNGs
+   *     to reseed, or -1 if this seeder should stop
+   */
+  private long iterateWithoutWaiting() {
+    try {
+      if (isEmpty()) {
+        return EMPTY;
+      }
+      if (reseedAll()) {
+        alreadyPolled = false;
+        return 0;
+      }
+      final long delay = alreadyPolled ? REPEAT_POLL_INTERVAL : FIRST_POLL_INTERVAL;
+      alreadyPolled = true;
+      return TimeUnit.SECONDS.toNanos(delay);
+    } catch (final Throwable t) {
+      getLogger().error("Disabling the " + getClass().getSimpleName() + " for " + seedGenerator,
+          t);
+      return -1;
+    }
   }
 
   @Override
   protected boolean iterate() {
-    Collection<ByteArrayReseedableRandom> byteArrayPrngsThisIteration = new ArrayList<>(byteArrayPrngs);
     try {
-      while (byteArrayPrngsThisIteration.isEmpty()) {
+      while (isEmpty()) {
         if (stillEmptyAfterWaiting()) {
           return false;
         }
-        byteArrayPrngsThisIteration.addAll(byteArrayPrngs);
       }
-      boolean entropyConsumed = reseedByteArrayReseedableRandoms(byteArrayPrngsThisIteration);
-      waitForEntropyDrainOrUpdateFlag(entropyConsumed);
+      waitForEntropyDrainOrUpdateFlag(reseedAll());
       return true;
     } catch (final Throwable t) {
-      getLogger().error("Disabling the LegacyRandomSeeder for " + seedGenerator, t);
+      getLogger().error("Disabling the " + getClass().getSimpleName() + " for " + seedGenerator,
+          t);
       return false;
     }
   }
 
+  /**
+   * Reseeds all the registered PRNGs that need reseeding.
+   *
+   * @return true if at least one PRNG was reseeded; false otherwise
+   */
+  protected boolean reseedAll() {
+    return reseedByteArrayReseedableRandoms(new ArrayList<>(byteArrayPrngs));
+  }
+
   /**
    * Waits {@link #stopIfEmptyForNanos} for {@link #waitWhileEmpty} to be signaled
    * @return true if not signaled; false if signaled
@@ -375,6 +636,20 @@ public class RandomSeeder extends Looper {
     return seedGenerator;
   }
 
+  private static final class SharedSchedulerHolder {
+    private static final ScheduledExecutorService SHARED_SCHEDULER = createSharedScheduler();
+
+    private static ScheduledExecutorService createSharedScheduler() {
+      final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+          Runtime.getRuntime().availableProcessors(),
+          new DefaultThreadFactory("RandomSeeder shared scheduler"));
+      executor.setKeepAliveTime(1, TimeUnit.SECONDS);
+      executor.allowCoreThreadTimeOut(true);
+      executor.setRemoveOnCancelPolicy(true);
+      return executor;
+    }
+  }
+
   /**
    * A {@link ThreadFactory} that sets the name and priority of the threads it creates.
    */
@@ -0,0 +1,197 @@
+package io.github.pr0methean.betterrandom.util;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * <p>Jump polynomials x<sup>2<sup>k</sup></sup> mod p(x) and x<sup>-2<sup>k</sup></sup> mod p(x)
+ * for every k from 0 to 63, where p(x) is the characteristic polynomial of a linear PRNG, in the
+ * representation used by {@link Gf2PolynomialArithmetic}. Each is computed by squaring the one
+ * before it, the first time it's needed, and then kept. A PRNG can advance by any {@code long}
+ * distance by applying the polynomial for each bit that's set in the distance, one after another;
+ * this is cheaper than finding x<sup>distance</sup> mod p(x) when the degree is large.</p>
+ *
+ * <p>Instances are thread-safe, and are meant to be shared by all instances of a PRNG class.</p>
+ */
+public final class Gf2JumpTable {
+
+  private final long[] modulus;
+  private final int degree;
+  private final AtomicReferenceArray<long[]> forward = new AtomicReferenceArray<>(Long.SIZE);
+  private final AtomicReferenceArray<long[]> backward = new AtomicReferenceArray<>(Long.SIZE);
+
+  /**
+   * Creates an instance for the given modulus.
+   *
+   * @param modulus the lower terms of p(x), as in {@link Gf2PolynomialArithmetic}; not copied
+   * @param degree the degree of p(x); at least 2
+   */
+  public Gf2JumpTable(final long[] modulus, final int degree) {
+    if (degree < 2 || modulus.length != ((degree + Long.SIZE - 1) / Long.SIZE)) {
+      throw new IllegalArgumentException("Modulus length doesn't match degree " + degree);
+    }
+    this.modulus = modulus;
+    this.degree = degree;
+  }
+
+  /**
+   * Creates an instance whose modulus is the minimal polynomial of a sequence of bits, found with
+   * the Berlekamp-Massey algorithm. If a PRNG's characteristic polynomial is irreducible, as a
+   * Mersenne Twister's is, then any nonzero sequence taken from one bit position of its output has
+   * that polynomial as its minimal polynomial, as long as at least twice its degree in bits are
+   * given.
+   *
+   * @param bits the sequence; bit {@code i % 64} of word {@code i / 64} is element {@code i}
+   * @param length the number of bits to use
+   * @return a jump table for the sequence's minimal polynomial
+   * @throws IllegalArgumentException if the sequence is all zeroes, or its minimal polynomial has
+   *     degree less than 2
+   */
+  public static Gf2JumpTable forSequence(final long[] bits, final int length) {
+    // Element i of the sequence is bit (length - 1 - i) of reversed, so that the dot product of a
+    // connection polynomial with the latest elements is a word-aligned AND
+    final long[] reversed = new long[(length / Long.SIZE) + 3];
+    for (int i = 0; i < length; i++) {
+      if (((bits[i >>> 6] >>> i) & 1) != 0) {
+        final int j = length - 1 - i;
+        reversed[j >>> 6] |= 1L << j;
+      }
+    }
+    final int words = (length / Long.SIZE) + 2;
+    long[] connection = new long[words];
+    long[] previous = new long[words];
+    connection[0] = 1;
+    previous[0] = 1;
+    int linearComplexity = 0;
+    int shift = 1;
+    for (int n = 0; n < length; n++) {
+      // Coefficient i of the connection polynomial pairs with element n - i
+      final int offset = length - 1 - n;
+      final int wordOffset = offset >>> 6;
+      final int bitOffset = offset & 63;
+      long discrepancy = 0;
+      for (int w = 0; w <= (linearComplexity >>> 6); w++) {
+        long window = reversed[w + wordOffset] >>> bitOffset;
+        if (bitOffset != 0) {
+          window |= reversed[w + wordOffset + 1] << (Long.SIZE - bitOffset);
+        }
+        discrepancy ^= connection[w] & window;
+      }
+      if ((Long.bitCount(discrepancy) & 1) == 0) {
+        shift++;
+      } else if ((2 * linearComplexity) <= n) {
+        final long[] oldConnection = connection.clone();
+        xorShiftedInto(connection, previous, shift);
+        linearComplexity = n + 1 - linearComplexity;
+        previous = oldConnection;
+        shift = 1;
+      } else {
+        xorShiftedInto(connection, previous, shift);
+        shift++;
+      }
+    }
+    if (linearComplexity < 2) {
+      throw new IllegalArgumentException(
+          "Sequence has linear complexity " + linearComplexity + "; need at least 2");
+    }
+    // The minimal polynomial is the connection polynomial with its coefficients reversed
+    final long[] modulus = new long[(linearComplexity + Long.SIZE - 1) / Long.SIZE];
+    for (int i = 1; i <= linearComplexity; i++) {
+      if (Gf2PolynomialArithmetic.hasTerm(connection, i)) {
+        final int term = linearComplexity - i;
+        modulus[term >>> 6] |= 1L << term;
+      }
+    }
+    return new Gf2JumpTable(modulus, linearComplexity);
+  }
+
+  /**
+   * {@code dest ^= src * x^shift}, discarding any terms that don't fit in {@code dest}.
+   */
+  private static void xorShiftedInto(final long[] dest, final long[] src, final int shift) {
+    final int wordShift = shift >>> 6;
+    final int bitShift = shift & 63;
+    for (int i = 0; (i + wordShift) < dest.length; i++) {
+      dest[i + wordShift] ^= src[i] << bitShift;
+      if ((bitShift != 0) && ((i + wordShift + 1) < dest.length)) {
+        dest[i + wordShift + 1] ^= src[i] >>> (Long.SIZE - bitShift);
+      }
+    }
+  }
+
+  /**
+   * Returns the degree of p(x), which is also the number of steps a PRNG takes to apply a jump
+   * polynomial.
+   *
+   * @return the degree
+   */
+  public int getDegree() {
+    return degree;
+  }
+
+  /**
+   * Returns whether p(x) has a constant term, which is true if and only if the PRNG's state
+   * transition is invertible, so that it can jump backward.
+   *
+   * @return true if {@link #getBackwardJump(int)} is supported
+   */
+  public boolean isInvertible() {
+    return (modulus[0] & 1) != 0;
+  }
+
+  /**
+   * Returns x<sup>2<sup>log2Distance</sup></sup> mod p(x). Applying it advances a PRNG by
+   * 2<sup>log2Distance</sup> steps.
+   *
+   * @param log2Distance the base-2 logarithm of the distance; from 0 to 63
+   * @return the jump polynomial; must not be modified
+   */
+  public long[] getForwardJump(final int log2Distance) {
+    return get(forward, log2Distance, false);
+  }
+
+  /**
+   * Returns x<sup>-2<sup>log2Distance</sup></sup> mod p(x). Applying it moves a PRNG back by
+   * 2<sup>log2Distance</sup> steps.
+   *
+   * @param log2Distance the base-2 logarithm of the distance; from 0 to 63
+   * @return the jump polynomial; must not be modified
+   * @throws UnsupportedOperationException if {@link #isInvertible()} is false
+   */
+  public long[] getBackwardJump(final int log2Distance) {
+    if (!isInvertible()) {
+      throw new UnsupportedOperationException("State transition isn't invertible");
+    }
+    return get(backward, log2Distance, true);
+  }
+
+  private long[] get(final AtomicReferenceArray<long[]> table, final int log2Distance,
+      final boolean inverse) {
+    long[] result = table.get(log2Distance);
+    if (result != null) {
+      return result;
+    }
+    // Find the largest power already computed, then square up from it
+    int known = log2Distance - 1;
+    while ((known >= 0) && (table.get(known) == null)) {
+      known--;
+    }
+    if (known < 0) {
+      result = new long[modulus.length];
+      result[0] = 1;
+      if (inverse) {
+        Gf2PolynomialArithmetic.divideByX(result, modulus, degree);
+      } else {
+        Gf2PolynomialArithmetic.multiplyByX(result, modulus, degree);
+      }
+      table.compareAndSet(0, null, result);
+      known = 0;
+    }
+    result = table.get(known);
+    for (int k = known + 1; k <= log2Distance; k++) {
+      result = Gf2PolynomialArithmetic.squareMod(result, modulus, degree);
+      // Another thread may have got here first, in which case both results are the same
+      table.compareAndSet(k, null, result);
+    }
+    return table.get(log2Distance);
+  }
+}
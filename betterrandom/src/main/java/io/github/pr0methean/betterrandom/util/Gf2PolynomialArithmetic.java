@@ -0,0 +1,179 @@
+package io.github.pr0methean.betterrandom.util;
+
+import java.util.Arrays;
+
+/**
+ * <p>Collection of arithmetic methods that treat {@code long[]} arrays as polynomials over GF(2),
+ * reduced modulo the characteristic polynomial of a linear PRNG such as a xorshift or Mersenne
+ * Twister. Bit {@code i % 64} of word {@code i / 64} is the coefficient of x<sup>i</sup>.</p>
+ *
+ * <p>If a PRNG's state transition is T and its characteristic polynomial is p, then for any
+ * polynomial r(x) = x<sup>k</sup> mod p(x), applying r(T) to the state (XORing together the states
+ * T<sup>i</sup>(s) for which coefficient i is set) has the same effect as k steps. This is how
+ * such PRNGs jump ahead, or back, in time that doesn't grow with the distance.</p>
+ *
+ * <p>A modulus p(x) of degree {@code degree} is represented by its lower terms only (the
+ * x<sup>degree</sup> term is implied), as an array of {@code ceil(degree / 64)} words.</p>
+ */
+public enum Gf2PolynomialArithmetic {
+  ;
+
+  /**
+   * Returns x<sup>exponent</sup> mod p(x). A negative exponent moves backward; this requires that
+   * p(x) have a constant term, which is true of every full-period linear PRNG.
+   *
+   * @param exponent the power of x to compute; can be negative
+   * @param modulus the lower terms of p(x)
+   * @param degree the degree of p(x); at least 2
+   * @return a new array of the same length as {@code modulus}
+   */
+  public static long[] powerOfX(final long exponent, final long[] modulus, final int degree) {
+    long[] result = new long[modulus.length];
+    result[0] = 1;
+    // -Long.MIN_VALUE is still correct, when treated as unsigned
+    final long magnitude = (exponent < 0) ? -exponent : exponent;
+    for (int bit = (Long.SIZE - 1) - Long.numberOfLeadingZeros(magnitude); bit >= 0; bit--) {
+      result = squareMod(result, modulus, degree);
+      if (((magnitude >>> bit) & 1) != 0) {
+        if (exponent < 0) {
+          divideByX(result, modulus, degree);
+        } else {
+          multiplyByX(result, modulus, degree);
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns x<sup>2<sup>log2Exponent</sup></sup> mod p(x), by repeated squaring. This gives jump
+   * polynomials for distances too large for {@link #powerOfX(long, long[], int)}.
+   *
+   * @param log2Exponent the base-2 logarithm of the power of x to compute
+   * @param modulus the lower terms of p(x)
+   * @param degree the degree of p(x); at least 2
+   * @return a new array of the same length as {@code modulus}
+   */
+  public static long[] powerOfXToPowerOfTwo(final int log2Exponent, final long[] modulus,
+      final int degree) {
+    long[] result = new long[modulus.length];
+    result[0] = 2;
+    for (int i = 0; i < log2Exponent; i++) {
+      result = squareMod(result, modulus, degree);
+    }
+    return result;
+  }
+
+  /**
+   * Returns a<sup>2</sup> mod p(x).
+   *
+   * @param a a polynomial of degree less than {@code degree}
+   * @param modulus the lower terms of p(x)
+   * @param degree the degree of p(x)
+   * @return a new array of the same length as {@code modulus}
+   */
+  public static long[] squareMod(final long[] a, final long[] modulus, final int degree) {
+    // Over GF(2), squaring a polynomial just spreads out its coefficients
+    final long[] product = new long[2 * a.length];
+    for (int i = 0; i < a.length; i++) {
+      product[2 * i] = spreadBits((int) a[i]);
+      product[(2 * i) + 1] = spreadBits((int) (a[i] >>> Integer.SIZE));
+    }
+    for (int i = (2 * degree) - 2; i >= degree; i--) {
+      final int word = i >>> 6;
+      final long mask = 1L << i;
+      if ((product[word] & mask) != 0) {
+        product[word] ^= mask;
+        xorShiftedInto(product, modulus, i - degree);
+      }
+    }
+    return Arrays.copyOf(product, modulus.length);
+  }
+
+  /**
+   * {@code a = a * x mod p(x)}
+   *
+   * @param a a polynomial of degree less than {@code degree}; the result
+   * @param modulus the lower terms of p(x)
+   * @param degree the degree of p(x)
+   */
+  public static void multiplyByX(final long[] a, final long[] modulus, final int degree) {
+    final boolean overflows = hasTerm(a, degree - 1);
+    for (int i = a.length - 1; i > 0; i--) {
+      a[i] = (a[i] << 1) | (a[i - 1] >>> (Long.SIZE - 1));
+    }
+    a[0] <<= 1;
+    if (overflows) {
+      if ((degree & 63) != 0) {
+        // Otherwise the x^degree term was shifted out of the array
+        a[degree >>> 6] ^= 1L << degree;
+      }
+      xorInto(a, modulus);
+    }
+  }
+
+  /**
+   * {@code a = a / x mod p(x)}, using the fact that x<sup>-1</sup> = (p(x) - 1) / x.
+   *
+   * @param a a polynomial of degree less than {@code degree}; the result
+   * @param modulus the lower terms of p(x), including a constant term of 1
+   * @param degree the degree of p(x)
+   */
+  public static void divideByX(final long[] a, final long[] modulus, final int degree) {
+    final boolean hadConstantTerm = (a[0] & 1) != 0;
+    for (int i = 0; i < (a.length - 1); i++) {
+      a[i] = (a[i] >>> 1) | (a[i + 1] << (Long.SIZE - 1));
+    }
+    a[a.length - 1] >>>= 1;
+    if (hadConstantTerm) {
+      for (int i = 0; i < (a.length - 1); i++) {
+        a[i] ^= (modulus[i] >>> 1) | (modulus[i + 1] << (Long.SIZE - 1));
+      }
+      a[a.length - 1] ^= modulus[a.length - 1] >>> 1;
+      a[(degree - 1) >>> 6] ^= 1L << (degree - 1);
+    }
+  }
+
+  /**
+   * Returns whether the coefficient of x<sup>i</sup> is 1.
+   *
+   * @param a a polynomial
+   * @param i the power of x
+   * @return true if the coefficient is 1; false if it is 0
+   */
+  public static boolean hasTerm(final long[] a, final int i) {
+    return ((a[i >>> 6] >>> i) & 1) != 0;
+  }
+
+  private static void xorInto(final long[] dest, final long[] src) {
+    for (int i = 0; i < src.length; i++) {
+      dest[i] ^= src[i];
+    }
+  }
+
+  /**
+   * {@code dest ^= src * x^shift}, discarding any terms that don't fit in {@code dest}.
+   */
+  private static void xorShiftedInto(final long[] dest, final long[] src, final int shift) {
+    final int wordShift = shift >>> 6;
+    final int bitShift = shift & 63;
+    for (int i = 0; (i < src.length) && ((i + wordShift) < dest.length); i++) {
+      dest[i + wordShift] ^= src[i] << bitShift;
+      if ((bitShift != 0) && ((i + wordShift + 1) < dest.length)) {
+        dest[i + wordShift + 1] ^= src[i] >>> (Long.SIZE - bitShift);
+      }
+    }
+  }
+
+  /**
+   * Moves bit {@code i} of the input to bit {@code 2 * i} of the output.
+   */
+  private static long spreadBits(final int input) {
+    long bits = input & 0xFFFF_FFFFL;
+    bits = (bits | (bits << 16)) & 0x0000_FFFF_0000_FFFFL;
+    bits = (bits | (bits << 8)) & 0x00FF_00FF_00FF_00FFL;
+    bits = (bits | (bits << 4)) & 0x0F0F_0F0F_0F0F_0F0FL;
+    bits = (bits | (bits << 2)) & 0x3333_3333_3333_3333L;
+    return (bits | (bits << 1)) & 0x5555_5555_5555_5555L;
+  }
+}
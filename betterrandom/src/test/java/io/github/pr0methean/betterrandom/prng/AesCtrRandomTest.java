@@ -0,0 +1,113 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.util.Byte16ArrayArithmetic;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import org.testng.annotations.Test;
+
+@Test(testName = "AesCtrRandom") public class AesCtrRandomTest extends AesCounterRandomTest {
+
+  @Override protected Class<? extends AesCounterRandom> getClassUnderTest() {
+    return AesCtrRandom.class;
+  }
+
+  @Override protected AesCounterRandom createRng() throws SeedException {
+    return new AesCtrRandom(getTestSeedGenerator().generateSeed(seedSizeBytes));
+  }
+
+  @Override protected AesCounterRandom createRng(final byte[] seed) throws SeedException {
+    return new AesCtrRandom(seed);
+  }
+
+  @Test(timeOut = 15000) public void testMatchesAesCounterRandom() {
+    final byte[] seed = getTestSeedGenerator().generateSeed(seedSizeBytes);
+    final AesCtrRandom rng = new AesCtrRandom(seed);
+    final AesCounterRandom reference = new AesCounterRandom(seed);
+    // Long enough for the batch size to double several times
+    for (int i = 0; i < 100; i++) {
+      assertEquals(rng.nextLong(), reference.nextLong());
+      final byte[] expected = new byte[4 * i];
+      reference.nextBytes(expected);
+      final byte[] actual = new byte[4 * i];
+      rng.nextBytes(actual);
+      assertEquals(actual, expected);
+    }
+    rng.advance(-1000);
+    reference.advance(-1000);
+    assertEquals(rng.nextInt(), reference.nextInt());
+  }
+
+  @Test(timeOut = 15000) public void testDoCipherMatchesAesCounterRandom()
+      throws GeneralSecurityException {
+    final byte[] seed = getTestSeedGenerator().generateSeed(seedSizeBytes);
+    final AesCtrRandom rng = new AesCtrRandom(seed);
+    final AesCounterRandom reference = new AesCounterRandom(seed);
+    final byte[] counter = getTestSeedGenerator().generateSeed(AesCounterRandom.COUNTER_SIZE_BYTES);
+    final byte[] input = new byte[reference.getBytesAtOnce()];
+    for (int i = 0; i < input.length; i += AesCounterRandom.COUNTER_SIZE_BYTES) {
+      System.arraycopy(counter, 0, input, i, AesCounterRandom.COUNTER_SIZE_BYTES);
+      Byte16ArrayArithmetic.addInto(counter, Byte16ArrayArithmetic.ONE);
+    }
+    final byte[] expected = new byte[input.length];
+    reference.doCipher(input, expected);
+    final byte[] actual = new byte[input.length];
+    rng.doCipher(input, actual);
+    assertEquals(actual, expected);
+    // The cipher should now be positioned after the last counter
+    final byte[] next = Arrays.copyOf(counter, input.length);
+    for (int i = AesCounterRandom.COUNTER_SIZE_BYTES; i < next.length;
+        i += AesCounterRandom.COUNTER_SIZE_BYTES) {
+      Byte16ArrayArithmetic.addInto(counter, Byte16ArrayArithmetic.ONE);
+      System.arraycopy(counter, 0, next, i, AesCounterRandom.COUNTER_SIZE_BYTES);
+    }
+    reference.doCipher(next, expected);
+    rng.doCipher(next, actual);
+    assertEquals(actual, expected);
+  }
+
+  @Test(timeOut = 15000) public void testBatchSizeAdapts() {
+    final AesCtrRandom rng = new AesCtrRandom(getTestSeedGenerator().generateSeed(seedSizeBytes));
+    assertEquals(rng.getBytesAtOnce(), AesCtrRandom.MIN_BYTES_AT_ONCE);
+    rng.nextBytes(new byte[4 * rng.getMaxBytesAtOnce()]);
+    rng.nextInt();
+    assertEquals(rng.getBytesAtOnce(), rng.getMaxBytesAtOnce());
+    // Discards almost all of the batch
+    rng.setSeed(getTestSeedGenerator().generateSeed(seedSizeBytes));
+    rng.nextInt();
+    rng.setSeed(getTestSeedGenerator().generateSeed(seedSizeBytes));
+    assertTrue(rng.getBytesAtOnce() < rng.getMaxBytesAtOnce());
+    rng.setMaxBytesAtOnce(AesCtrRandom.MIN_BYTES_AT_ONCE);
+    rng.setSeed(getTestSeedGenerator().generateSeed(seedSizeBytes));
+    assertEquals(rng.getBytesAtOnce(), AesCtrRandom.MIN_BYTES_AT_ONCE);
+  }
+
+  /**
+   * Seeking discards the current batch rather than using it up, so it shouldn't grow the next one.
+   */
+  @Test(timeOut = 15000) public void testAdvanceKeepsBatchSize() {
+    final AesCtrRandom rng = new AesCtrRandom(getTestSeedGenerator().generateSeed(seedSizeBytes));
+    // Uses up the first batch exactly
+    rng.nextBytes(new byte[AesCtrRandom.MIN_BYTES_AT_ONCE]);
+    rng.advance(1);
+    assertEquals(rng.getBytesAtOnce(), AesCtrRandom.MIN_BYTES_AT_ONCE);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testSetMaxBytesAtOnceTooSmall() {
+    new AesCtrRandom(getTestSeedGenerator()).setMaxBytesAtOnce(AesCtrRandom.MIN_BYTES_AT_ONCE - 16);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testSetMaxBytesAtOnceTooLarge() {
+    new AesCtrRandom(getTestSeedGenerator()).setMaxBytesAtOnce(AesCtrRandom.MAX_BYTES_AT_ONCE + 16);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testSetMaxBytesAtOnceUnaligned() {
+    new AesCtrRandom(getTestSeedGenerator()).setMaxBytesAtOnce(AesCtrRandom.MIN_BYTES_AT_ONCE + 1);
+  }
+}
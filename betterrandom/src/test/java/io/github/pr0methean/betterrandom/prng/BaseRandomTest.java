@@ -33,7 +33,10 @@ import io.github.pr0methean.betterrandom.seed.RandomSeeder;
 import io.github.pr0methean.betterrandom.seed.SeedException;
 import io.github.pr0methean.betterrandom.seed.SeedGenerator;
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.security.GeneralSecurityException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -63,6 +66,7 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.testng.PowerMockTestCase;
 import org.powermock.reflect.Whitebox;
 import org.testng.Reporter;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 
 @MockPolicy(Slf4jMockPolicy.class) @PrepareForTest(DefaultSeedGenerator.class) @PowerMockIgnore(
@@ -107,6 +111,7 @@ public abstract class BaseRandomTest<T extends BaseRandom> extends PowerMockTest
       functionsForThreadCrashTest =
       ImmutableList.of(NEXT_LONG, NEXT_INT, NEXT_DOUBLE, NEXT_GAUSSIAN, setSeed);
   protected static final int TEST_BYTE_ARRAY_LENGTH = STREAM_SIZE;
+  protected static final int TEST_BULK_LENGTH = 1000;
   private static final String HELLO = "Hello";
   private static final String HOW_ARE_YOU = "How are you?";
   private static final String GOODBYE = "Goodbye";
@@ -203,6 +208,83 @@ public abstract class BaseRandomTest<T extends BaseRandom> extends PowerMockTest
     RandomTestUtils.assertEquivalent(rng, duplicateRNG, TEST_BYTES_LENGTH, "Output mismatch");
   }
 
+  @Test(timeOut = 15_000) public void testUnsupportedConcurrencyModes() {
+    final BaseRandom rng = createRng();
+    assertTrue(rng.supportsConcurrencyMode(ConcurrencyMode.SYNCHRONIZED));
+    for (final ConcurrencyMode mode : ConcurrencyMode.values()) {
+      if (!rng.supportsConcurrencyMode(mode)) {
+        try {
+          rng.setConcurrencyMode(mode);
+          fail("Accepted unsupported concurrency mode " + mode);
+        } catch (final UnsupportedOperationException expected) {
+          assertEquals(rng.getConcurrencyMode(), ConcurrencyMode.SYNCHRONIZED);
+        }
+      }
+    }
+  }
+
+  @Test(timeOut = 15_000) public void testUnsupportedEntropyAccountingModes() {
+    final BaseRandom rng = createRng();
+    assertTrue(rng.supportsEntropyAccountingMode(EntropyAccountingMode.EXACT));
+    for (final EntropyAccountingMode mode : EntropyAccountingMode.values()) {
+      if (!rng.supportsEntropyAccountingMode(mode)) {
+        try {
+          rng.setEntropyAccountingMode(mode);
+          fail("Accepted unsupported entropy accounting mode " + mode);
+        } catch (final UnsupportedOperationException expected) {
+          assertEquals(rng.getEntropyAccountingMode(), EntropyAccountingMode.EXACT);
+        }
+      }
+    }
+  }
+
+  /**
+   * Test that an {@link EntropyAccountingMode#STRIPED} instance used from several threads reports
+   * the same entropy count as an {@link EntropyAccountingMode#EXACT} one used from one thread.
+   */
+  @Test(timeOut = 30_000) public void testStripedEntropyAccounting() {
+    final BaseRandom rng = createRng();
+    if (getEntropyCheckMode() != EntropyCheckMode.EXACT
+        || !rng.supportsEntropyAccountingMode(EntropyAccountingMode.STRIPED)) {
+      throw new SkipException("Test doesn't apply to " + rng.getClass().getSimpleName());
+    }
+    final BaseRandom exactRng = createRng(rng.getSeed());
+    rng.setEntropyAccountingMode(EntropyAccountingMode.STRIPED);
+    assertEquals(rng.getEntropyAccountingMode(), EntropyAccountingMode.STRIPED);
+    final int tasks = 4;
+    final int callsPerTask = 100;
+    final List<ForkJoinTask<?>> futures = new ArrayList<>(tasks);
+    for (int i = 0; i < tasks; i++) {
+      futures.add(pool.submit(() -> {
+        for (int j = 0; j < callsPerTask; j++) {
+          rng.nextInt();
+        }
+      }));
+    }
+    for (int i = 0; i < tasks * callsPerTask; i++) {
+      exactRng.nextInt();
+    }
+    futures.forEach(ForkJoinTask::join);
+    assertEquals(rng.getEntropyBits(), exactRng.getEntropyBits());
+    rng.setEntropyAccountingMode(EntropyAccountingMode.EXACT);
+    rng.nextInt();
+    exactRng.nextInt();
+    assertEquals(rng.getEntropyBits(), exactRng.getEntropyBits());
+  }
+
+  @Test(timeOut = 15_000) public void testNoEntropyAccounting() {
+    final BaseRandom rng = createRng();
+    if (!rng.supportsEntropyAccountingMode(EntropyAccountingMode.NONE)) {
+      throw new SkipException("Test doesn't apply to " + rng.getClass().getSimpleName());
+    }
+    rng.setEntropyAccountingMode(EntropyAccountingMode.NONE);
+    final long oldEntropy = rng.getEntropyBits();
+    rng.nextLong();
+    rng.nextBytes(new byte[TEST_BYTE_ARRAY_LENGTH]);
+    rng.nextDoubles(new double[TEST_BYTE_ARRAY_LENGTH]);
+    assertEquals(rng.getEntropyBits(), oldEntropy);
+  }
+
   /**
    * Test that nextGaussian never returns a stale cached value.
    */
@@ -297,6 +379,30 @@ public abstract class BaseRandomTest<T extends BaseRandom> extends PowerMockTest
     assertLessOrEqual(median, 0.1);
   }
 
+  /**
+   * Test to ensure that the output from nextExponential is broadly as expected.
+   */
+  @Test(timeOut = 40_000, groups = "non-deterministic")
+  public void testNextExponentialStatistically() throws SeedException {
+    final BaseRandom rng = createRng();
+    final int iterations = 20_000;
+    final SynchronizedDescriptiveStatistics stats = new SynchronizedDescriptiveStatistics();
+    for (int i = 0; i < iterations; i++) {
+      stats.addValue(rng.nextExponential());
+    }
+    final double observedSD = stats.getStandardDeviation();
+    Reporter.log("Expected SD for exponentials: 1, observed SD: " + observedSD);
+    assertGreaterOrEqual(observedSD, 0.95);
+    assertLessOrEqual(observedSD, 1.05);
+    assertGreaterOrEqual(stats.getMin(), 0.0);
+    assertGreaterOrEqual(stats.getMax(), 4.0);
+    assertGreaterOrEqual(stats.getMean(), 0.95);
+    assertLessOrEqual(stats.getMean(), 1.05);
+    final double median = stats.getPercentile(50);
+    assertGreaterOrEqual(median, Math.log(2) - 0.05);
+    assertLessOrEqual(median, Math.log(2) + 0.05);
+  }
+
   /**
    * Make sure that the RNG does not accept seeds that are too small since this could affect the
    * distribution of the output.
@@ -517,6 +623,48 @@ public abstract class BaseRandomTest<T extends BaseRandom> extends PowerMockTest
     }
   }
 
+  @Test(timeOut = 30_000L) public void testNextBytesByteBuffer() {
+    final BaseRandom prng = createRng();
+    // Direct, with an odd position and limit to exercise the partial-word tail
+    final ByteBuffer dest = ByteBuffer.allocateDirect(TEST_BYTE_ARRAY_LENGTH + 2);
+    dest.position(1).limit(TEST_BYTE_ARRAY_LENGTH + 1);
+    checkBulkEntropy(prng, Byte.SIZE * (long) TEST_BYTE_ARRAY_LENGTH, () -> prng.nextBytes(dest));
+    assertEquals(dest.position(), TEST_BYTE_ARRAY_LENGTH + 1);
+    assertEquals(dest.order(), ByteOrder.BIG_ENDIAN, "Byte order not restored");
+    assertEquals(dest.get(0), 0, "Wrote before position");
+    dest.limit(dest.capacity());
+    assertEquals(dest.get(TEST_BYTE_ARRAY_LENGTH + 1), 0, "Wrote past limit");
+    final byte[] written = new byte[TEST_BYTE_ARRAY_LENGTH];
+    dest.position(1);
+    dest.get(written);
+    assertFalse(Arrays.equals(written, new byte[TEST_BYTE_ARRAY_LENGTH]));
+    final ByteBuffer heap = ByteBuffer.allocate(TEST_BYTE_ARRAY_LENGTH);
+    checkBulkEntropy(prng, Byte.SIZE * (long) TEST_BYTE_ARRAY_LENGTH, () -> prng.nextBytes(heap));
+    assertFalse(heap.hasRemaining());
+    assertFalse(Arrays.equals(heap.array(), new byte[TEST_BYTE_ARRAY_LENGTH]));
+  }
+
+  /**
+   * A direct buffer should get the same bytes as a heap buffer, and leave the PRNG in the same
+   * state, including for lengths that aren't a whole number of words.
+   */
+  @Test(timeOut = 30_000L) public void testNextBytesDirectMatchesHeap() {
+    final byte[] seed = getTestSeedGenerator().generateSeed(getNewSeedLength());
+    for (final int len : new int[]{1, 3, 65, 300, 10_001}) {
+      final BaseRandom heapRng = createRng(seed);
+      final BaseRandom directRng = createRng(seed);
+      final ByteBuffer heap = ByteBuffer.allocate(len);
+      final ByteBuffer direct = ByteBuffer.allocateDirect(len);
+      heapRng.nextBytes(heap);
+      directRng.nextBytes(direct);
+      heap.flip();
+      direct.flip();
+      assertEquals(direct, heap, "Different bytes for length " + len);
+      assertEquals(directRng.nextLong(), heapRng.nextLong(),
+          "Different state after length " + len);
+    }
+  }
+
   @Test public void testNextInt1() {
     final BaseRandom prng = createRng();
     final Supplier<? extends Number> numberSupplier = () -> prng.nextInt(3 << 29);
@@ -605,6 +753,117 @@ public abstract class BaseRandomTest<T extends BaseRandom> extends PowerMockTest
         1.0, getEntropyCheckMode());
   }
 
+  @Test(timeOut = 10_000) public void testNextInts() {
+    final BaseRandom prng = createRng();
+    final int[] out = new int[TEST_BULK_LENGTH + 2];
+    checkBulkEntropy(prng, Integer.SIZE * (long) TEST_BULK_LENGTH,
+        () -> prng.nextInts(out, 1, TEST_BULK_LENGTH));
+    assertEquals(out[0], 0, "Wrote before offset");
+    assertEquals(out[TEST_BULK_LENGTH + 1], 0, "Wrote past end");
+    assertTrue(Arrays.stream(out).distinct().count() > (TEST_BULK_LENGTH / 2),
+        "Too many repeated values");
+  }
+
+  @Test(timeOut = 10_000) public void testNextInts2() {
+    final BaseRandom prng = createRng();
+    final int[] out = new int[TEST_BULK_LENGTH];
+    checkBulkEntropy(prng, 29L * TEST_BULK_LENGTH,
+        () -> prng.nextInts(out, 0, TEST_BULK_LENGTH, 1 << 27, 1 << 29));
+    for (final int value : out) {
+      TestUtils.assertGreaterOrEqual(value, 1 << 27);
+      TestUtils.assertLess(value, 1 << 29);
+    }
+  }
+
+  @Test(timeOut = 10_000, expectedExceptions = IndexOutOfBoundsException.class)
+  public void testNextIntsOutOfBounds() {
+    createRng().nextInts(new int[TEST_BULK_LENGTH], 1, TEST_BULK_LENGTH);
+  }
+
+  @Test(timeOut = 10_000) public void testNextLongs() {
+    final BaseRandom prng = createRng();
+    final long[] out = new long[TEST_BULK_LENGTH];
+    checkBulkEntropy(prng, Long.SIZE * (long) TEST_BULK_LENGTH, () -> prng.nextLongs(out));
+    assertTrue(Arrays.stream(out).distinct().count() > (TEST_BULK_LENGTH / 2),
+        "Too many repeated values");
+  }
+
+  @Test(timeOut = 10_000) public void testNextLongs2() {
+    final BaseRandom prng = createRng();
+    final long[] out = new long[TEST_BULK_LENGTH];
+    checkBulkEntropy(prng, 42L * TEST_BULK_LENGTH,
+        () -> prng.nextLongs(out, 0, TEST_BULK_LENGTH, 1L << 40, 1L << 42));
+    for (final long value : out) {
+      TestUtils.assertGreaterOrEqual(value, 1L << 40);
+      TestUtils.assertLess(value, 1L << 42);
+    }
+  }
+
+  @Test(timeOut = 10_000) public void testNextDoubles() {
+    final BaseRandom prng = createRng();
+    final double[] out = new double[TEST_BULK_LENGTH];
+    checkBulkEntropy(prng, ENTROPY_OF_DOUBLE * (long) TEST_BULK_LENGTH,
+        () -> prng.nextDoubles(out));
+    for (final double value : out) {
+      TestUtils.assertGreaterOrEqual(value, 0.0);
+      TestUtils.assertLess(value, 1.0);
+    }
+  }
+
+  @Test(timeOut = 10_000) public void testNextDoubles2() {
+    final BaseRandom prng = createRng();
+    final double[] out = new double[TEST_BULK_LENGTH];
+    checkBulkEntropy(prng, ENTROPY_OF_DOUBLE * (long) TEST_BULK_LENGTH,
+        () -> prng.nextDoubles(out, 0, TEST_BULK_LENGTH, -1.0, 13.37));
+    for (final double value : out) {
+      TestUtils.assertGreaterOrEqual(value, -1.0);
+      TestUtils.assertLess(value, 13.37);
+    }
+  }
+
+  @Test(timeOut = 10_000) public void testNextGaussians() {
+    final BaseRandom prng = createRng();
+    final double[] out = new double[TEST_BULK_LENGTH + 2];
+    checkBulkEntropy(prng, ENTROPY_OF_DOUBLE * (long) TEST_BULK_LENGTH,
+        () -> prng.nextGaussians(out, 1, TEST_BULK_LENGTH));
+    assertEquals(out[0], 0.0, "Wrote before offset");
+    assertEquals(out[TEST_BULK_LENGTH + 1], 0.0, "Wrote past end");
+    assertTrue(Arrays.stream(out).distinct().count() > (TEST_BULK_LENGTH / 2),
+        "Too many repeated values");
+  }
+
+  @Test(timeOut = 10_000) public void testNextFloats() {
+    final BaseRandom prng = createRng();
+    final float[] out = new float[TEST_BULK_LENGTH];
+    checkBulkEntropy(prng, ENTROPY_OF_FLOAT * (long) TEST_BULK_LENGTH,
+        () -> prng.nextFloats(out));
+    for (final float value : out) {
+      TestUtils.assertGreaterOrEqual(value, 0.0);
+      TestUtils.assertLess(value, 1.0);
+    }
+  }
+
+  protected void checkBulkEntropy(final BaseRandom prng, final long expectedEntropySpent,
+      final Runnable fill) {
+    final long oldEntropy = prng.getEntropyBits();
+    fill.run();
+    final long entropy = prng.getEntropyBits();
+    final long expectedEntropy = oldEntropy - expectedEntropySpent;
+    EntropyCheckMode entropyCheckMode = getEntropyCheckMode();
+    switch (entropyCheckMode) {
+      case EXACT:
+        assertEquals(entropy, expectedEntropy);
+        break;
+      case LOWER_BOUND:
+        assertGreaterOrEqual(entropy, expectedEntropy);
+        break;
+      case OFF:
+        break;
+      default:
+        fail("Unhandled entropy check mode " + entropyCheckMode);
+    }
+  }
+
   @Test public void testNextDouble1() {
     final BaseRandom prng = createRng();
     final Supplier<? extends Number> numberSupplier = () -> prng.nextDouble(13.37);
@@ -645,6 +904,12 @@ public abstract class BaseRandomTest<T extends BaseRandom> extends PowerMockTest
         getEntropyCheckMode());
   }
 
+  @Test(timeOut = 10_000) public void testNextExponential() {
+    final BaseRandom prng = createRng();
+    checkRangeAndEntropy(prng, ENTROPY_OF_DOUBLE, prng::nextExponential, 0.0, Double.MAX_VALUE,
+        getEntropyCheckMode());
+  }
+
   @Test(timeOut = 10_000) public void testNextBoolean() {
     final BaseRandom prng = createRng();
     final Supplier<? extends Number> numberSupplier = () -> prng.nextBoolean() ? 0 : 1;
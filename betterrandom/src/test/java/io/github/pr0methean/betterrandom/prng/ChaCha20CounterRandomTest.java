@@ -0,0 +1,97 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import static org.testng.Assert.assertEquals;
+
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import java.util.Arrays;
+import java.util.Map;
+import org.testng.annotations.Test;
+
+@Test(testName = "ChaCha20CounterRandom") public class ChaCha20CounterRandomTest
+    extends CipherCounterRandomTest<ChaCha20CounterRandom> {
+
+  @Override protected int getExpectedMaxSize() {
+    return ChaCha20CounterRandom.MAX_SEED_LENGTH_BYTES;
+  }
+
+  @Override protected Class<? extends ChaCha20CounterRandom> getClassUnderTest() {
+    return ChaCha20CounterRandom.class;
+  }
+
+  /**
+   * An {@code int} parameter is the seed size for {@link
+   * ChaCha20CounterRandom#ChaCha20CounterRandom(int)} but the number of rounds for {@link
+   * ChaCha20CounterRandom#ChaCha20CounterRandom(byte[], int)}; {@link
+   * ChaCha20CounterRandom#DEFAULT_ROUNDS} is valid as either.
+   */
+  @Override protected Map<Class<?>, Object> constructorParams() {
+    final Map<Class<?>, Object> params = super.constructorParams();
+    params.put(int.class, ChaCha20CounterRandom.DEFAULT_ROUNDS);
+    return params;
+  }
+
+  @Override protected ChaCha20CounterRandom createRng() throws SeedException {
+    return new ChaCha20CounterRandom(getTestSeedGenerator().generateSeed(seedSizeBytes));
+  }
+
+  @Override protected ChaCha20CounterRandom createRng(final byte[] seed) throws SeedException {
+    return new ChaCha20CounterRandom(seed);
+  }
+
+  /**
+   * Test vectors from RFC 7539, sections 2.3.2 and A.1. The counter is incremented before each
+   * block, so a counter of all ones in the seed yields block 0.
+   */
+  @Test(timeOut = 15000) public void testKnownAnswers() {
+    final byte[] zeroKeySeed = new byte[48];
+    Arrays.fill(zeroKeySeed, 32, 48, (byte) -1);
+    final byte[] output = new byte[128];
+    createRng(zeroKeySeed).nextBytes(output);
+    assertEquals(BinaryUtils.convertBytesToHexString(output), "76B8E0ADA0F13D90405D6AE55386BD28"
+        + "BDD219B8A08DED1AA836EFCC8B770DC7DA41597C5157488D7724E03FB8D84A376A43B8F41518A11CC387B6"
+        + "69B2EE65869F07E7BE5551387A98BA977C732D080DCB0F29A048E3656912C6533E32EE7AED29B721769CE6"
+        + "4E43D57133B074D839D531ED1F28510AFB45ACE10A1F4B794D6F");
+    // Block counter 1, nonce 000000090000004a00000000
+    final ChaCha20CounterRandom rng = createRng(BinaryUtils.convertHexStringToBytes(
+        "000102030405060708090A0B0C0D0E0F101112131415161718191A1B1C1D1E1F"
+            + "000000004A0000000900000000000000"));
+    assertEquals(rng.nextInt(), 0xE4E7_F110);
+    assertEquals(rng.nextInt(), 0x1559_3BD1);
+    rng.advance(13);
+    assertEquals(rng.nextInt(), 0x4E3C_50A2);
+  }
+
+  @Test(timeOut = 15000) public void testReducedRounds() {
+    final byte[] seed = BinaryUtils.convertHexStringToBytes(
+        "000102030405060708090A0B0C0D0E0F101112131415161718191A1B1C1D1E1F"
+            + "0123456789ABCDEFFEDCBA9876543210");
+    final byte[] output = new byte[16];
+    new ChaCha20CounterRandom(seed, 8).nextBytes(output);
+    assertEquals(BinaryUtils.convertBytesToHexString(output), "ABA193BA52B8FBB33532E8037CACFBE4");
+    new ChaCha20CounterRandom(seed, 12).nextBytes(output);
+    assertEquals(BinaryUtils.convertBytesToHexString(output), "BFE68D5DEB6D9395FF060C175ADB4508");
+  }
+
+  @Test(timeOut = 15000, expectedExceptions = IllegalArgumentException.class)
+  public void testOddRounds() {
+    new ChaCha20CounterRandom(getTestSeedGenerator().generateSeed(32), 7);
+  }
+
+  @Test(timeOut = 15000, expectedExceptions = IllegalArgumentException.class)
+  public void testZeroRounds() {
+    new ChaCha20CounterRandom(getTestSeedGenerator().generateSeed(32), 0);
+  }
+
+  @Test(timeOut = 15000) public void testKeystreamWordsMatchBytes() {
+    final byte[] seed = getTestSeedGenerator().generateSeed(seedSizeBytes);
+    final ChaCha20CounterRandom rng = createRng(seed);
+    final byte[] bytes = new byte[4 * rng.getBytesAtOnce()];
+    createRng(seed).nextBytes(bytes);
+    final int[] ints = new int[bytes.length / Integer.BYTES];
+    rng.nextInts(ints);
+    for (int i = 0; i < ints.length; i++) {
+      assertEquals(ints[i], Integer.reverseBytes(BinaryUtils.convertBytesToInt(bytes, 4 * i)));
+    }
+  }
+}
@@ -2,11 +2,15 @@ package io.github.pr0methean.betterrandom.prng;
 
 import static io.github.pr0methean.betterrandom.TestUtils.assertGreaterOrEqual;
 import static io.github.pr0methean.betterrandom.TestUtils.assertLessOrEqual;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
 import io.github.pr0methean.betterrandom.seed.SeedException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Random;
 import org.testng.SkipException;
 import org.testng.annotations.BeforeClass;
@@ -64,6 +68,18 @@ public abstract class CipherCounterRandomTest<T extends CipherCounterRandom>
 
   public static void checkSetSeedForCipher(
       BaseRandomTest<?> test) {
+    checkSetSeedForCipher(test, 16);
+  }
+
+  /**
+   * Checks that reseeding with a {@code long} changes the output, and that the seed never gets
+   * shorter than a key.
+   *
+   * @param test the test whose PRNGs to check
+   * @param minSeedLength the shortest length {@link BaseRandom#getSeed()} may return
+   */
+  public static void checkSetSeedForCipher(
+      BaseRandomTest<?> test, final int minSeedLength) {
     // can't use a real SeedGenerator since we need longs, so use a Random
     final Random masterRNG = new Random();
     final long[] seeds =
@@ -75,7 +91,8 @@ public abstract class CipherCounterRandomTest<T extends CipherCounterRandom>
     for (int i = 0; i < 2; i++) {
       for (final long seed : seeds) {
         final byte[] originalSeed = rngs[i].getSeed();
-        assertTrue(originalSeed.length >= 16, "getSeed() returned seed that was too short");
+        assertTrue(originalSeed.length >= minSeedLength,
+            "getSeed() returned seed that was too short");
         final BaseRandom rngReseeded = test.createRng(originalSeed);
         final BaseRandom rngReseededOther = test.createRng(originalSeed);
         rngReseeded.setSeed(seed);
@@ -103,6 +120,164 @@ public abstract class CipherCounterRandomTest<T extends CipherCounterRandom>
         "Shouldn't allow a key longer than " + getExpectedMaxSize() + "bytes");
   }
 
+  /**
+   * Since bytes are copied straight out of the keystream, splitting a request must not change the
+   * output, even when the split isn't word-aligned or spans several blocks. The batch size is read
+   * before any output is generated, since it may adapt to the output.
+   */
+  @Test(timeOut = 15000) public void testNextBytesSplitIsSeamless() {
+    final byte[] seed = getTestSeedGenerator().generateSeed(getNewSeedLength());
+    final T whole = createRng(seed);
+    final T split = createRng(seed);
+    final int bytesAtOnce = whole.getBytesAtOnce();
+    final int length = 3 * bytesAtOnce + 5;
+    final byte[] expected = new byte[length];
+    whole.nextBytes(expected);
+    final byte[] actual = new byte[length];
+    int offset = 0;
+    for (final int chunkLength : new int[]{1, 3, bytesAtOnce + 7}) {
+      final byte[] chunk = new byte[chunkLength];
+      split.nextBytes(chunk);
+      System.arraycopy(chunk, 0, actual, offset, chunkLength);
+      offset += chunkLength;
+    }
+    final byte[] rest = new byte[length - offset];
+    split.nextBytes(rest);
+    System.arraycopy(rest, 0, actual, offset, rest.length);
+    assertEquals(actual, expected);
+    assertFalse(Arrays.equals(expected, new byte[length]));
+  }
+
+  /**
+   * Encrypting straight into a buffer must give the same keystream as copying out of the current
+   * block, including when the buffer request starts and ends partway through a block.
+   */
+  @Test(timeOut = 15000) public void testNextBytesByteBufferMatchesArray() {
+    final byte[] seed = getTestSeedGenerator().generateSeed(getNewSeedLength());
+    final T array = createRng(seed);
+    final T buffer = createRng(seed);
+    final int bytesAtOnce = array.getBytesAtOnce();
+    final int length = 3 * bytesAtOnce + 5;
+    final byte[] expected = new byte[length];
+    array.nextBytes(expected);
+    final ByteBuffer actual = ByteBuffer.allocateDirect(length);
+    for (final int chunkLength : new int[]{3, 2 * bytesAtOnce + 7}) {
+      actual.limit(actual.position() + chunkLength);
+      buffer.nextBytes(actual);
+    }
+    actual.limit(length);
+    buffer.nextBytes(actual);
+    final byte[] actualBytes = new byte[length];
+    actual.flip();
+    actual.get(actualBytes);
+    assertEquals(actualBytes, expected);
+    assertEquals(buffer.nextInt(), array.nextInt(), "Out of step after nextBytes(ByteBuffer)");
+  }
+
+  @Test(timeOut = 15000) public void testReadAt() {
+    final byte[] seed = getTestSeedGenerator().generateSeed(getNewSeedLength());
+    final T rng = createRng(seed);
+    final int blockSize = rng.getBlockSizeBytes();
+    final int length = 3 * rng.getBytesAtOnce() + 5;
+    final byte[] expected = new byte[length];
+    createRng(seed).nextBytes(expected);
+    final byte[] whole = new byte[length];
+    rng.readAt(0, whole);
+    assertEquals(whole, expected);
+    // Unaligned with respect to the batch size, and written at an offset
+    final int blockIndex = (rng.getBytesAtOnce() / blockSize) + 1;
+    final byte[] part = new byte[length];
+    rng.readAt(blockIndex, part, 1, length - (blockIndex * blockSize) - 2);
+    assertEquals(part[0], 0, "Wrote before offset");
+    assertEquals(Arrays.copyOfRange(part, 1, length - (blockIndex * blockSize) - 1),
+        Arrays.copyOfRange(expected, blockIndex * blockSize, length - 2));
+    // Reading must not have moved the cursor
+    final byte[] afterReads = new byte[length];
+    rng.nextBytes(afterReads);
+    assertEquals(afterReads, expected);
+  }
+
+  @Test(timeOut = 15000) public void testReadAtAfterReseeding() {
+    final T rng = createRng();
+    rng.nextInt();
+    rng.setSeed(getTestSeedGenerator().generateSeed(getNewSeedLength()));
+    final byte[] expected = new byte[rng.getBytesAtOnce() + 3];
+    rng.nextBytes(expected);
+    final byte[] actual = new byte[expected.length];
+    rng.readAt(0, actual);
+    assertEquals(actual, expected);
+  }
+
+  /**
+   * In fast-key-erasure mode, the start of each batch becomes the key instead of being output, and
+   * the old key is no longer returned by {@link BaseRandom#getSeed()}.
+   */
+  @Test(timeOut = 15000) public void testFastKeyErasure() {
+    final byte[] seed = getTestSeedGenerator().generateSeed(getNewSeedLength());
+    final T reference = createRng(seed);
+    final T rng = createRng(seed);
+    final int batchLength = reference.getBytesAtOnce();
+    final int keyLength = reference.getKeyLength(seed.length);
+    final byte[] batches = new byte[2 * batchLength];
+    reference.nextBytes(batches);
+    rng.setFastKeyErasure(true);
+    assertTrue(rng.isFastKeyErasure());
+    assertEquals(rng.getSeed(), Arrays.copyOf(batches, keyLength));
+    final byte[] output = new byte[batchLength - keyLength];
+    rng.nextBytes(output);
+    assertEquals(output, Arrays.copyOfRange(batches, keyLength, batchLength));
+    final byte[] nextOutput = new byte[batchLength - keyLength];
+    rng.nextBytes(nextOutput);
+    assertNotEquals(nextOutput,
+        Arrays.copyOfRange(batches, batchLength + keyLength, 2 * batchLength),
+        "Second batch wasn't rekeyed");
+    assertNotEquals(rng.getSeed(), Arrays.copyOf(batches, keyLength), "Key wasn't replaced");
+  }
+
+  /**
+   * Fast key erasure must give the same output whichever way it's requested.
+   */
+  @Test(timeOut = 15000) public void testFastKeyErasureRepeatable() {
+    final byte[] seed = getTestSeedGenerator().generateSeed(getNewSeedLength());
+    final T array = createRng(seed);
+    final T buffer = createRng(seed);
+    array.setFastKeyErasure(true);
+    buffer.setFastKeyErasure(true);
+    final int length = 3 * array.getBytesAtOnce() + 5;
+    final byte[] expected = new byte[length];
+    array.nextBytes(expected);
+    final ByteBuffer actual = ByteBuffer.allocate(length);
+    buffer.nextBytes(actual);
+    assertEquals(actual.array(), expected);
+    RandomTestUtils.assertEquivalent(array, buffer, 100,
+        "Out of step after nextBytes(ByteBuffer)");
+  }
+
+  @Test(timeOut = 15000, expectedExceptions = IllegalStateException.class)
+  public void testFastKeyErasureNotSeekable() {
+    final T rng = createRng();
+    rng.setFastKeyErasure(true);
+    rng.advance(1);
+  }
+
+  @Test(timeOut = 15000) public void testReadAtAfterFastKeyErasure() {
+    final T rng = createRng();
+    rng.setFastKeyErasure(true);
+    rng.setFastKeyErasure(false);
+    try {
+      rng.readAt(0, new byte[1]);
+      fail("readAt worked after fast key erasure");
+    } catch (final IllegalStateException expected) {
+      // Expected
+    }
+    rng.setSeed(getTestSeedGenerator().generateSeed(getNewSeedLength()));
+    final byte[] expected = new byte[rng.getBytesAtOnce()];
+    rng.nextBytes(expected);
+    final byte[] actual = new byte[expected.length];
+    rng.readAt(0, actual);
+    assertEquals(actual, expected);
+  }
+
   @Override public void testInitialEntropy() {
     checkInitialEntropyForCipher(this, createRng().getCounterSizeBytes());
   }
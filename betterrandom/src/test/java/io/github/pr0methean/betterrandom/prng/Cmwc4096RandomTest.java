@@ -31,6 +31,11 @@ import org.testng.annotations.Test;
     return Cmwc4096Random.class;
   }
 
+  @Test(timeOut = 15_000) public void testBulkRepeatability() {
+    final BaseRandom rng = createRng();
+    RandomTestUtils.assertBulkEquivalentToSequential(rng, createRng(rng.getSeed()), 1000);
+  }
+
   @Override protected Cmwc4096Random createRng() throws SeedException {
     return new Cmwc4096Random(getTestSeedGenerator());
   }
@@ -0,0 +1,49 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import org.testng.annotations.Test;
+
+public class L128X256MixRandomTest extends BaseRandomTest<L128X256MixRandom> {
+  @Override protected Class<? extends L128X256MixRandom> getClassUnderTest() {
+    return L128X256MixRandom.class;
+  }
+
+  @Override protected L128X256MixRandom createRng() {
+    return new L128X256MixRandom(getTestSeedGenerator());
+  }
+
+  @Override protected L128X256MixRandom createRng(final byte[] seed) {
+    return new L128X256MixRandom(seed);
+  }
+
+  /**
+   * Checks against JDK 17's {@code jdk.random.L128X256MixRandom}, including its {@code split()}.
+   */
+  @Test(timeOut = 15_000) public void testKnownAnswers() {
+    final L128X256MixRandom rng = createRng(BinaryUtils.convertHexStringToBytes(
+        "0123456789ABCDEFFEDCBA987654321000112233445566778899AABBCCDDEEFF"
+        + "0123456789ABCDEFFEDCBA987654321000112233445566778899AABBCCDDEEFF"));
+    assertEquals(rng.nextLong(), Long.parseUnsignedLong("17417209750287773453"));
+    assertEquals(rng.nextLong(), Long.parseUnsignedLong("13236083010682794087"));
+    final L128X256MixRandom child = rng.split();
+    assertEquals(child.nextLong(), Long.parseUnsignedLong("2413422292819122037"));
+    assertEquals(rng.nextLong(), Long.parseUnsignedLong("12378496337965522999"));
+  }
+
+  @Test(timeOut = 15_000) public void testSplit() {
+    final L128X256MixRandom rng = createRng();
+    final L128X256MixRandom copy = createRng(rng.getSeed());
+    final L128X256MixRandom child = rng.split();
+    RandomTestUtils.assertEquivalent(child, copy.split(), 20, "split() isn't repeatable");
+    RandomTestUtils.assertEquivalent(rng, copy, 20, "split() consumed inconsistent output");
+    assertNotEquals(child.nextLong(), rng.nextLong());
+  }
+
+  @Test(timeOut = 15_000) public void testBulkRepeatability() {
+    final BaseRandom rng = createRng();
+    RandomTestUtils.assertBulkEquivalentToSequential(rng, createRng(rng.getSeed()), 1000);
+  }
+}
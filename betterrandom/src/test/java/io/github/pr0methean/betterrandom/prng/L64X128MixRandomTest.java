@@ -0,0 +1,48 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import org.testng.annotations.Test;
+
+public class L64X128MixRandomTest extends BaseRandomTest<L64X128MixRandom> {
+  @Override protected Class<? extends L64X128MixRandom> getClassUnderTest() {
+    return L64X128MixRandom.class;
+  }
+
+  @Override protected L64X128MixRandom createRng() {
+    return new L64X128MixRandom(getTestSeedGenerator());
+  }
+
+  @Override protected L64X128MixRandom createRng(final byte[] seed) {
+    return new L64X128MixRandom(seed);
+  }
+
+  /**
+   * Checks against JDK 17's {@code jdk.random.L64X128MixRandom}, including its {@code split()}.
+   */
+  @Test(timeOut = 15_000) public void testKnownAnswers() {
+    final L64X128MixRandom rng = createRng(BinaryUtils.convertHexStringToBytes(
+        "0123456789ABCDEFFEDCBA987654321000112233445566778899AABBCCDDEEFF"));
+    assertEquals(rng.nextLong(), Long.parseUnsignedLong("6941496047643379406"));
+    assertEquals(rng.nextLong(), Long.parseUnsignedLong("13624228591423848823"));
+    final L64X128MixRandom child = rng.split();
+    assertEquals(child.nextLong(), Long.parseUnsignedLong("2400605665012028053"));
+    assertEquals(rng.nextLong(), Long.parseUnsignedLong("15489545111822033339"));
+  }
+
+  @Test(timeOut = 15_000) public void testSplit() {
+    final L64X128MixRandom rng = createRng();
+    final L64X128MixRandom copy = createRng(rng.getSeed());
+    final L64X128MixRandom child = rng.split();
+    RandomTestUtils.assertEquivalent(child, copy.split(), 20, "split() isn't repeatable");
+    RandomTestUtils.assertEquivalent(rng, copy, 20, "split() consumed inconsistent output");
+    assertNotEquals(child.nextLong(), rng.nextLong());
+  }
+
+  @Test(timeOut = 15_000) public void testBulkRepeatability() {
+    final BaseRandom rng = createRng();
+    RandomTestUtils.assertBulkEquivalentToSequential(rng, createRng(rng.getSeed()), 1000);
+  }
+}
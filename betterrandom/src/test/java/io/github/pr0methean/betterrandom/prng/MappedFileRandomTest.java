@@ -0,0 +1,177 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import io.github.pr0methean.betterrandom.prng.MappedFileRandom.ExhaustionPolicy;
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import org.testng.annotations.Test;
+
+@Test(testName = "MappedFileRandom")
+public class MappedFileRandomTest extends SeekableRandomTest<MappedFileRandom> {
+
+  /**
+   * Lengths in {@code long}s of the two files, the first odd so that shard boundaries don't line up
+   * with powers of 2.
+   */
+  private static final int[] FILE_LONGS = {1001, 1 << 17};
+  private static final int TOTAL_LONGS = FILE_LONGS[0] + FILE_LONGS[1];
+  private static final long FILE_SEED = 0x0123_4567_89AB_CDEFL;
+  private static final File[] FILES = writeFiles();
+
+  /**
+   * Writes {@link Pcg64Random} output to temporary files, the way {@code RandomFifoFiller} does,
+   * with a few stray bytes at the end of the first one.
+   */
+  private static File[] writeFiles() {
+    final Pcg64Random source = new Pcg64Random(FILE_SEED);
+    final File[] files = new File[FILE_LONGS.length];
+    try {
+      for (int i = 0; i < files.length; i++) {
+        files[i] = File.createTempFile("MappedFileRandomTest", ".bin");
+        files[i].deleteOnExit();
+        try (DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(new FileOutputStream(files[i])))) {
+          for (int j = 0; j < FILE_LONGS[i]; j++) {
+            out.writeLong(source.nextLong());
+          }
+          if (i == 0) {
+            out.write(new byte[]{1, 2, 3});
+          }
+        }
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return files;
+  }
+
+  private static MappedFileRandom create(final long position, final ExhaustionPolicy policy) {
+    try {
+      return new MappedFileRandom(BinaryUtils.convertLongToBytes(position), policy, FILES);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override protected Class<? extends MappedFileRandom> getClassUnderTest() {
+    return MappedFileRandom.class;
+  }
+
+  @Override protected Map<Class<?>, Object> constructorParams() {
+    final Map<Class<?>, Object> params = super.constructorParams();
+    params.put(File[].class, FILES);
+    params.put(ExhaustionPolicy.class, ExhaustionPolicy.WRAP);
+    return params;
+  }
+
+  @Override protected MappedFileRandom createRng() {
+    try {
+      return new MappedFileRandom(getTestSeedGenerator(), ExhaustionPolicy.WRAP, FILES);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override protected MappedFileRandom createRng(final byte[] seed) {
+    try {
+      return new MappedFileRandom(seed, ExhaustionPolicy.WRAP, FILES);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override public void testSetSeedLong() {
+    final MappedFileRandom rng = createRng();
+    final MappedFileRandom rng2 = createRng();
+    BaseRandomTest.checkSetSeedLong(rng, rng2);
+  }
+
+  @Test(timeOut = 90_000) public void testThreadSafetyLockFree() {
+    checkThreadSafety(ImmutableList.of(NEXT_LONG, NEXT_INT), functionsForThreadSafetyTest,
+        seed -> {
+          final MappedFileRandom rng = createRng(seed);
+          rng.setConcurrencyMode(ConcurrencyMode.LOCK_FREE);
+          return rng;
+        });
+  }
+
+  /**
+   * Output should be the files' contents in order, skipping the stray bytes, then wrap around.
+   */
+  @Test(timeOut = 15_000) public void testMatchesFiles() throws IOException {
+    final Pcg64Random source = new Pcg64Random(FILE_SEED);
+    final MappedFileRandom rng = new MappedFileRandom(FILES[0], FILES[1]);
+    for (int i = 0; i < TOTAL_LONGS; i++) {
+      assertEquals(rng.nextLong(), source.nextLong());
+    }
+    assertEquals(rng.nextLong(), new Pcg64Random(FILE_SEED).nextLong());
+  }
+
+  @Test(timeOut = 15_000) public void testNextBytesMatchesFiles() {
+    final MappedFileRandom rng = create(0, ExhaustionPolicy.WRAP);
+    final MappedFileRandom reference = create(0, ExhaustionPolicy.WRAP);
+    final byte[] bytes = new byte[3 * Long.BYTES + 5];
+    rng.nextBytes(bytes);
+    for (int i = 0; i < 3; i++) {
+      assertEquals(BinaryUtils.convertBytesToLong(bytes, i * Long.BYTES), reference.nextLong());
+    }
+    final byte[] partial = BinaryUtils.convertLongToBytes(reference.nextLong());
+    for (int i = 0; i < 5; i++) {
+      assertEquals(bytes[(3 * Long.BYTES) + i], partial[i]);
+    }
+    assertEquals(rng.nextLong(), reference.nextLong(), "Partial long wasn't consumed");
+  }
+
+  /**
+   * Bulk reads should cross from one file to the next, and wrap around, the same way single reads
+   * do.
+   */
+  @Test(timeOut = 15_000) public void testBulkAcrossBoundaries() {
+    for (final long position : new long[]{FILE_LONGS[0] - 7, TOTAL_LONGS - 7}) {
+      RandomTestUtils.assertBulkEquivalentToSequential(create(position, ExhaustionPolicy.WRAP),
+          create(position, ExhaustionPolicy.WRAP), 20);
+    }
+  }
+
+  /**
+   * The seed is reduced modulo the length of the files.
+   */
+  @Test(timeOut = 15_000) public void testSeedIsPosition() {
+    RandomTestUtils.assertEquivalent(create(5, ExhaustionPolicy.WRAP),
+        create(TOTAL_LONGS + 5, ExhaustionPolicy.WRAP), 64, "Seed wasn't reduced");
+    final MappedFileRandom advanced = create(0, ExhaustionPolicy.WRAP);
+    advanced.advance(5);
+    RandomTestUtils.assertEquivalent(advanced, create(5, ExhaustionPolicy.WRAP), 64,
+        "Seed doesn't match position");
+  }
+
+  @Test(timeOut = 15_000, expectedExceptions = IllegalStateException.class)
+  public void testExhaustion() {
+    final MappedFileRandom rng = create(FILE_LONGS[0], ExhaustionPolicy.THROW);
+    rng.advance(TOTAL_LONGS - 2);
+    rng.nextLongs(new long[2]);
+    rng.nextLong();
+  }
+
+  @Test(timeOut = 15_000) public void testReseedAfterExhaustion() {
+    final MappedFileRandom rng = create(0, ExhaustionPolicy.THROW);
+    rng.advance(TOTAL_LONGS);
+    rng.setSeed(new byte[Long.BYTES]);
+    assertEquals(rng.nextLong(), new Pcg64Random(FILE_SEED).nextLong());
+  }
+
+  @Test(timeOut = 15_000, expectedExceptions = IllegalArgumentException.class)
+  public void testEmptyFiles() throws IOException {
+    final File empty = File.createTempFile("MappedFileRandomTest", ".bin");
+    empty.deleteOnExit();
+    new MappedFileRandom(empty);
+  }
+}
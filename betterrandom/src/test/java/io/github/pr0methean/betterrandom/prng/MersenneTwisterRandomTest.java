@@ -25,12 +25,52 @@ import org.testng.annotations.Test;
  * @author Chris Hennick
  */
 @Test(testName = "MersenneTwisterRandom") public class MersenneTwisterRandomTest
-    extends BaseRandomTest<MersenneTwisterRandom> {
+    extends SeekableRandomTest<MersenneTwisterRandom> {
 
   @Override protected Class<? extends MersenneTwisterRandom> getClassUnderTest() {
     return MersenneTwisterRandom.class;
   }
 
+  /**
+   * Distances in {@link SeekableRandomTest} are all covered by twisting; these need jumps.
+   */
+  @Test(timeOut = 30_000) public void testAdvanceWithJumps() {
+    final MersenneTwisterRandom rng = createRng();
+    final MersenneTwisterRandom copy = createRng(rng.getSeed());
+    rng.nextInt();
+    copy.nextInt();
+    final int delta = (1 << 21) + 12_345;
+    rng.advance(delta);
+    copy.nextInts(new int[delta]);
+    RandomTestUtils.assertEquivalent(rng, copy, 20, "Output mismatch after jumping forward");
+    rng.advance(-delta);
+    copy.advance(-delta);
+    RandomTestUtils.assertEquivalent(rng, copy, 20, "Output mismatch after jumping backward");
+  }
+
+  @Test(timeOut = 30_000) public void testAdvanceLongDistance() {
+    final MersenneTwisterRandom rng = createRng();
+    final MersenneTwisterRandom copy = createRng(rng.getSeed());
+    rng.advance(Long.MAX_VALUE);
+    rng.advance(Long.MIN_VALUE);
+    rng.advance(1);
+    RandomTestUtils.assertEquivalent(rng, copy, 20, "Output mismatch after advancing by 0");
+  }
+
+  /**
+   * Unsized streams shouldn't make the PRNG jump 2<sup>63</sup> steps, so creating them shouldn't
+   * move it at all.
+   */
+  @Test(timeOut = 15_000) public void testUnsizedStreamsDontJump() {
+    final MersenneTwisterRandom rng = createRng();
+    final MersenneTwisterRandom copy = createRng(rng.getSeed());
+    rng.ints();
+    rng.longs();
+    rng.doubles();
+    rng.doubles(-1.0, 1.0);
+    RandomTestUtils.assertEquivalent(rng, copy, 20, "Creating an unsized stream moved the PRNG");
+  }
+
   @Override protected MersenneTwisterRandom createRng() throws SeedException {
     return new MersenneTwisterRandom(getTestSeedGenerator());
   }
@@ -0,0 +1,58 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+@Test(testName = "MultiLanePcg64Random")
+public class MultiLanePcg64RandomTest extends BaseRandomTest<MultiLanePcg64Random> {
+
+  @Override protected Class<? extends MultiLanePcg64Random> getClassUnderTest() {
+    return MultiLanePcg64Random.class;
+  }
+
+  @Override protected MultiLanePcg64Random createRng() {
+    return new MultiLanePcg64Random(getTestSeedGenerator());
+  }
+
+  @Override protected MultiLanePcg64Random createRng(final byte[] seed) {
+    return new MultiLanePcg64Random(seed);
+  }
+
+  @Override public void testSetSeedLong() {
+    final MultiLanePcg64Random rng = createRng();
+    final MultiLanePcg64Random rng2 = createRng();
+    BaseRandomTest.checkSetSeedLong(rng, rng2);
+  }
+
+  /**
+   * Each lane should be a {@link Pcg64Random} advanced by a quarter of the period per lane.
+   */
+  @Test(timeOut = 15_000) public void testLanesMatchPcg64Random() {
+    final MultiLanePcg64Random rng = createRng();
+    final Pcg64Random[] lanes = new Pcg64Random[MultiLanePcg64Random.LANES];
+    for (int i = 0; i < lanes.length; i++) {
+      lanes[i] = new Pcg64Random(rng.getSeed());
+      lanes[i].advance(i * (1L << 62));
+    }
+    for (int i = 0; i < 100; i++) {
+      assertEquals(rng.nextLong(), lanes[i % lanes.length].nextLong());
+    }
+  }
+
+  /**
+   * Bulk calls should pick up from, and leave behind, a partly used step.
+   */
+  @Test(timeOut = 15_000) public void testBulkRepeatability() {
+    final MultiLanePcg64Random rng = createRng();
+    final MultiLanePcg64Random copy = createRng(rng.getSeed());
+    rng.nextLong();
+    copy.nextLong();
+    final long[] longs = new long[1001];
+    rng.nextLongs(longs);
+    for (final long value : longs) {
+      assertEquals(value, copy.nextLong());
+    }
+    RandomTestUtils.assertBulkEquivalentToSequential(rng, copy, 1000);
+  }
+}
@@ -0,0 +1,32 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import static org.testng.Assert.assertEquals;
+
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import org.testng.annotations.Test;
+
+public class Pcg128XslRrRandomTest extends Pcg128RandomTest {
+  @Override protected Class<? extends Pcg128Random> getClassUnderTest() {
+    return Pcg128XslRrRandom.class;
+  }
+
+  @Override protected Pcg128Random createRng() {
+    return new Pcg128XslRrRandom(getTestSeedGenerator());
+  }
+
+  @Override protected Pcg128Random createRng(final byte[] seed) {
+    return new Pcg128XslRrRandom(seed);
+  }
+
+  /**
+   * Checks against the XSL RR 128/64 reference algorithm, including a 128-bit advance.
+   */
+  @Test(timeOut = 15_000) public void testKnownAnswers() {
+    final Pcg128Random rng = createRng(
+        BinaryUtils.convertHexStringToBytes("99170FBB183477A35A94C9BF390B7702"));
+    assertEquals(rng.nextLong(), Long.parseUnsignedLong("1190353289318633240"));
+    assertEquals(rng.nextLong(), Long.parseUnsignedLong("3765898705701474278"));
+    rng.advance(3, 77);
+    assertEquals(rng.nextLong(), Long.parseUnsignedLong("11688387701470663363"));
+  }
+}
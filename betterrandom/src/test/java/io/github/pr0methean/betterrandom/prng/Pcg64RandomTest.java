@@ -1,6 +1,14 @@
 package io.github.pr0methean.betterrandom.prng;
 
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import io.github.pr0methean.betterrandom.FlakyRetryAnalyzer;
+import io.github.pr0methean.betterrandom.seed.PseudorandomSeedGenerator;
 import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.seed.SeedGenerator;
+import java.util.Random;
+import java.util.UUID;
 import org.testng.annotations.Test;
 
 @Test(testName = "Pcg64Random") public class Pcg64RandomTest extends SeekableRandomTest<Pcg64Random> {
@@ -11,6 +19,50 @@ import org.testng.annotations.Test;
     BaseRandomTest.checkSetSeedLong(rng, rng2);
   }
 
+  @Test(timeOut = 90_000) public void testThreadSafetyLockFree() {
+    checkThreadSafety(ImmutableList.of(NEXT_LONG, NEXT_INT), functionsForThreadSafetyTest,
+        seed -> {
+          final Pcg64Random rng = createRng(seed);
+          rng.setConcurrencyMode(ConcurrencyMode.LOCK_FREE);
+          return rng;
+        });
+  }
+
+  /**
+   * The bulk methods jump ahead over the whole batch before generating it, so they must still give
+   * the same values, and leave the same state, as single steps do.
+   */
+  @Test public void testBulkMatchesSingleSteps() {
+    final byte[] seed = getTestSeedGenerator().generateSeed(Long.BYTES);
+    final Pcg64Random bulk = createRng(seed);
+    final Pcg64Random single = createRng(seed);
+    final int[] ints = new int[TEST_BULK_LENGTH];
+    bulk.nextInts(ints, 0, TEST_BULK_LENGTH);
+    for (final int value : ints) {
+      assertEquals(value, single.nextInt());
+    }
+    final long[] longs = new long[TEST_BULK_LENGTH];
+    bulk.nextLongs(longs);
+    for (final long value : longs) {
+      assertEquals(value, single.nextLong());
+    }
+    assertEquals(bulk.getSeed(), single.getSeed(), "State differs after bulk output");
+  }
+
+  /**
+   * Test that a {@link io.github.pr0methean.betterrandom.seed.RandomSeeder} still reseeds a
+   * lock-free instance once its entropy runs out when debits are striped.
+   */
+  @Test(timeOut = 60_000, retryAnalyzer = FlakyRetryAnalyzer.class)
+  public void testRandomSeederIntegrationStriped() {
+    final Pcg64Random rng = createRng();
+    rng.setConcurrencyMode(ConcurrencyMode.LOCK_FREE);
+    rng.setEntropyAccountingMode(EntropyAccountingMode.STRIPED);
+    final SeedGenerator seedGenerator = new PseudorandomSeedGenerator(new Random(),
+        UUID.randomUUID().toString());
+    RandomTestUtils.checkReseeding(seedGenerator, rng, true);
+  }
+
   @Override protected Class<? extends Pcg64Random> getClassUnderTest() {
     return Pcg64Random.class;
   }
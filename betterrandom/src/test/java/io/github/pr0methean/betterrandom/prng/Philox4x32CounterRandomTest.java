@@ -0,0 +1,120 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import java.util.Arrays;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+@Test(testName = "Philox4x32CounterRandom") public class Philox4x32CounterRandomTest
+    extends CipherCounterRandomTest<Philox4x32CounterRandom> {
+
+  @Override protected int getExpectedMaxSize() {
+    return Philox4x32CounterRandom.MAX_SEED_LENGTH_BYTES;
+  }
+
+  @Override protected Class<? extends Philox4x32CounterRandom> getClassUnderTest() {
+    return Philox4x32CounterRandom.class;
+  }
+
+  @Override protected Philox4x32CounterRandom createRng() throws SeedException {
+    return new Philox4x32CounterRandom(getTestSeedGenerator().generateSeed(seedSizeBytes));
+  }
+
+  @Override protected Philox4x32CounterRandom createRng(final byte[] seed) throws SeedException {
+    return new Philox4x32CounterRandom(seed);
+  }
+
+  /**
+   * Philox takes a 64-bit key.
+   */
+  @Override @Test(timeOut = 15000) public void testMaxSeedLengthOk() {
+    if (seedSizeBytes > 16) {
+      throw new SkipException("Skipping a redundant test");
+    }
+    assertEquals(createRng().getMaxKeyLengthBytes(), Long.BYTES);
+  }
+
+  /**
+   * After reseeding, the seed is just the 64-bit key.
+   */
+  @Override @Test(timeOut = 40_000) public void testSetSeedAfterNextLong() throws SeedException {
+    if (seedSizeBytes > 16) {
+      throw new SkipException("Skipping a redundant test");
+    }
+    checkSetSeedForCipher(this, Long.BYTES);
+  }
+
+  /**
+   * Test vectors from Random123's kat_vectors file. The counter is incremented before each block,
+   * so each seed holds one less than the vector's counter.
+   */
+  @Test(timeOut = 15000) public void testKnownAnswers() {
+    Philox4x32CounterRandom rng = createRng(BinaryUtils.convertHexStringToBytes(
+        "0000000000000000FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFF"));
+    assertEquals(rng.nextInt(), 0x6627_E8D5);
+    assertEquals(rng.nextInt(), 0xE169_C58D);
+    assertEquals(rng.nextInt(), 0xBC57_AC4C);
+    assertEquals(rng.nextInt(), 0x9B00_DBD8);
+    rng = createRng(BinaryUtils.convertHexStringToBytes(
+        "FFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFFE"));
+    assertEquals(rng.nextInt(), 0x408F_276D);
+    assertEquals(rng.nextInt(), 0x41C8_3B0E);
+    assertEquals(rng.nextInt(), 0xA20B_C7C6);
+    assertEquals(rng.nextInt(), 0x6D54_51FD);
+    rng = createRng(BinaryUtils.convertHexStringToBytes(
+        "299F31D0A40938220370734413198A2E85A308D3243F6A87"));
+    assertEquals(rng.nextInt(), 0xD16C_FE09);
+    assertEquals(rng.nextInt(), 0x94FD_CCEB);
+    assertEquals(rng.nextInt(), 0x5001_E420);
+    assertEquals(rng.nextInt(), 0x2412_6EA1);
+    final int[] output = new int[4];
+    Philox4x32CounterRandom.generate(0, 0, output);
+    assertEquals(output, new int[]{0x6627_E8D5, 0xE169_C58D, 0xBC57_AC4C, 0x9B00_DBD8});
+  }
+
+  @Test(timeOut = 15000) public void testGenerateMatchesInstance() {
+    final byte[] key = getTestSeedGenerator().generateSeed(Long.BYTES);
+    final Philox4x32CounterRandom rng = createRng(key);
+    final int[] expected = new int[((3 * rng.getBytesAtOnce()) / Integer.BYTES) + 3];
+    rng.nextInts(expected);
+    final int[] actual = new int[expected.length];
+    Philox4x32CounterRandom.generate(BinaryUtils.convertBytesToLong(key, 0), 1, actual);
+    assertEquals(actual, expected);
+  }
+
+  /**
+   * An instance increments its counter before encrypting it, so its output starts one counter value
+   * after the static method's.
+   */
+  @Test(timeOut = 15000) public void testGenerateStartsOneBeforeInstance() {
+    final byte[] key = getTestSeedGenerator().generateSeed(Long.BYTES);
+    final long counter =
+        BinaryUtils.convertBytesToLong(getTestSeedGenerator().generateSeed(Long.BYTES));
+    final byte[] seed = Arrays.copyOf(key, Philox4x32CounterRandom.MAX_SEED_LENGTH_BYTES);
+    BinaryUtils.convertLongToBytes(counter, seed, 2 * Long.BYTES);
+    final int[] expected = new int[8];
+    createRng(seed).nextInts(expected);
+    final int[] fromCounter = new int[expected.length + 4];
+    Philox4x32CounterRandom.generate(BinaryUtils.convertBytesToLong(key, 0), counter, fromCounter);
+    assertEquals(Arrays.copyOfRange(fromCounter, 4, fromCounter.length), expected,
+        "Instance doesn't start at counter + 1");
+    assertNotEquals(Arrays.copyOf(fromCounter, expected.length), expected,
+        "Instance starts at counter");
+  }
+
+  @Test(timeOut = 15000) public void testGenerateCarriesIntoUpperCounter() {
+    final byte[] key = getTestSeedGenerator().generateSeed(Long.BYTES);
+    final byte[] seed = Arrays.copyOf(key, Philox4x32CounterRandom.MAX_SEED_LENGTH_BYTES);
+    BinaryUtils.convertLongToBytes(-2, seed, 2 * Long.BYTES);
+    final Philox4x32CounterRandom rng = createRng(seed);
+    final int[] expected = new int[12];
+    rng.nextInts(expected);
+    final int[] actual = new int[expected.length];
+    Philox4x32CounterRandom.generate(BinaryUtils.convertBytesToLong(key, 0), -1, actual);
+    assertEquals(actual, expected);
+  }
+}
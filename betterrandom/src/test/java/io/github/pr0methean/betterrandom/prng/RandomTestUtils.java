@@ -83,6 +83,10 @@ public enum RandomTestUtils {
   }
 
   /**
+   * Streams over seekable PRNGs debit entropy for up to {@link
+   * SeekableRandomSpliterator#BATCH_SIZE} values at once, so the entropy check allows that many
+   * values to be paid for in advance.
+   *
    * @param expectedCount Negative for an endless stream.
    * @param origin Minimum expected value, inclusive.
    * @param bound Maximum expected value, exclusive.
@@ -90,16 +94,17 @@ public enum RandomTestUtils {
   public static void checkStream(final BaseRandom prng, final long maxEntropySpentPerNumber,
       final Stream<? extends Number> stream, final int expectedCount, final double origin,
       final double bound, final boolean checkEntropyCount) {
-    final AtomicLong entropy = new AtomicLong(prng.getEntropyBits());
+    final long oldEntropy = prng.getEntropyBits();
+    final AtomicLong consumed = new AtomicLong();
     final Stream<? extends Number> streamToUse =
         (expectedCount < 0) ? stream.sequential().limit(STREAM_SIZE) : stream.sequential();
     final long count = streamToUse.mapToLong((number) -> {
       TestUtils.assertGreaterOrEqual(number.doubleValue(), origin);
       TestUtils.assertLess(number.doubleValue(), bound);
       if (checkEntropyCount) {
-        long newEntropy = prng.getEntropyBits();
-        TestUtils.assertGreaterOrEqual(newEntropy,
-            entropy.getAndSet(newEntropy) - maxEntropySpentPerNumber);
+        TestUtils.assertGreaterOrEqual(prng.getEntropyBits(), oldEntropy
+            - (maxEntropySpentPerNumber
+                * (consumed.incrementAndGet() + SeekableRandomSpliterator.BATCH_SIZE)));
       }
       return 1;
     }).sum();
@@ -146,6 +151,52 @@ public enum RandomTestUtils {
     assertEquivalentOrDistinct(rng1, rng2, iterations, message, false);
   }
 
+  /**
+   * Checks that the bulk array methods of one PRNG give the same output as the corresponding
+   * single-value methods of another that has the same state.
+   *
+   * @param bulk the PRNG whose bulk methods are tested
+   * @param sequential a PRNG with the same state as {@code bulk}
+   * @param length the number of values of each type to compare; use enough to cross any internal
+   *     block boundary
+   */
+  public static void assertBulkEquivalentToSequential(final BaseRandom bulk,
+      final BaseRandom sequential, final int length) {
+    final int[] ints = new int[length];
+    bulk.nextInts(ints);
+    for (int i = 0; i < length; i++) {
+      assertEquals(ints[i], sequential.nextInt(), "nextInts mismatch at index " + i);
+    }
+    bulk.nextInts(ints, 0, length, -5, 1000);
+    for (int i = 0; i < length; i++) {
+      assertEquals(ints[i], sequential.nextInt(-5, 1000), "bounded nextInts mismatch at index " + i);
+    }
+    final long[] longs = new long[length];
+    bulk.nextLongs(longs);
+    for (int i = 0; i < length; i++) {
+      assertEquals(longs[i], sequential.nextLong(), "nextLongs mismatch at index " + i);
+    }
+    bulk.nextLongs(longs, 0, length, -5, 1L << 42);
+    for (int i = 0; i < length; i++) {
+      assertEquals(longs[i], sequential.nextLong(-5, 1L << 42),
+          "bounded nextLongs mismatch at index " + i);
+    }
+    final double[] doubles = new double[length];
+    bulk.nextDoubles(doubles);
+    for (int i = 0; i < length; i++) {
+      assertEquals(doubles[i], sequential.nextDouble(), "nextDoubles mismatch at index " + i);
+    }
+    final float[] floats = new float[length];
+    bulk.nextFloats(floats);
+    for (int i = 0; i < length; i++) {
+      assertEquals(floats[i], sequential.nextFloat(), "nextFloats mismatch at index " + i);
+    }
+    bulk.nextGaussians(doubles);
+    for (int i = 0; i < length; i++) {
+      assertEquals(doubles[i], sequential.nextGaussian(), "nextGaussians mismatch at index " + i);
+    }
+  }
+
   public static String toString(final Random rng) {
     return rng instanceof Dumpable ? ((Dumpable) rng).dump() : rng.toString();
   }
@@ -1,5 +1,7 @@
 package io.github.pr0methean.betterrandom.prng;
 
+import static org.testng.Assert.assertEquals;
+
 import io.github.pr0methean.betterrandom.SeekableRandom;
 import java.util.Random;
 import org.testng.annotations.DataProvider;
@@ -18,6 +20,56 @@ public abstract class SeekableRandomTest<T extends BaseRandom & SeekableRandom>
     return new Object[][]{{1}, {2}, {3}, {4}, {5}, {8}, {9}, {16}, {17}, {37}};
   }
 
+  /**
+   * Test that a {@link ConcurrencyMode#CONFINED} instance gives the same output as a synchronized
+   * one with the same seed.
+   */
+  @Test(timeOut = 15_000) public void testRepeatabilityConfined() {
+    final BaseRandom rng = createRng();
+    final BaseRandom duplicateRNG = createRng(rng.getSeed());
+    duplicateRNG.setConcurrencyMode(ConcurrencyMode.CONFINED);
+    assertEquals(duplicateRNG.getConcurrencyMode(), ConcurrencyMode.CONFINED);
+    RandomTestUtils.assertEquivalent(rng, duplicateRNG, DELTA, "Output mismatch");
+    duplicateRNG.setConcurrencyMode(ConcurrencyMode.SYNCHRONIZED);
+    RandomTestUtils.assertEquivalent(rng, duplicateRNG, DELTA,
+        "Output mismatch after leaving confined mode");
+  }
+
+  @Test(timeOut = 15_000) public void testBulkRepeatability() {
+    final BaseRandom rng = createRng();
+    RandomTestUtils.assertBulkEquivalentToSequential(rng, createRng(rng.getSeed()), 1000);
+  }
+
+  /**
+   * Test that streams produce the same output whether consumed in parallel or not, and that it's
+   * the output the PRNG would otherwise have produced next.
+   */
+  @Test(timeOut = 30_000) public void testParallelStreamsMatchSequential() {
+    final int length = 10_000;
+    final BaseRandom rng = createRng();
+    final BaseRandom sequential = createRng(rng.getSeed());
+    final int[] expectedInts = new int[length];
+    for (int i = 0; i < length; i++) {
+      expectedInts[i] = sequential.nextInt();
+    }
+    assertEquals(rng.ints(length).parallel().toArray(), expectedInts);
+    final long[] expectedLongs = new long[length];
+    for (int i = 0; i < length; i++) {
+      expectedLongs[i] = sequential.nextLong();
+    }
+    assertEquals(rng.longs(length).parallel().toArray(), expectedLongs);
+    final double[] expectedDoubles = new double[length];
+    for (int i = 0; i < length; i++) {
+      expectedDoubles[i] = sequential.nextDouble(-1.0, 1.0);
+    }
+    assertEquals(rng.doubles(length, -1.0, 1.0).parallel().toArray(), expectedDoubles);
+    RandomTestUtils.assertEquivalent(rng, sequential, DELTA, "Output mismatch after streams");
+    if (rng.splitsUnsizedStreams()) {
+      assertEquals(rng.ints().parallel().limit(length).toArray(),
+          sequential.ints(length).toArray());
+    }
+  }
+
   @Test(dataProvider = "deltas") public void testAdvanceForward(int delta) {
     for (int i = 0; i < ITERATIONS; i++) {
       final Random copy1AsRandom = createRng();
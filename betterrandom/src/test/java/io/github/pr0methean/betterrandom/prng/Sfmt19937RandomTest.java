@@ -0,0 +1,53 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import static org.testng.Assert.assertEquals;
+
+import io.github.pr0methean.betterrandom.seed.SeedException;
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import org.testng.annotations.Test;
+
+@Test(testName = "Sfmt19937Random") public class Sfmt19937RandomTest
+    extends BaseRandomTest<Sfmt19937Random> {
+
+  @Override protected Class<? extends Sfmt19937Random> getClassUnderTest() {
+    return Sfmt19937Random.class;
+  }
+
+  /**
+   * Checks against SFMT.19937.out.txt from the reference implementation, which seeds with
+   * {@code init_by_array({0x1234, 0x5678, 0x9abc, 0xdef0})}.
+   */
+  @Test(timeOut = 15_000) public void testKnownAnswers() {
+    final Sfmt19937Random rng = createRng(BinaryUtils.convertHexStringToBytes(
+        "000012340000567800009ABC0000DEF0"));
+    assertEquals(rng.nextInt(), (int) 2920711183L);
+    assertEquals(rng.nextInt(), (int) 3885745737L);
+    assertEquals(rng.nextInt(), (int) 3501893680L);
+    assertEquals(rng.nextInt(), 856470934);
+    assertEquals(rng.nextInt(), 1421864068);
+  }
+
+  @Test(timeOut = 15_000) public void testBulkRepeatability() {
+    final BaseRandom rng = createRng();
+    RandomTestUtils.assertBulkEquivalentToSequential(rng, createRng(rng.getSeed()), 1000);
+  }
+
+  /**
+   * {@link Sfmt19937Random#nextLongs(long[])} has to fall back to combining words after an odd
+   * number of {@code int}s.
+   */
+  @Test(timeOut = 15_000) public void testBulkRepeatabilityAfterOddInts() {
+    final BaseRandom rng = createRng();
+    final BaseRandom copy = createRng(rng.getSeed());
+    assertEquals(rng.nextInt(), copy.nextInt());
+    RandomTestUtils.assertBulkEquivalentToSequential(rng, copy, 1000);
+  }
+
+  @Override protected Sfmt19937Random createRng() throws SeedException {
+    return new Sfmt19937Random(getTestSeedGenerator());
+  }
+
+  @Override protected Sfmt19937Random createRng(final byte[] seed) throws SeedException {
+    return new Sfmt19937Random(seed);
+  }
+}
@@ -2,6 +2,8 @@ package io.github.pr0methean.betterrandom.prng;
 
 import static org.testng.Assert.assertTrue;
 
+import org.testng.annotations.Test;
+
 /**
  * Serves to test the suitability of {@link CipherCounterRandom} for non-AES-based subclassing.
  */
@@ -22,4 +24,23 @@ public class TwoFishCounterRandomTest extends CipherCounterRandomTest<TwoFishCou
   @Override protected TwoFishCounterRandom createRng(byte[] seed) {
     return new TwoFishCounterRandom(seed);
   }
+
+  /**
+   * A batch is one 16-byte block, and no key is shorter than that, so fast key erasure would leave
+   * nothing to output.
+   */
+  @Override @Test(timeOut = 15000, expectedExceptions = IllegalStateException.class)
+  public void testFastKeyErasure() {
+    createRng().setFastKeyErasure(true);
+  }
+
+  @Override @Test(timeOut = 15000, expectedExceptions = IllegalStateException.class)
+  public void testFastKeyErasureRepeatable() {
+    createRng().setFastKeyErasure(true);
+  }
+
+  @Override @Test(timeOut = 15000, expectedExceptions = IllegalStateException.class)
+  public void testReadAtAfterFastKeyErasure() {
+    createRng().setFastKeyErasure(true);
+  }
 }
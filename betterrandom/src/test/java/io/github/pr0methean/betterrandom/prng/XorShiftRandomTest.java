@@ -15,7 +15,13 @@
 // ============================================================================
 package io.github.pr0methean.betterrandom.prng;
 
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import io.github.pr0methean.betterrandom.seed.RandomSeeder;
 import io.github.pr0methean.betterrandom.seed.SeedException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 
 /**
@@ -24,12 +30,63 @@ import org.testng.annotations.Test;
  * @author Daniel Dyer
  */
 @Test(testName = "XorShiftRandom") public class XorShiftRandomTest
-    extends BaseRandomTest<XorShiftRandom> {
+    extends SeekableRandomTest<XorShiftRandom> {
 
   @Override protected Class<? extends XorShiftRandom> getClassUnderTest() {
     return XorShiftRandom.class;
   }
 
+  @Test(timeOut = 15_000) public void testConfinedToOwnerThread() throws InterruptedException {
+    boolean assertionsEnabled = false;
+    assert assertionsEnabled = true;
+    if (!assertionsEnabled) {
+      throw new SkipException("Confinement is only checked when assertions are enabled");
+    }
+    final XorShiftRandom rng = createRng();
+    rng.setConcurrencyMode(ConcurrencyMode.CONFINED);
+    rng.nextInt();
+    final AtomicReference<Throwable> thrown = new AtomicReference<>();
+    final Thread otherThread = new Thread(() -> {
+      try {
+        rng.nextInt();
+      } catch (final Throwable t) {
+        thrown.set(t);
+      }
+    });
+    otherThread.start();
+    otherThread.join();
+    assertTrue(thrown.get() instanceof AssertionError, "Confined PRNG usable from second thread");
+  }
+
+  @Test public void testConfinedWithRandomSeeder() {
+    final XorShiftRandom rng = createRng();
+    rng.setConcurrencyMode(ConcurrencyMode.CONFINED);
+    final RandomSeeder seeder = new RandomSeeder(getTestSeedGenerator());
+    try {
+      rng.setRandomSeeder(seeder);
+      assertEquals(rng.getConcurrencyMode(), ConcurrencyMode.SYNCHRONIZED);
+    } finally {
+      RandomTestUtils.removeAndAssertEmpty(seeder, rng);
+    }
+  }
+
+  /**
+   * Distances in {@link SeekableRandomTest} are all covered by stepping; this one needs jumps.
+   */
+  @Test(timeOut = 15_000) public void testAdvanceWithJumps() {
+    final XorShiftRandom rng = createRng();
+    final XorShiftRandom copy = createRng(rng.getSeed());
+    final int delta = 123_457;
+    rng.advance(delta);
+    copy.nextInts(new int[delta]);
+    RandomTestUtils.assertEquivalent(rng, copy, 20, "Output mismatch after jumping forward");
+  }
+
+  @Override @Test(dataProvider = "deltas", expectedExceptions = UnsupportedOperationException.class)
+  public void testAdvanceBackward(final int delta) {
+    createRng().advance(-delta);
+  }
+
   @Override protected XorShiftRandom createRng() throws SeedException {
     return new XorShiftRandom(getTestSeedGenerator());
   }
@@ -0,0 +1,61 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import static org.testng.Assert.assertEquals;
+
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import io.github.pr0methean.betterrandom.util.Gf2PolynomialArithmetic;
+import org.testng.annotations.Test;
+
+public class Xoroshiro128PlusPlusRandomTest extends SeekableRandomTest<Xoroshiro128PlusPlusRandom> {
+  @Override protected Class<? extends Xoroshiro128PlusPlusRandom> getClassUnderTest() {
+    return Xoroshiro128PlusPlusRandom.class;
+  }
+
+  @Override protected Xoroshiro128PlusPlusRandom createRng() {
+    return new Xoroshiro128PlusPlusRandom(getTestSeedGenerator());
+  }
+
+  @Override protected Xoroshiro128PlusPlusRandom createRng(final byte[] seed) {
+    return new Xoroshiro128PlusPlusRandom(seed);
+  }
+
+  /**
+   * Checks against the reference C implementation, including its jump functions.
+   */
+  @Test(timeOut = 15_000) public void testKnownAnswers() {
+    final Xoroshiro128PlusPlusRandom rng = createRng(BinaryUtils.convertHexStringToBytes(
+        "0123456789ABCDEFFEDCBA9876543210"));
+    assertEquals(rng.nextLong(), Long.parseUnsignedLong("81985529216486894"));
+    assertEquals(rng.nextLong(), Long.parseUnsignedLong("11559359155456189540"));
+    rng.jump();
+    assertEquals(rng.nextLong(), Long.parseUnsignedLong("7744179023814167527"));
+    rng.longJump();
+    assertEquals(rng.nextLong(), Long.parseUnsignedLong("11447990298269904810"));
+  }
+
+  /**
+   * Checks that the jump polynomials are the right powers of x, and hence that {@link
+   * Xoroshiro128PlusPlusRandom#advance(long)} uses the right characteristic polynomial.
+   */
+  @Test(timeOut = 15_000) public void testJumpPolynomials() {
+    final Xoroshiro128PlusPlusRandom rng = createRng();
+    final Xoroshiro128PlusPlusRandom copy = createRng(rng.getSeed());
+    rng.jump();
+    copy.jump(Gf2PolynomialArithmetic.powerOfXToPowerOfTwo(64,
+        Xoroshiro128PlusPlusRandom.CHARACTERISTIC_POLYNOMIAL, 128));
+    RandomTestUtils.assertEquivalent(rng, copy, 20, "Output mismatch after jump()");
+    rng.longJump();
+    copy.jump(Gf2PolynomialArithmetic.powerOfXToPowerOfTwo(96,
+        Xoroshiro128PlusPlusRandom.CHARACTERISTIC_POLYNOMIAL, 128));
+    RandomTestUtils.assertEquivalent(rng, copy, 20, "Output mismatch after longJump()");
+  }
+
+  @Test(timeOut = 15_000) public void testAdvanceLongDistance() {
+    final Xoroshiro128PlusPlusRandom rng = createRng();
+    final Xoroshiro128PlusPlusRandom copy = createRng(rng.getSeed());
+    rng.advance(Long.MAX_VALUE);
+    rng.advance(Long.MIN_VALUE);
+    rng.advance(1);
+    RandomTestUtils.assertEquivalent(rng, copy, 20, "Output mismatch after advancing by 0");
+  }
+}
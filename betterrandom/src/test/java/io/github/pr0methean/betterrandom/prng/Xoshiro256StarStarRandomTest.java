@@ -0,0 +1,61 @@
+package io.github.pr0methean.betterrandom.prng;
+
+import static org.testng.Assert.assertEquals;
+
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import io.github.pr0methean.betterrandom.util.Gf2PolynomialArithmetic;
+import org.testng.annotations.Test;
+
+public class Xoshiro256StarStarRandomTest extends SeekableRandomTest<Xoshiro256StarStarRandom> {
+  @Override protected Class<? extends Xoshiro256StarStarRandom> getClassUnderTest() {
+    return Xoshiro256StarStarRandom.class;
+  }
+
+  @Override protected Xoshiro256StarStarRandom createRng() {
+    return new Xoshiro256StarStarRandom(getTestSeedGenerator());
+  }
+
+  @Override protected Xoshiro256StarStarRandom createRng(final byte[] seed) {
+    return new Xoshiro256StarStarRandom(seed);
+  }
+
+  /**
+   * Checks against the reference C implementation, including its jump functions.
+   */
+  @Test(timeOut = 15_000) public void testKnownAnswers() {
+    final Xoshiro256StarStarRandom rng = createRng(BinaryUtils.convertHexStringToBytes(
+        "0123456789ABCDEFFEDCBA98765432100F1E2D3C4B5A69788796A5B4C3D2E1F0"));
+    assertEquals(rng.nextLong(), Long.parseUnsignedLong("7378697629483822181"));
+    assertEquals(rng.nextLong(), Long.parseUnsignedLong("15638243245878337706"));
+    rng.jump();
+    assertEquals(rng.nextLong(), Long.parseUnsignedLong("17680334890044649206"));
+    rng.longJump();
+    assertEquals(rng.nextLong(), Long.parseUnsignedLong("5428255684193936026"));
+  }
+
+  /**
+   * Checks that the jump polynomials are the right powers of x, and hence that {@link
+   * Xoshiro256StarStarRandom#advance(long)} uses the right characteristic polynomial.
+   */
+  @Test(timeOut = 15_000) public void testJumpPolynomials() {
+    final Xoshiro256StarStarRandom rng = createRng();
+    final Xoshiro256StarStarRandom copy = createRng(rng.getSeed());
+    rng.jump();
+    copy.jump(Gf2PolynomialArithmetic.powerOfXToPowerOfTwo(128,
+        Xoshiro256StarStarRandom.CHARACTERISTIC_POLYNOMIAL, 256));
+    RandomTestUtils.assertEquivalent(rng, copy, 20, "Output mismatch after jump()");
+    rng.longJump();
+    copy.jump(Gf2PolynomialArithmetic.powerOfXToPowerOfTwo(192,
+        Xoshiro256StarStarRandom.CHARACTERISTIC_POLYNOMIAL, 256));
+    RandomTestUtils.assertEquivalent(rng, copy, 20, "Output mismatch after longJump()");
+  }
+
+  @Test(timeOut = 15_000) public void testAdvanceLongDistance() {
+    final Xoshiro256StarStarRandom rng = createRng();
+    final Xoshiro256StarStarRandom copy = createRng(rng.getSeed());
+    rng.advance(Long.MAX_VALUE);
+    rng.advance(Long.MIN_VALUE);
+    rng.advance(1);
+    RandomTestUtils.assertEquivalent(rng, copy, 20, "Output mismatch after advancing by 0");
+  }
+}
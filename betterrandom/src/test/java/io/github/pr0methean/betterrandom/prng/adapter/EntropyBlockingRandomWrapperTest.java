@@ -8,6 +8,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 import static org.testng.Assert.fail;
 
 import com.google.common.collect.ImmutableList;
@@ -27,6 +28,9 @@ import java.util.Arrays;
 import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
@@ -197,6 +201,42 @@ public class EntropyBlockingRandomWrapperTest extends RandomWrapperRandomTest {
     assertFalse(Arrays.equals(testBytes, new byte[TEST_BYTE_ARRAY_LENGTH]));
   }
 
+  /**
+   * With a minimum entropy of 0 and an 8-byte seed, each long in a bulk operation needs a new seed,
+   * and should come from that seed rather than from the one that's current when the operation ends.
+   */
+  @Test public void testNextLongsReseedsBetweenChunks() {
+    final long seedGenSeed = ThreadLocalRandom.current().nextLong();
+    final EntropyBlockingRandomWrapper<Random> random = EntropyBlockingRandomWrapper
+        .wrapJavaUtilRandom(0L, new PseudorandomSeedGenerator(new Random(seedGenSeed),
+            UUID.randomUUID().toString()));
+    final SeedGenerator expectedSeeds = new PseudorandomSeedGenerator(new Random(seedGenSeed));
+    final long[] out = new long[4];
+    random.nextLongs(out);
+    for (int i = 0; i < out.length; i++) {
+      assertEquals(out[i],
+          new Random(BinaryUtils.convertBytesToLong(expectedSeeds.generateSeed(8))).nextLong(),
+          "Wrong seed used for element " + i);
+    }
+  }
+
+  @Test public void testNextBytesReseedsBetweenChunks() {
+    final long seedGenSeed = ThreadLocalRandom.current().nextLong();
+    final EntropyBlockingRandomWrapper<Random> random = EntropyBlockingRandomWrapper
+        .wrapJavaUtilRandom(0L, new PseudorandomSeedGenerator(new Random(seedGenSeed),
+            UUID.randomUUID().toString()));
+    final SeedGenerator expectedSeeds = new PseudorandomSeedGenerator(new Random(seedGenSeed));
+    final byte[] out = new byte[TEST_BYTE_ARRAY_LENGTH];
+    random.nextBytes(out);
+    for (int i = 0; i < out.length; i += Long.BYTES) {
+      final byte[] expected = new byte[Math.min(Long.BYTES, out.length - i)];
+      new Random(BinaryUtils.convertBytesToLong(expectedSeeds.generateSeed(8)))
+          .nextBytes(expected);
+      assertEquals(Arrays.copyOfRange(out, i, i + expected.length), expected,
+          "Wrong seed used for bytes starting at " + i);
+    }
+  }
+
   @Override public void testSetSeedAfterNextLong() throws SeedException {
     checkSetSeedAfter(this::createRngLargeEntropyLimit, this::createRngLargeEntropyLimit,
         BaseRandom::nextLong);
@@ -243,6 +283,69 @@ public class EntropyBlockingRandomWrapperTest extends RandomWrapperRandomTest {
     assertEquals(consumer.getState(), Thread.State.TERMINATED, "setWrapped didn't unblock");
   }
 
+  @Test(timeOut = 10_000) public void testNextLongAsync() throws Exception {
+    byte[] seed = getTestSeedGenerator().generateSeed(8);
+    EntropyBlockingRandomWrapper<Random> random
+        = EntropyBlockingRandomWrapper.wrapJavaUtilRandom(0L, seed, null);
+    CompletableFuture<Long> future = random.nextLongAsync();
+    assertTrue(future.isDone(), "Should complete at once when entropy is available");
+    assertEquals(future.get().longValue(),
+        new Random(BinaryUtils.convertBytesToLong(seed)).nextLong());
+  }
+
+  @Test(timeOut = 10_000) public void testAsyncQueuedUntilReseeded() throws Exception {
+    RandomSeeder seeder = Mockito.mock(RandomSeeder.class);
+    EntropyBlockingRandomWrapper<Random> random = EntropyBlockingRandomWrapper
+        .wrapJavaUtilRandom(0L, getTestSeedGenerator().generateSeed(8), null);
+    random.setRandomSeeder(seeder);
+    random.setMaxPendingAsync(1);
+    random.nextLong();
+    Mockito.clearInvocations(seeder);
+    CompletableFuture<Long> queued = random.nextLongAsync();
+    CompletableFuture<byte[]> rejected = random.nextBytesAsync(1);
+    assertFalse(queued.isDone(), "Should wait for reseeding");
+    Mockito.verify(seeder, Mockito.atLeastOnce()).add(random);
+    try {
+      rejected.get();
+      fail("Expected the second request to be rejected");
+    } catch (ExecutionException expected) {
+      assertTrue(expected.getCause() instanceof RejectedExecutionException);
+    }
+    byte[] newSeed = getTestSeedGenerator().generateSeed(8);
+    random.setSeed(newSeed);
+    assertEquals(queued.get().longValue(),
+        new Random(BinaryUtils.convertBytesToLong(newSeed)).nextLong());
+    random.setRandomSeeder(null);
+  }
+
+  /**
+   * Without a {@link RandomSeeder}, the same-thread seed generator should be used off the calling
+   * thread, as many times as needed to fill a request.
+   */
+  @Test(timeOut = 10_000) public void testNextBytesAsyncAcrossReseedings() throws Exception {
+    SeedGenerator seedGen = Mockito.spy(getTestSeedGenerator());
+    EntropyBlockingRandomWrapper<Random> random = EntropyBlockingRandomWrapper
+        .wrapJavaUtilRandom(0L, seedGen.generateSeed(8), seedGen);
+    Mockito.clearInvocations(seedGen);
+    byte[] bytes = random.nextBytesAsync(TEST_BYTE_ARRAY_LENGTH).get();
+    assertEquals(bytes.length, TEST_BYTE_ARRAY_LENGTH);
+    assertFalse(Arrays.equals(bytes, new byte[TEST_BYTE_ARRAY_LENGTH]));
+    Mockito.verify(seedGen, Mockito.atLeast(TEST_BYTE_ARRAY_LENGTH / 8 - 1))
+        .generateSeed(anyInt());
+  }
+
+  @Test(timeOut = 10_000, expectedExceptions = IllegalStateException.class)
+  public void testAsyncWithNoWayToReseed() throws Throwable {
+    EntropyBlockingRandomWrapper<Random> random = EntropyBlockingRandomWrapper
+        .wrapJavaUtilRandom(0L, getTestSeedGenerator().generateSeed(8), null);
+    random.nextLong();
+    try {
+      random.nextLongAsync().get();
+    } catch (ExecutionException e) {
+      throw e.getCause();
+    }
+  }
+
   /**
    * Test to ensure that two distinct RNGs with the same seed return the same sequence of numbers.
    */
@@ -257,6 +360,10 @@ public class EntropyBlockingRandomWrapperTest extends RandomWrapperRandomTest {
     RandomTestUtils.assertEquivalent(rng, duplicateRNG, 200, "Generated sequences do not match.");
   }
 
+  @Override @Test(enabled = false) public void testNextBytesDirectMatchesHeap() {
+    // No-op: reseeds from the seed generator once entropy runs out
+  }
+
   /**
    * Doesn't use nextBytes, which is implemented non-equivalently in EBRW because it may need to
    * reseed partway through.
@@ -121,6 +121,21 @@ public class EntropyBlockingSplittableRandomAdapterTest
     }
   }
 
+  @Override @Test(retryAnalyzer = FlakyRetryAnalyzer.class)
+  public void testForCurrentThreadReseeding() {
+    SeedGenerator generator =
+        new PseudorandomSeedGenerator(ThreadLocalRandom.current(), "testForCurrentThreadReseeding");
+    RandomSeeder seeder = new RandomSeeder(generator);
+    try {
+      EntropyBlockingSplittableRandomAdapter random =
+          new EntropyBlockingSplittableRandomAdapter(generator, seeder,
+              EntropyBlockingTestUtils.DEFAULT_MAX_ENTROPY);
+      RandomTestUtils.checkReseeding(generator, random.forCurrentThread(), false);
+    } finally {
+      seeder.shutDown();
+    }
+  }
+
   /**
    * Test for crashes only, since setSeed is a no-op.
    */
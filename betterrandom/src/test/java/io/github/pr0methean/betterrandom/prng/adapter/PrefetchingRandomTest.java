@@ -0,0 +1,76 @@
+package io.github.pr0methean.betterrandom.prng.adapter;
+
+import static org.testng.Assert.assertEquals;
+
+import io.github.pr0methean.betterrandom.prng.BaseRandom;
+import io.github.pr0methean.betterrandom.prng.BaseRandomTest;
+import io.github.pr0methean.betterrandom.prng.Pcg64Random;
+import io.github.pr0methean.betterrandom.prng.RandomTestUtils;
+import java.util.concurrent.RejectedExecutionException;
+import org.testng.annotations.Test;
+
+@Test(testName = "PrefetchingRandom") public class PrefetchingRandomTest
+    extends BaseRandomTest<PrefetchingRandom<Pcg64Random>> {
+
+  private static final int BLOCK_SIZE = 16;
+
+  @SuppressWarnings("rawtypes") @Override protected Class<PrefetchingRandom> getClassUnderTest() {
+    return PrefetchingRandom.class;
+  }
+
+  @Override @Test(enabled = false) public void testAllPublicConstructors() {
+    // No-op: no constructor takes only parameters that BaseRandomTest knows how to supply.
+  }
+
+  @Override protected PrefetchingRandom<Pcg64Random> createRng() {
+    return new PrefetchingRandom<>(new Pcg64Random(getTestSeedGenerator()));
+  }
+
+  @Override protected PrefetchingRandom<Pcg64Random> createRng(final byte[] seed) {
+    return new PrefetchingRandom<>(new Pcg64Random(seed));
+  }
+
+  /**
+   * Output should be the wrapped PRNG's, in order, across block boundaries and bulk calls.
+   */
+  @Test(timeOut = 15_000) public void testMatchesWrapped() {
+    final Pcg64Random reference = new Pcg64Random(getTestSeedGenerator());
+    final BaseRandom rng = new PrefetchingRandom<>(new Pcg64Random(reference.getSeed()),
+        BLOCK_SIZE, Runnable::run);
+    for (int i = 0; i < 3 * BLOCK_SIZE; i++) {
+      assertEquals(rng.nextLong(), reference.nextLong());
+    }
+    final long[] expected = new long[5 * BLOCK_SIZE + 3];
+    final long[] actual = new long[expected.length];
+    reference.nextLongs(expected);
+    rng.nextLongs(actual);
+    assertEquals(actual, expected);
+    assertEquals(rng.nextInt(), reference.nextInt());
+  }
+
+  /**
+   * After a reseed, no output from the old seed should be served, even if it was already
+   * prefetched.
+   */
+  @Test(timeOut = 15_000) public void testReseedDiscardsPrefetched() {
+    final byte[] seed = getTestSeedGenerator().generateSeed(Long.BYTES);
+    final BaseRandom rng = createRng();
+    rng.nextLong();
+    rng.setSeed(seed);
+    RandomTestUtils.assertEquivalent(rng, new Pcg64Random(seed), 4 * BLOCK_SIZE,
+        "Output mismatch after reseeding");
+  }
+
+  /**
+   * Blocks should be generated on the calling thread if the executor refuses them.
+   */
+  @Test(timeOut = 15_000) public void testRejectingExecutor() {
+    final Pcg64Random reference = new Pcg64Random(getTestSeedGenerator());
+    final BaseRandom rng = new PrefetchingRandom<>(new Pcg64Random(reference.getSeed()),
+        BLOCK_SIZE, command -> {
+          throw new RejectedExecutionException();
+        });
+    RandomTestUtils.assertEquivalent(rng, reference, 4 * BLOCK_SIZE,
+        "Output mismatch when generating on the calling thread");
+  }
+}
@@ -61,4 +61,8 @@ import org.testng.annotations.Test;
   @Override @Test(enabled = false) public void testSetSeedAfterNextInt() {
     // No-op.
   }
+
+  @Override @Test(enabled = false) public void testRepeatabilityNextGaussian() {
+    // No-op: can't be tested because setSeed merges with the existing seed
+  }
 }
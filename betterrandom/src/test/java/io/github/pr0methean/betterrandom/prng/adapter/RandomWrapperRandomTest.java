@@ -18,15 +18,25 @@ package io.github.pr0methean.betterrandom.prng.adapter;
 import static io.github.pr0methean.betterrandom.prng.RandomTestUtils.assertEquivalent;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableList;
 import io.github.pr0methean.betterrandom.NamedFunction;
 import io.github.pr0methean.betterrandom.prng.BaseRandom;
 import io.github.pr0methean.betterrandom.seed.SeedException;
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.testng.annotations.Test;
 
 /**
@@ -100,6 +110,55 @@ import org.testng.annotations.Test;
     return RandomWrapper.wrapJavaUtilRandom(seed);
   }
 
+  /**
+   * While one thread keeps swapping between two delegates with known seeds, every value the others
+   * get should come from one of those delegates' sequences. Uses {@link Random#nextInt()} because,
+   * as noted above, {@link Random#nextLong()} isn't transactional.
+   */
+  @Test(timeOut = 60_000) public void testSetWrappedConcurrentWithOutput() throws Exception {
+    final long[] seeds = {0x0123456789abcdefL, 0xfedcba9876543210L};
+    final int readers = 3;
+    final int intsPerReader = 10_000;
+    final Set<Integer> possible = new HashSet<>();
+    for (final long seed : seeds) {
+      final Random reference = new Random(seed);
+      for (int i = 0; i < readers * intsPerReader; i++) {
+        possible.add(reference.nextInt());
+      }
+    }
+    final RandomWrapper<Random> rng = RandomWrapper.wrapJavaUtilRandom(seeds[0]);
+    final AtomicBoolean done = new AtomicBoolean();
+    final ExecutorService executor = Executors.newFixedThreadPool(readers + 1);
+    try {
+      final Future<?> swapper = executor.submit(() -> {
+        for (int i = 1; !done.get(); i++) {
+          rng.setWrapped(new Random(seeds[i & 1]));
+        }
+      });
+      final List<Future<int[]>> futures = new ArrayList<>(readers);
+      for (int i = 0; i < readers; i++) {
+        futures.add(executor.submit(() -> {
+          final int[] out = new int[intsPerReader];
+          for (int j = 0; j < intsPerReader; j++) {
+            out[j] = rng.nextInt();
+          }
+          return out;
+        }));
+      }
+      for (final Future<int[]> future : futures) {
+        for (final int value : future.get()) {
+          assertTrue(possible.contains(value), "Value not from either delegate");
+        }
+      }
+      done.set(true);
+      swapper.get();
+    } finally {
+      done.set(true);
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+
   @Test public void testGetWrapped() {
     assertSame(createRng().getWrapped().getClass(), Random.class);
   }
@@ -92,6 +92,10 @@ import org.testng.annotations.Test;
     // No-op.
   }
 
+  @Override @Test(enabled = false) public void testNextBytesDirectMatchesHeap() {
+    // No-op.
+  }
+
   /**
    * Assertion-free because SecureRandom itself isn't reproducible after a serialization round trip.
    */
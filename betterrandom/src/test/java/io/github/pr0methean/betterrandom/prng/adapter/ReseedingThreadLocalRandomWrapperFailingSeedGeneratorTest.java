@@ -20,6 +20,10 @@ public class ReseedingThreadLocalRandomWrapperFailingSeedGeneratorTest
     // No-op.
   }
 
+  @Override @Test(enabled = false) public void testNextBytesDirectMatchesHeap() {
+    // No-op.
+  }
+
   @Override @Test(enabled = false) public void testSetSeedAfterNextInt() {
     // No-op.
   }
@@ -4,6 +4,8 @@ import static io.github.pr0methean.betterrandom.seed.DefaultSeedGenerator.DEFAUL
 import static io.github.pr0methean.betterrandom.seed.SecureRandomSeedGenerator.DEFAULT_INSTANCE;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 
 import io.github.pr0methean.betterrandom.FlakyRetryAnalyzer;
 import io.github.pr0methean.betterrandom.TestUtils;
@@ -88,6 +90,10 @@ public class SplittableRandomAdapterTest
     // No-op.
   }
 
+  @Override @Test(enabled = false) public void testNextBytesDirectMatchesHeap() {
+    // No-op.
+  }
+
   @Override @Test(retryAnalyzer = FlakyRetryAnalyzer.class)
   public void testReseeding() {
     SeedGenerator generator = new PseudorandomSeedGenerator(ThreadLocalRandom.current(), "testReseeding");
@@ -100,6 +106,31 @@ public class SplittableRandomAdapterTest
     }
   }
 
+  @Test public void testForCurrentThread() throws InterruptedException {
+    final SplittableRandomAdapter adapter = createRng();
+    final BaseRandom delegate = adapter.forCurrentThread();
+    assertSame(adapter.forCurrentThread(), delegate);
+    assertEquals(delegate.getSeed(), adapter.getSeed());
+    final BaseRandom[] otherThreadDelegate = new BaseRandom[1];
+    final Thread otherThread = new Thread(
+        () -> otherThreadDelegate[0] = adapter.forCurrentThread());
+    otherThread.start();
+    otherThread.join();
+    assertNotSame(otherThreadDelegate[0], delegate);
+  }
+
+  @Test(retryAnalyzer = FlakyRetryAnalyzer.class) public void testForCurrentThreadReseeding() {
+    SeedGenerator generator =
+        new PseudorandomSeedGenerator(ThreadLocalRandom.current(), "testForCurrentThreadReseeding");
+    RandomSeeder seeder = new RandomSeeder(generator);
+    try {
+      SplittableRandomAdapter random = new SplittableRandomAdapter(generator, seeder);
+      RandomTestUtils.checkReseeding(generator, random.forCurrentThread(), false);
+    } finally {
+      seeder.shutDown();
+    }
+  }
+
   /**
    * Test for crashes only, since setSeed is a no-op.
    */
@@ -0,0 +1,117 @@
+package io.github.pr0methean.betterrandom.prng.adapter;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import io.github.pr0methean.betterrandom.prng.BaseRandom;
+import io.github.pr0methean.betterrandom.prng.BaseRandomTest;
+import io.github.pr0methean.betterrandom.prng.MersenneTwisterRandom;
+import io.github.pr0methean.betterrandom.prng.Pcg64Random;
+import io.github.pr0methean.betterrandom.util.BinaryUtils;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import org.testng.annotations.Test;
+
+/**
+ * Most tests use a single stripe, so that output is repeatable.
+ */
+@Test(testName = "StripedRandom") public class StripedRandomTest
+    extends BaseRandomTest<StripedRandom<Pcg64Random>> {
+
+  private static final int STRIPES = 4;
+  private static final int THREADS = 8;
+  private static final int LONGS_PER_THREAD = 10_000;
+
+  @SuppressWarnings("rawtypes") @Override protected Class<StripedRandom> getClassUnderTest() {
+    return StripedRandom.class;
+  }
+
+  @Override protected Map<Class<?>, Object> constructorParams() {
+    final Map<Class<?>, Object> params = super.constructorParams();
+    params.put(Supplier.class,
+        (Supplier<Pcg64Random>) () -> new Pcg64Random(getTestSeedGenerator()));
+    return params;
+  }
+
+  @Override protected StripedRandom<Pcg64Random> createRng() {
+    return new StripedRandom<>(1, () -> new Pcg64Random(getTestSeedGenerator()));
+  }
+
+  @Override protected StripedRandom<Pcg64Random> createRng(final byte[] seed) {
+    return new StripedRandom<>(1, () -> new Pcg64Random(seed));
+  }
+
+  @Test public void testDefaultStripeCount() {
+    final int stripeCount =
+        new StripedRandom<>(() -> new Pcg64Random(getTestSeedGenerator())).getStripeCount();
+    assertEquals(Integer.bitCount(stripeCount), 1, "Not a power of 2");
+    assertTrue(stripeCount >= Runtime.getRuntime().availableProcessors(), "Too few stripes");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testStripeCountNotPowerOf2() {
+    new StripedRandom<>(3, () -> new Pcg64Random(getTestSeedGenerator()));
+  }
+
+  /**
+   * Under contention, every value should come from one of the stripes' sequences, and no value
+   * should be returned twice, as it would be if two threads used a stripe at once.
+   */
+  @Test(timeOut = 60_000) public void testConcurrentOutputFromStripes() throws Exception {
+    checkConcurrentOutputFromStripes(Pcg64Random::new);
+  }
+
+  /**
+   * Stripes whose own methods lock must still work when successive callers are different threads.
+   */
+  @Test(timeOut = 60_000) public void testConcurrentOutputFromLockingStripes() throws Exception {
+    checkConcurrentOutputFromStripes(
+        seed -> new MersenneTwisterRandom(Arrays.copyOf(BinaryUtils.convertLongToBytes(seed), 16)));
+  }
+
+  private static void checkConcurrentOutputFromStripes(final LongFunction<BaseRandom> creator)
+      throws Exception {
+    final AtomicLong nextSeed = new AtomicLong();
+    final StripedRandom<BaseRandom> rng =
+        new StripedRandom<>(STRIPES, () -> creator.apply(nextSeed.getAndIncrement()));
+    final Set<Long> possible = new HashSet<>();
+    for (int seed = 0; seed < STRIPES; seed++) {
+      final BaseRandom reference = creator.apply(seed);
+      for (int i = 0; i < THREADS * LONGS_PER_THREAD; i++) {
+        possible.add(reference.nextLong());
+      }
+    }
+    final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      final Set<Long> seen = new HashSet<>();
+      final Future<?>[] futures = new Future<?>[THREADS];
+      for (int i = 0; i < THREADS; i++) {
+        futures[i] = executor.submit(() -> {
+          final long[] out = new long[LONGS_PER_THREAD];
+          for (int j = 0; j < LONGS_PER_THREAD; j++) {
+            out[j] = rng.nextLong();
+          }
+          return out;
+        });
+      }
+      for (final Future<?> future : futures) {
+        for (final long value : (long[]) future.get()) {
+          assertTrue(possible.contains(value), "Value not from any stripe");
+          assertTrue(seen.add(value), "Value returned twice");
+        }
+      }
+    } finally {
+      executor.shutdown();
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+}
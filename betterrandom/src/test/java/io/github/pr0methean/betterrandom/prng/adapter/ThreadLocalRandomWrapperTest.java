@@ -7,6 +7,7 @@ import com.google.common.testing.SerializableTester;
 import io.github.pr0methean.betterrandom.prng.AesCounterRandom;
 import io.github.pr0methean.betterrandom.prng.BaseRandom;
 import io.github.pr0methean.betterrandom.prng.BaseRandomTest;
+import io.github.pr0methean.betterrandom.prng.ConcurrencyMode;
 import io.github.pr0methean.betterrandom.prng.Pcg64Random;
 import io.github.pr0methean.betterrandom.seed.RandomSeeder;
 import io.github.pr0methean.betterrandom.seed.SeedException;
@@ -112,6 +113,13 @@ public abstract class ThreadLocalRandomWrapperTest<T extends BaseRandom>
         .getNewSeedLength(), 200);
   }
 
+  @Test public void testDelegatesConfined() {
+    final ThreadLocalRandomWrapper<T> rng = createRng();
+    final ConcurrencyMode expectedMode = (rng.getWrapped().getRandomSeeder() == null)
+        ? ConcurrencyMode.CONFINED : ConcurrencyMode.SYNCHRONIZED;
+    assertEquals(rng.getWrapped().getConcurrencyMode(), expectedMode);
+  }
+
   @Test public void testWrapLegacy() throws SeedException {
     ThreadLocalRandomWrapper.wrapLegacy(Random::new, getTestSeedGenerator()).nextInt();
   }
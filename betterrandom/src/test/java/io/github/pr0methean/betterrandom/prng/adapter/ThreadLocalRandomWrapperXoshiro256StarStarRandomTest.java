@@ -0,0 +1,23 @@
+package io.github.pr0methean.betterrandom.prng.adapter;
+
+import io.github.pr0methean.betterrandom.prng.Xoshiro256StarStarRandom;
+import io.github.pr0methean.betterrandom.seed.PseudorandomSeedGenerator;
+import io.github.pr0methean.betterrandom.seed.SeedGenerator;
+import io.github.pr0methean.betterrandom.util.SerializableSupplier;
+import org.testng.annotations.Test;
+
+@Test(testName = "ThreadLocalRandomWrapper")
+public class ThreadLocalRandomWrapperXoshiro256StarStarRandomTest
+    extends ThreadLocalRandomWrapperTest<Xoshiro256StarStarRandom> {
+
+  public ThreadLocalRandomWrapperXoshiro256StarStarRandomTest() {
+    super(createSupplier());
+  }
+
+  private static SerializableSupplier<Xoshiro256StarStarRandom> createSupplier() {
+    final SeedGenerator seedGenerator = new PseudorandomSeedGenerator();
+    return () -> new Xoshiro256StarStarRandom(seedGenerator);
+  }
+
+
+}
@@ -3,6 +3,7 @@ package io.github.pr0methean.betterrandom.seed;
 import com.google.common.collect.ImmutableMap;
 import io.github.pr0methean.betterrandom.TestUtils;
 import java.util.Random;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import org.testng.annotations.Test;
 
@@ -10,7 +11,8 @@ public class LegacyRandomSeederTest extends RandomSeederTest {
   @Override @Test public void testConstructors() {
     TestUtils.testConstructors(LegacyRandomSeeder.class, false, ImmutableMap
         .of(SeedGenerator.class, new FakeSeedGenerator("testConstructors"), ThreadFactory.class,
-            new RandomSeeder.DefaultThreadFactory("testConstructors"), long.class,
+            new RandomSeeder.DefaultThreadFactory("testConstructors"),
+            ScheduledExecutorService.class, RandomSeeder.getSharedScheduler(), long.class,
             100_000_000L), RandomSeeder::stopIfEmpty);
   }
 
@@ -2,6 +2,7 @@ package io.github.pr0methean.betterrandom.seed;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableMap;
@@ -17,6 +18,8 @@ import io.github.pr0methean.betterrandom.prng.adapter.SingleThreadSplittableRand
 import io.github.pr0methean.betterrandom.util.BinaryUtils;
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
@@ -38,10 +41,27 @@ public class RandomSeederTest extends PowerMockTestCase {
     TestUtils.testConstructors(RandomSeeder.class, false, ImmutableMap
         .of(SeedGenerator.class, new FakeSeedGenerator("testConstructors"),
             ThreadFactory.class, new RandomSeeder.DefaultThreadFactory("testConstructors"),
+            ScheduledExecutorService.class, RandomSeeder.getSharedScheduler(),
             long.class, 100_000_000L),
         RandomSeeder::stopIfEmpty);
   }
 
+  @Test public void testEqualsDependsOnScheduler() {
+    final FakeSeedGenerator seedGenerator = new FakeSeedGenerator("testEqualsDependsOnScheduler");
+    final ScheduledExecutorService otherScheduler = Executors.newSingleThreadScheduledExecutor();
+    try {
+      final RandomSeeder shared = new RandomSeeder(seedGenerator);
+      final RandomSeeder sharedAgain = new RandomSeeder(seedGenerator);
+      final RandomSeeder other = new RandomSeeder(seedGenerator, otherScheduler);
+      assertEquals(sharedAgain, shared);
+      assertEquals(sharedAgain.hashCode(), shared.hashCode());
+      assertNotEquals(other, shared);
+      assertNotEquals(shared, other);
+    } finally {
+      otherScheduler.shutdownNow();
+    }
+  }
+
   @Test public void testDefaultThreadFactoryConstructors() {
     TestUtils.testConstructors(RandomSeeder.DefaultThreadFactory.class, false, ImmutableMap
             .of(String.class, "testDefaultThreadFactoryConstructors",
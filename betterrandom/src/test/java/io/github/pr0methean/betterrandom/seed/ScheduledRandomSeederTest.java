@@ -0,0 +1,54 @@
+package io.github.pr0methean.betterrandom.seed;
+
+import static org.testng.Assert.assertFalse;
+
+import io.github.pr0methean.betterrandom.prng.Pcg64Random;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the {@link RandomSeederTest} tests on a seeder that uses the shared scheduler rather than a
+ * thread of its own.
+ */
+public class ScheduledRandomSeederTest extends RandomSeederTest {
+  private static final int SEEDERS = 20;
+
+  @Override protected RandomSeeder createRandomSeeder(SeedGenerator seedGenerator) {
+    return new RandomSeeder(seedGenerator, RandomSeeder.getSharedScheduler());
+  }
+
+  @Test(timeOut = 30_000L) public void testManySeedersOneThread() throws InterruptedException {
+    final ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1);
+    final List<RandomSeeder> seeders = new ArrayList<>(SEEDERS);
+    final List<Pcg64Random> prngs = new ArrayList<>(SEEDERS);
+    try {
+      for (int i = 0; i < SEEDERS; i++) {
+        final RandomSeeder seeder = new RandomSeeder(
+            new FakeSeedGenerator("testManySeedersOneThread" + i), scheduler);
+        final Pcg64Random prng = new Pcg64Random(TEST_SEED);
+        prng.setRandomSeeder(seeder);
+        prng.nextLong(); // Drain the entropy
+        seeders.add(seeder);
+        prngs.add(prng);
+      }
+      final byte[] oldSeed = new Pcg64Random(TEST_SEED).getSeed();
+      for (final Pcg64Random prng : prngs) {
+        while (Arrays.equals(prng.getSeed(), oldSeed)) {
+          Thread.sleep(10);
+        }
+      }
+    } finally {
+      for (int i = 0; i < seeders.size(); i++) {
+        prngs.get(i).setRandomSeeder(null);
+        seeders.get(i).stopIfEmpty();
+        assertFalse(seeders.get(i).isRunning());
+      }
+      scheduler.shutdown();
+      scheduler.awaitTermination(10, TimeUnit.SECONDS);
+    }
+  }
+}
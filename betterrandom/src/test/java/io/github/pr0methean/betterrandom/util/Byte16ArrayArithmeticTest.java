@@ -56,6 +56,13 @@ import org.testng.annotations.Test;
     assertByteArrayEqualsLongs(result, 0x837a_715f_10d1_6e7fL, 0x046b_bd4d_ecd0_ae52L);
   }
 
+  @Test public void testUnsignedMultiplyHigh() {
+    assertEquals(Byte16ArrayArithmetic.unsignedMultiplyHigh(-1L, -1L), -2L);
+    assertEquals(Byte16ArrayArithmetic.unsignedMultiplyHigh(0x9C18_C970_032C_8DD6L,
+        0x79EC_964A_738B_2EBAL), 0x4A57_F9B3_9068_D8CAL);
+    assertEquals(Byte16ArrayArithmetic.unsignedMultiplyHigh(1L << 32, 1L << 32), 1L);
+  }
+
   @Test public void testMultiplyIntoOnes() {
     final byte[] result = ONES.clone();
     Byte16ArrayArithmetic.multiplyInto(result, ONES);
@@ -0,0 +1,82 @@
+package io.github.pr0methean.betterrandom.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+public class Gf2JumpTableTest {
+
+  /**
+   * Lower terms of x^67 + x^5 + x^2 + x + 1, whose degree isn't a multiple of 64.
+   */
+  private static final long[] MODULUS_67 = {0x27, 0};
+  private static final int DEGREE_67 = 67;
+  /**
+   * Lower terms of x^67 + x^5 + x^2 + x, which has no constant term.
+   */
+  private static final long[] SINGULAR_MODULUS_67 = {0x26, 0};
+
+  @Test public void testForwardJump() {
+    final Gf2JumpTable table = new Gf2JumpTable(MODULUS_67, DEGREE_67);
+    assertEquals(table.getDegree(), DEGREE_67);
+    assertTrue(table.isInvertible());
+    // Ask for a high power first, so the lower ones are filled in on the way
+    assertEquals(table.getForwardJump(50),
+        Gf2PolynomialArithmetic.powerOfX(1L << 50, MODULUS_67, DEGREE_67));
+    for (int i = 0; i < Long.SIZE - 1; i++) {
+      assertEquals(table.getForwardJump(i),
+          Gf2PolynomialArithmetic.powerOfX(1L << i, MODULUS_67, DEGREE_67));
+    }
+  }
+
+  @Test public void testBackwardJump() {
+    final Gf2JumpTable table = new Gf2JumpTable(MODULUS_67, DEGREE_67);
+    for (int i = 0; i < Long.SIZE - 1; i++) {
+      assertEquals(table.getBackwardJump(i),
+          Gf2PolynomialArithmetic.powerOfX(-(1L << i), MODULUS_67, DEGREE_67));
+    }
+  }
+
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void testBackwardJumpNotInvertible() {
+    final Gf2JumpTable table = new Gf2JumpTable(SINGULAR_MODULUS_67, DEGREE_67);
+    assertFalse(table.isInvertible());
+    table.getForwardJump(10);
+    table.getBackwardJump(0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testWrongModulusLength() {
+    new Gf2JumpTable(new long[1], DEGREE_67);
+  }
+
+  /**
+   * The impulse response of an LFSR has the LFSR's characteristic polynomial as its minimal
+   * polynomial.
+   */
+  @Test public void testForSequence() {
+    final int length = 3 * DEGREE_67;
+    final long[] bits = new long[(length + Long.SIZE - 1) / Long.SIZE];
+    bits[(DEGREE_67 - 1) >>> 6] = 1L << (DEGREE_67 - 1);
+    for (int n = DEGREE_67; n < length; n++) {
+      long bit = 0;
+      for (int term = 0; term < DEGREE_67; term++) {
+        if (Gf2PolynomialArithmetic.hasTerm(MODULUS_67, term)) {
+          bit ^= bits[(n - DEGREE_67 + term) >>> 6] >>> (n - DEGREE_67 + term);
+        }
+      }
+      bits[n >>> 6] |= (bit & 1) << n;
+    }
+    final Gf2JumpTable table = Gf2JumpTable.forSequence(bits, length);
+    assertEquals(table.getDegree(), DEGREE_67);
+    assertEquals(table.getForwardJump(20),
+        Gf2PolynomialArithmetic.powerOfX(1L << 20, MODULUS_67, DEGREE_67));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testForSequenceAllZero() {
+    Gf2JumpTable.forSequence(new long[4], 256);
+  }
+}
@@ -0,0 +1,80 @@
+package io.github.pr0methean.betterrandom.util;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+public class Gf2PolynomialArithmeticTest {
+
+  /**
+   * Lower terms of x^128 + x^7 + x^2 + x + 1, the GHASH modulus.
+   */
+  private static final long[] MODULUS_128 = {0x87, 0};
+  private static final int DEGREE_128 = 128;
+  /**
+   * Lower terms of x^67 + x^5 + x^2 + x + 1, whose degree isn't a multiple of 64.
+   */
+  private static final long[] MODULUS_67 = {0x27, 0};
+  private static final int DEGREE_67 = 67;
+
+  @Test public void testMultiplyByXOverflow() {
+    final long[] a = {0, 1L << 63};
+    Gf2PolynomialArithmetic.multiplyByX(a, MODULUS_128, DEGREE_128);
+    assertEquals(a, MODULUS_128);
+    final long[] b = {0, 1L << 2};
+    Gf2PolynomialArithmetic.multiplyByX(b, MODULUS_67, DEGREE_67);
+    assertEquals(b, MODULUS_67);
+  }
+
+  @Test public void testDivideByXUndoesMultiplyByX() {
+    final long[] a = {0x0123_4567_89AB_CDEFL, 0xFEDC_BA98_7654_3210L};
+    final long[] original = a.clone();
+    for (int i = 0; i < 300; i++) {
+      Gf2PolynomialArithmetic.multiplyByX(a, MODULUS_128, DEGREE_128);
+    }
+    for (int i = 0; i < 300; i++) {
+      Gf2PolynomialArithmetic.divideByX(a, MODULUS_128, DEGREE_128);
+    }
+    assertEquals(a, original);
+  }
+
+  @Test public void testPowerOfX() {
+    final long[] expected = {1, 0};
+    for (int i = 0; i < 200; i++) {
+      assertEquals(Gf2PolynomialArithmetic.powerOfX(i, MODULUS_67, DEGREE_67), expected);
+      Gf2PolynomialArithmetic.multiplyByX(expected, MODULUS_67, DEGREE_67);
+    }
+  }
+
+  @Test public void testPowerOfXNegative() {
+    final long[] inverse = Gf2PolynomialArithmetic.powerOfX(-12_345, MODULUS_128, DEGREE_128);
+    final long[] product = Gf2PolynomialArithmetic.powerOfX(12_345, MODULUS_128, DEGREE_128);
+    for (int i = 0; i < 12_345; i++) {
+      Gf2PolynomialArithmetic.divideByX(product, MODULUS_128, DEGREE_128);
+    }
+    assertEquals(product, new long[]{1, 0});
+    assertEquals(Gf2PolynomialArithmetic.powerOfX(-1, MODULUS_128, DEGREE_128),
+        new long[]{0x43, 1L << 63});
+    for (int i = 0; i < 12_345; i++) {
+      Gf2PolynomialArithmetic.multiplyByX(inverse, MODULUS_128, DEGREE_128);
+    }
+    assertEquals(inverse, new long[]{1, 0});
+  }
+
+  @Test public void testPowerOfXToPowerOfTwo() {
+    assertEquals(Gf2PolynomialArithmetic.powerOfXToPowerOfTwo(40, MODULUS_128, DEGREE_128),
+        Gf2PolynomialArithmetic.powerOfX(1L << 40, MODULUS_128, DEGREE_128));
+    assertEquals(Gf2PolynomialArithmetic.powerOfXToPowerOfTwo(62, MODULUS_67, DEGREE_67),
+        Gf2PolynomialArithmetic.powerOfX(1L << 62, MODULUS_67, DEGREE_67));
+  }
+
+  @Test public void testHasTerm() {
+    final long[] a = {1L << 5, 1L << 3};
+    assertTrue(Gf2PolynomialArithmetic.hasTerm(a, 5));
+    assertTrue(Gf2PolynomialArithmetic.hasTerm(a, 67));
+    assertFalse(Gf2PolynomialArithmetic.hasTerm(a, 4));
+    assertFalse(Gf2PolynomialArithmetic.hasTerm(a, 68));
+  }
+}
@@ -0,0 +1,79 @@
+package io.github.pr0methean.betterrandom.util;
+
+import static io.github.pr0methean.betterrandom.TestUtils.assertGreaterOrEqual;
+import static io.github.pr0methean.betterrandom.TestUtils.assertLessOrEqual;
+import static org.testng.Assert.assertEquals;
+
+import java.util.SplittableRandom;
+import java.util.function.LongSupplier;
+import org.testng.annotations.Test;
+
+public class ZigguratTest {
+
+  private static final int SAMPLES = 1_000_000;
+  private static final long SEED = 0x5EED_2018_CAFE_BABEL;
+
+  @Test public void testGaussianMoments() {
+    final LongSupplier bits = new SplittableRandom(SEED)::nextLong;
+    double sum = 0;
+    double sumOfSquares = 0;
+    int beyondTwoSigma = 0;
+    int inTail = 0;
+    for (int i = 0; i < SAMPLES; i++) {
+      final double value = Ziggurat.nextGaussian(bits);
+      sum += value;
+      sumOfSquares += value * value;
+      if (Math.abs(value) > 1.96) {
+        beyondTwoSigma++;
+      }
+      // Start of the ziggurat's tail, which is sampled by a separate method
+      if (Math.abs(value) > 3.654152885361009) {
+        inTail++;
+      }
+    }
+    final double mean = sum / SAMPLES;
+    assertEquals(mean, 0.0, 0.01);
+    assertEquals((sumOfSquares / SAMPLES) - (mean * mean), 1.0, 0.01);
+    assertEquals(beyondTwoSigma, 50_000, 1_000);
+    // Expected 258
+    assertGreaterOrEqual(inTail, 190);
+    assertLessOrEqual(inTail, 330);
+  }
+
+  @Test public void testExponentialMoments() {
+    final LongSupplier bits = new SplittableRandom(SEED)::nextLong;
+    double sum = 0;
+    double sumOfSquares = 0;
+    int aboveMean = 0;
+    int inTail = 0;
+    for (int i = 0; i < SAMPLES; i++) {
+      final double value = Ziggurat.nextExponential(bits);
+      assertGreaterOrEqual(value, 0.0);
+      sum += value;
+      sumOfSquares += value * value;
+      if (value > 1.0) {
+        aboveMean++;
+      }
+      // Start of the ziggurat's tail, which is sampled by a separate method
+      if (value > 7.697117470131049) {
+        inTail++;
+      }
+    }
+    final double mean = sum / SAMPLES;
+    assertEquals(mean, 1.0, 0.01);
+    assertEquals((sumOfSquares / SAMPLES) - (mean * mean), 1.0, 0.02);
+    assertEquals(aboveMean, 367_879, 2_000);
+    // Expected 454
+    assertGreaterOrEqual(inTail, 370);
+    assertLessOrEqual(inTail, 540);
+  }
+
+  @Test public void testRepeatable() {
+    final LongSupplier bits1 = new SplittableRandom(SEED)::nextLong;
+    final LongSupplier bits2 = new SplittableRandom(SEED)::nextLong;
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(Ziggurat.nextGaussian(bits1), Ziggurat.nextGaussian(bits2));
+      assertEquals(Ziggurat.nextExponential(bits1), Ziggurat.nextExponential(bits2));
+    }
+  }
+}